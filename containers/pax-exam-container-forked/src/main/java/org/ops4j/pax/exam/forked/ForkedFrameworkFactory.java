@@ -18,26 +18,25 @@
 package org.ops4j.pax.exam.forked;
 
 import java.io.File;
-import java.net.InetAddress;
 import java.net.URISyntaxException;
-import java.rmi.NoSuchObjectException;
-import java.rmi.NotBoundException;
-import java.rmi.RemoteException;
-import java.rmi.registry.LocateRegistry;
-import java.rmi.registry.Registry;
-import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 import org.ops4j.exec.ExecutionException;
-import org.ops4j.net.FreePort;
+import org.ops4j.pax.exam.ActivationTimeline;
+import org.ops4j.pax.exam.ClassDataSharing;
 import org.ops4j.pax.exam.ExamJavaRunner;
+import org.ops4j.pax.exam.RegistrySignal;
+import org.ops4j.pax.exam.SharedRegistry;
 import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.swissbox.framework.RemoteFramework;
 import org.ops4j.pax.swissbox.framework.RemoteFrameworkImpl;
 import org.ops4j.pax.swissbox.tracker.ServiceLookup;
+import org.osgi.framework.BundleException;
 import org.osgi.framework.launch.FrameworkFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,13 +57,26 @@ public class ForkedFrameworkFactory {
     // TODO make this configurable
     private static final long TIMEOUT = 60 * 1000;
 
+    private static final long ARCHIVE_TIMEOUT = 30 * 1000;
+
     private FrameworkFactory frameworkFactory;
-    private Registry registry;
 
-    private int port;
+    private String rmiName;
 
     private ExamJavaRunner javaRunner;
 
+    private boolean recordActivation;
+
+    private ClassDataSharing classDataSharing;
+
+    private boolean archiving;
+
+    private File outputFile;
+
+    private final ForkedFrameworkPool pool;
+
+    private ForkedFrameworkPool.Member poolMember;
+
     /**
      * Creates a ForkedFrameworkFactory wrapping a given OSGi FrameworkFactory and a given framework
      * storage directory
@@ -73,7 +85,20 @@ public class ForkedFrameworkFactory {
      *            OSGi framework factory
      */
     public ForkedFrameworkFactory(FrameworkFactory frameworkFactory) {
+        this(frameworkFactory, ForkedFrameworkPool.getInstance());
+    }
+
+    /**
+     * Creates a ForkedFrameworkFactory launching frameworks in Java VMs of the given pool.
+     *
+     * @param frameworkFactory
+     *            OSGi framework factory
+     * @param pool
+     *            pool of forked Java VMs, or null to fork a Java VM per framework
+     */
+    ForkedFrameworkFactory(FrameworkFactory frameworkFactory, ForkedFrameworkPool pool) {
         this.frameworkFactory = frameworkFactory;
+        this.pool = pool;
     }
 
     public FrameworkFactory getFrameworkFactory() {
@@ -84,6 +109,42 @@ public class ForkedFrameworkFactory {
         this.frameworkFactory = frameworkFactory;
     }
 
+    public boolean isRecordActivation() {
+        return recordActivation;
+    }
+
+    /**
+     * Enables recording of bundle and framework events in the forked framework. The remote
+     * framework handle then implements {@link RemoteActivationTimeline}.
+     *
+     * @param recordActivation
+     *            record an activation timeline?
+     */
+    public void setRecordActivation(boolean recordActivation) {
+        this.recordActivation = recordActivation;
+    }
+
+    /**
+     * Enables class data sharing archives for forked Java VMs. Pooled Java VMs do not use them.
+     *
+     * @param classDataSharing
+     *            archive manager, or null to disable class data sharing
+     */
+    public void setClassDataSharing(ClassDataSharing classDataSharing) {
+        this.classDataSharing = classDataSharing;
+    }
+
+    /**
+     * Writes the output of the forked Java VM to a log file instead of the console. Pooled Java
+     * VMs write to log files of their own.
+     *
+     * @param outputFile
+     *            log file, or null to pipe the output to the console
+     */
+    public void setOutputFile(File outputFile) {
+        this.outputFile = outputFile;
+    }
+
     /**
      * Forks a Java VM process running an OSGi framework and returns a {@link RemoteFramework}
      * handle to it.
@@ -104,32 +165,94 @@ public class ForkedFrameworkFactory {
     public RemoteFramework fork(List<String> vmArgs, Map<String, String> systemProperties,
         Map<String, Object> frameworkProperties, List<String> beforeFrameworkClasspath,
         List<String> afterFrameworkClasspath) {
-        // TODO make port range configurable
-        FreePort freePort = new FreePort(21000, 21099);
-        port = freePort.getPort();
-        LOG.debug("using RMI registry at port {}", port);
-
-        String rmiName = "ExamRemoteFramework-" + UUID.randomUUID().toString();
+        if (pool != null) {
+            return forkFromPool(vmArgs, systemProperties, frameworkProperties,
+                beforeFrameworkClasspath, afterFrameworkClasspath);
+        }
+        int port = SharedRegistry.acquire();
+        rmiName = "ExamRemoteFramework-" + UUID.randomUUID().toString();
 
+        boolean forked = false;
         try {
-            String address = InetAddress.getLoopbackAddress().getHostAddress();
-            System.setProperty("java.rmi.server.hostname", address);
-            registry = LocateRegistry.createRegistry(port);
-
             Map<String, String> systemPropsNew = new HashMap<>(systemProperties);
-            systemPropsNew.put("java.rmi.server.hostname", address);
+            systemPropsNew.put("java.rmi.server.hostname", SharedRegistry.getHost());
             systemPropsNew.put(RemoteFramework.RMI_PORT_KEY, Integer.toString(port));
             systemPropsNew.put(RemoteFramework.RMI_NAME_KEY, rmiName);
-            String[] vmOptions = buildSystemProperties(vmArgs, systemPropsNew);
-            String[] args = buildFrameworkProperties(frameworkProperties);
+            systemPropsNew.put(RegistrySignal.SIGNAL_PORT_KEY,
+                Integer.toString(SharedRegistry.getSignalPort()));
+            systemPropsNew.put(RemoteFrameworkMain.RECORD_ACTIVATION_KEY,
+                Boolean.toString(recordActivation));
+            String javaHome = getJavaHome();
+            String[] classpath = buildClasspath(beforeFrameworkClasspath, afterFrameworkClasspath);
+            List<String> args = new ArrayList<>(vmArgs);
+            if (classDataSharing != null) {
+                args.addAll(classDataSharing.getVmOptions(javaHome, classpath));
+            }
+            String[] vmOptions = buildSystemProperties(args, systemPropsNew);
             javaRunner = new ExamJavaRunner(false);
-            javaRunner.exec(vmOptions, buildClasspath(beforeFrameworkClasspath, afterFrameworkClasspath),
-                RemoteFrameworkImpl.class.getName(), args, getJavaHome(), null);
-            return findRemoteFramework(port, rmiName);
+            javaRunner.setOutputFile(outputFile);
+            javaRunner.exec(vmOptions, classpath, RemoteFrameworkMain.class.getName(),
+                buildFrameworkProperties(frameworkProperties), javaHome, null);
+            archiving = classDataSharing != null
+                && classDataSharing.started(javaRunner.getProcess());
+            RemoteFramework framework;
+            try {
+                framework = SharedRegistry.await(rmiName, RemoteFramework.class,
+                    javaRunner.getProcess(), TIMEOUT);
+            }
+            catch (TestContainerException exc) {
+                throw withOutput(exc, javaRunner.getOutputTail());
+            }
+            forked = true;
+            return framework;
+        }
+        catch (ExecutionException | URISyntaxException exc) {
+            throw new TestContainerException(exc);
+        }
+        finally {
+            if (!forked) {
+                SharedRegistry.release();
+            }
+        }
+    }
+
+    /**
+     * Launches the framework in a Java VM of the pool.
+     */
+    private RemoteFramework forkFromPool(List<String> vmArgs,
+        Map<String, String> systemProperties, Map<String, Object> frameworkProperties,
+        List<String> beforeFrameworkClasspath, List<String> afterFrameworkClasspath) {
+        rmiName = "ExamRemoteFramework-" + UUID.randomUUID().toString();
+        Map<String, String> frameworkProps = new HashMap<>();
+        for (Map.Entry<String, Object> entry : frameworkProperties.entrySet()) {
+            frameworkProps.put(entry.getKey(), entry.getValue().toString());
+        }
+        try {
+            poolMember = pool.launch(getJavaHome(), vmArgs, buildClasspath(
+                beforeFrameworkClasspath, afterFrameworkClasspath), systemProperties,
+                frameworkProps, rmiName, recordActivation);
         }
-        catch (RemoteException | ExecutionException | URISyntaxException exc) {
+        catch (BundleException | ExecutionException | URISyntaxException exc) {
             throw new TestContainerException(exc);
         }
+        try {
+            return SharedRegistry.await(rmiName, RemoteFramework.class, poolMember.getProcess(),
+                TIMEOUT);
+        }
+        catch (TestContainerException exc) {
+            throw withOutput(exc, poolMember.getOutputTail());
+        }
+    }
+
+    /**
+     * Adds the last output of a failed Java VM to an exception.
+     */
+    static TestContainerException withOutput(TestContainerException exc, String outputTail) {
+        if (outputTail.isEmpty()) {
+            return exc;
+        }
+        return new TestContainerException(exc.getMessage() + ", last output of Java VM:\n"
+            + outputTail, exc);
     }
 
     /**
@@ -186,7 +309,8 @@ public class ForkedFrameworkFactory {
         String serviceLookupPath = toPath(ServiceLookup.class);
 
         int entries = (beforeFrameworkClasspath != null ? beforeFrameworkClasspath.size() : 0)
-            + 3 + (afterFrameworkClasspath != null ? afterFrameworkClasspath.size() : 0);
+            + 5
+            + (afterFrameworkClasspath != null ? afterFrameworkClasspath.size() : 0);
         String[] classpath = new String[entries];
         int i = 0;
         if (beforeFrameworkClasspath != null) {
@@ -201,6 +325,8 @@ public class ForkedFrameworkFactory {
         classpath[i++] = frameworkPath;
         classpath[i++] = launcherPath;
         classpath[i++] = serviceLookupPath;
+        classpath[i++] = toPath(RemoteFrameworkMain.class);
+        classpath[i++] = toPath(ActivationTimeline.class);
         if (afterFrameworkClasspath != null) {
             for (String afterFrameworkLibrary : afterFrameworkClasspath) {
                 if (!new File(afterFrameworkLibrary).exists()) {
@@ -217,47 +343,40 @@ public class ForkedFrameworkFactory {
         return klass.getProtectionDomain().getCodeSource().getLocation().toURI().getPath();
     }
 
-    private RemoteFramework findRemoteFramework(int _port, String rmiName) {
-        RemoteFramework framework = null;
-        Throwable reason = null;
-        long startedTrying = System.currentTimeMillis();
-
-        do {
-            try {
-                String address = InetAddress.getLoopbackAddress().getHostAddress();
-                Registry reg = LocateRegistry.getRegistry(address, _port);
-                framework = (RemoteFramework) reg.lookup(rmiName);
-            }
-            catch (RemoteException e) {
-                reason = e;
-            }
-            catch (NotBoundException e) {
-                reason = e;
-            }
+    /**
+     * Waits for the remote framework to shutdown and frees all resources.
+     */
+    public void join() {
+        SharedRegistry.unbind(rmiName);
+        if (poolMember != null) {
+            pool.release(poolMember);
+            poolMember = null;
+            return;
         }
-        while (framework == null && System.currentTimeMillis() < startedTrying + TIMEOUT);
-        if (framework == null) {
-            throw new TestContainerException("cannot find remote framework in RMI registry", reason);
+        if (archiving) {
+            awaitArchive();
         }
-        return framework;
-
+        /*
+         * NOTE: javaRunner.waitForExit() works for Equinox and Felix, but not for Knopflerfish,
+         * need to investigate why. OTOH, it may be better to kill the process as we're doing
+         * now, just to be on the safe side.
+         */
+        javaRunner.shutdown();
+        SharedRegistry.release();
     }
 
     /**
-     * Waits for the remote framework to shutdown and frees all resources.
+     * Waits for the Java VM to write its class data sharing archive on exit.
      */
-    public void join() {
+    private void awaitArchive() {
         try {
-            UnicastRemoteObject.unexportObject(registry, true);
-            /*
-             * NOTE: javaRunner.waitForExit() works for Equinox and Felix, but not for Knopflerfish,
-             * need to investigate why. OTOH, it may be better to kill the process as we're doing
-             * now, just to be on the safe side.
-             */
-            javaRunner.shutdown();
+            if (!javaRunner.getProcess().waitFor(ARCHIVE_TIMEOUT, TimeUnit.MILLISECONDS)) {
+                LOG.warn("Java VM has not exited within {} ms, class data sharing archive is lost",
+                    ARCHIVE_TIMEOUT);
+            }
         }
-        catch (NoSuchObjectException exc) {
-            throw new TestContainerException(exc);
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
         }
     }
 }
@@ -0,0 +1,347 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.forked;
+
+import static org.ops4j.pax.exam.Constants.EXAM_FORK_POOL_KEY;
+
+import java.io.File;
+import java.rmi.RemoteException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.ops4j.pax.exam.ConfigurationManager;
+import org.ops4j.pax.exam.ExamJavaRunner;
+import org.ops4j.pax.exam.OutputCollector;
+import org.ops4j.pax.exam.RegistrySignal;
+import org.ops4j.pax.exam.SharedRegistry;
+import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.util.Digests;
+import org.ops4j.pax.swissbox.framework.RemoteFramework;
+import org.osgi.framework.BundleException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of idle forked Java VMs running a {@link PooledFrameworkLauncher}, which has loaded and
+ * initialized the framework implementation but not yet created the framework of a container. Java
+ * VMs are grouped by Java home, VM arguments and class path. Claiming a Java VM only sends the
+ * system and framework properties of the container, and the pool is refilled in the background.
+ * <p>
+ * Pooled Java VMs bind their launchers and frameworks in the {@link SharedRegistry}, which is
+ * used as long as Java VMs are starting or frameworks are running.
+ */
+class ForkedFrameworkPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ForkedFrameworkPool.class);
+
+    private static final long TIMEOUT = 60 * 1000;
+
+    private static ForkedFrameworkPool instance;
+
+    private final int size;
+
+    private final Map<String, Group> groups = new ConcurrentHashMap<String, Group>();
+
+    private final ExecutorService refiller;
+
+    /**
+     * Creates a pool.
+     *
+     * @param size
+     *            number of idle Java VMs to keep per group
+     */
+    ForkedFrameworkPool(int size) {
+        this.size = size;
+        final AtomicInteger count = new AtomicInteger();
+        this.refiller = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "pax-exam-pool-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the pool of this Java VM, if enabled by
+     * {@link org.ops4j.pax.exam.Constants#EXAM_FORK_POOL_KEY}.
+     *
+     * @return pool, or null if disabled
+     */
+    static synchronized ForkedFrameworkPool getInstance() {
+        if (instance == null) {
+            String value = new ConfigurationManager().getProperty(EXAM_FORK_POOL_KEY, "0");
+            int poolSize;
+            try {
+                poolSize = Integer.parseInt(value.trim());
+            }
+            catch (NumberFormatException exc) {
+                LOG.warn("Invalid value {} of {}, forked Java VMs are not pooled", value,
+                    EXAM_FORK_POOL_KEY);
+                poolSize = 0;
+            }
+            if (poolSize > 0) {
+                instance = new ForkedFrameworkPool(poolSize);
+                Runtime.getRuntime().addShutdownHook(
+                    new Thread(instance::shutdown, "pax-exam-pool-shutdown"));
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Claims an idle Java VM, or forks a new one if there is none, and launches a framework in it.
+     *
+     * @param javaHome
+     *            Java home
+     * @param vmArgs
+     *            VM arguments
+     * @param classpath
+     *            class path, including the classes of the {@link PooledFrameworkLauncher}
+     * @param systemProperties
+     *            system properties for the framework
+     * @param frameworkProperties
+     *            framework properties
+     * @param rmiName
+     *            RMI name of the remote framework
+     * @param recordActivation
+     *            should the remote framework record an activation timeline?
+     * @return Java VM running the framework, to be released after the framework has stopped
+     * @throws BundleException
+     *             when the framework cannot be created
+     */
+    Member launch(String javaHome, List<String> vmArgs, String[] classpath,
+        Map<String, String> systemProperties, Map<String, String> frameworkProperties,
+        String rmiName, boolean recordActivation) throws BundleException {
+        Group group = groups.computeIfAbsent(key(javaHome, vmArgs, classpath), k -> new Group());
+        int registryPort = SharedRegistry.acquire();
+        Map<String, String> properties = new HashMap<String, String>(systemProperties);
+        properties.put(RemoteFramework.RMI_PORT_KEY, Integer.toString(registryPort));
+        properties.put(RegistrySignal.SIGNAL_PORT_KEY,
+            Integer.toString(SharedRegistry.getSignalPort()));
+        boolean launched = false;
+        try {
+            Member member = claim(group, javaHome, vmArgs, classpath);
+            while (member != null) {
+                try {
+                    member.launcher.launch(properties, frameworkProperties, rmiName,
+                        recordActivation);
+                    LOG.debug("launched framework {} in pooled Java VM", rmiName);
+                    launched = true;
+                    return member;
+                }
+                catch (RemoteException exc) {
+                    LOG.debug("discarding unresponsive pooled Java VM", exc);
+                    member.runner.shutdown();
+                    member = claim(group, javaHome, vmArgs, classpath);
+                }
+                catch (BundleException exc) {
+                    member.runner.shutdown();
+                    throw exc;
+                }
+            }
+            member = startMember(javaHome, vmArgs, classpath);
+            try {
+                member.launcher.launch(properties, frameworkProperties, rmiName,
+                    recordActivation);
+            }
+            catch (RemoteException exc) {
+                member.runner.shutdown();
+                throw new TestContainerException(exc);
+            }
+            catch (BundleException exc) {
+                member.runner.shutdown();
+                throw exc;
+            }
+            launched = true;
+            return member;
+        }
+        finally {
+            if (!launched) {
+                SharedRegistry.release();
+            }
+        }
+    }
+
+    /**
+     * Takes an idle Java VM from a group and starts a replacement in the background.
+     *
+     * @return idle Java VM, or null if there is none
+     */
+    private Member claim(Group group, String javaHome, List<String> vmArgs, String[] classpath) {
+        Member member = group.idle.poll();
+        refill(group, javaHome, vmArgs, classpath);
+        return member;
+    }
+
+    /**
+     * Shuts down a Java VM after its framework has stopped.
+     *
+     * @param member
+     *            Java VM returned by {@link #launch}
+     */
+    void release(Member member) {
+        member.runner.shutdown();
+        SharedRegistry.release();
+    }
+
+    /**
+     * Stops refilling the pool and shuts down all idle Java VMs. Called when this Java VM exits.
+     */
+    void shutdown() {
+        refiller.shutdownNow();
+        for (Group group : groups.values()) {
+            for (Member member = group.idle.poll(); member != null; member = group.idle.poll()) {
+                member.runner.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Number of idle Java VMs, for testing.
+     */
+    int getIdleCount() {
+        int count = 0;
+        for (Group group : groups.values()) {
+            count += group.idle.size();
+        }
+        return count;
+    }
+
+    private void refill(final Group group, final String javaHome, final List<String> vmArgs,
+        final String[] classpath) {
+        while (true) {
+            int pending = group.pending.get();
+            if (group.idle.size() + pending >= size) {
+                return;
+            }
+            if (group.pending.compareAndSet(pending, pending + 1)) {
+                refiller.execute(() -> {
+                    try {
+                        group.idle.add(startMember(javaHome, vmArgs, classpath));
+                    }
+                    // CHECKSTYLE:SKIP
+                    catch (RuntimeException exc) {
+                        LOG.warn("Cannot start pooled Java VM", exc);
+                    }
+                    finally {
+                        group.pending.decrementAndGet();
+                    }
+                });
+            }
+        }
+    }
+
+    private Member startMember(String javaHome, List<String> vmArgs, String[] classpath) {
+        int registryPort = SharedRegistry.acquire();
+        String name = "ExamFrameworkLauncher-" + UUID.randomUUID().toString();
+        try {
+            List<String> vmOptions = new ArrayList<String>(vmArgs);
+            vmOptions.add("-Djava.rmi.server.hostname=" + SharedRegistry.getHost());
+            vmOptions.add("-D" + RemoteFramework.RMI_PORT_KEY + "=" + registryPort);
+            vmOptions.add("-D" + PooledFrameworkLauncher.LAUNCHER_NAME_KEY + "=" + name);
+            vmOptions.add("-D" + RegistrySignal.SIGNAL_PORT_KEY + "="
+                + SharedRegistry.getSignalPort());
+            ExamJavaRunner runner = new ExamJavaRunner(false);
+            runner.setOutputFile(new File(OutputCollector.getOutputDirectory(), name + ".log"));
+            runner.exec(vmOptions.toArray(new String[vmOptions.size()]), classpath,
+                PooledFrameworkLauncher.class.getName(), new String[0], javaHome, null);
+            try {
+                return new Member(runner, SharedRegistry.await(name,
+                    RemoteFrameworkLauncher.class, runner.getProcess(), TIMEOUT));
+            }
+            catch (TestContainerException exc) {
+                runner.shutdown();
+                throw ForkedFrameworkFactory.withOutput(exc, runner.getOutputTail());
+            }
+            // CHECKSTYLE:SKIP
+            catch (RuntimeException exc) {
+                runner.shutdown();
+                throw exc;
+            }
+        }
+        finally {
+            // the launcher is referenced by its stub from now on
+            SharedRegistry.unbind(name);
+            SharedRegistry.release();
+        }
+    }
+
+    /**
+     * Computes the group key of a Java VM.
+     */
+    static String key(String javaHome, List<String> vmArgs, String[] classpath) {
+        MessageDigest digest = Digests.newDigest();
+        Digests.update(digest, javaHome);
+        for (String vmArg : vmArgs) {
+            Digests.update(digest, vmArg);
+        }
+        Digests.update(digest, "-cp");
+        for (String entry : classpath) {
+            Digests.update(digest, entry);
+        }
+        return Digests.toHex(digest.digest());
+    }
+
+    /**
+     * Idle and starting Java VMs of a group.
+     */
+    private static class Group {
+
+        private final Queue<Member> idle = new ConcurrentLinkedQueue<Member>();
+
+        private final AtomicInteger pending = new AtomicInteger();
+    }
+
+    /**
+     * A pooled Java VM.
+     */
+    static class Member {
+
+        private final ExamJavaRunner runner;
+
+        private final RemoteFrameworkLauncher launcher;
+
+        Member(ExamJavaRunner runner, RemoteFrameworkLauncher launcher) {
+            this.runner = runner;
+            this.launcher = launcher;
+        }
+
+        /**
+         * @return process of the Java VM
+         */
+        Process getProcess() {
+            return runner.getProcess();
+        }
+
+        /**
+         * @return last output of the Java VM
+         */
+        String getOutputTail() {
+            return runner.getOutputTail();
+        }
+    }
+}
@@ -17,7 +17,13 @@
  */
 package org.ops4j.pax.exam.forked;
 
+import static org.ops4j.pax.exam.ClassDataSharing.CDS_FOLDER;
+import static org.ops4j.pax.exam.Constants.DEFAULT_INSTALL_THREADS;
+import static org.ops4j.pax.exam.Constants.EXAM_ARTIFACT_CACHE_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_CDS_KEY;
 import static org.ops4j.pax.exam.Constants.EXAM_FAIL_ON_UNRESOLVED_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_INSTALL_THREADS_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_REFERENCE_INSTALL_KEY;
 import static org.ops4j.pax.exam.Constants.START_LEVEL_TEST_BUNDLE;
 import static org.ops4j.pax.exam.CoreOptions.systemProperty;
 import static org.osgi.framework.Constants.FRAMEWORK_BOOTDELEGATION;
@@ -35,12 +41,24 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.ops4j.io.StreamUtils;
+import org.ops4j.pax.exam.ActivationReport;
+import org.ops4j.pax.exam.ClassDataSharing;
 import org.ops4j.pax.exam.ConfigurationManager;
 import org.ops4j.pax.exam.ExamSystem;
 import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.OutputCollector;
 import org.ops4j.pax.exam.TestAddress;
 import org.ops4j.pax.exam.TestContainer;
 import org.ops4j.pax.exam.TestContainerException;
@@ -49,6 +67,7 @@ import org.ops4j.pax.exam.options.BootClasspathLibraryOption;
 import org.ops4j.pax.exam.options.BootDelegationOption;
 import org.ops4j.pax.exam.options.FrameworkPropertyOption;
 import org.ops4j.pax.exam.options.FrameworkStartLevelOption;
+import org.ops4j.pax.exam.options.LazyActivationOption;
 import org.ops4j.pax.exam.options.PropagateSystemPropertyOption;
 import org.ops4j.pax.exam.options.ProvisionOption;
 import org.ops4j.pax.exam.options.SystemPackageOption;
@@ -57,6 +76,7 @@ import org.ops4j.pax.exam.options.UrlReference;
 import org.ops4j.pax.exam.options.ValueOption;
 import org.ops4j.pax.exam.options.extra.RepositoryOption;
 import org.ops4j.pax.exam.options.extra.VMOption;
+import org.ops4j.pax.exam.spi.container.LocalRepositoryResolver;
 import org.ops4j.pax.swissbox.framework.RemoteFramework;
 import org.ops4j.pax.swissbox.framework.RemoteServiceReference;
 import org.osgi.framework.Bundle;
@@ -79,6 +99,8 @@ public class ForkedTestContainer implements TestContainer {
 
     private static final Logger LOG = LoggerFactory.getLogger(ForkedTestContainer.class);
 
+    private static final String ARTIFACTS_FOLDER = "artifacts";
+
     private ExamSystem system;
     private final ForkedFrameworkFactory frameworkFactory;
     private RemoteFramework remoteFramework;
@@ -89,7 +111,7 @@ public class ForkedTestContainer implements TestContainer {
     public ForkedTestContainer(ExamSystem system, FrameworkFactory frameworkFactory) {
         this.system = system;
         this.frameworkFactory = new ForkedFrameworkFactory(frameworkFactory);
-        this.platform = new PlatformImpl();
+        this.platform = createPlatform(system);
         this.name = "Forked:" + frameworkFactory.getClass().getSimpleName();
     }
 
@@ -159,6 +181,10 @@ public class ForkedTestContainer implements TestContainer {
                 }
             }
 
+            frameworkFactory.setRecordActivation(ActivationReport.isEnabled());
+            frameworkFactory.setClassDataSharing(createClassDataSharing());
+            frameworkFactory.setOutputFile(new File(OutputCollector.getOutputDirectory(),
+                "framework-" + system.createID("output") + ".log"));
             remoteFramework = frameworkFactory.fork(vmArgs, systemProperties, frameworkProperties,
                 beforeFrameworkClasspath, afterFrameworkClasspath);
             remoteFramework.init();
@@ -280,11 +306,37 @@ public class ForkedTestContainer implements TestContainer {
         ProvisionOption<?>[] options = system.getOptions(ProvisionOption.class);
         Map<String, Long> remoteMappings = new HashMap<String, Long>();
         Map<Long, String> bundlesById = new HashMap<Long, String>();
-        for (ProvisionOption<?> bundle : options) {
-            String localUrl = downloadBundle(workDir, bundle.getURL());
-            long bundleId = remoteFramework.installBundle(localUrl);
-            remoteMappings.put(bundle.getURL(), bundleId);
-            bundlesById.put(bundleId, bundle.getURL());
+        LocalRepositoryResolver resolver = createLocalRepositoryResolver();
+        if (system.getSingleOption(LazyActivationOption.class) != null) {
+            // the remote framework has no means to pass start options
+            LOG.warn("Lazy activation is not supported by the forked container, "
+                + "all bundles are activated immediately");
+        }
+        Properties fileNamesForUrls = platform.loadDownloadedBundles(workDir);
+        Properties loaded = (Properties) fileNamesForUrls.clone();
+        Set<String> fragments = ConcurrentHashMap.newKeySet();
+        ExecutorService downloader = createDownloader(options.length);
+        try {
+            // downloads run ahead in parallel, bundles are installed in order to keep bundle IDs
+            Map<String, Future<String>> downloads = new HashMap<String, Future<String>>();
+            List<Future<String>> localUrls = new ArrayList<Future<String>>();
+            for (ProvisionOption<?> bundle : options) {
+                String localUrl = resolver == null ? null : resolver.toReference(bundle.getURL());
+                localUrls.add(localUrl != null ? CompletableFuture.completedFuture(localUrl)
+                    : downloads.computeIfAbsent(bundle.getURL(), url -> downloader.submit(
+                        () -> downloadBundle(workDir, url, fileNamesForUrls, fragments))));
+            }
+            for (int i = 0; i < options.length; i++) {
+                long bundleId = remoteFramework.installBundle(awaitDownload(localUrls.get(i)));
+                remoteMappings.put(options[i].getURL(), bundleId);
+                bundlesById.put(bundleId, options[i].getURL());
+            }
+        }
+        finally {
+            downloader.shutdownNow();
+        }
+        if (!fileNamesForUrls.equals(loaded)) {
+            platform.saveDownloadedBundles(workDir, fileNamesForUrls);
         }
         // All bundles are installed, we can now start the framework...
         remoteFramework.start();
@@ -296,7 +348,12 @@ public class ForkedTestContainer implements TestContainer {
             int startLevel = getStartLevel(bundle);
             Long bundleId = remoteMappings.get(bundle.getURL());
             remoteFramework.setBundleStartLevel(bundleId, startLevel);
-            if (bundle.shouldStart()) {
+            if (bundle.shouldStart() && fragments.contains(bundle.getURL())) {
+                // fragments cannot be started, they are resolved with their host
+                bundleIds.add(bundleId);
+                LOG.debug("+ Install (fragment@{}) {}", startLevel, bundle);
+            }
+            else if (bundle.shouldStart()) {
                 bundleIds.add(bundleId);
                 remoteFramework.startBundle(bundleId);
                 LOG.debug("+ Install (start@{}) {}", startLevel, bundle);
@@ -305,7 +362,12 @@ public class ForkedTestContainer implements TestContainer {
                 LOG.debug("+ Install (no start) {}", bundle);
             }
         }
-        setFrameworkStartLevel();
+        try {
+            setFrameworkStartLevel();
+        }
+        finally {
+            reportActivation();
+        }
         verifyThatBundlesAreResolved(bundleIds, bundlesById);
     }
 
@@ -325,6 +387,29 @@ public class ForkedTestContainer implements TestContainer {
         }
     }
 
+    private ClassDataSharing createClassDataSharing() {
+        boolean cds = Boolean.parseBoolean(new ConfigurationManager().getProperty(EXAM_CDS_KEY,
+            "false"));
+        return cds ? new ClassDataSharing(new File(system.getConfigFolder(), CDS_FOLDER)) : null;
+    }
+
+    /**
+     * Fetches the activation timeline from the forked framework, logs the activation report and
+     * writes the activation trace, as configured.
+     */
+    private void reportActivation() {
+        if (!frameworkFactory.isRecordActivation()) {
+            return;
+        }
+        try {
+            ActivationReport.publish(
+                ((RemoteActivationTimeline) remoteFramework).getActivationTimeline(), name);
+        }
+        catch (RemoteException exc) {
+            LOG.warn("Cannot get bundle activation timeline", exc);
+        }
+    }
+
     private void verifyThatBundlesAreResolved(List<Long> bundleIds, Map<Long, String> bundlesById) throws RemoteException {
         boolean hasUnresolvedBundles = false;
         for (long bundleId : bundleIds) {
@@ -347,14 +432,72 @@ public class ForkedTestContainer implements TestContainer {
         }
     }
 
-    private String downloadBundle(File workDir, String url) {
+    /**
+     * @return resolver for installing Maven bundles by reference from the local repository, or
+     *         null if disabled or not supported by the framework
+     */
+    private LocalRepositoryResolver createLocalRepositoryResolver() {
+        boolean reference = Boolean.parseBoolean(new ConfigurationManager().getProperty(
+            EXAM_REFERENCE_INSTALL_KEY, "false"));
+        String factoryName = frameworkFactory.getFrameworkFactory().getClass().getName();
+        return reference && LocalRepositoryResolver.supportsReference(factoryName)
+            ? new LocalRepositoryResolver() : null;
+    }
+
+    private static PlatformImpl createPlatform(ExamSystem system) {
+        String size = new ConfigurationManager().getProperty(EXAM_ARTIFACT_CACHE_KEY, "0");
+        try {
+            long megabytes = Long.parseLong(size);
+            if (megabytes > 0) {
+                return new PlatformImpl(new File(system.getConfigFolder(), ARTIFACTS_FOLDER),
+                    megabytes * 1024 * 1024);
+            }
+        }
+        catch (NumberFormatException exc) {
+            LOG.warn("Invalid artifact cache size {}, artifacts are not cached", size);
+        }
+        return new PlatformImpl();
+    }
+
+    private ExecutorService createDownloader(int numBundles) {
+        int n = new ConfigurationManager().getIntProperty(EXAM_INSTALL_THREADS_KEY,
+            DEFAULT_INSTALL_THREADS);
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(Math.max(1, Math.min(numBundles, n)), runnable -> {
+            Thread thread = new Thread(runnable, "pax-exam-download-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private String awaitDownload(Future<String> download) {
+        try {
+            return download.get();
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new TestContainerException(exc);
+        }
+        catch (ExecutionException exc) {
+            if (exc.getCause() instanceof TestContainerException) {
+                throw (TestContainerException) exc.getCause();
+            }
+            throw new TestContainerException(exc.getCause());
+        }
+    }
+
+    private String downloadBundle(File workDir, String url, Properties fileNamesForUrls,
+        Set<String> fragments) {
         try {
             URL realUrl = new URL(url);
             if (realUrl.getProtocol().equals("reference")) {
                 return url;
             }
             File localBundle = platform.download(workDir, realUrl, url, false, true,
-                true, false);
+                true, false, fileNamesForUrls);
+            if (platform.getManifest(localBundle).isFragment()) {
+                fragments.add(url);
+            }
             return localBundle.toURI().toURL().toString();
         }
         catch (MalformedURLException exc) {
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.forked;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.file.Files;
+import java.rmi.AlreadyBoundException;
+import java.rmi.NoSuchObjectException;
+import java.rmi.RemoteException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import org.ops4j.pax.exam.RegistrySignal;
+import org.ops4j.pax.swissbox.framework.RemoteFramework;
+import org.ops4j.pax.swissbox.framework.RemoteFrameworkImpl;
+import org.osgi.framework.BundleException;
+import org.osgi.framework.Constants;
+import org.osgi.framework.launch.Framework;
+import org.osgi.framework.launch.FrameworkFactory;
+
+/**
+ * Main class of an idle forked Java VM of the {@link ForkedFrameworkPool}. The launcher preloads
+ * the framework implementation, binds itself in the RMI registry of the pool and creates the
+ * framework when a container claims the Java VM. Like {@link RemoteFrameworkMain}, this class must
+ * not use anything but the JRE, OSGi core, Pax Swissbox and the JRE-only classes of Pax Exam.
+ */
+public class PooledFrameworkLauncher implements RemoteFrameworkLauncher {
+
+    /**
+     * System property with the RMI name of the launcher.
+     */
+    public static final String LAUNCHER_NAME_KEY = "pax.exam.fork.pool.launcher";
+
+    private static final long UNEXPORT_PAUSE = 10;
+
+    private static final long PRELOAD_TIMEOUT = 10 * 1000;
+
+    private boolean launched;
+
+    @Override
+    public synchronized void launch(Map<String, String> systemProperties,
+        Map<String, String> frameworkProperties, String rmiName, boolean recordActivation)
+        throws RemoteException, BundleException {
+        if (launched) {
+            throw new IllegalStateException("framework has already been launched");
+        }
+        // the pool has unbound the launcher before offering this Java VM
+        launched = true;
+        for (Map.Entry<String, String> entry : systemProperties.entrySet()) {
+            System.setProperty(entry.getKey(), entry.getValue());
+        }
+        System.setProperty(RemoteFramework.RMI_NAME_KEY, rmiName);
+        try {
+            if (recordActivation) {
+                new RecordingRemoteFramework(frameworkProperties);
+            }
+            else {
+                new RemoteFrameworkImpl(frameworkProperties);
+            }
+        }
+        catch (AlreadyBoundException exc) {
+            throw new RemoteException("cannot bind remote framework " + rmiName, exc);
+        }
+        try {
+            RegistrySignal.announce(rmiName);
+        }
+        catch (IOException exc) {
+            throw new RemoteException("cannot announce remote framework " + rmiName, exc);
+        }
+        unexportLater();
+    }
+
+    /**
+     * Unexports the launcher once the pending launch call has returned, so that the Java VM exits
+     * when the framework is stopped.
+     */
+    private void unexportLater() {
+        Thread thread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                try {
+                    while (!UnicastRemoteObject.unexportObject(PooledFrameworkLauncher.this,
+                        false)) {
+                        Thread.sleep(UNEXPORT_PAUSE);
+                    }
+                }
+                catch (NoSuchObjectException exc) {
+                    // already unexported
+                }
+                catch (InterruptedException exc) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, "Launcher unexport");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Initializes and stops a throwaway framework, so that the classes of the framework
+     * implementation are loaded and initialized while the Java VM is idle. Failures are left to
+     * the framework of the container.
+     */
+    private static void preload() {
+        File storage = null;
+        try {
+            storage = Files.createTempDirectory("pax-exam-preload").toFile();
+            Map<String, String> properties = new HashMap<String, String>();
+            properties.put(Constants.FRAMEWORK_STORAGE, storage.getAbsolutePath());
+            properties.put(Constants.FRAMEWORK_STORAGE_CLEAN,
+                Constants.FRAMEWORK_STORAGE_CLEAN_ONFIRSTINIT);
+            Framework framework = ServiceLoader.load(FrameworkFactory.class).iterator().next()
+                .newFramework(properties);
+            framework.init();
+            framework.stop();
+            framework.waitForStop(PRELOAD_TIMEOUT);
+        }
+        // CHECKSTYLE:SKIP
+        catch (Exception exc) {
+            // the framework of the container will report the problem
+        }
+        finally {
+            delete(storage);
+        }
+    }
+
+    private static void delete(File file) {
+        if (file == null) {
+            return;
+        }
+        File[] children = file.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+        file.delete();
+    }
+
+    /**
+     * Preloads the framework implementation and waits for a container to claim this Java VM. The
+     * RMI registry port and the launcher name are passed as system properties
+     * {@link RemoteFramework#RMI_PORT_KEY} and {@link #LAUNCHER_NAME_KEY}.
+     *
+     * @param args
+     *            command line arguments (ignored)
+     * @throws IOException
+     *             when the launcher cannot be exported or announced
+     * @throws AlreadyBoundException
+     *             when the launcher name is already bound
+     */
+    public static void main(String[] args) throws IOException, AlreadyBoundException {
+        preload();
+
+        String address = InetAddress.getLoopbackAddress().getHostAddress();
+        Registry registry = LocateRegistry.getRegistry(address,
+            Integer.parseInt(System.getProperty(RemoteFramework.RMI_PORT_KEY)));
+        String name = System.getProperty(LAUNCHER_NAME_KEY);
+        PooledFrameworkLauncher launcher = new PooledFrameworkLauncher();
+        UnicastRemoteObject.exportObject(launcher, 0);
+        registry.bind(name, launcher);
+        RegistrySignal.announce(name);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.forked;
+
+import java.rmi.AlreadyBoundException;
+import java.rmi.RemoteException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.ops4j.pax.exam.ActivationTimeline;
+import org.ops4j.pax.swissbox.framework.RemoteFrameworkImpl;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleException;
+import org.osgi.framework.launch.Framework;
+import org.osgi.framework.launch.FrameworkFactory;
+
+/**
+ * Remote framework which records an {@link ActivationTimeline} from the moment the framework is
+ * initialized. This class is loaded in the forked Java VM by {@link RemoteFrameworkMain}, so it
+ * must not use anything but the JRE, OSGi core, Pax Swissbox and {@link ActivationTimeline}.
+ */
+public class RecordingRemoteFramework extends RemoteFrameworkImpl implements
+    RemoteActivationTimeline {
+
+    /**
+     * Holds the framework reference of the instance under construction, since the super
+     * constructor calls {@link #findFrameworkFactory()} before the fields of this class are
+     * assigned.
+     */
+    private static final ThreadLocal<AtomicReference<Framework>> CONSTRUCTING =
+        new ThreadLocal<AtomicReference<Framework>>();
+
+    private final ActivationTimeline timeline = new ActivationTimeline();
+
+    private final AtomicReference<Framework> framework;
+
+    public RecordingRemoteFramework(Map<String, String> frameworkProperties)
+        throws RemoteException, AlreadyBoundException, BundleException {
+        this(frameworkProperties, new AtomicReference<Framework>());
+    }
+
+    private RecordingRemoteFramework(Map<String, String> frameworkProperties,
+        AtomicReference<Framework> framework) throws RemoteException, AlreadyBoundException,
+        BundleException {
+        super(construct(frameworkProperties, framework));
+        CONSTRUCTING.remove();
+        this.framework = framework;
+    }
+
+    private static Map<String, String> construct(Map<String, String> frameworkProperties,
+        AtomicReference<Framework> framework) {
+        CONSTRUCTING.set(framework);
+        return frameworkProperties;
+    }
+
+    @Override
+    public FrameworkFactory findFrameworkFactory() {
+        final FrameworkFactory factory = super.findFrameworkFactory();
+        final AtomicReference<Framework> target = CONSTRUCTING.get();
+        return new FrameworkFactory() {
+
+            @Override
+            public Framework newFramework(Map<String, String> configuration) {
+                Framework created = factory.newFramework(configuration);
+                if (target != null) {
+                    target.set(created);
+                }
+                return created;
+            }
+        };
+    }
+
+    @Override
+    public void init() throws RemoteException, BundleException {
+        super.init();
+        BundleContext context = framework.get().getBundleContext();
+        context.addBundleListener(timeline);
+        context.addFrameworkListener(timeline);
+    }
+
+    @Override
+    public ActivationTimeline getActivationTimeline() {
+        return timeline.snapshot();
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.forked;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+import org.ops4j.pax.exam.ActivationTimeline;
+
+/**
+ * Gives access to the bundle activation timeline of a forked framework. Implemented by the remote
+ * framework handle if the framework has been forked with activation recording.
+ *
+ * @see ForkedFrameworkFactory#setRecordActivation(boolean)
+ */
+public interface RemoteActivationTimeline extends Remote {
+
+    /**
+     * @return snapshot of the events recorded since the framework was initialized
+     * @throws RemoteException
+     *             on communication errors
+     */
+    ActivationTimeline getActivationTimeline() throws RemoteException;
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.forked;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.Map;
+
+import org.osgi.framework.BundleException;
+
+/**
+ * Launches a remote framework in an idle forked Java VM of the {@link ForkedFrameworkPool}.
+ */
+public interface RemoteFrameworkLauncher extends Remote {
+
+    /**
+     * Creates the framework and binds its {@link org.ops4j.pax.swissbox.framework.RemoteFramework}
+     * handle in the RMI registry. A launcher can only be used once.
+     *
+     * @param systemProperties
+     *            system properties to be set before the framework is created
+     * @param frameworkProperties
+     *            framework properties
+     * @param rmiName
+     *            RMI name of the remote framework
+     * @param recordActivation
+     *            should the remote framework record an activation timeline?
+     * @throws RemoteException
+     *             on communication errors
+     * @throws BundleException
+     *             when the framework cannot be created
+     */
+    void launch(Map<String, String> systemProperties, Map<String, String> frameworkProperties,
+        String rmiName, boolean recordActivation) throws RemoteException, BundleException;
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.forked;
+
+import java.io.IOException;
+import java.rmi.AlreadyBoundException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.ops4j.pax.exam.RegistrySignal;
+import org.ops4j.pax.swissbox.framework.RemoteFramework;
+import org.ops4j.pax.swissbox.framework.RemoteFrameworkImpl;
+import org.osgi.framework.BundleException;
+
+/**
+ * Main class of the forked Java VM. Binds a {@link RemoteFrameworkImpl}, or a
+ * {@link RecordingRemoteFramework} when activation recording is enabled, and announces the binding
+ * with a {@link RegistrySignal}. Like {@link RecordingRemoteFramework}, this class must not use
+ * anything but the JRE, OSGi core, Pax Swissbox and the JRE-only classes of Pax Exam.
+ */
+public final class RemoteFrameworkMain {
+
+    /**
+     * System property which enables activation recording.
+     */
+    public static final String RECORD_ACTIVATION_KEY = "pax.exam.fork.record.activation";
+
+    private static final String FRAMEWORK_PROPERTY_PREFIX = "-F";
+
+    private RemoteFrameworkMain() {
+    }
+
+    /**
+     * Parses framework properties in the form {@code -Fkey=value}, like
+     * {@link RemoteFrameworkImpl}.
+     *
+     * @param args
+     *            command line arguments
+     * @return framework properties
+     */
+    static Map<String, String> parseFrameworkProperties(String[] args) {
+        Map<String, String> frameworkProperties = new HashMap<String, String>();
+        for (String arg : args) {
+            if (!arg.startsWith(FRAMEWORK_PROPERTY_PREFIX)) {
+                continue;
+            }
+            int equals = arg.indexOf('=');
+            if (equals == -1) {
+                frameworkProperties.put(arg.substring(FRAMEWORK_PROPERTY_PREFIX.length()), null);
+            }
+            else {
+                frameworkProperties.put(arg.substring(FRAMEWORK_PROPERTY_PREFIX.length(), equals),
+                    arg.substring(equals + 1));
+            }
+        }
+        return frameworkProperties;
+    }
+
+    /**
+     * Binds the remote framework and announces it. Takes the same arguments as
+     * {@link RemoteFrameworkImpl}, i.e. framework properties in the form {@code -Fkey=value}.
+     *
+     * @param args
+     *            command line arguments
+     * @throws IOException
+     *             when the framework cannot be exported or announced
+     * @throws AlreadyBoundException
+     *             when the RMI name is already bound
+     * @throws BundleException
+     *             when the framework cannot be created
+     */
+    public static void main(String[] args) throws IOException, AlreadyBoundException,
+        BundleException {
+        Map<String, String> frameworkProperties = parseFrameworkProperties(args);
+        if (Boolean.getBoolean(RECORD_ACTIVATION_KEY)) {
+            new RecordingRemoteFramework(frameworkProperties);
+        }
+        else {
+            new RemoteFrameworkImpl(frameworkProperties);
+        }
+        RegistrySignal.announce(System.getProperty(RemoteFramework.RMI_NAME_KEY));
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.forked.provision;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.jar.JarInputStream;
+import java.util.jar.Manifest;
+
+import org.ops4j.pax.exam.MavenUtils;
+import org.ops4j.pax.exam.util.Digests;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Machine-wide cache of downloaded artifacts, shared by all containers and runs. Artifacts are
+ * stored once under the SHA-256 digest of their content, and an index maps each url to the
+ * digest of its artifact. Download folders get hard links to the cached artifacts where the file
+ * system supports them, copies otherwise. The bundle headers of each artifact are read in the
+ * same pass as its digest and kept in a manifest index, so that cached jars are never reopened.
+ * <p>
+ * Only urls which always denote the same content, i.e. released Maven artifacts, are cached, so
+ * snapshots, version ranges, local files and other urls are downloaded every time. Entries are published with atomic moves, so that
+ * concurrent Java VMs can share the cache. When the cache exceeds its maximum size, the least
+ * recently used artifacts are evicted by the Java VM holding the eviction lock.
+ */
+class ArtifactCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArtifactCache.class);
+
+    private static final String OBJECTS_FOLDER = "objects";
+
+    private static final String INDEX_FOLDER = "index";
+
+    private static final String MANIFESTS_FOLDER = "manifests";
+
+    private static final String MANIFEST_SUFFIX = ".properties";
+
+    private static final String EVICTION_LOCK = "eviction.lock";
+
+    private static final String WRAP_PROTOCOL = "wrap:";
+
+    /**
+     * File locks are held per Java VM, so threads of this Java VM take turns before locking.
+     */
+    private static final Object EVICTION = new Object();
+
+    private final File objects;
+
+    private final File index;
+
+    private final File manifests;
+
+    private final File lock;
+
+    private final long maxSize;
+
+    /**
+     * @param root
+     *            cache folder
+     * @param maxSize
+     *            maximum size of the cached artifacts in bytes
+     */
+    ArtifactCache(File root, long maxSize) {
+        this.objects = new File(root, OBJECTS_FOLDER);
+        this.index = new File(root, INDEX_FOLDER);
+        this.manifests = new File(root, MANIFESTS_FOLDER);
+        this.lock = new File(root, EVICTION_LOCK);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Places the cached artifact of an url at the given destination, which must not exist.
+     *
+     * @param url
+     *            artifact url
+     * @param destination
+     *            destination file
+     * @return bundle headers of the cached artifact, or null if it must be downloaded
+     */
+    BundleManifest fetch(String url, File destination) {
+        if (!isCacheable(url)) {
+            return null;
+        }
+        File entry = new File(index, Digests.sha256(url));
+        try {
+            String digest = new String(Files.readAllBytes(entry.toPath()),
+                StandardCharsets.UTF_8).trim();
+            File object = new File(objects, digest);
+            linkOrCopy(object.toPath(), destination.toPath());
+            object.setLastModified(System.currentTimeMillis());
+            LOG.debug("Artifact cache hit for {}", url);
+            BundleManifest manifest = loadManifest(digest);
+            if (manifest == null) {
+                manifest = BundleManifest.read(destination);
+                saveManifest(digest, manifest);
+            }
+            return manifest;
+        }
+        catch (NoSuchFileException exc) {
+            // not cached yet, or evicted
+            entry.delete();
+            return null;
+        }
+        catch (IOException exc) {
+            LOG.debug("Cannot fetch {} from artifact cache", url, exc);
+            return null;
+        }
+    }
+
+    /**
+     * Adds a downloaded artifact to the cache.
+     *
+     * @param url
+     *            artifact url
+     * @param file
+     *            downloaded artifact
+     * @return bundle headers of the artifact, or null if the url is not cached
+     */
+    BundleManifest store(String url, File file) {
+        if (!isCacheable(url)) {
+            return null;
+        }
+        try {
+            MessageDigest digester = Digests.newDigest();
+            BundleManifest manifest = scan(file, digester);
+            String digest = Digests.toHex(digester.digest());
+            File object = new File(objects, digest);
+            boolean added = false;
+            if (object.isFile()) {
+                object.setLastModified(System.currentTimeMillis());
+            }
+            else {
+                objects.mkdirs();
+                Path tmp = Files.createTempFile(objects.toPath(), digest, ".tmp");
+                Files.delete(tmp);
+                linkOrCopy(file.toPath(), tmp);
+                Files.move(tmp, object.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                added = true;
+            }
+            saveManifest(digest, manifest);
+            index.mkdirs();
+            Path tmp = Files.createTempFile(index.toPath(), "entry", ".tmp");
+            Files.write(tmp, digest.getBytes(StandardCharsets.UTF_8));
+            Files.move(tmp, new File(index, Digests.sha256(url)).toPath(),
+                StandardCopyOption.ATOMIC_MOVE);
+            if (added) {
+                evict();
+            }
+            return manifest;
+        }
+        catch (IOException exc) {
+            LOG.debug("Cannot store {} in artifact cache", url, exc);
+            return null;
+        }
+    }
+
+    private BundleManifest loadManifest(String digest) {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(new File(manifests, digest
+            + MANIFEST_SUFFIX).toPath())) {
+            properties.load(in);
+            return BundleManifest.fromProperties(properties);
+        }
+        catch (IOException exc) {
+            return null;
+        }
+    }
+
+    private void saveManifest(String digest, BundleManifest manifest) throws IOException {
+        manifests.mkdirs();
+        Path tmp = Files.createTempFile(manifests.toPath(), digest, ".tmp");
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            manifest.toProperties().store(out, null);
+        }
+        Files.move(tmp, new File(manifests, digest + MANIFEST_SUFFIX).toPath(),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Deletes the least recently used artifacts until the cache fits its maximum size. Index
+     * entries of evicted artifacts are removed when they are looked up.
+     *
+     * @throws IOException
+     *             when the eviction lock cannot be taken
+     */
+    void evict() throws IOException {
+        synchronized (EVICTION) {
+            try (FileChannel channel = FileChannel.open(lock.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE); FileLock fileLock = channel.tryLock()) {
+                if (fileLock == null) {
+                    // another Java VM is evicting
+                    return;
+                }
+                File[] files = objects.listFiles((dir, name) -> !name.endsWith(".tmp"));
+                if (files == null) {
+                    return;
+                }
+                Map<File, Long> used = new HashMap<File, Long>();
+                long size = 0;
+                for (File file : files) {
+                    used.put(file, file.lastModified());
+                    size += file.length();
+                }
+                List<File> lru = new ArrayList<File>(used.keySet());
+                lru.sort(Comparator.comparingLong(used::get));
+                for (int i = 0; i < lru.size() && size > maxSize; i++) {
+                    File object = lru.get(i);
+                    if (object.lastModified() != used.get(object)) {
+                        // fetched or stored again since the cache was listed
+                        continue;
+                    }
+                    long length = object.length();
+                    if (object.delete()) {
+                        new File(manifests, object.getName() + MANIFEST_SUFFIX).delete();
+                        size -= length;
+                        LOG.debug("Evicted {} from artifact cache", object.getName());
+                    }
+                }
+            }
+            catch (OverlappingFileLockException exc) {
+                // another cache of this Java VM is evicting
+            }
+        }
+    }
+
+    /**
+     * Only released Maven artifacts, possibly wrapped, are known to never change. Snapshots,
+     * version ranges, local files and other urls may denote different content over time.
+     *
+     * @param url
+     *            artifact url
+     * @return true if the url always denotes the same content
+     */
+    static boolean isCacheable(String url) {
+        String artifact = url;
+        if (artifact.startsWith(WRAP_PROTOCOL)) {
+            // wrap:url[$instructions]
+            artifact = artifact.substring(WRAP_PROTOCOL.length());
+            int instructions = artifact.indexOf('$');
+            if (instructions >= 0) {
+                artifact = artifact.substring(0, instructions);
+            }
+        }
+        return MavenUtils.isReleaseUrl(artifact);
+    }
+
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+        }
+        catch (NoSuchFileException exc) {
+            throw exc;
+        }
+        catch (IOException | UnsupportedOperationException exc) {
+            // different file store or no hard links
+            Files.copy(source, target);
+        }
+    }
+
+    /**
+     * Reads a file into the digest, parsing the manifest on the way.
+     *
+     * @return bundle headers of the file
+     */
+    static BundleManifest scan(File file, MessageDigest digest) throws IOException {
+        BundleManifest manifest;
+        try (InputStream in = new DigestInputStream(new BufferedInputStream(
+            Files.newInputStream(file.toPath())), digest)) {
+            try {
+                // the manifest is usually the first entry of a jar
+                Manifest header = new JarInputStream(in, false).getManifest();
+                manifest = header == null ? null : BundleManifest.of(header);
+            }
+            catch (IOException exc) {
+                manifest = BundleManifest.UNREADABLE;
+            }
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer) != -1) {
+                // digest the rest of the file
+            }
+        }
+        return manifest == null ? BundleManifest.read(file) : manifest;
+    }
+}
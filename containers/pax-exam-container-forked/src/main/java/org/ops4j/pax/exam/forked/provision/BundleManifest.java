@@ -0,0 +1,260 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.forked.provision;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+import org.osgi.framework.Constants;
+
+/**
+ * The OSGi headers of a downloaded bundle which decide its caching name, its validity and how it
+ * is started: symbolic name, name, version, fragment host and the imported and exported package
+ * names. Instances are read once per file and may be persisted with the artifact cache.
+ */
+public class BundleManifest {
+
+    /**
+     * Manifest of a file which is not a readable jar.
+     */
+    static final BundleManifest UNREADABLE = new BundleManifest(false, false, null, null, null,
+        null, Collections.<String> emptyList(), Collections.<String> emptyList());
+
+    /**
+     * Manifest of a jar without manifest.
+     */
+    static final BundleManifest MISSING = new BundleManifest(true, false, null, null, null, null,
+        Collections.<String> emptyList(), Collections.<String> emptyList());
+
+    private static final String READABLE = "readable";
+
+    private static final String PRESENT = "present";
+
+    private final boolean readable;
+
+    private final boolean present;
+
+    private final String symbolicName;
+
+    private final String name;
+
+    private final String version;
+
+    private final String fragmentHost;
+
+    private final List<String> importedPackages;
+
+    private final List<String> exportedPackages;
+
+    // CHECKSTYLE:SKIP : more than 7 params
+    private BundleManifest(boolean readable, boolean present, String symbolicName, String name,
+        String version, String fragmentHost, List<String> importedPackages,
+        List<String> exportedPackages) {
+        this.readable = readable;
+        this.present = present;
+        this.symbolicName = symbolicName;
+        this.name = name;
+        this.version = version;
+        this.fragmentHost = fragmentHost;
+        this.importedPackages = importedPackages;
+        this.exportedPackages = exportedPackages;
+    }
+
+    /**
+     * Extracts the bundle headers of a manifest.
+     *
+     * @param manifest
+     *            jar manifest, may be null
+     * @return bundle manifest
+     */
+    static BundleManifest of(Manifest manifest) {
+        if (manifest == null) {
+            return MISSING;
+        }
+        Attributes attributes = manifest.getMainAttributes();
+        return new BundleManifest(true, true,
+            stripDirectives(attributes.getValue(Constants.BUNDLE_SYMBOLICNAME)),
+            attributes.getValue(Constants.BUNDLE_NAME),
+            attributes.getValue(Constants.BUNDLE_VERSION),
+            stripDirectives(attributes.getValue(Constants.FRAGMENT_HOST)),
+            packageNames(attributes.getValue(Constants.IMPORT_PACKAGE)),
+            packageNames(attributes.getValue(Constants.EXPORT_PACKAGE)));
+    }
+
+    /**
+     * Reads the bundle headers of a jar file.
+     *
+     * @param file
+     *            jar file
+     * @return bundle manifest, {@link #UNREADABLE} if the file is not a jar
+     */
+    static BundleManifest read(File file) {
+        // verify that is a valid jar. Do not verify that is signed (the false param).
+        try (JarFile jar = new JarFile(file, false)) {
+            return of(jar.getManifest());
+        }
+        catch (IOException exc) {
+            return UNREADABLE;
+        }
+    }
+
+    /**
+     * @return is the file a readable jar?
+     */
+    public boolean isReadable() {
+        return readable;
+    }
+
+    /**
+     * @return does the jar have a manifest?
+     */
+    public boolean isPresent() {
+        return present;
+    }
+
+    /**
+     * @return bundle symbolic name without directives, or null
+     */
+    public String getSymbolicName() {
+        return symbolicName;
+    }
+
+    /**
+     * @return bundle name, or null
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return bundle version, or null
+     */
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * @return symbolic name of the fragment host, or null if the bundle is not a fragment
+     */
+    public String getFragmentHost() {
+        return fragmentHost;
+    }
+
+    /**
+     * @return is the bundle a fragment?
+     */
+    public boolean isFragment() {
+        return fragmentHost != null;
+    }
+
+    /**
+     * @return names of the imported packages
+     */
+    public List<String> getImportedPackages() {
+        return importedPackages;
+    }
+
+    /**
+     * @return names of the exported packages
+     */
+    public List<String> getExportedPackages() {
+        return exportedPackages;
+    }
+
+    Properties toProperties() {
+        Properties properties = new Properties();
+        properties.setProperty(READABLE, Boolean.toString(readable));
+        properties.setProperty(PRESENT, Boolean.toString(present));
+        setProperty(properties, Constants.BUNDLE_SYMBOLICNAME, symbolicName);
+        setProperty(properties, Constants.BUNDLE_NAME, name);
+        setProperty(properties, Constants.BUNDLE_VERSION, version);
+        setProperty(properties, Constants.FRAGMENT_HOST, fragmentHost);
+        properties.setProperty(Constants.IMPORT_PACKAGE, String.join(",", importedPackages));
+        properties.setProperty(Constants.EXPORT_PACKAGE, String.join(",", exportedPackages));
+        return properties;
+    }
+
+    static BundleManifest fromProperties(Properties properties) {
+        return new BundleManifest(Boolean.parseBoolean(properties.getProperty(READABLE)),
+            Boolean.parseBoolean(properties.getProperty(PRESENT)),
+            properties.getProperty(Constants.BUNDLE_SYMBOLICNAME),
+            properties.getProperty(Constants.BUNDLE_NAME),
+            properties.getProperty(Constants.BUNDLE_VERSION),
+            properties.getProperty(Constants.FRAGMENT_HOST),
+            packageNames(properties.getProperty(Constants.IMPORT_PACKAGE)),
+            packageNames(properties.getProperty(Constants.EXPORT_PACKAGE)));
+    }
+
+    private static void setProperty(Properties properties, String key, String value) {
+        if (value != null) {
+            properties.setProperty(key, value);
+        }
+    }
+
+    /**
+     * Removes directives and attributes like "; singleton:=true".
+     */
+    private static String stripDirectives(String header) {
+        if (header == null) {
+            return null;
+        }
+        int semicolonPos = header.indexOf(';');
+        return (semicolonPos >= 0 ? header.substring(0, semicolonPos) : header).trim();
+    }
+
+    /**
+     * Extracts the package names of an import or export header, skipping quoted attribute values.
+     */
+    private static List<String> packageNames(String header) {
+        if (header == null || header.trim().isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> names = new ArrayList<String>();
+        StringBuilder clause = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i <= header.length(); i++) {
+            char c = i < header.length() ? header.charAt(i) : ',';
+            if (c == '"') {
+                quoted = !quoted;
+            }
+            if (c == ',' && !quoted) {
+                // a clause may list several packages before its attributes
+                for (String part : clause.toString().split(";")) {
+                    if (part.contains("=")) {
+                        break;
+                    }
+                    if (!part.trim().isEmpty()) {
+                        names.add(part.trim());
+                    }
+                }
+                clause.setLength(0);
+            }
+            else {
+                clause.append(c);
+            }
+        }
+        return Collections.unmodifiableList(names);
+    }
+}
@@ -24,11 +24,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
 import java.util.Properties;
-import java.util.jar.JarFile;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.Manifest;
 
 import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.util.Digests;
 import org.osgi.framework.Constants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,8 +52,46 @@ public class PlatformImpl {
     private static final Logger LOGGER = LoggerFactory.getLogger(PlatformImpl.class);
 
     /**
-     * Concrete platform builder as equinox, felix, kf.
+     * Name of the file recording the file names of downloaded bundles by url.
      */
+    private static final String DOWNLOADED_BUNDLES = "downloaded_bundles.properties";
+
+    /**
+     * Number of hex digits of the url hash in caching names.
+     */
+    private static final int URL_HASH_LENGTH = 16;
+
+    /**
+     * Artifact cache shared by all download folders, may be null.
+     */
+    private final ArtifactCache cache;
+
+    /**
+     * Bundle headers of downloaded files by path.
+     */
+    private final Map<String, KnownManifest> manifests =
+        new ConcurrentHashMap<String, KnownManifest>();
+
+    /**
+     * Creates a platform downloading every bundle into each work directory.
+     */
+    public PlatformImpl() {
+        this.cache = null;
+    }
+
+    /**
+     * Creates a platform with a persistent artifact cache. Bundles with a fixed version are
+     * downloaded once and linked into the work directories.
+     *
+     * @param cacheFolder
+     *            folder of the artifact cache, shared by all Java VMs
+     * @param maxCacheSize
+     *            maximum size of the cached artifacts in bytes
+     */
+    public PlatformImpl(File cacheFolder, long maxCacheSize) {
+        this.cache = new ArtifactCache(cacheFolder, maxCacheSize);
+    }
+
     /**
      * Downloads files from urls.
      *
@@ -77,12 +119,53 @@ public class PlatformImpl {
     public File download(final File workDir, final URL url, final String displayName,
         final Boolean overwrite, final boolean checkAttributes, final boolean failOnValidation,
         final boolean downloadFeeback) {
+        Properties fileNamesForUrls = loadDownloadedBundles(workDir);
+        Properties loaded = (Properties) fileNamesForUrls.clone();
+        File file = download(workDir, url, displayName, overwrite, checkAttributes,
+            failOnValidation, downloadFeeback, fileNamesForUrls);
+        if (!fileNamesForUrls.equals(loaded)) {
+            saveDownloadedBundles(workDir, fileNamesForUrls);
+        }
+        return file;
+    }
+
+    /**
+     * Downloads files from urls, recording the file names of new downloads in the given
+     * properties instead of the properties file of the work directory. This method may be called
+     * concurrently for different urls with the same properties, which are saved once by
+     * {@link #saveDownloadedBundles(File, Properties)} when all downloads are done.
+     *
+     * @param workDir
+     *            the directory where to download bundles
+     * @param url
+     *            of the file to be downloaded
+     * @param displayName
+     *            to be shown during download
+     * @param overwrite
+     *            if the bundles should be overwritten
+     * @param checkAttributes
+     *            whether or not to check attributes in the manifest
+     * @param failOnValidation
+     *            if validation fails should or not fail with an exception (or just return null)
+     * @param downloadFeeback
+     *            whether or not downloading process should display fine grained progres info
+     * @param fileNamesForUrls
+     *            file names of downloaded bundles by url, as loaded by
+     *            {@link #loadDownloadedBundles(File)}
+     *
+     * @return the File corresponding to the downloaded file, or null if the bundle is invalid (not
+     *         an osgi bundle)
+     *
+     * @throws TestContainerException
+     *             if the url could not be downloaded
+     */
+    public File download(final File workDir, final URL url, final String displayName,
+        final Boolean overwrite, final boolean checkAttributes, final boolean failOnValidation,
+        final boolean downloadFeeback, final Properties fileNamesForUrls) {
         LOGGER.debug("Downloading [" + url + "]");
-        File downloadedBundlesFile = new File(workDir, "downloaded_bundles.properties");
-        Properties fileNamesForUrls = loadProperties(downloadedBundlesFile);
 
         String downloadedFileName = fileNamesForUrls.getProperty(url.toExternalForm());
-        String hashFileName = "" + url.toExternalForm().hashCode();
+        String hashFileName = Digests.sha256(url.toExternalForm());
         if (downloadedFileName == null) {
             // destination will be made based on the hashcode of the url to be downloaded
             downloadedFileName = hashFileName + ".jar";
@@ -106,10 +189,24 @@ public class PlatformImpl {
                 forceOverwrite = true;
             }
         }
+        boolean download = false;
         if (forceOverwrite) {
             try {
                 LOGGER.debug("Creating new file at destination: " + destination.getAbsolutePath());
                 destination.getParentFile().mkdirs();
+                // never write through a hard link into the artifact cache
+                Files.deleteIfExists(destination.toPath());
+                BundleManifest cached = cache == null ? null : cache.fetch(url.toExternalForm(),
+                    destination);
+                remember(destination, cached);
+                download = cached == null;
+            }
+            catch (IOException e) {
+                throw new TestContainerException("[" + url + "] could not be downloaded", e);
+            }
+        }
+        if (download) {
+            try {
                 destination.createNewFile();
                 FileOutputStream os = null;
                 try {
@@ -141,6 +238,9 @@ public class PlatformImpl {
                         os.close();
                     }
                 }
+                if (cache != null) {
+                    remember(destination, cache.store(url.toExternalForm(), destination));
+                }
             }
             catch (IOException e) {
                 throw new TestContainerException("[" + url + "] could not be downloaded", e);
@@ -160,22 +260,64 @@ public class PlatformImpl {
         String cachingName = determineCachingName(destination, hashFileName);
         File newDestination = new File(destination.getParentFile(), cachingName);
         if (!cachingName.equals(destination.getName())) {
-            if (newDestination.exists()) {
-                if (!newDestination.delete()) {
-                    throw new TestContainerException("Cannot delete " + newDestination);
+            synchronized (this) {
+                if (newDestination.exists()) {
+                    if (!newDestination.delete()) {
+                        throw new TestContainerException("Cannot delete " + newDestination);
+                    }
                 }
-            }
-            if (!destination.renameTo(newDestination)) {
-                throw new TestContainerException("Cannot rename " + destination + " to "
-                    + newDestination);
+                BundleManifest manifest = getManifest(destination);
+                if (!destination.renameTo(newDestination)) {
+                    throw new TestContainerException("Cannot rename " + destination + " to "
+                        + newDestination);
+                }
+                remember(destination, null);
+                remember(newDestination, manifest);
             }
             fileNamesForUrls.setProperty(url.toExternalForm(), cachingName);
-            saveProperties(fileNamesForUrls, downloadedBundlesFile);
         }
 
         return newDestination;
     }
 
+    /**
+     * Loads the file names of the bundles downloaded to a work directory.
+     *
+     * @param workDir
+     *            the directory where bundles are downloaded
+     * @return file names by url, empty if nothing has been downloaded yet
+     */
+    public Properties loadDownloadedBundles(File workDir) {
+        return loadProperties(new File(workDir, DOWNLOADED_BUNDLES));
+    }
+
+    /**
+     * Saves the file names of the bundles downloaded to a work directory. The properties file is
+     * replaced atomically, so that concurrent readers never see a partially written file.
+     *
+     * @param workDir
+     *            the directory where bundles are downloaded
+     * @param fileNamesForUrls
+     *            file names by url
+     */
+    public void saveDownloadedBundles(File workDir, Properties fileNamesForUrls) {
+        File tmp = null;
+        try {
+            tmp = File.createTempFile(DOWNLOADED_BUNDLES, ".tmp", workDir);
+            saveProperties(fileNamesForUrls, tmp);
+            Files.move(tmp.toPath(), new File(workDir, DOWNLOADED_BUNDLES).toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            throw new TestContainerException("Cannot store properties in " + workDir, e);
+        }
+        finally {
+            if (tmp != null) {
+                tmp.delete();
+            }
+        }
+    }
+
     private Properties loadProperties(File file) {
         Properties properties = new Properties();
         FileInputStream in = null;
@@ -221,6 +363,33 @@ public class PlatformImpl {
         }
     }
 
+    /**
+     * Returns the bundle headers of a downloaded file. The headers are read once per file, or
+     * taken from the manifest index of the artifact cache.
+     *
+     * @param file
+     *            downloaded file
+     * @return bundle headers
+     */
+    public BundleManifest getManifest(File file) {
+        KnownManifest known = manifests.get(file.getAbsolutePath());
+        if (known != null && known.isCurrent(file)) {
+            return known.manifest;
+        }
+        BundleManifest manifest = BundleManifest.read(file);
+        remember(file, manifest);
+        return manifest;
+    }
+
+    private void remember(File file, BundleManifest manifest) {
+        if (manifest == null) {
+            manifests.remove(file.getAbsolutePath());
+        }
+        else {
+            manifests.put(file.getAbsolutePath(), new KnownManifest(file, manifest));
+        }
+    }
+
     /**
      * Validate that the file is an valid bundle. A valid bundle will be a loadable jar file that
      * has manifest and the manifest contains at least an entry for Bundle-SymboliName or
@@ -258,33 +427,17 @@ public class PlatformImpl {
             }
         }
         else {
-            JarFile jar = null;
-            try {
-                // verify that is a valid jar. Do not verify that is signed (the false param).
-                jar = new JarFile(file, false);
-                final Manifest manifest = jar.getManifest();
-                if (manifest == null) {
-                    throw new TestContainerException("[" + url
-                        + "] is not a valid bundle (manifest is missing)");
-                }
-                bundleSymbolicName = manifest.getMainAttributes().getValue(
-                    Constants.BUNDLE_SYMBOLICNAME);
-                bundleName = manifest.getMainAttributes().getValue(Constants.BUNDLE_NAME);
-            }
-            catch (IOException e) {
+            BundleManifest manifest = getManifest(file);
+            if (!manifest.isReadable()) {
                 throw new TestContainerException("[" + url
-                    + "] is not a valid bundle (reading jar failed)", e);
+                    + "] is not a valid bundle (reading jar failed)");
             }
-            finally {
-                if (jar != null) {
-                    try {
-                        jar.close();
-                    }
-                    catch (IOException ignore) {
-                        // just ignore as this is less probably to happen.
-                    }
-                }
+            if (!manifest.isPresent()) {
+                throw new TestContainerException("[" + url
+                    + "] is not a valid bundle (manifest is missing)");
             }
+            bundleSymbolicName = manifest.getSymbolicName();
+            bundleName = manifest.getName();
         }
         if (bundleSymbolicName == null && bundleName == null) {
             throw new TestContainerException("[" + url
@@ -293,56 +446,51 @@ public class PlatformImpl {
     }
 
     /**
-     * Determine name to be used for caching on local file system.
+     * Determine name to be used for caching on local file system. Different urls may resolve to
+     * the same bundle, so the name contains a hash of the url, to keep concurrent downloads of the
+     * bundle from replacing each other's file.
      *
      * @param file
      *            file to be validated
-     * @param defaultBundleSymbolicName
-     *            default bundle symbolic name to be used if manifest does not have a bundle
-     *            symbolic name
+     * @param urlHash
+     *            hash of the url of the file, used as bundle symbolic name if the manifest does
+     *            not have one
      *
-     * @return file name based on bundle symbolic name and version
+     * @return file name based on bundle symbolic name, version and url
      */
-    String determineCachingName(final File file, final String defaultBundleSymbolicName) {
-        String bundleSymbolicName = null;
-        String bundleVersion = null;
-        JarFile jar = null;
-        try {
-            // verify that is a valid jar. Do not verify that is signed (the false param).
-            jar = new JarFile(file, false);
-            final Manifest manifest = jar.getManifest();
-            if (manifest != null) {
-                bundleSymbolicName = manifest.getMainAttributes().getValue(
-                    Constants.BUNDLE_SYMBOLICNAME);
-                bundleVersion = manifest.getMainAttributes().getValue(Constants.BUNDLE_VERSION);
-            }
-        }
-        catch (IOException ignore) {
-            // just ignore
-        }
-        finally {
-            if (jar != null) {
-                try {
-                    jar.close();
-                }
-                catch (IOException ignore) {
-                    // just ignore as this is less probably to happen.
-                }
-            }
+    String determineCachingName(final File file, final String urlHash) {
+        BundleManifest manifest = getManifest(file);
+        String bundleSymbolicName = manifest.getSymbolicName();
+        String bundleVersion = manifest.getVersion();
+        if (bundleVersion == null) {
+            bundleVersion = "0.0.0";
         }
         if (bundleSymbolicName == null) {
-            bundleSymbolicName = defaultBundleSymbolicName;
+            return urlHash + "_" + bundleVersion + ".jar";
         }
-        else {
-            // remove directives like "; singleton:=true"
-            int semicolonPos = bundleSymbolicName.indexOf(";");
-            if (semicolonPos > 0) {
-                bundleSymbolicName = bundleSymbolicName.substring(0, semicolonPos);
-            }
+        return bundleSymbolicName + "_" + bundleVersion + "_"
+            + urlHash.substring(0, URL_HASH_LENGTH) + ".jar";
+    }
+
+    /**
+     * Bundle headers of a file, as long as the file has not changed.
+     */
+    private static class KnownManifest {
+
+        private final long length;
+
+        private final long lastModified;
+
+        private final BundleManifest manifest;
+
+        KnownManifest(File file, BundleManifest manifest) {
+            this.length = file.length();
+            this.lastModified = file.lastModified();
+            this.manifest = manifest;
         }
-        if (bundleVersion == null) {
-            bundleVersion = "0.0.0";
+
+        boolean isCurrent(File file) {
+            return file.length() == length && file.lastModified() == lastModified;
         }
-        return bundleSymbolicName + "_" + bundleVersion + ".jar";
     }
 }
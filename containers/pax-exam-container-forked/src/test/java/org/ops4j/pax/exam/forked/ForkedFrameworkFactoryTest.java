@@ -35,6 +35,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestName;
+import org.ops4j.pax.exam.ActivationTimeline;
 import org.ops4j.pax.exam.CoreOptions;
 import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.swissbox.framework.RemoteFramework;
@@ -45,6 +46,8 @@ import org.osgi.framework.BundleException;
 import org.osgi.framework.Constants;
 import org.osgi.framework.launch.FrameworkFactory;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.ops4j.pax.tinybundles.TinyBundles.rawBuilder;
 
 public class ForkedFrameworkFactoryTest {
@@ -128,6 +131,39 @@ public class ForkedFrameworkFactoryTest {
         forkedFactory.join();
     }
 
+    @Test
+    public void forkWithActivationTimeline() throws BundleException, IOException,
+        InterruptedException {
+        ServiceLoader<FrameworkFactory> loader = ServiceLoader.load(FrameworkFactory.class);
+        FrameworkFactory frameworkFactory = loader.iterator().next();
+
+        ForkedFrameworkFactory forkedFactory = new ForkedFrameworkFactory(frameworkFactory);
+        forkedFactory.setRecordActivation(true);
+
+        Map<String, Object> frameworkProperties = new HashMap<String, Object>();
+        frameworkProperties.put(Constants.FRAMEWORK_STORAGE, storage.getAbsolutePath());
+        RemoteFramework framework = forkedFactory.fork(Collections.<String> emptyList(),
+            Collections.<String, String> emptyMap(), frameworkProperties);
+        framework.init();
+        long bundleId = framework
+            .installBundle("file:target/bundles/pax-exam-sample9-pde.jar");
+        framework.setBundleStartLevel(bundleId, 3);
+        framework.startBundle(bundleId);
+        framework.start();
+        assertTrue(framework.setFrameworkStartLevel(3, 10000));
+
+        ActivationTimeline timeline = ((RemoteActivationTimeline) framework)
+            .getActivationTimeline();
+        List<ActivationTimeline.Activation> activations = timeline.getActivations();
+        assertEquals(1, activations.size());
+        assertEquals(bundleId, activations.get(0).getBundleId());
+        assertEquals(3, activations.get(0).getStartLevel());
+
+        framework.stop();
+
+        forkedFactory.join();
+    }
+
     @Test(expected = TestContainerException.class)
     public void forkWithInvalidBootClasspath() throws BundleException, IOException, InterruptedException,
         NotBoundException, URISyntaxException {
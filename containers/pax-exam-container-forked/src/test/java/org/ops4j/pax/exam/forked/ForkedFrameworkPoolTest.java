@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.forked;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestName;
+import org.ops4j.pax.swissbox.framework.RemoteFramework;
+import org.osgi.framework.Constants;
+import org.osgi.framework.launch.FrameworkFactory;
+
+public class ForkedFrameworkPoolTest {
+
+    private File storage;
+
+    private ForkedFrameworkPool pool;
+
+    @Rule
+    public TestName test = new TestName();
+
+    @Before
+    public void beforeTest() {
+        storage = new File("target/storage/" + test.getMethodName());
+        storage.mkdirs();
+        pool = new ForkedFrameworkPool(1);
+    }
+
+    @After
+    public void afterTest() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void claimPooledJavaVm() throws Exception {
+        FrameworkFactory frameworkFactory = ServiceLoader.load(FrameworkFactory.class).iterator()
+            .next();
+
+        ForkedFrameworkFactory first = new ForkedFrameworkFactory(frameworkFactory, pool);
+        RemoteFramework framework = fork(first, "first");
+        awaitIdle();
+
+        // the second framework is launched in the Java VM started in the background
+        ForkedFrameworkFactory second = new ForkedFrameworkFactory(frameworkFactory, pool);
+        second.setRecordActivation(true);
+        RemoteFramework recording = fork(second, "second");
+        assertTrue(recording instanceof RemoteActivationTimeline);
+        awaitIdle();
+
+        framework.stop();
+        first.join();
+        recording.stop();
+        second.join();
+    }
+
+    @Test
+    public void groupByJavaVmArguments() {
+        List<String> classpath = Arrays.asList("framework.jar", "launcher.jar");
+        String key = ForkedFrameworkPool.key("/jdk", Collections.<String> emptyList(),
+            classpath.toArray(new String[0]));
+
+        assertEquals(key, ForkedFrameworkPool.key("/jdk", Collections.<String> emptyList(),
+            classpath.toArray(new String[0])));
+        assertNotEquals(key, ForkedFrameworkPool.key("/jdk", Arrays.asList("-Xmx1g"),
+            classpath.toArray(new String[0])));
+        assertNotEquals(key, ForkedFrameworkPool.key("/other", Collections.<String> emptyList(),
+            classpath.toArray(new String[0])));
+        assertNotEquals(key, ForkedFrameworkPool.key("/jdk", Collections.<String> emptyList(),
+            new String[] { "launcher.jar", "framework.jar" }));
+    }
+
+    private RemoteFramework fork(ForkedFrameworkFactory forkedFactory, String name)
+        throws Exception {
+        Map<String, Object> frameworkProperties = new HashMap<String, Object>();
+        frameworkProperties.put(Constants.FRAMEWORK_STORAGE, new File(storage, name)
+            .getAbsolutePath());
+        RemoteFramework framework = forkedFactory.fork(Collections.<String> emptyList(),
+            Collections.<String, String> emptyMap(), frameworkProperties);
+        framework.start();
+        long bundleId = framework.installBundle("file:target/bundles/pax-exam-sample9-pde.jar");
+        framework.startBundle(bundleId);
+        framework.callService("(objectClass=org.ops4j.pax.exam.sample9.pde.HelloService)",
+            "getMessage");
+        return framework;
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 60 * 1000;
+        while (pool.getIdleCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertEquals(1, pool.getIdleCount());
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.forked.provision;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArtifactCacheTest {
+
+    private static final String URL = "mvn:org.example/a/1.0.0";
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void cacheOnlyFixedVersions() {
+        assertTrue(ArtifactCache.isCacheable(URL));
+        assertTrue(ArtifactCache.isCacheable("mvn:org.example/a/5.0.0.RELEASE/jar/tests"));
+        assertTrue(ArtifactCache.isCacheable("wrap:mvn:org.example/a/1.0.0"));
+        assertTrue(ArtifactCache.isCacheable(
+            "wrap:mvn:org.example/a/1.0.0$Bundle-SymbolicName=a"));
+        assertTrue(ArtifactCache.isCacheable("mvn:http://repo.example.com!org.example/a/1.0.0"));
+        assertFalse(ArtifactCache.isCacheable("mvn:http://repo.example.com!org.example/a/LATEST"));
+        assertFalse(ArtifactCache.isCacheable("mvn:org.example/a"));
+        assertFalse(ArtifactCache.isCacheable("mvn:org.example/a/1.0.0-SNAPSHOT"));
+        assertFalse(ArtifactCache.isCacheable("mvn:org.example/a/LATEST"));
+        assertFalse(ArtifactCache.isCacheable("mvn:org.example/a/[1,2)"));
+        assertFalse(ArtifactCache.isCacheable("file:/tmp/a.jar"));
+        assertFalse(ArtifactCache.isCacheable("reference:file:/tmp/a.jar"));
+        assertFalse(ArtifactCache.isCacheable("http://repo.example.com/a.jar"));
+        assertFalse(ArtifactCache.isCacheable("wrap:file:/tmp/a.jar"));
+    }
+
+    @Test
+    public void fetchStoredArtifact() throws IOException {
+        ArtifactCache cache = new ArtifactCache(tmp.newFolder("cache"), 1024);
+        File downloaded = write(tmp.newFolder("first"), "a.jar", "content");
+        File fetched = new File(tmp.newFolder("second"), "a.jar");
+
+        assertNull(cache.fetch(URL, fetched));
+        cache.store(URL, downloaded);
+        assertNotNull(cache.fetch(URL, fetched));
+        assertArrayEquals(Files.readAllBytes(downloaded.toPath()),
+            Files.readAllBytes(fetched.toPath()));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() throws IOException {
+        ArtifactCache cache = new ArtifactCache(tmp.newFolder("cache"), 10);
+        File downloads = tmp.newFolder("downloads");
+        File old = write(downloads, "old.jar", "123456");
+        cache.store("mvn:org.example/old/1.0.0", old);
+        old.setLastModified(System.currentTimeMillis() - 60 * 1000);
+        cache.store("mvn:org.example/new/1.0.0", write(downloads, "new.jar", "abcdef"));
+
+        File fetched = tmp.newFolder("fetched");
+        assertNull(cache.fetch("mvn:org.example/old/1.0.0", new File(fetched, "old.jar")));
+        assertNotNull(cache.fetch("mvn:org.example/new/1.0.0", new File(fetched, "new.jar")));
+    }
+
+    @Test
+    public void indexManifests() throws IOException {
+        File bundle = new File("target/bundles/pax-exam-sample9-pde.jar");
+        File root = tmp.newFolder("cache");
+        BundleManifest stored = new ArtifactCache(root, 1024 * 1024).store(URL, bundle);
+        assertEquals("org.ops4j.pax.exam.sample9.pde", stored.getSymbolicName());
+
+        // another Java VM gets the headers from the index
+        BundleManifest fetched = new ArtifactCache(root, 1024 * 1024).fetch(URL, new File(
+            tmp.newFolder("fetched"), bundle.getName()));
+        assertEquals("org.ops4j.pax.exam.sample9.pde", fetched.getSymbolicName());
+        assertEquals(stored.getVersion(), fetched.getVersion());
+    }
+
+    private static File write(File folder, String name, String content) throws IOException {
+        File file = new File(folder, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.forked.provision;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.jar.Attributes;
+import java.util.jar.Manifest;
+
+import org.junit.Test;
+
+public class BundleManifestTest {
+
+    @Test
+    public void summarizeHeaders() {
+        Manifest manifest = new Manifest();
+        Attributes attributes = manifest.getMainAttributes();
+        attributes.putValue("Bundle-SymbolicName", "org.example.fragment; singleton:=true");
+        attributes.putValue("Bundle-Version", "1.2.3");
+        attributes.putValue("Fragment-Host", "org.example.host;bundle-version=\"[1,2)\"");
+        attributes.putValue("Import-Package",
+            "org.a;version=\"[1,2)\",org.b;org.c;resolution:=optional");
+        attributes.putValue("Export-Package", "org.d;uses:=\"org.a,org.b\";version=1.0");
+
+        BundleManifest bundle = BundleManifest.of(manifest);
+        assertEquals("org.example.fragment", bundle.getSymbolicName());
+        assertEquals("1.2.3", bundle.getVersion());
+        assertEquals("org.example.host", bundle.getFragmentHost());
+        assertTrue(bundle.isFragment());
+        assertEquals(Arrays.asList("org.a", "org.b", "org.c"), bundle.getImportedPackages());
+        assertEquals(Arrays.asList("org.d"), bundle.getExportedPackages());
+
+        BundleManifest copy = BundleManifest.fromProperties(bundle.toProperties());
+        assertEquals("org.example.fragment", copy.getSymbolicName());
+        assertEquals("org.example.host", copy.getFragmentHost());
+        assertNull(copy.getName());
+        assertEquals(bundle.getImportedPackages(), copy.getImportedPackages());
+    }
+
+    @Test
+    public void readJar() {
+        BundleManifest bundle = BundleManifest.read(new File(
+            "target/bundles/pax-exam-sample9-pde.jar"));
+        assertTrue(bundle.isReadable());
+        assertEquals("org.ops4j.pax.exam.sample9.pde", bundle.getSymbolicName());
+        assertFalse(bundle.isFragment());
+
+        assertFalse(BundleManifest.read(new File("pom.xml")).isReadable());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.forked.provision;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class PlatformImplTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void downloadConcurrentlyAndSaveOnce() throws Exception {
+        final PlatformImpl platform = new PlatformImpl();
+        final File workDir = tmp.newFolder("downloads");
+        final Properties fileNamesForUrls = platform.loadDownloadedBundles(workDir);
+        assertTrue(fileNamesForUrls.isEmpty());
+
+        // two urls of the same bundle get their own files
+        File bundle = new File("target/bundles/pax-exam-sample9-pde.jar");
+        File copy = new File(tmp.newFolder("copy"), bundle.getName());
+        Files.copy(bundle.toPath(), copy.toPath());
+        List<URL> urls = new ArrayList<URL>();
+        urls.add(bundle.toURI().toURL());
+        urls.add(copy.toURI().toURL());
+        ExecutorService executor = Executors.newFixedThreadPool(urls.size());
+        try {
+            List<Future<File>> downloads = new ArrayList<Future<File>>();
+            for (final URL url : urls) {
+                downloads.add(executor.submit(() -> platform.download(workDir, url,
+                    url.toExternalForm(), false, true, true, false, fileNamesForUrls)));
+            }
+            for (Future<File> download : downloads) {
+                assertTrue(download.get().getName().startsWith(
+                    "org.ops4j.pax.exam.sample9.pde_3.1.0_"));
+                assertTrue(download.get().isFile());
+            }
+            assertNotEquals(downloads.get(0).get(), downloads.get(1).get());
+        }
+        finally {
+            executor.shutdown();
+        }
+        // nothing is saved before all downloads are done
+        assertEquals(0, platform.loadDownloadedBundles(workDir).size());
+
+        platform.saveDownloadedBundles(workDir, fileNamesForUrls);
+        Properties saved = platform.loadDownloadedBundles(workDir);
+        assertEquals(2, saved.size());
+        assertEquals(fileNamesForUrls, saved);
+    }
+}
@@ -16,14 +16,21 @@
  */
 package org.ops4j.pax.exam.karaf.container.internal;
 
+import static org.ops4j.pax.exam.ClassDataSharing.CDS_FOLDER;
+import static org.ops4j.pax.exam.Constants.EXAM_CDS_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_RBC_METRICS_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_STREAM_CONTAINER_EVENTS_KEY;
 import static org.ops4j.pax.exam.CoreOptions.maven;
 import static org.ops4j.pax.exam.CoreOptions.options;
 import static org.ops4j.pax.exam.CoreOptions.systemProperty;
 import static org.ops4j.pax.exam.karaf.options.KarafDistributionOption.editConfigurationFileExtend;
 import static org.ops4j.pax.exam.karaf.options.KarafDistributionOption.editConfigurationFilePut;
+import static org.ops4j.pax.exam.rbc.Constants.METRICS_PROPERTY;
 import static org.ops4j.pax.exam.rbc.Constants.RMI_HOST_PROPERTY;
 import static org.ops4j.pax.exam.rbc.Constants.RMI_NAME_PROPERTY;
 import static org.ops4j.pax.exam.rbc.Constants.RMI_PORT_PROPERTY;
+import static org.ops4j.pax.exam.rbc.Constants.RMI_READY_PORT_PROPERTY;
+import static org.ops4j.pax.exam.rbc.Constants.STREAM_EVENTS_PROPERTY;
 
 import java.io.File;
 import java.io.FileFilter;
@@ -32,13 +39,8 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.net.URL;
-import java.rmi.NoSuchObjectException;
-import java.rmi.registry.LocateRegistry;
-import java.rmi.registry.Registry;
-import java.rmi.server.UnicastRemoteObject;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -51,19 +53,22 @@ import java.util.Properties;
 import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.WildcardFileFilter;
+import org.ops4j.pax.exam.ClassDataSharing;
+import org.ops4j.pax.exam.ConfigurationManager;
 import org.ops4j.pax.exam.ExamSystem;
 import org.ops4j.pax.exam.Info;
 import org.ops4j.pax.exam.Option;
-import org.ops4j.pax.exam.RelativeTimeout;
+import org.ops4j.pax.exam.SharedRegistry;
 import org.ops4j.pax.exam.TestAddress;
 import org.ops4j.pax.exam.TestContainer;
-import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.exam.container.remote.RBCRemoteTarget;
 import org.ops4j.pax.exam.karaf.container.internal.adaptions.KarafManipulator;
 import org.ops4j.pax.exam.karaf.container.internal.adaptions.KarafManipulatorFactory;
+import org.ops4j.pax.exam.karaf.container.internal.runner.KarafJavaRunner;
 import org.ops4j.pax.exam.karaf.container.internal.runner.Runner;
 import org.ops4j.pax.exam.karaf.options.DoNotModifyLogOption;
 import org.ops4j.pax.exam.karaf.options.KarafDistributionBaseConfigurationOption;
@@ -90,6 +95,10 @@ import org.ops4j.pax.exam.options.SystemPropertyOption;
 import org.ops4j.pax.exam.options.extra.EnvironmentOption;
 import org.ops4j.pax.exam.options.extra.VMOption;
 import org.ops4j.pax.exam.rbc.client.RemoteBundleContextClient;
+import org.ops4j.pax.exam.rbc.client.intern.AsyncRemoteBundleContextClientImpl;
+import org.ops4j.pax.exam.rbc.client.intern.ContainerEventPump;
+import org.ops4j.pax.exam.rbc.client.intern.LoggingContainerEventListener;
+import org.ops4j.pax.exam.rbc.client.intern.ReadinessListener;
 import org.osgi.framework.Bundle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -123,7 +132,20 @@ public class KarafTestContainer implements TestContainer {
     private File targetFolder;
     private File karafBase;
 
-    private Registry registry;
+    /**
+     * RMI name of the remote bundle context in the {@link SharedRegistry}, or null if the
+     * registry is not used.
+     */
+    private String rmiName;
+
+    private ReadinessListener readiness;
+
+    /**
+     * Completes when the system bundle is active, i.e. the framework start level has been reached.
+     */
+    private CompletableFuture<Void> frameworkReady;
+
+    private ContainerEventPump eventPump;
 
     private static boolean isJava9Compatible;
     
@@ -153,13 +175,18 @@ public class KarafTestContainer implements TestContainer {
             String name = system.createID(KARAF_TEST_CONTAINER);
 
             Option invokerConfiguration = getInvokerConfiguration();
-
-			String host = InetAddress.getLoopbackAddress().getHostAddress();
-			System.setProperty("java.rmi.server.hostname", host);
-            final int rmiRegistryPort = findFreePort();
+            boolean streamEvents = Boolean.parseBoolean(new ConfigurationManager().getProperty(
+                EXAM_STREAM_CONTAINER_EVENTS_KEY, "false"));
+            boolean metrics = Boolean.parseBoolean(new ConfigurationManager().getProperty(
+                EXAM_RBC_METRICS_KEY, "false"));
+
+            String host = SharedRegistry.getHost();
+            final int rmiRegistryPort = SharedRegistry.acquire();
+            rmiName = name;
+            // Karaf exports its JMX connector on this port, so it must be known in advance
             final int rmiServerPort = findFreePort();
-            LOGGER.info("Creating RMI registry server on {}:{}", host, rmiRegistryPort);
-            registry = LocateRegistry.createRegistry(rmiRegistryPort);
+            LOGGER.info("Using RMI registry server on {}:{}", host, rmiRegistryPort);
+            readiness = new ReadinessListener();
 
             ExamSystem subsystem = system
                 .fork(options(
@@ -167,10 +194,17 @@ public class KarafTestContainer implements TestContainer {
                     systemProperty(RMI_HOST_PROPERTY).value(host),
                     systemProperty(RMI_PORT_PROPERTY).value(Integer.toString(rmiRegistryPort)),
                     systemProperty(RMI_NAME_PROPERTY).value(name),
+                    systemProperty(RMI_READY_PORT_PROPERTY).value(Integer.toString(readiness.getPort())),
                     editConfigurationFilePut("etc/org.apache.karaf.management.cfg", "rmiRegistryPort", Integer.toString(rmiRegistryPort)),
                     editConfigurationFilePut("etc/org.apache.karaf.management.cfg", "rmiServerPort", Integer.toString(rmiServerPort)),
+                    // the registry is shared by all containers, so the JMX connector needs a unique name
+                    editConfigurationFilePut("etc/org.apache.karaf.management.cfg", "serviceUrl",
+                        "service:jmx:rmi://" + host + ":" + rmiServerPort + "/jndi/rmi://" + host + ":"
+                            + rmiRegistryPort + "/karaf-" + name),
                     invokerConfiguration,
                     systemProperty(EXAM_INJECT_PROPERTY).value("true"),
+                    systemProperty(STREAM_EVENTS_PROPERTY).value(Boolean.toString(streamEvents)),
+                    systemProperty(METRICS_PROPERTY).value(Boolean.toString(metrics)),
                     editConfigurationFileExtend("etc/system.properties", "jline.shutdownhook",
                         "true")));
 
@@ -184,7 +218,11 @@ public class KarafTestContainer implements TestContainer {
                 ArchiveExtractor.extract(sourceDistribution, targetFolder);
             }
 
-            target = new RBCRemoteTarget(name, rmiRegistryPort, subsystem.getTimeout());
+            target = new RBCRemoteTarget(name, rmiRegistryPort, subsystem.getTimeout(), readiness);
+            if (streamEvents) {
+                eventPump = new ContainerEventPump(target.getClientRBC(), name,
+                    new LoggingContainerEventListener());
+            }
 
             karafBase = searchKarafBase(targetFolder);
             File karafHome = karafBase;
@@ -220,6 +258,9 @@ public class KarafTestContainer implements TestContainer {
             updateUserSetProperties(karafHome, options);
 
             startKaraf(subsystem, karafBase, karafHome);
+            if (eventPump != null) {
+                eventPump.start();
+            }
             started = true;
         }
         catch (IOException e) {
@@ -298,6 +339,9 @@ public class KarafTestContainer implements TestContainer {
         boolean enableMBeanServerBuilder = shouldMBeanServerBuilderBeEnabled(subsystem);
         String[] karafOpts = new String[] {};
         String[] env = environment.toArray(new String[environment.size()]);
+        if (runner instanceof KarafJavaRunner) {
+            ((KarafJavaRunner) runner).setClassDataSharing(createClassDataSharing());
+        }
         runner.exec(env, karafBase, javaHome.toString(), javaOpts.toArray(new String[] {}),
             javaEndorsedDirs, javaExtDirs, karafHome.toString(), karafData.toString(), karafEtc.toString(), karafLog.toString(),
             karafOpts, opts.toArray(new String[] {}), classPath, main, options,
@@ -309,9 +353,12 @@ public class KarafTestContainer implements TestContainer {
             + subsystem.getTimeout());
 
         if (subsystem.getOptions(ServerModeOption.class).length == 0) {
-            waitForState(Constants.SYSTEM_BUNDLE, Bundle.ACTIVE, subsystem.getTimeout());
+            // do not block here, the probe upload can overlap with reaching the start level
+            frameworkReady = target.getAsyncClientRBC().waitForStateAsync(Constants.SYSTEM_BUNDLE,
+                Bundle.ACTIVE, subsystem.getTimeout());
         }
         else {
+            frameworkReady = CompletableFuture.completedFuture(null);
             LOGGER
                 .info("System runs in Server Mode. Which means, no Test facility bundles available on target system.");
         }
@@ -369,6 +416,12 @@ public class KarafTestContainer implements TestContainer {
         return "true";
     }
 
+    private ClassDataSharing createClassDataSharing() {
+        boolean cds = Boolean.parseBoolean(new ConfigurationManager().getProperty(EXAM_CDS_KEY,
+            "false"));
+        return cds ? new ClassDataSharing(new File(system.getConfigFolder(), CDS_FOLDER)) : null;
+    }
+
     private boolean shouldMBeanServerBuilderBeEnabled(ExamSystem subsystem) {
         KarafDistributionConfigurationSecurityOption[] securityOptions = subsystem
             .getOptions(KarafDistributionConfigurationSecurityOption.class);
@@ -675,6 +728,10 @@ public class KarafTestContainer implements TestContainer {
     public synchronized TestContainer stop() {
         LOGGER.debug("Shutting down the test container (Pax Runner)");
         try {
+            if (eventPump != null) {
+                eventPump.close();
+                eventPump = null;
+            }
             if (started) {
                 target.stop();
                 RemoteBundleContextClient remoteBundleContextClient = target.getClientRBC();
@@ -685,26 +742,29 @@ public class KarafTestContainer implements TestContainer {
                 if (runner != null) {
                     runner.shutdown();
                 }
-                try {
-                    UnicastRemoteObject.unexportObject(registry, true);
-                    /*
-                     * NOTE: javaRunner.waitForExit() works for Equinox and Felix, but not for Knopflerfish,
-                     * need to investigate why. OTOH, it may be better to kill the process as we're doing
-                     * now, just to be on the safe side.
-                     */
-                }
-                catch (NoSuchObjectException exc) {
-                    throw new TestContainerException(exc);
-                }
-
             }
             else {
+                String outputTail = runner == null ? "" : runner.getOutputTail();
+                if (!outputTail.isEmpty()) {
+                    throw new RuntimeException("Container never came up, last output:\n"
+                        + outputTail);
+                }
                 throw new RuntimeException("Container never came up");
             }
         }
         finally {
             started = false;
             target = null;
+            frameworkReady = null;
+            if (readiness != null) {
+                readiness.close();
+                readiness = null;
+            }
+            if (rmiName != null) {
+                SharedRegistry.unbind(rmiName);
+                SharedRegistry.release();
+                rmiName = null;
+            }
             if (framework.getExisting() != null) {
                 restoreConfigFiles();
             }
@@ -731,13 +791,13 @@ public class KarafTestContainer implements TestContainer {
         }
     }
 
-    private void waitForState(final long bundleId, final int state, final RelativeTimeout timeout) {
-        target.getClientRBC().waitForState(bundleId, state, timeout);
+    private void awaitFrameworkReady() {
+        AsyncRemoteBundleContextClientImpl.await(frameworkReady);
     }
 
-
     @Override
     public synchronized void call(TestAddress address) {
+        awaitFrameworkReady();
         target.call(address);
     }
 
@@ -748,7 +808,9 @@ public class KarafTestContainer implements TestContainer {
 
     @Override
     public synchronized long install(String location, InputStream stream) {
-        return target.install(location, stream);
+        CompletableFuture<Long> installed = target.installAsync(location, stream);
+        return AsyncRemoteBundleContextClientImpl.await(
+            installed.thenCombine(frameworkReady, (id, ready) -> id));
     }
 
     @Override
@@ -762,7 +824,9 @@ public class KarafTestContainer implements TestContainer {
 
     @Override
     public long installProbe(InputStream stream) {
-        return target.installProbe(stream);
+        CompletableFuture<Long> installed = target.installProbeAsync(stream);
+        return AsyncRemoteBundleContextClientImpl.await(
+            installed.thenCombine(frameworkReady, (id, ready) -> id));
     }
 
     @Override
@@ -69,4 +69,8 @@ public abstract class BaseScriptRunner implements Runner {
         runner.shutdown();
     }
 
+    @Override
+    public String getOutputTail() {
+        return runner.getOutputTail();
+    }
 }
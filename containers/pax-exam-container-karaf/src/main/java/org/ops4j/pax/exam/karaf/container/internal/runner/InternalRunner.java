@@ -22,18 +22,43 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.ops4j.io.Pipe;
+import org.ops4j.pax.exam.OutputCollector;
 
 public class InternalRunner {
 
+    /**
+     * Log file for the output of the framework process, relative to the working directory.
+     */
+    static final String OUTPUT_FILE = "console.log";
+
     private Process frameworkProcess;
     private final Object frameworkProcessMonitor = new Object();
     private Thread shutdownHook;
     private final Object shutdownHookMonitor = new Object();
+    private volatile OutputCollector.Output output;
 
     public synchronized void exec(CommandLineBuilder commandLine, final File workingDirectory,
         final String[] envOptions) {
+        exec(commandLine, workingDirectory, envOptions, null);
+    }
+
+    /**
+     * Starts the framework process and waits for it to exit.
+     *
+     * @param commandLine
+     *            command line of the framework process
+     * @param workingDirectory
+     *            working directory of the framework process
+     * @param envOptions
+     *            additional environment variables
+     * @param started
+     *            callback receiving the started process, or null
+     */
+    public synchronized void exec(CommandLineBuilder commandLine, final File workingDirectory,
+        final String[] envOptions, Consumer<Process> started) {
         if (frameworkProcess != null) {
             throw new IllegalStateException("Platform already started");
         }
@@ -46,12 +71,25 @@ public class InternalRunner {
             throw new IllegalStateException("Could not start up the process", e);
         }
 
-        shutdownHook = createShutdownHook(frameworkProcess);
+        if (started != null) {
+            started.accept(frameworkProcess);
+        }
+        shutdownHook = createShutdownHook(frameworkProcess, workingDirectory);
         Runtime.getRuntime().addShutdownHook(shutdownHook);
 
         waitForExit();
     }
 
+    /**
+     * Returns the last lines of output of the framework process, for failure reports.
+     *
+     * @return output tail, or an empty string if the output is not collected
+     */
+    public String getOutputTail() {
+        OutputCollector.Output collected = output;
+        return collected == null ? "" : collected.getTail();
+    }
+
     private String[] createEnvironmentVars(String[] envOptions) {
         List<String> env = new ArrayList<String>();
         Map<String, String> getenv = System.getenv();
@@ -108,9 +146,30 @@ public class InternalRunner {
      * 
      * @param process
      *            framework process
+     * @param workingDirectory
+     *            working directory of the framework process
      * @return stream handler
      */
-    private Thread createShutdownHook(final Process process) {
+    private Thread createShutdownHook(final Process process, File workingDirectory) {
+        if (workingDirectory != null && OutputCollector.isEnabled()) {
+            // the collector drains the output until the process has terminated, and the
+            // process does not read from the console
+            output = OutputCollector.getInstance().collect(process,
+                new File(workingDirectory, OUTPUT_FILE));
+            return new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    try {
+                        process.destroy();
+                    }
+                    // CHECKSTYLE:SKIP
+                    catch (Exception e) {
+                        // ignore if already shutting down
+                    }
+                }
+            }, "Karaf InternalRunner Shutdown Hook");
+        }
         final Pipe errPipe = new Pipe(process.getErrorStream(), System.err).start("Error pipe");
         final Pipe outPipe = new Pipe(process.getInputStream(), System.out).start("Out pipe");
         final Pipe inPipe = new Pipe(process.getOutputStream(), System.in).start("In pipe");
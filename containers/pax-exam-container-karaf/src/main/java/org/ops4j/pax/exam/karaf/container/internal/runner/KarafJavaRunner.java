@@ -17,18 +17,39 @@
 package org.ops4j.pax.exam.karaf.container.internal.runner;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.ops4j.pax.exam.ClassDataSharing;
 
 /**
  * Very simple asynchronous implementation of Java Runner. Exec is being invoked in a fresh Thread.
  */
 public class KarafJavaRunner implements Runner {
 
+    private static final long ARCHIVE_TIMEOUT = 30 * 1000;
+
     private InternalRunner runner;
 
+    private ClassDataSharing classDataSharing;
+
+    private volatile Process archivingProcess;
+
     public KarafJavaRunner() {
         runner = new InternalRunner();
     }
 
+    /**
+     * Enables class data sharing archives for the Karaf Java VM. The archive is only used when
+     * the VM options do not set their own class path.
+     *
+     * @param classDataSharing
+     *            archive manager, or null to disable class data sharing
+     */
+    public void setClassDataSharing(ClassDataSharing classDataSharing) {
+        this.classDataSharing = classDataSharing;
+    }
+
     @Override
     public synchronized void // CHECKSTYLE:SKIP : more than 10 params
     exec(final String[] environment, final File karafBase, final String javaHome, final String[] javaOpts,
@@ -38,7 +59,15 @@ public class KarafJavaRunner implements Runner {
         Thread thread = new Thread("KarafJavaRunner") {
                 @Override
                 public void run() {
-                    String cp = buildCmdSeparatedString(classPath);
+                    boolean isExternalClasspathSet = Arrays.asList(javaOpts).contains("-classpath");
+                    String[] stagedClassPath = classPath;
+                    String[] cdsOpts = new String[] {};
+                    if (classDataSharing != null && !isExternalClasspathSet) {
+                        stagedClassPath = classDataSharing.stage(classPath);
+                        cdsOpts = classDataSharing.getVmOptions(javaHome, stagedClassPath)
+                            .toArray(new String[] {});
+                    }
+                    String cp = buildCmdSeparatedString(stagedClassPath);
                     String endDirs = buildCmdSeparatedString(javaEndorsedDirs);
                     String extDirs = buildCmdSeparatedString(javaExtDirs);
                     CommandLineBuilder commandLine = null;
@@ -46,6 +75,7 @@ public class KarafJavaRunner implements Runner {
                         commandLine = new CommandLineBuilder()
                             .append(getJavaExecutable(javaHome))
                             .append(javaOpts)
+                            .append(cdsOpts)
                             .append("-Dkaraf.instances=" + karafHome + "/instances")
                             .append("-Dkaraf.home=" + karafHome)
                             .append("-Dkaraf.base=" + karafBase)
@@ -71,13 +101,6 @@ public class KarafJavaRunner implements Runner {
                     if (security) {
                         commandLine.append("-Djavax.management.builder.initial=org.apache.karaf.management.boot.KarafMBeanServerBuilder");
                     }
-                    boolean isExternalClasspathSet = false;
-                    for (String str : javaOpts) {
-                        if ("-classpath".equals(str)) {
-                            isExternalClasspathSet = true;
-                            break;
-                        }
-                    }
                     if (isExternalClasspathSet) {
                         commandLine
                             .append(karafOpts)
@@ -93,7 +116,11 @@ public class KarafJavaRunner implements Runner {
                         .append(main)
                         .append(options);
                     }
-                    runner.exec(commandLine, karafBase, environment);
+                    runner.exec(commandLine, karafBase, environment, process -> {
+                        if (classDataSharing != null && classDataSharing.started(process)) {
+                            archivingProcess = process;
+                        }
+                    });
                 }
 
                 private String buildCmdSeparatedString(final String[] splitted) {
@@ -119,7 +146,22 @@ public class KarafJavaRunner implements Runner {
 
     @Override
     public synchronized void shutdown() {
+        Process process = archivingProcess;
+        if (process != null) {
+            // give the Java VM the time to write the class data sharing archive on exit
+            try {
+                process.waitFor(ARCHIVE_TIMEOUT, TimeUnit.MILLISECONDS);
+            }
+            catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+            archivingProcess = null;
+        }
         runner.shutdown();
     }
 
+    @Override
+    public String getOutputTail() {
+        return runner.getOutputTail();
+    }
 }
@@ -71,4 +71,13 @@ public interface Runner {
      */
     void shutdown();
 
+    /**
+     * Returns the last lines of output of the Karaf process, for failure reports.
+     *
+     * @return output tail, or an empty string if the output is not collected
+     */
+    default String getOutputTail() {
+        return "";
+    }
+
 }
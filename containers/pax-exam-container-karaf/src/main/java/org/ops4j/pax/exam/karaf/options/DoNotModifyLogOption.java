@@ -16,6 +16,8 @@
  */
 package org.ops4j.pax.exam.karaf.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
@@ -23,6 +25,10 @@ import org.ops4j.pax.exam.Option;
  * adding a console logger and changing the log level directly. IF you like to configure the file manually (or had so in
  * your distribution) add this option to avoid any automatic modifications to this file!
  */
-public class DoNotModifyLogOption implements Option {
+public class DoNotModifyLogOption implements Option, Fingerprintable {
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        // no values
+    }
 }
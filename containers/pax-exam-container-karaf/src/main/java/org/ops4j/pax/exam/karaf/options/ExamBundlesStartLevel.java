@@ -16,12 +16,14 @@
  */
 package org.ops4j.pax.exam.karaf.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
  * This option allows to configure the start level of the bundles in the exam features descriptor.
  */
-public class ExamBundlesStartLevel implements Option {
+public class ExamBundlesStartLevel implements Option, Fingerprintable {
 
     private final int startLevel;
 
@@ -39,4 +41,8 @@ public class ExamBundlesStartLevel implements Option {
         return startLevel;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(startLevel);
+    }
 }
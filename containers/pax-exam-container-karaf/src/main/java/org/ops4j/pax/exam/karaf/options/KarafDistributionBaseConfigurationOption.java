@@ -18,10 +18,12 @@ package org.ops4j.pax.exam.karaf.options;
 
 import java.io.File;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 import org.ops4j.pax.exam.options.MavenUrlReference;
 
-public class KarafDistributionBaseConfigurationOption implements Option {
+public class KarafDistributionBaseConfigurationOption implements Option, Fingerprintable {
 
     protected String frameworkURL;
     protected MavenUrlReference frameworkURLReference;
@@ -294,4 +296,12 @@ public class KarafDistributionBaseConfigurationOption implements Option {
         return runEmbedded;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.addUrl(frameworkURLReference == null ? frameworkURL : frameworkURLReference
+            .getURL());
+        fingerprint.add(existing).add(name).add(karafVersion).add(karafMain).add(karafData)
+            .add(karafEtc).add(karafLog).add(unpackDirectory).add(directoryNameFormat)
+            .add(useDeployFolder).add(runEmbedded);
+    }
 }
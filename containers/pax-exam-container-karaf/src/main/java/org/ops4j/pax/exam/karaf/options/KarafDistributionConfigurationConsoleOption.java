@@ -16,13 +16,15 @@
  */
 package org.ops4j.pax.exam.karaf.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
  * Option to configure the Karaf -Dkaraf.startLocalConsole and -Dkaraf.startRemoteShell options. Per default both are
  * started automatically. If you like to change this behavior simply add this option to your container configuration.
  */
-public class KarafDistributionConfigurationConsoleOption implements Option {
+public class KarafDistributionConfigurationConsoleOption implements Option, Fingerprintable {
 
     private Boolean startLocalConsole;
     private Boolean startRemoteShell;
@@ -76,4 +78,8 @@ public class KarafDistributionConfigurationConsoleOption implements Option {
         return startRemoteShell;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(startLocalConsole).add(startRemoteShell);
+    }
 }
@@ -16,13 +16,15 @@
  */
 package org.ops4j.pax.exam.karaf.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
  * Abstract configuration file option. This one should not used directly but rather via
  * {@link KarafDistributionConfigurationFileExtendOption} or {@link KarafDistributionConfigurationFilePutOption}.
  */
-public abstract class KarafDistributionConfigurationFileOption implements Option {
+public abstract class KarafDistributionConfigurationFileOption implements Option, Fingerprintable {
 
     private String configurationFilePath;
     private String key;
@@ -54,4 +56,8 @@ public abstract class KarafDistributionConfigurationFileOption implements Option
         return value;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(configurationFilePath).add(key).add(value);
+    }
 }
@@ -18,6 +18,8 @@ package org.ops4j.pax.exam.karaf.options;
 
 import java.io.File;
 
+import org.ops4j.pax.exam.Fingerprint;
+
 /**
  * If you do not want to replace (or extend) values in a file but rather simply want to replace a configuration file
  * "brute force" this option is the one of your choice. It simply removes the original file and replaces it with the one
@@ -36,4 +38,9 @@ public class KarafDistributionConfigurationFileReplacementOption extends KarafDi
         return source;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        super.fingerprint(fingerprint);
+        fingerprint.addFile(source);
+    }
 }
@@ -16,13 +16,15 @@
  */
 package org.ops4j.pax.exam.karaf.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
  * Option to enable the JMX RBAC security with the KarafMBeanServerBuilder (-Djavax.management.builder.initial=org.apache.karaf.management.boot.KarafMBeanServerBuilder).
  * Per default, the KarafMBeanServerBuilder is not used (no JMX RBAC security).
  */
-public class KarafDistributionConfigurationSecurityOption implements Option {
+public class KarafDistributionConfigurationSecurityOption implements Option, Fingerprintable {
 
     private Boolean enableKarafMBeanServerBuilder;
 
@@ -52,4 +54,8 @@ public class KarafDistributionConfigurationSecurityOption implements Option {
         return enableKarafMBeanServerBuilder;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(enableKarafMBeanServerBuilder);
+    }
 }
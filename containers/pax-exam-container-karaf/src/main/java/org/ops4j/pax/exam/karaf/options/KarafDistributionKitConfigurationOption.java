@@ -19,6 +19,7 @@ package org.ops4j.pax.exam.karaf.options;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.ops4j.pax.exam.Fingerprint;
 import org.ops4j.pax.exam.options.MavenUrlReference;
 
 /**
@@ -96,4 +97,9 @@ public class KarafDistributionKitConfigurationOption extends
         return exec;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        super.fingerprint(fingerprint);
+        fingerprint.add(platform).add(makeExec).add(exec);
+    }
 }
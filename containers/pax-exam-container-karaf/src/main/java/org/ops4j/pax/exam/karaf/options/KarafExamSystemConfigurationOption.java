@@ -16,12 +16,14 @@
  */
 package org.ops4j.pax.exam.karaf.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
  * Option to configure the internal invoker for integration tests to be used.
  */
-public class KarafExamSystemConfigurationOption implements Option {
+public class KarafExamSystemConfigurationOption implements Option, Fingerprintable {
 
     private String invoker;
 
@@ -40,4 +42,8 @@ public class KarafExamSystemConfigurationOption implements Option {
         return invoker;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(invoker);
+    }
 }
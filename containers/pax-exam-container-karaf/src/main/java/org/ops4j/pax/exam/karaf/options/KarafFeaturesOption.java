@@ -17,6 +17,8 @@
  */
 package org.ops4j.pax.exam.karaf.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 import org.ops4j.pax.exam.options.RawUrlReference;
 import org.ops4j.pax.exam.options.UrlReference;
@@ -29,7 +31,7 @@ import org.ops4j.pax.exam.options.UrlReference;
  * @author Harald Wellmann
  *
  */
-public class KarafFeaturesOption implements Option, UrlReference  {
+public class KarafFeaturesOption implements Option, UrlReference, Fingerprintable {
 
     private String[] features;
     private UrlReference urlReference;
@@ -70,4 +72,9 @@ public class KarafFeaturesOption implements Option, UrlReference  {
     public String getURL() {
         return urlReference.getURL();
     }
+
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.addUrl(getURL()).add(features);
+    }
 }
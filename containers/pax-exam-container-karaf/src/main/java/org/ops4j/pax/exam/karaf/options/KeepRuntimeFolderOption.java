@@ -16,12 +16,18 @@
  */
 package org.ops4j.pax.exam.karaf.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
  * Per default the folder pax-exam is deleting the test directories after a test is over. If you want to keep those
  * directories (for later evaluation) simply set this option.
  */
-public class KeepRuntimeFolderOption implements Option {
+public class KeepRuntimeFolderOption implements Option, Fingerprintable {
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        // no values
+    }
 }
@@ -16,13 +16,15 @@
  */
 package org.ops4j.pax.exam.karaf.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
  * While the log-level could also be configured using the config options in the configuration files we also provide a
  * more easy option here.
  */
-public class LogLevelOption implements Option {
+public class LogLevelOption implements Option, Fingerprintable {
 
     public static enum LogLevel {
         TRACE, DEBUG, INFO, WARN, ERROR
@@ -46,4 +48,8 @@ public class LogLevelOption implements Option {
         return logLevel;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(logLevel);
+    }
 }
@@ -17,7 +17,14 @@
  */
  package org.ops4j.pax.exam.karaf.options.libraries;
  
+ import org.ops4j.pax.exam.Fingerprint;
+ import org.ops4j.pax.exam.Fingerprintable;
  import org.ops4j.pax.exam.Option;
  
- public class OverrideJUnitBundlesOption implements Option {
+ public class OverrideJUnitBundlesOption implements Option, Fingerprintable {
+
+     @Override
+     public void fingerprint(Fingerprint fingerprint) {
+         // no values
+     }
  }
\ No newline at end of file
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.nat.internal;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.ops4j.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves and downloads bundle URLs on a bounded pool of threads, so that the framework can install
+ * the bundles one after the other in their original order without waiting for I/O.
+ * <p>
+ * {@code reference:} URLs are not fetched, since the framework must see their location. Bundles
+ * from {@code file:} URLs are opened in place rather than copied. {@code file:} URLs which do not
+ * refer to a regular file, like exploded bundle directories, are left to the framework.
+ * <p>
+ * Other bundles, e.g. from {@code mvn:} URLs, are written to a temporary file, which the framework
+ * copies once more to its storage. This extra local write is the price for downloading ahead of
+ * the installation; with {@link org.ops4j.pax.exam.Constants#EXAM_INSTALL_THREADS_KEY} set to 1,
+ * the framework reads these URLs itself.
+ */
+class BundlePrefetcher implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BundlePrefetcher.class);
+
+    private static final String REFERENCE_PROTOCOL = "reference:";
+
+    private static final String FILE_PROTOCOL = "file:";
+
+    /**
+     * Seconds to wait for running downloads on close.
+     */
+    private static final int CLOSE_TIMEOUT = 30;
+
+    private final File folder;
+
+    private final ExecutorService executor;
+
+    private final List<Future<File>> contents = new ArrayList<Future<File>>();
+
+    /**
+     * Creates a prefetcher.
+     *
+     * @param folder
+     *            folder for downloaded bundles, deleted on close
+     * @param threads
+     *            max number of concurrent downloads
+     */
+    BundlePrefetcher(File folder, int threads) {
+        this.folder = folder;
+        final AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "pax-exam-fetch-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts fetching the given URL.
+     *
+     * @param url
+     *            bundle URL
+     * @return index to pass to {@link #open(int)}
+     */
+    int fetch(String url) {
+        return fetch(url, Collections.singletonList(url));
+    }
+
+    /**
+     * Starts fetching a bundle from the first of the given sources that can be read.
+     *
+     * @param url
+     *            bundle URL
+     * @param sources
+     *            URLs to fetch the bundle content from, in order of preference
+     * @return index to pass to {@link #open(int)}
+     */
+    int fetch(String url, final List<String> sources) {
+        if (url.startsWith(REFERENCE_PROTOCOL)) {
+            contents.add(null);
+        }
+        else {
+            final int index = contents.size();
+            contents.add(executor.submit(new Callable<File>() {
+
+                @Override
+                public File call() throws IOException {
+                    File file = new File(folder, index + ".jar");
+                    IOException failure = null;
+                    boolean unreadableFile = false;
+                    for (String source : sources) {
+                        if (source.startsWith(FILE_PROTOCOL)) {
+                            File local = toFile(source);
+                            if (local.isFile()) {
+                                return local;
+                            }
+                            unreadableFile = true;
+                            continue;
+                        }
+                        try (InputStream in = new URL(source).openStream()) {
+                            Files.copy(in, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                            return file;
+                        }
+                        catch (IOException exc) {
+                            failure = exc;
+                        }
+                    }
+                    if (unreadableFile) {
+                        // the framework stages directories and reports missing files itself
+                        return null;
+                    }
+                    throw failure;
+                }
+            }));
+        }
+        return contents.size() - 1;
+    }
+
+    private static File toFile(String url) {
+        try {
+            return new File(new URL(url).toURI());
+        }
+        catch (MalformedURLException | URISyntaxException | IllegalArgumentException exc) {
+            return new File(url.substring(FILE_PROTOCOL.length()));
+        }
+    }
+
+    /**
+     * Waits until the given bundle is fetched and opens it.
+     *
+     * @param index
+     *            index returned by {@link #fetch(String)}
+     * @return bundle content, or null if the framework shall open the location itself, which is
+     *         the case for {@code reference:} URLs and {@code file:} URLs not referring to a
+     *         regular file
+     * @throws IOException
+     *             when the bundle cannot be fetched
+     */
+    InputStream open(int index) throws IOException {
+        Future<File> content = contents.get(index);
+        if (content == null) {
+            return null;
+        }
+        try {
+            File file = content.get();
+            return file == null ? null : new FileInputStream(file);
+        }
+        catch (ExecutionException exc) {
+            Throwable cause = exc.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException(cause);
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while fetching bundle");
+        }
+    }
+
+    /**
+     * Cancels pending downloads, waits for running ones and deletes the downloaded bundles.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT, TimeUnit.SECONDS)) {
+                LOG.warn("Bundle downloads still running after {} s", CLOSE_TIMEOUT);
+            }
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+        }
+        FileUtils.delete(folder);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.nat.internal;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Admits concurrent and exclusive operations on a container. Concurrent operations do not lock:
+ * entering and leaving is a single atomic update as long as no exclusive operation is running.
+ * Exclusive operations are serialized with each other and wait for the concurrent operations in
+ * flight. A concurrent operation arriving while an exclusive one runs waits until it has finished.
+ * <p>
+ * Exclusive operations may be nested in the same thread.
+ */
+class CallGate {
+
+    private final ReentrantLock exclusive = new ReentrantLock();
+
+    private final AtomicInteger concurrent = new AtomicInteger();
+
+    /**
+     * Thread running an exclusive operation, or null.
+     */
+    private volatile Thread exclusiveOwner;
+
+    /**
+     * Enters a concurrent operation. Must be followed by {@link #leaveConcurrent()}.
+     */
+    void enterConcurrent() {
+        concurrent.incrementAndGet();
+        if (exclusiveOwner != null) {
+            leaveConcurrent();
+            exclusive.lock();
+            try {
+                concurrent.incrementAndGet();
+            }
+            finally {
+                exclusive.unlock();
+            }
+        }
+    }
+
+    void leaveConcurrent() {
+        if (concurrent.decrementAndGet() == 0) {
+            Thread owner = exclusiveOwner;
+            if (owner != null) {
+                LockSupport.unpark(owner);
+            }
+        }
+    }
+
+    /**
+     * Enters an exclusive operation, waiting for other exclusive operations and for the concurrent
+     * operations in flight. Must be followed by {@link #leaveExclusive()}.
+     */
+    void enterExclusive() {
+        exclusive.lock();
+        if (exclusive.getHoldCount() > 1) {
+            return;
+        }
+        exclusiveOwner = Thread.currentThread();
+        boolean interrupted = false;
+        while (concurrent.get() > 0) {
+            LockSupport.park(this);
+            interrupted |= Thread.interrupted();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void leaveExclusive() {
+        if (exclusive.getHoldCount() == 1) {
+            exclusiveOwner = null;
+        }
+        exclusive.unlock();
+    }
+}
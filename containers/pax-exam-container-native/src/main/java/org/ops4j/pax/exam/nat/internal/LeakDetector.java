@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.nat.internal;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.wiring.BundleRevision;
+import org.osgi.framework.wiring.BundleWiring;
+
+/**
+ * Detects bundle class loaders which are still reachable after their framework has stopped, and
+ * the threads retaining them.
+ * <p>
+ * The detector takes a snapshot of the live threads before the framework is created, and weak
+ * references to the bundle class loaders before the framework is stopped. After the stop, it hints
+ * a garbage collection and reports the class loaders which are still reachable, the threads started
+ * since the snapshot and the threads referring to a bundle class loader. Threads of other
+ * containers running concurrently in the same VM are reported as well, threads of Pax Exam itself
+ * are not.
+ */
+class LeakDetector {
+
+    /**
+     * Leaked class loaders of all frameworks stopped in this VM, until they are reclaimed.
+     */
+    private static final List<LoaderReference> LEAKED = new ArrayList<LoaderReference>();
+
+    private static final int GC_ATTEMPTS = 5;
+
+    private static final long GC_PAUSE = 50;
+
+    private static final String EXAM_THREAD_PREFIX = "pax-exam-";
+
+    private final Set<Thread> threadsBefore;
+
+    private final List<LoaderReference> loaders = new ArrayList<LoaderReference>();
+
+    /**
+     * Creates a detector. Must be called before the framework is created.
+     */
+    LeakDetector() {
+        this.threadsBefore = Collections.newSetFromMap(new WeakHashMap<Thread, Boolean>());
+        this.threadsBefore.addAll(Thread.getAllStackTraces().keySet());
+    }
+
+    /**
+     * Tracks the class loaders of all resolved bundles. Must be called before the framework is
+     * stopped.
+     *
+     * @param context
+     *            system bundle context
+     */
+    void track(BundleContext context) {
+        for (Bundle bundle : context.getBundles()) {
+            BundleRevision revision = bundle.adapt(BundleRevision.class);
+            if (bundle.getBundleId() == 0 || revision == null
+                || (revision.getTypes() & BundleRevision.TYPE_FRAGMENT) != 0) {
+                continue;
+            }
+            BundleWiring wiring = bundle.adapt(BundleWiring.class);
+            ClassLoader loader = wiring == null ? null : wiring.getClassLoader();
+            if (loader != null) {
+                loaders.add(new LoaderReference(loader, ResolutionAnalyzer.describe(bundle)));
+            }
+        }
+    }
+
+    /**
+     * Checks for leaks after the framework has stopped. All strong references to the framework
+     * must have been dropped.
+     *
+     * @return leak report, or null if all tracked class loaders have been reclaimed
+     * @throws InterruptedException
+     *             when interrupted while waiting for the garbage collection
+     */
+    Report check() throws InterruptedException {
+        List<LoaderReference> live = new ArrayList<LoaderReference>(loaders);
+        loaders.clear();
+        for (int i = 0; i < GC_ATTEMPTS && removeReclaimed(live); i++) {
+            System.gc();
+            Thread.sleep(GC_PAUSE);
+        }
+        if (live.isEmpty()) {
+            return null;
+        }
+        Set<ClassLoader> liveLoaders = Collections.newSetFromMap(
+            new IdentityHashMap<ClassLoader, Boolean>());
+        Set<String> bundles = new TreeSet<String>();
+        for (LoaderReference reference : live) {
+            ClassLoader loader = reference.get();
+            if (loader != null) {
+                liveLoaders.add(loader);
+                bundles.add(reference.bundle);
+            }
+        }
+        Set<String> startedThreads = new TreeSet<String>();
+        Set<String> retainingThreads = new TreeSet<String>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (liveLoaders.contains(thread.getContextClassLoader())
+                || liveLoaders.contains(thread.getClass().getClassLoader())) {
+                retainingThreads.add(thread.getName());
+            }
+            if (!threadsBefore.contains(thread)
+                && !thread.getName().startsWith(EXAM_THREAD_PREFIX)) {
+                startedThreads.add(thread.isDaemon() ? thread.getName() + " (daemon)" : thread
+                    .getName());
+            }
+        }
+        synchronized (LEAKED) {
+            LEAKED.addAll(live);
+        }
+        return new Report(bundles, startedThreads, retainingThreads);
+    }
+
+    /**
+     * @return true if any of the given references has not been reclaimed yet
+     */
+    private static boolean removeReclaimed(List<LoaderReference> references) {
+        Iterator<LoaderReference> iterator = references.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().get() == null) {
+                iterator.remove();
+            }
+        }
+        return !references.isEmpty();
+    }
+
+    /**
+     * @return number of leaked class loaders of stopped frameworks which have not been reclaimed
+     *         since
+     */
+    static int getLeakedCount() {
+        synchronized (LEAKED) {
+            removeReclaimed(LEAKED);
+            return LEAKED.size();
+        }
+    }
+
+    /**
+     * Weak reference to a bundle class loader.
+     */
+    private static class LoaderReference extends WeakReference<ClassLoader> {
+
+        private final String bundle;
+
+        LoaderReference(ClassLoader loader, String bundle) {
+            super(loader);
+            this.bundle = bundle;
+        }
+    }
+
+    /**
+     * Bundles with leaked class loaders and suspicious threads.
+     */
+    static class Report {
+
+        private final Set<String> bundles;
+
+        private final Set<String> startedThreads;
+
+        private final Set<String> retainingThreads;
+
+        Report(Set<String> bundles, Set<String> startedThreads, Set<String> retainingThreads) {
+            this.bundles = bundles;
+            this.startedThreads = startedThreads;
+            this.retainingThreads = retainingThreads;
+        }
+
+        /**
+         * @return bundles whose class loaders are still reachable
+         */
+        Set<String> getBundles() {
+            return bundles;
+        }
+
+        /**
+         * @return names of live threads started while the framework was running, daemon threads
+         *         marked as such
+         */
+        Set<String> getStartedThreads() {
+            return startedThreads;
+        }
+
+        /**
+         * @return names of threads whose class or context class loader is a leaked class loader
+         */
+        Set<String> getRetainingThreads() {
+            return retainingThreads;
+        }
+
+        @Override
+        public String toString() {
+            Set<String> threads = new HashSet<String>(startedThreads);
+            threads.addAll(retainingThreads);
+            return "class loaders of " + bundles.size() + " bundles are still reachable after "
+                + "framework stop: " + bundles + (threads.isEmpty()
+                    ? ", no retaining threads found (static references or shutdown hooks?)"
+                    : ", threads started by the framework: " + startedThreads
+                        + ", threads referring to bundle class loaders: " + retainingThreads);
+        }
+    }
+}
@@ -17,30 +17,60 @@
  */
 package org.ops4j.pax.exam.nat.internal;
 
+import static org.ops4j.pax.exam.Constants.DEFAULT_INSTALL_THREADS;
+import static org.ops4j.pax.exam.Constants.EXAM_ANALYZE_UNRESOLVED_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_ASYNC_STOP_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_CONCURRENT_CLASSES_KEY;
 import static org.ops4j.pax.exam.Constants.EXAM_FAIL_ON_UNRESOLVED_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_INSTALL_THREADS_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_ISOLATED_PROPERTIES_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_LEAK_CHECK_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_REFERENCE_INSTALL_KEY;
 import static org.ops4j.pax.exam.Constants.EXAM_SERVICE_TIMEOUT_DEFAULT;
 import static org.ops4j.pax.exam.Constants.EXAM_SERVICE_TIMEOUT_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_STORAGE_CACHE_IMAGES_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_STORAGE_CACHE_KEY;
 import static org.ops4j.pax.exam.Constants.START_LEVEL_TEST_BUNDLE;
 import static org.ops4j.pax.exam.CoreOptions.systemPackage;
 import static org.ops4j.pax.exam.CoreOptions.systemProperty;
+import static org.ops4j.pax.exam.CoreOptions.workingDirectory;
 import static org.osgi.framework.Constants.FRAMEWORK_BOOTDELEGATION;
 import static org.osgi.framework.Constants.FRAMEWORK_STORAGE;
 import static org.osgi.framework.Constants.FRAMEWORK_STORAGE_CLEAN;
 import static org.osgi.framework.Constants.FRAMEWORK_STORAGE_CLEAN_ONFIRSTINIT;
 import static org.osgi.framework.Constants.FRAMEWORK_SYSTEMPACKAGES_EXTRA;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.Stack;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.ops4j.io.FileUtils;
+import org.ops4j.pax.exam.ActivationReport;
+import org.ops4j.pax.exam.ActivationTimeline;
 import org.ops4j.pax.exam.ConfigurationManager;
 import org.ops4j.pax.exam.Constants;
 import org.ops4j.pax.exam.ExamSystem;
@@ -51,15 +81,20 @@ import org.ops4j.pax.exam.ProbeInvoker;
 import org.ops4j.pax.exam.TestAddress;
 import org.ops4j.pax.exam.TestContainer;
 import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.TestDirectory;
+import org.ops4j.pax.exam.TestInstantiationInstruction;
 import org.ops4j.pax.exam.options.BootDelegationOption;
 import org.ops4j.pax.exam.options.FrameworkPropertyOption;
 import org.ops4j.pax.exam.options.FrameworkStartLevelOption;
+import org.ops4j.pax.exam.options.LazyActivationOption;
 import org.ops4j.pax.exam.options.ProvisionOption;
 import org.ops4j.pax.exam.options.SystemPackageOption;
 import org.ops4j.pax.exam.options.SystemPropertyOption;
 import org.ops4j.pax.exam.options.ValueOption;
 import org.ops4j.pax.exam.options.extra.CleanCachesOption;
 import org.ops4j.pax.exam.options.extra.RepositoryOption;
+import org.ops4j.pax.exam.spi.container.LocalRepositoryResolver;
+import org.ops4j.pax.exam.util.Concurrent;
 import org.ops4j.pax.swissbox.tracker.ServiceLookup;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
@@ -70,6 +105,7 @@ import org.osgi.framework.launch.Framework;
 import org.osgi.framework.launch.FrameworkFactory;
 import org.osgi.framework.startlevel.BundleStartLevel;
 import org.osgi.framework.startlevel.FrameworkStartLevel;
+import org.osgi.framework.wiring.FrameworkWiring;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -77,8 +113,28 @@ import org.slf4j.LoggerFactory;
  * The Native Test Container starts an OSGi framework using {@link FrameworkFactory} and provisions
  * the bundles configured in the Exam system.
  * <p>
- * When the framework has reached the configured start level, the container checks that all bundles
- * are resolved and throws an exception otherwise.
+ * Before the jump to the configured start level, the container resolves all bundles and reports
+ * the missing requirements of unresolvable bundles. It fails immediately if a Pax Exam bundle, which
+ * the test probe depends on, cannot be resolved. When the framework has reached the configured
+ * start level, the container checks that all bundles are resolved and throws an exception
+ * otherwise.
+ * <p>
+ * By default, system property and repository options are set as system properties of this Java VM
+ * while the container is running. With {@link Constants#EXAM_ISOLATED_PROPERTIES_KEY}, they are
+ * passed to the framework as framework properties instead, so that several native containers with
+ * different options can run concurrently in one Java VM.
+ * <p>
+ * On {@link #stop()}, the framework is stopped and awaited on a shared pool of daemon threads. With
+ * {@link Constants#EXAM_ASYNC_STOP_KEY}, the container does not wait for the framework to stop and
+ * deletes its temporary files in the background.
+ * <p>
+ * With {@link Constants#EXAM_LEAK_CHECK_KEY}, the container checks that the bundle class loaders
+ * of a stopped framework can be garbage collected. Once the leaked class loaders exceed
+ * {@link Constants#EXAM_LEAK_FORK_THRESHOLD_KEY}, the {@link NativeTestContainerFactory} creates
+ * forked containers instead.
+ * <p>
+ * Test methods marked as {@link Concurrent} may be invoked concurrently. All other invocations, as
+ * well as installing and uninstalling bundles, are exclusive.
  *
  * @author Toni Menzel
  * @author Harald Wellmann
@@ -88,28 +144,170 @@ public class NativeTestContainer implements TestContainer {
 
     private static final Logger LOG = LoggerFactory.getLogger(NativeTestContainer.class);
     private static final String PROBE_SIGNATURE_KEY = "Probe-Signature";
+    private static final String EXAM_BUNDLE_PREFIX = "org.ops4j.pax.exam";
+    private static final String STORAGE_CACHE = "storage-cache";
+
+    private static final int DEFAULT_STORAGE_CACHE_IMAGES = 10;
+    private static final String PROTOCOL_HANDLER_PKGS = "java.protocol.handler.pkgs";
+    private static final String MVN_REPOSITORIES = "org.ops4j.pax.url.mvn.repositories";
+    private static final String MVN_PROTOCOL = "mvn:";
+    private static final String LEAK_CHECK_OFF = "off";
+    private static final String LEAK_CHECK_FAIL = "fail";
+
+    /**
+     * Shared daemon threads waiting for frameworks to stop, and tearing down containers in the
+     * background.
+     */
+    private static final ExecutorService STOPPER = createStopper();
+
+    /**
+     * Teardowns still running in the background, awaited on exit of the VM.
+     */
+    private static final Set<Future<?>> TEARDOWNS = ConcurrentHashMap.newKeySet();
+
+    private static final AtomicInteger TEARDOWN_HOOKS = new AtomicInteger();
+
     private final Stack<Long> installed = new Stack<Long>();
     private Long probeId;
 
     private final FrameworkFactory frameworkFactory;
+
+    /**
+     * Exam system of this container, forked on each start.
+     */
+    private final ExamSystem parentSystem;
     private ExamSystem system;
     private volatile Framework framework;
+    private ActivationTimeline timeline;
+
+    /**
+     * Keep system property and repository options out of the system properties of this VM?
+     */
+    private boolean isolated;
+
+    /**
+     * Repositories for downloading provisioned {@code mvn:} bundles in isolated mode.
+     */
+    private final List<String> repositories = new ArrayList<String>();
+
+    /**
+     * Previous values of the system properties set by this container, restored on stop.
+     */
+    private final Map<String, String> overriddenSystemProperties = new HashMap<String, String>();
+
+    /**
+     * Concurrent test invocations pass without locking. Other invocations and changes to the set of
+     * installed bundles are exclusive.
+     */
+    private final CallGate gate = new CallGate();
+
+    private final ConcurrentMap<TestAddress, Boolean> concurrentTests =
+        new ConcurrentHashMap<TestAddress, Boolean>();
+
+    private final Set<String> concurrentClasses;
+
+    /**
+     * Stop the framework in the background?
+     */
+    private final boolean asyncStop;
+
+    /**
+     * Leak check mode: off, warn or fail.
+     */
+    private final String leakCheck;
+
+    private LeakDetector leakDetector;
 
     public NativeTestContainer(ExamSystem system, FrameworkFactory frameworkFactory)
         throws IOException {
         this.frameworkFactory = frameworkFactory;
+        this.parentSystem = system;
         this.system = system;
+        String classes = new ConfigurationManager().getProperty(EXAM_CONCURRENT_CLASSES_KEY, "");
+        this.concurrentClasses = new HashSet<String>(
+            Arrays.asList(classes.trim().split("\\s*,\\s*")));
+        this.asyncStop = Boolean.parseBoolean(new ConfigurationManager().getProperty(
+            EXAM_ASYNC_STOP_KEY, "false"));
+        String check = new ConfigurationManager().getProperty(EXAM_LEAK_CHECK_KEY, LEAK_CHECK_OFF);
+        this.leakCheck = NativeTestContainerFactory.getLeakForkThreshold() > 0
+            && LEAK_CHECK_OFF.equals(check) ? "warn" : check;
     }
 
     @Override
-    public synchronized void call(TestAddress address) {
-        Map<String, String> props = new HashMap<String, String>();
-        props.put(PROBE_SIGNATURE_KEY, address.root().identifier());
-        BundleContext bundleContext = framework.getBundleContext();
-        ProbeInvoker probeInvokerService;
-        probeInvokerService = ServiceLookup.getService(bundleContext, ProbeInvoker.class,
-            determineExamServiceTimeout(), props);
-        probeInvokerService.call(address.arguments());
+    public void call(TestAddress address) {
+        boolean concurrent = isConcurrent(address);
+        if (concurrent) {
+            gate.enterConcurrent();
+        }
+        else {
+            gate.enterExclusive();
+        }
+        try {
+            Map<String, String> props = new HashMap<String, String>();
+            props.put(PROBE_SIGNATURE_KEY, address.root().identifier());
+            BundleContext bundleContext = framework.getBundleContext();
+            ProbeInvoker probeInvokerService;
+            probeInvokerService = ServiceLookup.getService(bundleContext, ProbeInvoker.class,
+                determineExamServiceTimeout(), props);
+            probeInvokerService.call(address.arguments());
+        }
+        finally {
+            if (concurrent) {
+                gate.leaveConcurrent();
+            }
+            else {
+                gate.leaveExclusive();
+            }
+        }
+    }
+
+    boolean isConcurrent(TestAddress address) {
+        Boolean concurrent = concurrentTests.get(address);
+        if (concurrent == null) {
+            concurrent = determineConcurrency(address);
+            concurrentTests.put(address, concurrent);
+        }
+        return concurrent;
+    }
+
+    /**
+     * Finds the test method for the given address in the test directory and checks if it may be
+     * invoked concurrently.
+     *
+     * @param address
+     *            test address
+     * @return true if the test method or its class is marked as concurrent
+     */
+    private boolean determineConcurrency(TestAddress address) {
+        TestInstantiationInstruction instruction = TestDirectory.getInstance().lookup(address);
+        if (instruction == null) {
+            return false;
+        }
+        String className = instruction.getClassName();
+        String methodName = instruction.getMethodName();
+        if (methodName == null) {
+            return false;
+        }
+        if (concurrentClasses.contains(className)) {
+            return true;
+        }
+        try {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            Class<?> testClass = Class.forName(className, false,
+                loader == null ? getClass().getClassLoader() : loader);
+            if (testClass.isAnnotationPresent(Concurrent.class)) {
+                return true;
+            }
+            for (Method method : testClass.getMethods()) {
+                if (method.getName().equals(methodName)) {
+                    return method.isAnnotationPresent(Concurrent.class);
+                }
+            }
+        }
+        catch (ClassNotFoundException | LinkageError exc) {
+            LOG.debug("Cannot load test class {}, invoking exclusively", className, exc);
+        }
+        return false;
     }
 
     private long determineExamServiceTimeout() {
@@ -126,7 +324,8 @@ public class NativeTestContainer implements TestContainer {
     }
 
     @Override
-    public synchronized long install(String location, InputStream stream) {
+    public long install(String location, InputStream stream) {
+        gate.enterExclusive();
         try {
             Bundle b = framework.getBundleContext().installBundle(location, stream);
             installed.push(b.getBundleId());
@@ -139,27 +338,36 @@ public class NativeTestContainer implements TestContainer {
         catch (BundleException e) {
             e.printStackTrace();
         }
+        finally {
+            gate.leaveExclusive();
+        }
         return -1;
     }
 
     @Override
-    public synchronized long install(InputStream stream) {
+    public long install(InputStream stream) {
         return install("local", stream);
     }
 
-    public synchronized void cleanup() {
-        while ((!installed.isEmpty())) {
-            try {
-                Long id = installed.pop();
-                Bundle bundle = framework.getBundleContext().getBundle(id);
-                bundle.uninstall();
-                LOG.debug("Uninstalled bundle " + id);
-            }
-            catch (BundleException e) {
-                // Sometimes bundles go mad when install + uninstall happens too
-                // fast.
+    public void cleanup() {
+        gate.enterExclusive();
+        try {
+            while ((!installed.isEmpty())) {
+                try {
+                    Long id = installed.pop();
+                    Bundle bundle = framework.getBundleContext().getBundle(id);
+                    bundle.uninstall();
+                    LOG.debug("Uninstalled bundle " + id);
+                }
+                catch (BundleException e) {
+                    // Sometimes bundles go mad when install + uninstall happens too
+                    // fast.
+                }
             }
         }
+        finally {
+            gate.leaveExclusive();
+        }
     }
 
     public Bundle getSystemBundle() {
@@ -174,20 +382,30 @@ public class NativeTestContainer implements TestContainer {
 
     @Override
     public TestContainer start() {
+        boolean started = false;
         try {
-            system = system.fork(new Option[] {
+            List<Option> options = new ArrayList<Option>(Arrays.asList(
                 systemPackage("org.ops4j.pax.exam;version="
                     + skipSnapshotFlag(Info.getPaxExamVersion())),
                 systemPackage("org.ops4j.pax.exam.options;version="
                     + skipSnapshotFlag(Info.getPaxExamVersion())),
                 systemPackage("org.ops4j.pax.exam.util;version="
                     + skipSnapshotFlag(Info.getPaxExamVersion())),
-                systemProperty("java.protocol.handler.pkgs").value("org.ops4j.pax.url") });
+                systemProperty(PROTOCOL_HANDLER_PKGS).value("org.ops4j.pax.url")));
+            if (asyncStop) {
+                // forked systems share the working directory, give this one its own, so that
+                // clearing it in the background does not affect the next container
+                options.add(workingDirectory(Files.createTempDirectory(
+                    parentSystem.getTempFolder().toPath(), "native").toString()));
+            }
+            system = parentSystem.fork(options.toArray(new Option[options.size()]));
             Map<String, String> p = createFrameworkProperties();
             if (LOG.isDebugEnabled()) {
                 logFrameworkProperties(p);
                 logSystemProperties();
             }
+            boolean warm = prepareWarmStorage(p);
+            leakDetector = LEAK_CHECK_OFF.equals(leakCheck) ? null : new LeakDetector();
             framework = frameworkFactory.newFramework(p);
             framework.init();
             framework.getBundleContext().addFrameworkListener(new FrameworkListener() {
@@ -206,7 +424,9 @@ public class NativeTestContainer implements TestContainer {
                     }
                 }
             });
-            installAndStartBundles(framework.getBundleContext());
+            recordActivation(framework.getBundleContext());
+            installAndStartBundles(framework.getBundleContext(), warm);
+            started = true;
         }
         catch (BundleException e) {
             throw new TestContainerException("Problem starting test container.", e);
@@ -214,6 +434,11 @@ public class NativeTestContainer implements TestContainer {
         catch (IOException e) {
             throw new TestContainerException("Problem starting test container.", e);
         }
+        finally {
+            if (!started) {
+                restoreSystemProperties();
+            }
+        }
         return this;
     }
 
@@ -237,9 +462,18 @@ public class NativeTestContainer implements TestContainer {
         if (framework != null) {
             try {
                 cleanup();
-                stopOrAbort();
-                framework = null;
-                system.clear();
+                if (leakDetector != null) {
+                    leakDetector.track(framework.getBundleContext());
+                }
+                if (asyncStop) {
+                    stopInBackground();
+                }
+                else {
+                    stopOrAbort(framework, system.getTimeout().getValue());
+                    framework = null;
+                    system.clear();
+                    checkLeaks(leakDetector, LEAK_CHECK_FAIL.equals(leakCheck));
+                }
             }
             catch (BundleException e) {
                 LOG.warn("Problem during stopping fw.", e);
@@ -247,6 +481,9 @@ public class NativeTestContainer implements TestContainer {
             catch (InterruptedException e) {
                 LOG.warn("InterruptedException during stopping fw.", e);
             }
+            finally {
+                restoreSystemProperties();
+            }
         }
         else {
             LOG.warn("Framework does not exist. Called start() before ? ");
@@ -254,21 +491,120 @@ public class NativeTestContainer implements TestContainer {
         return this;
     }
 
-    private void stopOrAbort() throws BundleException, InterruptedException {
+    /**
+     * Stops the framework and waits for it on a shared thread. We'd expect
+     * Framework.waitForStop(timeout) to return after the given timeout, but this is not the case
+     * with Equinox (tested on 3.6.2 and 3.7.0), so the waiting thread must not be the calling
+     * thread. It is interrupted when the framework has not stopped in time.
+     */
+    static void stopOrAbort(final Framework framework, final long timeout)
+        throws BundleException, InterruptedException {
         framework.stop();
-        long timeout = system.getTimeout().getValue();
-        Thread stopper = new Stopper(timeout);
-        stopper.start();
-        stopper.join(timeout + 500);
-
-        // If the framework is not stopped, then we're in trouble anyway, so we do not worry
-        // about stopping the worker thread.
-
-        if (framework.getState() != Bundle.RESOLVED) {
+        Future<FrameworkEvent> stopped = STOPPER.submit(() -> framework.waitForStop(timeout));
+        try {
+            FrameworkEvent frameworkEvent = stopped.get(timeout, TimeUnit.MILLISECONDS);
+            if (frameworkEvent.getType() == FrameworkEvent.WAIT_TIMEDOUT) {
+                throw new TestContainerException("Framework has not yet stopped after " + timeout
+                    + " ms.");
+            }
+            if (frameworkEvent.getType() != FrameworkEvent.STOPPED) {
+                LOG.error("Framework has stopped with {}", frameworkEvent, frameworkEvent
+                    .getThrowable());
+            }
+        }
+        catch (TimeoutException exc) {
+            stopped.cancel(true);
             String message = "Framework has not yet stopped after " + timeout
                 + " ms. waitForStop did not return";
             throw new TestContainerException(message);
         }
+        catch (ExecutionException exc) {
+            throw new TestContainerException(exc.getCause());
+        }
+    }
+
+    /**
+     * Stops the framework and clears the Exam system in the background. This container may be
+     * started again right away, with a new framework and a new Exam system.
+     */
+    private void stopInBackground() {
+        final Framework stopping = framework;
+        final ExamSystem stoppingSystem = system;
+        final long timeout = system.getTimeout().getValue();
+        final LeakDetector detector = leakDetector;
+        framework = null;
+        if (TEARDOWN_HOOKS.getAndIncrement() == 0) {
+            Runtime.getRuntime().addShutdownHook(
+                new Thread(NativeTestContainer::awaitTeardowns, "pax-exam-teardown"));
+        }
+        FutureTask<Void> teardown = new FutureTask<Void>(() -> {
+            stopOrAbort(stopping, timeout);
+            stoppingSystem.clear();
+            checkLeaks(detector, false);
+            return null;
+        }) {
+
+            @Override
+            protected void done() {
+                TEARDOWNS.remove(this);
+                if (!isCancelled()) {
+                    try {
+                        get();
+                    }
+                    catch (InterruptedException exc) {
+                        LOG.warn("Problem during stopping fw in the background.", exc);
+                    }
+                    catch (ExecutionException exc) {
+                        LOG.warn("Problem during stopping fw in the background.", exc.getCause());
+                    }
+                }
+            }
+        };
+        TEARDOWNS.add(teardown);
+        STOPPER.execute(teardown);
+    }
+
+    /**
+     * Reports bundle class loaders of the stopped framework which cannot be garbage collected.
+     *
+     * @param detector
+     *            leak detector tracking the framework, or null
+     * @param fail
+     *            throw an exception on leaks, instead of logging a warning?
+     */
+    private static void checkLeaks(LeakDetector detector, boolean fail)
+        throws InterruptedException {
+        LeakDetector.Report report = detector == null ? null : detector.check();
+        if (report == null) {
+            return;
+        }
+        if (fail) {
+            throw new TestContainerException("Memory leak: " + report);
+        }
+        LOG.warn("Memory leak: {}", report);
+    }
+
+    private static ExecutorService createStopper() {
+        final AtomicInteger count = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "pax-exam-stop-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static void awaitTeardowns() {
+        for (Future<?> teardown : TEARDOWNS) {
+            try {
+                teardown.get();
+            }
+            catch (InterruptedException exc) {
+                return;
+            }
+            catch (ExecutionException exc) {
+                // already logged
+            }
+        }
     }
 
     private Map<String, String> createFrameworkProperties() throws IOException {
@@ -287,17 +623,82 @@ public class NativeTestContainer implements TestContainer {
             p.put(option.getKey(), (String) option.getValue());
         }
 
+        isolated = Boolean.parseBoolean(new ConfigurationManager().getProperty(
+            EXAM_ISOLATED_PROPERTIES_KEY, "false"));
         for (SystemPropertyOption option : system.getOptions(SystemPropertyOption.class)) {
-            System.setProperty(option.getKey(), option.getValue());
+            if (!isolated) {
+                setSystemProperty(option.getKey(), option.getValue());
+            }
+            else if (PROTOCOL_HANDLER_PKGS.equals(option.getKey())) {
+                // URL handlers are JVM-wide, all native containers use the same packages
+                if (System.getProperty(PROTOCOL_HANDLER_PKGS) == null) {
+                    System.setProperty(PROTOCOL_HANDLER_PKGS, option.getValue());
+                }
+            }
+            else {
+                p.put(option.getKey(), option.getValue());
+            }
         }
 
-        String repositories = buildString(system.getOptions(RepositoryOption.class));
-        if (!repositories.isEmpty()) {
-            System.setProperty("org.ops4j.pax.url.mvn.repositories", repositories);
+        RepositoryOption[] repositoryOptions = system.getOptions(RepositoryOption.class);
+        String repositoryList = buildString(repositoryOptions);
+        if (repositoryList.isEmpty()) {
+            return p;
+        }
+        if (isolated) {
+            // seen by pax-url-aether in the framework, which falls back to framework properties
+            p.put(MVN_REPOSITORIES, repositoryList);
+            for (RepositoryOption repository : repositoryOptions) {
+                String url = repository.getValue();
+                repositories.add(url.startsWith("+") ? url.substring(1) : url);
+            }
+        }
+        else {
+            setSystemProperty(MVN_REPOSITORIES, repositoryList);
         }
         return p;
     }
 
+    private void setSystemProperty(String key, String value) {
+        String previous = System.setProperty(key, value);
+        if (!overriddenSystemProperties.containsKey(key)) {
+            overriddenSystemProperties.put(key, previous);
+        }
+    }
+
+    private void restoreSystemProperties() {
+        for (Map.Entry<String, String> entry : overriddenSystemProperties.entrySet()) {
+            if (entry.getValue() == null) {
+                System.clearProperty(entry.getKey());
+            }
+            else {
+                System.setProperty(entry.getKey(), entry.getValue());
+            }
+        }
+        overriddenSystemProperties.clear();
+    }
+
+    /**
+     * In isolated mode, the repository options are not visible to the {@code mvn:} URL handler of
+     * this VM, so provisioned Maven bundles are downloaded from each repository in turn, as
+     * {@code mvn:repository!coordinates}, before falling back to the default repositories.
+     *
+     * @param url
+     *            bundle URL
+     * @return URLs to download the bundle from, in order of preference
+     */
+    private List<String> getDownloadUrls(String url) {
+        if (repositories.isEmpty() || !url.startsWith(MVN_PROTOCOL) || url.contains("!")) {
+            return Collections.singletonList(url);
+        }
+        List<String> urls = new ArrayList<String>();
+        for (String repository : repositories) {
+            urls.add(MVN_PROTOCOL + repository + "!" + url.substring(MVN_PROTOCOL.length()));
+        }
+        urls.add(url);
+        return urls;
+    }
+
     private String buildString(ValueOption<?>[] options) {
         return buildString(new String[0], options, new String[0]);
     }
@@ -334,33 +735,262 @@ public class NativeTestContainer implements TestContainer {
         }
     }
 
-    private void installAndStartBundles(BundleContext context) throws BundleException {
+    private void installAndStartBundles(BundleContext context, boolean warm)
+        throws BundleException, IOException {
+        List<Bundle> bundles = warm ? getProvisionedBundles(context) : installBundles(context);
+        analyzeResolution(bundles);
+        // All bundles are installed, we can now start the framework...
+        framework.start();
+        FrameworkStartLevel fsl = framework.adapt(FrameworkStartLevel.class);
+        try {
+            setFrameworkStartLevel(context, fsl);
+        }
+        finally {
+            reportActivation(context);
+        }
+        verifyThatBundlesAreResolved(bundles);
+    }
+
+    /**
+     * Resolves the given bundles before any of them is started and logs the missing requirements
+     * of unresolvable bundles. Fails if a bundle needed by the probe is unresolvable, or any bundle
+     * if {@link Constants#EXAM_FAIL_ON_UNRESOLVED_KEY} is set.
+     * <p>
+     * The probe imports its packages dynamically, so it needs the Pax Exam bundles and, since
+     * bundles with unresolvable dependencies are unresolvable themselves, their dependencies.
+     *
+     * @param bundles
+     *            provisioned bundles
+     */
+    private void analyzeResolution(List<Bundle> bundles) {
+        ConfigurationManager cm = new ConfigurationManager();
+        if (!Boolean.parseBoolean(cm.getProperty(EXAM_ANALYZE_UNRESOLVED_KEY, "true"))) {
+            return;
+        }
+        ResolutionAnalyzer analyzer = new ResolutionAnalyzer(
+            framework.adapt(FrameworkWiring.class));
+        Map<Bundle, List<String>> problems = analyzer.resolve(bundles);
+        if (problems.isEmpty()) {
+            return;
+        }
+        boolean failOnUnresolved = Boolean.parseBoolean(cm.getProperty(
+            EXAM_FAIL_ON_UNRESOLVED_KEY, "false"));
+        List<String> required = new ArrayList<String>();
+        for (Map.Entry<Bundle, List<String>> entry : problems.entrySet()) {
+            Bundle bundle = entry.getKey();
+            StringBuilder message = new StringBuilder();
+            for (String problem : entry.getValue()) {
+                message.append("\n    ").append(problem);
+            }
+            LOG.error("Bundle {} cannot be resolved:{}", ResolutionAnalyzer.describe(bundle),
+                message);
+            String symbolicName = bundle.getSymbolicName();
+            if (failOnUnresolved
+                || (symbolicName != null && symbolicName.startsWith(EXAM_BUNDLE_PREFIX))) {
+                required.add(ResolutionAnalyzer.describe(bundle));
+            }
+        }
+        if (!required.isEmpty()) {
+            String reason = failOnUnresolved ? "There are unresolved bundles: "
+                : "Bundles needed by the test probe cannot be resolved: ";
+            throw new TestContainerException(reason + required
+                + ". See previous ERROR log messages for details.");
+        }
+    }
+
+    /**
+     * Starts recording bundle and framework events, if an activation report or trace is enabled.
+     *
+     * @param context
+     *            system bundle context
+     */
+    private void recordActivation(BundleContext context) {
+        if (!ActivationReport.isEnabled()) {
+            return;
+        }
+        timeline = new ActivationTimeline();
+        context.addBundleListener(timeline);
+        context.addFrameworkListener(timeline);
+    }
+
+    /**
+     * Stops recording bundle and framework events, logs the activation report and writes the
+     * activation trace, as configured.
+     *
+     * @param context
+     *            system bundle context
+     */
+    private void reportActivation(BundleContext context) {
+        if (timeline == null) {
+            return;
+        }
+        context.removeBundleListener(timeline);
+        context.removeFrameworkListener(timeline);
+        ActivationReport.publish(timeline, toString());
+        timeline = null;
+    }
+
+    private List<Bundle> getProvisionedBundles(BundleContext context) {
         List<Bundle> bundles = new ArrayList<Bundle>();
-        for (ProvisionOption<?> bundle : system.getOptions(ProvisionOption.class)) {
-            Bundle b = context.installBundle(bundle.getURL());
-            bundles.add(b);
-            int startLevel = getStartLevel(bundle);
-            BundleStartLevel sl = b.adapt(BundleStartLevel.class);
-            sl.setStartLevel(startLevel);
-            if (bundle.shouldStart()) {
-                try {
-                    b.start();
+        for (Bundle bundle : context.getBundles()) {
+            if (bundle.getBundleId() != 0) {
+                bundles.add(bundle);
+            }
+        }
+        return bundles;
+    }
+
+    private List<Bundle> installBundles(BundleContext context) throws BundleException,
+        IOException {
+        ProvisionOption<?>[] options = system.getOptions(ProvisionOption.class);
+        LazyActivationOption lazyActivation = system.getSingleOption(LazyActivationOption.class);
+        String[] locations = getLocations(options);
+        List<Bundle> bundles = new ArrayList<Bundle>();
+        int threads = determineInstallThreads(options.length);
+        // downloads from isolated repositories require the prefetcher, even without parallelism
+        boolean prefetch = threads > 1 || (!repositories.isEmpty() && options.length > 0);
+        // downloads run ahead in parallel, the bundles are installed in order to keep bundle IDs
+        try (BundlePrefetcher prefetcher = prefetch ? new BundlePrefetcher(
+            Files.createTempDirectory(system.getTempFolder().toPath(), "fetch").toFile(),
+            Math.max(threads, 1)) : null) {
+            int[] indexes = new int[options.length];
+            for (int i = 0; prefetcher != null && i < options.length; i++) {
+                indexes[i] = prefetcher.fetch(locations[i], getDownloadUrls(locations[i]));
+            }
+            for (int i = 0; i < options.length; i++) {
+                ProvisionOption<?> bundle = options[i];
+                InputStream content = prefetcher == null ? null : prefetcher.open(indexes[i]);
+                Bundle b = content == null ? context.installBundle(locations[i])
+                    : context.installBundle(locations[i], content);
+                bundles.add(b);
+                int startLevel = getStartLevel(bundle);
+                BundleStartLevel sl = b.adapt(BundleStartLevel.class);
+                sl.setStartLevel(startLevel);
+                if (bundle.shouldStart()) {
+                    boolean lazy = LazyActivationOption.isLazy(lazyActivation, bundle,
+                        b.getSymbolicName());
+                    try {
+                        b.start(lazy ? Bundle.START_ACTIVATION_POLICY : 0);
+                    }
+                    catch (BundleException e) {
+                        throw new BundleException("Error starting bundle " + b.getSymbolicName()
+                            + ". " + e.getMessage(), e);
+                    }
+                    LOG.debug("+ Install (start{}@{}) {}", lazy ? " lazy" : "", startLevel,
+                        bundle);
                 }
-                catch (BundleException e) {
-                    throw new BundleException("Error starting bundle " + b.getSymbolicName() + ". "
-                        + e.getMessage(), e);
+                else {
+                    LOG.debug("+ Install (no start) {}", bundle);
                 }
-                LOG.debug("+ Install (start@{}) {}", startLevel, bundle);
+            }
+        }
+        return bundles;
+    }
+
+    /**
+     * Determines the install locations of the provisioned bundles. With
+     * {@link Constants#EXAM_REFERENCE_INSTALL_KEY}, Maven bundles are installed by reference from
+     * the local repository, if the framework supports it.
+     *
+     * @param options
+     *            provisioned bundles
+     * @return install location of each bundle
+     */
+    private String[] getLocations(ProvisionOption<?>[] options) {
+        String[] locations = new String[options.length];
+        boolean reference = Boolean.parseBoolean(new ConfigurationManager().getProperty(
+            EXAM_REFERENCE_INSTALL_KEY, "false"))
+            && LocalRepositoryResolver.supportsReference(frameworkFactory.getClass().getName());
+        LocalRepositoryResolver resolver = reference ? new LocalRepositoryResolver() : null;
+        for (int i = 0; i < options.length; i++) {
+            String url = options[i].getURL();
+            String location = resolver == null ? null : resolver.toReference(url);
+            locations[i] = location == null ? url : location;
+        }
+        return locations;
+    }
+
+    /**
+     * Fills the framework storage from the storage cache, if enabled. On a cache miss, the image
+     * is built first by a seed framework which installs and resolves all bundles without starting
+     * any of them.
+     *
+     * @param p
+     *            framework properties, the storage cleaning flag is removed on success
+     * @return true if the storage already contains all provisioned bundles
+     */
+    private boolean prepareWarmStorage(Map<String, String> p) {
+        ConfigurationManager cm = new ConfigurationManager();
+        if (!Boolean.parseBoolean(cm.getProperty(EXAM_STORAGE_CACHE_KEY, "false"))) {
+            return false;
+        }
+        StorageCache cache = new StorageCache(new File(system.getConfigFolder(), STORAGE_CACHE),
+            cm.getIntProperty(EXAM_STORAGE_CACHE_IMAGES_KEY, DEFAULT_STORAGE_CACHE_IMAGES));
+        try {
+            ProvisionOption<?>[] options = system.getOptions(ProvisionOption.class);
+            int[] startLevels = new int[options.length];
+            for (int i = 0; i < options.length; i++) {
+                startLevels[i] = getStartLevel(options[i]);
+            }
+            String fingerprint = cache.fingerprint(frameworkFactory.getClass().getName(), p,
+                options, startLevels, system.getSingleOption(LazyActivationOption.class));
+            if (fingerprint == null) {
+                LOG.info("Provisioning contains exploded bundles, storage cache is not used");
+                return false;
+            }
+            File image = cache.lookup(fingerprint);
+            if (image == null) {
+                LOG.info("Building framework storage image {}", fingerprint);
+                image = cache.publish(fingerprint, buildStorageImage(cache.createBuildFolder(), p));
             }
             else {
-                LOG.debug("+ Install (no start) {}", bundle);
+                LOG.info("Using framework storage image {}", fingerprint);
             }
+            StorageCache.cloneInto(image, new File(p.get(FRAMEWORK_STORAGE)));
+            p.remove(FRAMEWORK_STORAGE_CLEAN);
+            return true;
+        }
+        catch (IOException | BundleException exc) {
+            LOG.warn("Cannot use framework storage cache, falling back to a cold start", exc);
+            p.put(FRAMEWORK_STORAGE_CLEAN, FRAMEWORK_STORAGE_CLEAN_ONFIRSTINIT);
+            return false;
         }
-        // All bundles are installed, we can now start the framework...
-        framework.start();
-        FrameworkStartLevel fsl = framework.adapt(FrameworkStartLevel.class);
-        setFrameworkStartLevel(context, fsl);
-        verifyThatBundlesAreResolved(bundles);
+    }
+
+    private File buildStorageImage(File build, Map<String, String> p) throws BundleException,
+        IOException {
+        Map<String, String> seedProperties = new HashMap<String, String>(p);
+        seedProperties.put(FRAMEWORK_STORAGE, build.getAbsolutePath());
+        seedProperties.remove(FRAMEWORK_STORAGE_CLEAN);
+        Framework seed = frameworkFactory.newFramework(seedProperties);
+        boolean built = false;
+        try {
+            seed.init();
+            try {
+                installBundles(seed.getBundleContext());
+                seed.adapt(FrameworkWiring.class).resolveBundles(null);
+            }
+            finally {
+                seed.stop();
+                seed.waitForStop(system.getTimeout().getValue());
+            }
+            built = true;
+            return build;
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while building storage image", exc);
+        }
+        finally {
+            if (!built) {
+                FileUtils.delete(build);
+            }
+        }
+    }
+
+    private int determineInstallThreads(int numBundles) {
+        return Math.min(numBundles, new ConfigurationManager().getIntProperty(
+            EXAM_INSTALL_THREADS_KEY, DEFAULT_INSTALL_THREADS));
     }
 
     private void setFrameworkStartLevel(BundleContext context, final FrameworkStartLevel sl) {
@@ -454,52 +1084,32 @@ public class NativeTestContainer implements TestContainer {
         return "Native:" + frameworkFactory.getClass().getSimpleName();
     }
 
-    /**
-     * Worker thread for shutting down the framework. We'd expect Framework.waitForStop(timeout) to
-     * return after the given timeout, but this is not the case with Equinox (tested on 3.6.2 and
-     * 3.7.0), so we use this worker thread to avoid blocking the main thread.
-     *
-     * @author Harald Wellmann
-     */
-    private class Stopper extends Thread {
-
-        private final long timeout;
-
-        private Stopper(long timeout) {
-            this.timeout = timeout;
+    @Override
+    public long installProbe(InputStream stream) {
+        gate.enterExclusive();
+        try {
+            probeId = install(stream);
+            installed.pop();
+            return probeId;
         }
-
-        @Override
-        public void run() {
-            try {
-                FrameworkEvent frameworkEvent = framework.waitForStop(timeout);
-                if (frameworkEvent.getType() != FrameworkEvent.STOPPED) {
-                    LOG.error("Framework has not yet stopped after {} ms. "
-                        + "waitForStop returned: {}", timeout, frameworkEvent);
-                }
-            }
-            catch (InterruptedException exc) {
-                LOG.error("Stopper thread was interrupted");
-            }
+        finally {
+            gate.leaveExclusive();
         }
     }
 
     @Override
-    public synchronized long installProbe(InputStream stream) {
-        probeId = install(stream);
-        installed.pop();
-        return probeId;
-    }
-
-    @Override
-    public synchronized void uninstallProbe() {
-        Bundle bundle = framework.getBundleContext().getBundle(probeId);
+    public void uninstallProbe() {
+        gate.enterExclusive();
         try {
+            Bundle bundle = framework.getBundleContext().getBundle(probeId);
             bundle.uninstall();
             probeId = null;
         }
         catch (BundleException exc) {
             throw new TestContainerException(exc);
         }
+        finally {
+            gate.leaveExclusive();
+        }
     }
 }
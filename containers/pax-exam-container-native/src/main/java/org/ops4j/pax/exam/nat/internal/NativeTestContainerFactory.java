@@ -17,6 +17,8 @@
  */
 package org.ops4j.pax.exam.nat.internal;
 
+import static org.ops4j.pax.exam.Constants.EXAM_LEAK_FORK_THRESHOLD_KEY;
+
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -24,20 +26,42 @@ import java.util.List;
 import java.util.ServiceLoader;
 
 import org.kohsuke.MetaInfServices;
+import org.ops4j.pax.exam.ConfigurationManager;
 import org.ops4j.pax.exam.ExamSystem;
 import org.ops4j.pax.exam.TestContainer;
 import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.exam.TestContainerFactory;
 import org.osgi.framework.launch.FrameworkFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
+ * Creates a {@link NativeTestContainer} for each OSGi {@code FrameworkFactory} on the class path.
+ * <p>
+ * Once more bundle class loaders of stopped frameworks have leaked than
+ * {@link org.ops4j.pax.exam.Constants#EXAM_LEAK_FORK_THRESHOLD_KEY} allows, the containers are
+ * created by the other {@link TestContainerFactory} registered with the {@link ServiceLoader},
+ * usually the forked container, so that new frameworks do not run in this Java VM.
+ *
  * @author Toni Menzel
  * @since Jan 7, 2010
  */
 @MetaInfServices
 public class NativeTestContainerFactory implements TestContainerFactory {
 
+    private static final Logger LOG = LoggerFactory.getLogger(NativeTestContainerFactory.class);
+
     public TestContainer[] create(ExamSystem system) {
+        int threshold = getLeakForkThreshold();
+        if (threshold > 0 && LeakDetector.getLeakedCount() > threshold) {
+            TestContainerFactory fallback = findFallbackFactory(ServiceLoader
+                .load(TestContainerFactory.class));
+            if (fallback != null) {
+                LOG.warn("{} leaked bundle class loaders exceed {}, creating containers with {}",
+                    LeakDetector.getLeakedCount(), threshold, fallback.getClass().getName());
+                return fallback.create(system);
+            }
+        }
         List<TestContainer> containers = new ArrayList<TestContainer>();
         Iterator<FrameworkFactory> factories = ServiceLoader.load(FrameworkFactory.class)
             .iterator();
@@ -57,4 +81,42 @@ public class NativeTestContainerFactory implements TestContainerFactory {
         }
         return containers.toArray(new TestContainer[containers.size()]);
     }
+
+    /**
+     * @return value of {@link org.ops4j.pax.exam.Constants#EXAM_LEAK_FORK_THRESHOLD_KEY}
+     */
+    static int getLeakForkThreshold() {
+        return new ConfigurationManager().getIntProperty(EXAM_LEAK_FORK_THRESHOLD_KEY, 0);
+    }
+
+    /**
+     * Selects the container factory to be used when too many class loaders have leaked.
+     *
+     * @param factories
+     *            registered container factories
+     * @return the only factory besides this one, or null if there is none or several
+     */
+    static TestContainerFactory findFallbackFactory(Iterable<TestContainerFactory> factories) {
+        List<TestContainerFactory> candidates = new ArrayList<TestContainerFactory>();
+        for (TestContainerFactory factory : factories) {
+            if (!(factory instanceof NativeTestContainerFactory)) {
+                candidates.add(factory);
+            }
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+        if (candidates.isEmpty()) {
+            LOG.warn("Too many leaked bundle class loaders, but there is no other container on "
+                + "the class path, keeping frameworks in this Java VM");
+        }
+        else {
+            for (TestContainerFactory candidate : candidates) {
+                LOG.warn("Ambiguous TestContainer: {}", candidate.getClass().getName());
+            }
+            LOG.warn("Too many leaked bundle class loaders, but the other containers on the class "
+                + "path are ambiguous, keeping frameworks in this Java VM");
+        }
+        return null;
+    }
 }
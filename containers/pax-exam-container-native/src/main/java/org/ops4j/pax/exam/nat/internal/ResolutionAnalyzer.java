@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.nat.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.wiring.BundleCapability;
+import org.osgi.framework.wiring.BundleRevision;
+import org.osgi.framework.wiring.FrameworkWiring;
+import org.osgi.resource.Namespace;
+import org.osgi.resource.Requirement;
+
+/**
+ * Resolves bundles up front and explains why bundles cannot be resolved, by listing the mandatory
+ * requirements without any provider and the requirements only provided by other unresolvable
+ * bundles.
+ */
+class ResolutionAnalyzer {
+
+    private final FrameworkWiring wiring;
+
+    ResolutionAnalyzer(FrameworkWiring wiring) {
+        this.wiring = wiring;
+    }
+
+    /**
+     * Resolves the given bundles.
+     *
+     * @param bundles
+     *            bundles to resolve
+     * @return problems of each unresolvable bundle, in the order of the given bundles
+     */
+    Map<Bundle, List<String>> resolve(Collection<Bundle> bundles) {
+        if (wiring.resolveBundles(bundles)) {
+            return Collections.emptyMap();
+        }
+        Map<Bundle, List<String>> problems = new LinkedHashMap<Bundle, List<String>>();
+        for (Bundle bundle : bundles) {
+            if (bundle.getState() == Bundle.INSTALLED) {
+                problems.put(bundle, getProblems(bundle));
+            }
+        }
+        return problems;
+    }
+
+    private List<String> getProblems(Bundle bundle) {
+        List<String> problems = new ArrayList<String>();
+        BundleRevision revision = bundle.adapt(BundleRevision.class);
+        if (revision == null) {
+            return problems;
+        }
+        for (Requirement requirement : revision.getRequirements(null)) {
+            if (!isMandatory(requirement)) {
+                continue;
+            }
+            Collection<BundleCapability> providers = wiring.findProviders(requirement);
+            if (providers.isEmpty()) {
+                problems.add("missing " + describe(requirement));
+                continue;
+            }
+            Set<String> unresolved = new TreeSet<String>();
+            for (BundleCapability provider : providers) {
+                Bundle providingBundle = provider.getRevision().getBundle();
+                if (providingBundle.getState() != Bundle.INSTALLED
+                    || providingBundle.equals(bundle)) {
+                    unresolved.clear();
+                    break;
+                }
+                unresolved.add(describe(providingBundle));
+            }
+            if (!unresolved.isEmpty()) {
+                problems.add(describe(requirement) + " only provided by unresolved " + unresolved);
+            }
+        }
+        if (problems.isEmpty()) {
+            problems.add("all requirements have providers, probably a uses constraint violation");
+        }
+        return problems;
+    }
+
+    /**
+     * Optional, dynamic and non-resolve time requirements do not prevent resolution.
+     */
+    private static boolean isMandatory(Requirement requirement) {
+        Map<String, String> directives = requirement.getDirectives();
+        String resolution = directives.get(Namespace.REQUIREMENT_RESOLUTION_DIRECTIVE);
+        String effective = directives.get(Namespace.REQUIREMENT_EFFECTIVE_DIRECTIVE);
+        return (resolution == null || Namespace.RESOLUTION_MANDATORY.equals(resolution))
+            && (effective == null || Namespace.EFFECTIVE_RESOLVE.equals(effective));
+    }
+
+    private static String describe(Requirement requirement) {
+        String filter = requirement.getDirectives().get(Namespace.REQUIREMENT_FILTER_DIRECTIVE);
+        return filter == null ? requirement.getNamespace() : requirement.getNamespace() + " "
+            + filter;
+    }
+
+    static String describe(Bundle bundle) {
+        return "[" + bundle.getBundleId() + "] " + bundle.getSymbolicName() + " "
+            + bundle.getVersion();
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.nat.internal;
+
+import static org.osgi.framework.Constants.FRAMEWORK_STORAGE;
+import static org.osgi.framework.Constants.FRAMEWORK_STORAGE_CLEAN;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.MalformedURLException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.ops4j.io.FileUtils;
+import org.ops4j.pax.exam.MavenUtils;
+import org.ops4j.pax.exam.options.LazyActivationOption;
+import org.ops4j.pax.exam.options.ProvisionOption;
+import org.ops4j.pax.exam.util.Digests;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of framework storage images, keyed by a fingerprint of the provisioning. A new container
+ * gets a clone of a matching image instead of installing all bundles again. Bundle archives are
+ * never rewritten by the framework, so they are hard linked into the clone; all other files are
+ * copied, since the framework updates them in place.
+ * <p>
+ * Each lookup marks an image as used. When a new image is published and the cache holds more than
+ * its maximum number of images, the least recently used images are evicted by the Java VM holding
+ * the eviction lock.
+ */
+class StorageCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StorageCache.class);
+
+    private static final String REFERENCE_PROTOCOL = "reference:";
+
+    private static final String FILE_PROTOCOL = "file:";
+
+    private static final String BUILD_PREFIX = "build";
+
+    private static final String EVICTED_PREFIX = "evicted";
+
+    private static final String EVICTION_LOCK = "eviction.lock";
+
+    /**
+     * File locks are held per Java VM, so threads of this Java VM take turns before locking.
+     */
+    private static final Object EVICTION = new Object();
+
+    private final File root;
+
+    private final int maxImages;
+
+    /**
+     * @param root
+     *            cache folder
+     * @param maxImages
+     *            maximum number of cached images
+     */
+    StorageCache(File root, int maxImages) {
+        this.root = root;
+        this.maxImages = maxImages;
+    }
+
+    /**
+     * Computes the fingerprint of a provisioning: framework implementation and properties, and
+     * location, content, start level, start flag and activation policy of each bundle, in order.
+     *
+     * @param frameworkFactory
+     *            framework factory class name
+     * @param frameworkProperties
+     *            framework properties (storage location and cleaning are ignored)
+     * @param bundles
+     *            provisioned bundles
+     * @param startLevels
+     *            start level of each bundle
+     * @param lazyActivation
+     *            lazy activation option, may be null
+     * @return hex encoded fingerprint, or null if the provisioning cannot be cached
+     * @throws IOException
+     *             when a bundle cannot be read
+     */
+    String fingerprint(String frameworkFactory, Map<String, String> frameworkProperties,
+        ProvisionOption<?>[] bundles, int[] startLevels, LazyActivationOption lazyActivation)
+        throws IOException {
+        MessageDigest digest = Digests.newDigest();
+        Digests.update(digest, frameworkFactory);
+        Digests.update(digest, String.valueOf(lazyActivation));
+        for (Map.Entry<String, String> entry : new TreeMap<String, String>(frameworkProperties)
+            .entrySet()) {
+            if (!FRAMEWORK_STORAGE.equals(entry.getKey())
+                && !FRAMEWORK_STORAGE_CLEAN.equals(entry.getKey())) {
+                Digests.update(digest, entry.getKey());
+                Digests.update(digest, entry.getValue());
+            }
+        }
+        for (int i = 0; i < bundles.length; i++) {
+            String url = bundles[i].getURL();
+            Digests.update(digest, url);
+            Digests.update(digest, Integer.toString(startLevels[i]));
+            Digests.update(digest, Boolean.toString(bundles[i].shouldStart()));
+            Digests.update(digest, String.valueOf(bundles[i].getLazyStart()));
+            if (!updateContent(digest, url)) {
+                return null;
+            }
+        }
+        return Digests.toHex(digest.digest());
+    }
+
+    /**
+     * Adds the content of a bundle to the digest. Digests of local files are cached while the
+     * files are unchanged, and released Maven artifacts are identified by their URL, so that only
+     * other bundles are read on each start.
+     *
+     * @return false if the content cannot be fingerprinted, e.g. for an exploded bundle
+     */
+    private boolean updateContent(MessageDigest digest, String url) throws IOException {
+        String location = url;
+        if (location.startsWith(REFERENCE_PROTOCOL)) {
+            location = location.substring(REFERENCE_PROTOCOL.length());
+            if (!location.startsWith(FILE_PROTOCOL)
+                || new File(location.substring(FILE_PROTOCOL.length())).isDirectory()) {
+                return false;
+            }
+        }
+        if (location.startsWith(FILE_PROTOCOL)) {
+            digest.update(Digests.digest(toFile(location)));
+            return true;
+        }
+        if (MavenUtils.isReleaseUrl(location)) {
+            return true;
+        }
+        byte[] buffer = new byte[8192];
+        try (InputStream in = new URL(location).openStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return true;
+    }
+
+    private static File toFile(String location) {
+        try {
+            return new File(new URL(location).toURI());
+        }
+        catch (MalformedURLException | URISyntaxException | IllegalArgumentException exc) {
+            return new File(location.substring(FILE_PROTOCOL.length()));
+        }
+    }
+
+    /**
+     * @param fingerprint
+     *            provisioning fingerprint
+     * @return storage image, or null if there is none yet
+     */
+    File lookup(String fingerprint) {
+        File image = new File(root, fingerprint);
+        if (!image.isDirectory()) {
+            return null;
+        }
+        image.setLastModified(System.currentTimeMillis());
+        return image;
+    }
+
+    /**
+     * Creates an empty folder for building a new image.
+     *
+     * @return build folder
+     * @throws IOException
+     *             when the folder cannot be created
+     */
+    File createBuildFolder() throws IOException {
+        root.mkdirs();
+        return Files.createTempDirectory(root.toPath(), BUILD_PREFIX).toFile();
+    }
+
+    /**
+     * Publishes a built image. If another process has published an image for the same
+     * fingerprint in the meantime, that image wins and the given one is deleted. Least recently
+     * used images are evicted afterwards.
+     *
+     * @param fingerprint
+     *            provisioning fingerprint
+     * @param build
+     *            build folder
+     * @return published image
+     * @throws IOException
+     *             when the image cannot be published
+     */
+    File publish(String fingerprint, File build) throws IOException {
+        File image = new File(root, fingerprint);
+        try {
+            Files.move(build.toPath(), image.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (FileAlreadyExistsException exc) {
+            FileUtils.delete(build);
+        }
+        catch (IOException exc) {
+            if (!image.isDirectory()) {
+                throw exc;
+            }
+            FileUtils.delete(build);
+        }
+        image.setLastModified(System.currentTimeMillis());
+        evict();
+        return image;
+    }
+
+    /**
+     * Deletes the least recently used images until the cache holds at most its maximum number of
+     * images. An image is renamed before it is deleted, so that it is never found half deleted;
+     * a container cloning it at the same time falls back to a cold start.
+     *
+     * @throws IOException
+     *             when the eviction lock cannot be taken
+     */
+    void evict() throws IOException {
+        synchronized (EVICTION) {
+            try (FileChannel channel = FileChannel.open(new File(root, EVICTION_LOCK).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                FileLock fileLock = channel.tryLock()) {
+                if (fileLock == null) {
+                    // another Java VM is evicting
+                    return;
+                }
+                File[] images = root.listFiles(file -> file.isDirectory()
+                    && !file.getName().startsWith(BUILD_PREFIX)
+                    && !file.getName().startsWith(EVICTED_PREFIX));
+                if (images == null || images.length <= maxImages) {
+                    return;
+                }
+                Map<File, Long> used = new HashMap<File, Long>();
+                for (File image : images) {
+                    used.put(image, image.lastModified());
+                }
+                List<File> lru = new ArrayList<File>(used.keySet());
+                lru.sort(Comparator.comparingLong(used::get));
+                int count = lru.size();
+                for (int i = 0; i < lru.size() && count > maxImages; i++) {
+                    File image = lru.get(i);
+                    if (image.lastModified() != used.get(image)) {
+                        // looked up or published again since the cache was listed
+                        continue;
+                    }
+                    File evicted = Files.createTempDirectory(root.toPath(), EVICTED_PREFIX)
+                        .toFile();
+                    try {
+                        Files.move(image.toPath(), evicted.toPath(),
+                            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                        count--;
+                        LOG.debug("Evicted framework storage image {}", image.getName());
+                    }
+                    catch (IOException exc) {
+                        LOG.debug("Cannot evict framework storage image {}", image.getName(),
+                            exc);
+                    }
+                    FileUtils.delete(evicted);
+                }
+            }
+            catch (OverlappingFileLockException exc) {
+                // another cache of this Java VM is evicting
+            }
+        }
+    }
+
+    /**
+     * Clones an image into the given (empty) storage folder.
+     *
+     * @param image
+     *            storage image
+     * @param storage
+     *            framework storage folder
+     * @throws IOException
+     *             when the image cannot be cloned
+     */
+    static void cloneInto(File image, File storage) throws IOException {
+        final Path source = image.toPath();
+        final Path target = storage.toPath();
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+                throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                throws IOException {
+                Path copy = target.resolve(source.relativize(file));
+                if (isBundleArchive(file)) {
+                    try {
+                        Files.createLink(copy, file);
+                        return FileVisitResult.CONTINUE;
+                    }
+                    catch (IOException | UnsupportedOperationException exc) {
+                        // different file store or no hard links, fall through to copying
+                    }
+                }
+                Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Felix stores bundle archives as {@code bundle.jar}, Equinox as {@code bundleFile}.
+     */
+    private static boolean isBundleArchive(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(".jar") || name.equals("bundleFile");
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.nat.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BundlePrefetcherTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void fetchesFromFirstReadableSource() throws IOException {
+        File content = tempFolder.newFile("bundle.jar");
+        Files.write(content.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+        String missing = new File(tempFolder.getRoot(), "missing.jar").toURI().toString();
+
+        try (BundlePrefetcher prefetcher = new BundlePrefetcher(tempFolder.newFolder(), 1)) {
+            int index = prefetcher.fetch("mvn:g/a/1", Arrays.asList(missing,
+                content.toURI().toString()));
+            try (InputStream in = prefetcher.open(index)) {
+                assertThat(new String(readAll(in), StandardCharsets.UTF_8), is("content"));
+            }
+        }
+    }
+
+    @Test
+    public void opensFilesInPlace() throws IOException {
+        File content = tempFolder.newFile("bundle.jar");
+        Files.write(content.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+        File folder = tempFolder.newFolder();
+
+        try (BundlePrefetcher prefetcher = new BundlePrefetcher(folder, 1)) {
+            int index = prefetcher.fetch(content.toURI().toString());
+            try (InputStream in = prefetcher.open(index)) {
+                assertThat(new String(readAll(in), StandardCharsets.UTF_8), is("content"));
+            }
+            assertThat(folder.list().length, is(0));
+        }
+        assertThat(content.isFile(), is(true));
+    }
+
+    @Test(expected = IOException.class)
+    public void failsIfNoSourceIsReadable() throws IOException {
+        String missing = "jar:" + new File(tempFolder.getRoot(), "missing.jar").toURI()
+            + "!/bundle.jar";
+
+        try (BundlePrefetcher prefetcher = new BundlePrefetcher(tempFolder.newFolder(), 1)) {
+            prefetcher.open(prefetcher.fetch(missing));
+        }
+    }
+
+    @Test
+    public void leavesDirectoriesAndMissingFilesToTheFramework() throws IOException {
+        File exploded = tempFolder.newFolder("exploded");
+        String missing = new File(tempFolder.getRoot(), "missing.jar").toURI().toString();
+
+        try (BundlePrefetcher prefetcher = new BundlePrefetcher(tempFolder.newFolder(), 1)) {
+            assertThat(prefetcher.open(prefetcher.fetch(exploded.toURI().toString())),
+                is(nullValue()));
+            assertThat(prefetcher.open(prefetcher.fetch(missing)), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void doesNotFetchReferences() throws IOException {
+        try (BundlePrefetcher prefetcher = new BundlePrefetcher(tempFolder.newFolder(), 1)) {
+            assertThat(prefetcher.open(prefetcher.fetch("reference:file:/bundle")),
+                is(nullValue()));
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+}
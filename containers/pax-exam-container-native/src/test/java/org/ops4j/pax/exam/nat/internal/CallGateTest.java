@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.nat.internal;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class CallGateTest {
+
+    private final CallGate gate = new CallGate();
+
+    @Test
+    public void concurrentOperationsOverlap() throws InterruptedException {
+        // each operation stays inside until both are inside
+        CountDownLatch inside = new CountDownLatch(2);
+        Thread first = concurrent(inside, inside);
+        Thread second = concurrent(inside, inside);
+
+        assertTrue(inside.await(5, TimeUnit.SECONDS));
+        first.join();
+        second.join();
+        gate.enterExclusive();
+        gate.leaveExclusive();
+    }
+
+    @Test
+    public void exclusiveWaitsForConcurrentInFlight() throws InterruptedException {
+        CountDownLatch inside = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        concurrent(inside, release);
+        assertTrue(inside.await(5, TimeUnit.SECONDS));
+
+        CountDownLatch exclusive = new CountDownLatch(1);
+        exclusive(exclusive);
+
+        assertFalse(exclusive.await(200, TimeUnit.MILLISECONDS));
+        release.countDown();
+        assertTrue(exclusive.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void concurrentWaitsForExclusive() throws InterruptedException {
+        gate.enterExclusive();
+        CountDownLatch inside = new CountDownLatch(1);
+        try {
+            concurrent(inside, new CountDownLatch(0));
+            assertFalse(inside.await(200, TimeUnit.MILLISECONDS));
+        }
+        finally {
+            gate.leaveExclusive();
+        }
+        assertTrue(inside.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void nestedExclusiveOperations() throws InterruptedException {
+        gate.enterExclusive();
+        gate.enterExclusive();
+        gate.leaveExclusive();
+        CountDownLatch inside = new CountDownLatch(1);
+        try {
+            concurrent(inside, new CountDownLatch(0));
+            assertFalse(inside.await(200, TimeUnit.MILLISECONDS));
+        }
+        finally {
+            gate.leaveExclusive();
+        }
+        assertTrue(inside.await(5, TimeUnit.SECONDS));
+    }
+
+    private Thread concurrent(final CountDownLatch inside, final CountDownLatch release) {
+        Thread thread = new Thread() {
+
+            @Override
+            public void run() {
+                gate.enterConcurrent();
+                try {
+                    inside.countDown();
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                catch (InterruptedException exc) {
+                    Thread.currentThread().interrupt();
+                }
+                finally {
+                    gate.leaveConcurrent();
+                }
+            }
+        };
+        thread.start();
+        return thread;
+    }
+
+    private void exclusive(final CountDownLatch done) {
+        new Thread() {
+
+            @Override
+            public void run() {
+                gate.enterExclusive();
+                try {
+                    done.countDown();
+                }
+                finally {
+                    gate.leaveExclusive();
+                }
+            }
+        }.start();
+    }
+}
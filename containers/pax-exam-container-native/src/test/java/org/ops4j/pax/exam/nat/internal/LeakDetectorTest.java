@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.nat.internal;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Test;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Version;
+import org.osgi.framework.wiring.BundleRevision;
+import org.osgi.framework.wiring.BundleWiring;
+
+public class LeakDetectorTest {
+
+    @Test
+    public void reclaimedLoadersAreNotReported() throws Exception {
+        LeakDetector detector = new LeakDetector();
+        ClassLoader loader = new URLClassLoader(new URL[0], null);
+        detector.track(context(bundle(1, "clean", new WeakReference<ClassLoader>(loader))));
+        loader = null;
+
+        assertThat(detector.check(), is(nullValue()));
+    }
+
+    @Test
+    public void reportsLeakedLoaderAndRetainingThread() throws Exception {
+        LeakDetector detector = new LeakDetector();
+        ClassLoader loader = new URLClassLoader(new URL[0], null);
+        final CountDownLatch release = new CountDownLatch(1);
+        Thread thread = new Thread("leaky-worker") {
+
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                }
+                catch (InterruptedException exc) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        thread.setContextClassLoader(loader);
+        thread.start();
+        try {
+            detector.track(context(bundle(1, "leaky", new WeakReference<ClassLoader>(loader))));
+
+            LeakDetector.Report report = detector.check();
+
+            assertThat(report, is(notNullValue()));
+            assertThat(report.getBundles(), hasItem("[1] leaky 1.0.0"));
+            assertThat(report.getStartedThreads(), hasItem("leaky-worker"));
+            assertThat(report.getRetainingThreads(), hasItem("leaky-worker"));
+            assertThat(LeakDetector.getLeakedCount() > 0, is(true));
+        }
+        finally {
+            release.countDown();
+            thread.join();
+        }
+    }
+
+    private static BundleContext context(Bundle... bundles) {
+        BundleContext context = mock(BundleContext.class);
+        when(context.getBundles()).thenReturn(bundles);
+        return context;
+    }
+
+    /**
+     * The wiring only holds the class loader weakly, so that the mocks do not retain it.
+     */
+    private static Bundle bundle(long id, String name, final WeakReference<ClassLoader> loader) {
+        Bundle bundle = mock(Bundle.class);
+        BundleRevision revision = mock(BundleRevision.class);
+        BundleWiring wiring = mock(BundleWiring.class);
+        when(bundle.getBundleId()).thenReturn(id);
+        when(bundle.getSymbolicName()).thenReturn(name);
+        when(bundle.getVersion()).thenReturn(new Version(1, 0, 0));
+        when(bundle.adapt(BundleRevision.class)).thenReturn(revision);
+        when(bundle.adapt(BundleWiring.class)).thenReturn(wiring);
+        when(wiring.getClassLoader()).thenAnswer(invocation -> loader.get());
+        return bundle;
+    }
+}
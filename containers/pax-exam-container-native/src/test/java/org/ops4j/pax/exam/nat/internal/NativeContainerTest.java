@@ -19,24 +19,71 @@ package org.ops4j.pax.exam.nat.internal;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
+import static org.ops4j.pax.exam.Constants.EXAM_ASYNC_STOP_KEY;
+import static org.ops4j.pax.exam.CoreOptions.systemProperty;
 
 import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ops4j.pax.exam.Constants;
 import org.ops4j.pax.exam.ExamSystem;
+import org.ops4j.pax.exam.RelativeTimeout;
+import org.ops4j.pax.exam.TestAddress;
+import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.TestContainerFactory;
+import org.ops4j.pax.exam.TestDirectory;
+import org.ops4j.pax.exam.TestInstantiationInstruction;
+import org.ops4j.pax.exam.options.SystemPropertyOption;
+import org.ops4j.pax.exam.util.Concurrent;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkEvent;
 import org.osgi.framework.launch.Framework;
 import org.osgi.framework.launch.FrameworkFactory;
+import org.osgi.framework.startlevel.FrameworkStartLevel;
+import org.osgi.framework.wiring.FrameworkWiring;
 
 /**
  * Test
  */
 public class NativeContainerTest {
 
+    private static final String PROPERTY = "pax.exam.test.native.property";
+
+    private static final long TIMEOUT = 10000;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void fallsBackToTheOnlyOtherContainerFactory() {
+        TestContainerFactory nativeFactory = new NativeTestContainerFactory();
+        TestContainerFactory first = mock(TestContainerFactory.class);
+        TestContainerFactory second = mock(TestContainerFactory.class);
+
+        assertThat(NativeTestContainerFactory.findFallbackFactory(Arrays.asList(nativeFactory,
+            first)), is(first));
+        assertThat(NativeTestContainerFactory.findFallbackFactory(Arrays.asList(nativeFactory)),
+            is(nullValue()));
+        assertThat(NativeTestContainerFactory.findFallbackFactory(Arrays.asList(first,
+            nativeFactory, second)), is(nullValue()));
+    }
+
     @Test
     public void emptySetup() throws IOException {
         FrameworkFactory ff = mock(FrameworkFactory.class);
@@ -46,6 +93,151 @@ public class NativeContainerTest {
         verifyNoMoreInteractions(ff);
     }
 
+    @Test
+    public void concurrencyFromAnnotations() throws IOException {
+        NativeTestContainer container = new NativeTestContainer(mock(ExamSystem.class),
+            mock(FrameworkFactory.class));
+
+        assertThat(container.isConcurrent(address(ConcurrentMethods.class, "readOnly")), is(true));
+        assertThat(container.isConcurrent(address(ConcurrentMethods.class, "exclusive")),
+            is(false));
+        assertThat(container.isConcurrent(address(ConcurrentClass.class, "any")), is(true));
+        assertThat(container.isConcurrent(mock(TestAddress.class)), is(false));
+    }
+
+    @Test
+    public void restoresSystemPropertiesWhenStartFails() throws IOException {
+        ExamSystem system = mock(ExamSystem.class);
+        ExamSystem forked = mock(ExamSystem.class);
+        when(system.fork(any())).thenReturn(forked);
+        when(forked.getTempFolder()).thenReturn(tempFolder.getRoot());
+        when(forked.getOptions(any())).thenAnswer(
+            invocation -> Array.newInstance(invocation.getArgument(0), 0));
+        when(forked.getOptions(SystemPropertyOption.class)).thenReturn(
+            new SystemPropertyOption[] { systemProperty(PROPERTY).value("started") });
+        FrameworkFactory ff = mock(FrameworkFactory.class);
+        when(ff.newFramework(any())).thenThrow(new IllegalStateException("broken"));
+        NativeTestContainer container = new NativeTestContainer(system, ff);
+
+        try {
+            container.start();
+            fail("start() should fail");
+        }
+        catch (IllegalStateException exc) {
+            assertThat(System.getProperty(PROPERTY), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void stopsFramework() throws Exception {
+        ExamSystem system = mock(ExamSystem.class);
+        ExamSystem forked = mockForkedSystem(system);
+        Framework framework = mockFramework();
+        FrameworkFactory ff = mock(FrameworkFactory.class);
+        when(ff.newFramework(any())).thenReturn(framework);
+        NativeTestContainer container = new NativeTestContainer(system, ff);
+
+        container.start();
+        container.stop();
+
+        verify(framework).stop();
+        verify(framework).waitForStop(TIMEOUT);
+        verify(forked).clear();
+    }
+
+    @Test
+    public void stopsFrameworkInBackground() throws Exception {
+        ExamSystem system = mock(ExamSystem.class);
+        ExamSystem forked = mockForkedSystem(system);
+        Framework framework = mockFramework();
+        FrameworkFactory ff = mock(FrameworkFactory.class);
+        when(ff.newFramework(any())).thenReturn(framework);
+        NativeTestContainer container;
+        System.setProperty(EXAM_ASYNC_STOP_KEY, "true");
+        try {
+            container = new NativeTestContainer(system, ff);
+        }
+        finally {
+            System.clearProperty(EXAM_ASYNC_STOP_KEY);
+        }
+
+        container.start();
+        container.stop();
+
+        verify(framework, timeout(5000)).waitForStop(TIMEOUT);
+        verify(forked, timeout(5000)).clear();
+    }
+
+    @Test
+    public void releasesWaitingThreadWhenStopTimesOut() throws Exception {
+        final CountDownLatch released = new CountDownLatch(1);
+        Framework framework = mock(Framework.class);
+        when(framework.waitForStop(anyLong())).thenAnswer(invocation -> {
+            try {
+                Thread.sleep(Long.MAX_VALUE);
+                return null;
+            }
+            finally {
+                released.countDown();
+            }
+        });
+
+        try {
+            NativeTestContainer.stopOrAbort(framework, 100);
+            fail("stopOrAbort() should time out");
+        }
+        catch (TestContainerException exc) {
+            assertThat(released.await(5, TimeUnit.SECONDS), is(true));
+        }
+    }
+
+    private ExamSystem mockForkedSystem(ExamSystem system) {
+        ExamSystem forked = mock(ExamSystem.class);
+        when(system.fork(any())).thenReturn(forked);
+        when(system.getTempFolder()).thenReturn(tempFolder.getRoot());
+        when(forked.getTempFolder()).thenReturn(tempFolder.getRoot());
+        when(forked.getTimeout()).thenReturn(new RelativeTimeout(TIMEOUT));
+        when(forked.getOptions(any())).thenAnswer(
+            invocation -> Array.newInstance(invocation.getArgument(0), 0));
+        return forked;
+    }
+
+    private static Framework mockFramework() throws InterruptedException {
+        Framework framework = mock(Framework.class);
+        when(framework.getBundleContext()).thenReturn(mock(BundleContext.class));
+        when(framework.adapt(FrameworkWiring.class)).thenReturn(mock(FrameworkWiring.class));
+        FrameworkStartLevel startLevel = mock(FrameworkStartLevel.class);
+        when(startLevel.getStartLevel()).thenReturn(Constants.START_LEVEL_TEST_BUNDLE);
+        when(framework.adapt(FrameworkStartLevel.class)).thenReturn(startLevel);
+        when(framework.waitForStop(anyLong())).thenReturn(
+            new FrameworkEvent(FrameworkEvent.STOPPED, framework, null));
+        return framework;
+    }
+
+    private static TestAddress address(Class<?> testClass, String method) {
+        TestAddress address = mock(TestAddress.class);
+        TestDirectory.getInstance().add(address,
+            new TestInstantiationInstruction(testClass.getName(), method));
+        return address;
+    }
+
+    public static class ConcurrentMethods {
+
+        @Concurrent
+        public void readOnly() {
+        }
+
+        public void exclusive() {
+        }
+    }
+
+    @Concurrent
+    public static class ConcurrentClass {
+
+        public void any() {
+        }
+    }
+
     // @Test
     public void starting() throws IOException {
         FrameworkFactory ff = mock(FrameworkFactory.class);
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.nat.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.Version;
+import org.osgi.framework.wiring.BundleCapability;
+import org.osgi.framework.wiring.BundleRevision;
+import org.osgi.framework.wiring.FrameworkWiring;
+import org.osgi.resource.Namespace;
+import org.osgi.resource.Requirement;
+
+public class ResolutionAnalyzerTest {
+
+    private final FrameworkWiring wiring = mock(FrameworkWiring.class);
+
+    @Test
+    public void reportsNothingWhenAllBundlesResolve() {
+        List<Bundle> bundles = Arrays.asList(bundle(1, "a", Bundle.RESOLVED));
+        when(wiring.resolveBundles(bundles)).thenReturn(true);
+
+        assertThat(new ResolutionAnalyzer(wiring).resolve(bundles).isEmpty(), is(true));
+    }
+
+    @Test
+    public void reportsMissingAndUnresolvedProviders() {
+        Bundle consumer = bundle(1, "consumer", Bundle.INSTALLED);
+        Bundle provider = bundle(2, "provider", Bundle.INSTALLED);
+        Requirement missing = requirement("osgi.wiring.package", "(osgi.wiring.package=missing)",
+            null);
+        Requirement optional = requirement("osgi.wiring.package", "(osgi.wiring.package=opt)",
+            Namespace.RESOLUTION_OPTIONAL);
+        Requirement provided = requirement("osgi.wiring.package", "(osgi.wiring.package=p)",
+            null);
+        requirements(consumer, missing, optional, provided);
+        requirements(provider, missing);
+        BundleCapability capability = mock(BundleCapability.class);
+        BundleRevision providerRevision = provider.adapt(BundleRevision.class);
+        when(capability.getRevision()).thenReturn(providerRevision);
+        when(wiring.findProviders(missing)).thenReturn(Collections.<BundleCapability> emptyList());
+        when(wiring.findProviders(provided)).thenReturn(Arrays.asList(capability));
+        List<Bundle> bundles = Arrays.asList(consumer, provider);
+        when(wiring.resolveBundles(bundles)).thenReturn(false);
+
+        Map<Bundle, List<String>> problems = new ResolutionAnalyzer(wiring).resolve(bundles);
+
+        assertThat(problems.size(), is(2));
+        assertThat(problems.get(consumer), is(Arrays.asList(
+            "missing osgi.wiring.package (osgi.wiring.package=missing)",
+            "osgi.wiring.package (osgi.wiring.package=p) only provided by unresolved "
+                + "[[2] provider 1.0.0]")));
+        assertThat(problems.get(provider), is(Arrays.asList(
+            "missing osgi.wiring.package (osgi.wiring.package=missing)")));
+    }
+
+    private Bundle bundle(long id, String symbolicName, int state) {
+        Bundle bundle = mock(Bundle.class);
+        when(bundle.getBundleId()).thenReturn(id);
+        when(bundle.getSymbolicName()).thenReturn(symbolicName);
+        when(bundle.getVersion()).thenReturn(new Version(1, 0, 0));
+        when(bundle.getState()).thenReturn(state);
+        BundleRevision revision = mock(BundleRevision.class);
+        when(revision.getBundle()).thenReturn(bundle);
+        when(bundle.adapt(BundleRevision.class)).thenReturn(revision);
+        return bundle;
+    }
+
+    private void requirements(Bundle bundle, Requirement... requirements) {
+        when(bundle.adapt(BundleRevision.class).getRequirements(null)).thenReturn(
+            Arrays.asList(requirements));
+    }
+
+    private Requirement requirement(String namespace, String filter, String resolution) {
+        Requirement requirement = mock(Requirement.class);
+        Map<String, String> directives = new HashMap<String, String>();
+        directives.put(Namespace.REQUIREMENT_FILTER_DIRECTIVE, filter);
+        if (resolution != null) {
+            directives.put(Namespace.REQUIREMENT_RESOLUTION_DIRECTIVE, resolution);
+        }
+        when(requirement.getNamespace()).thenReturn(namespace);
+        when(requirement.getDirectives()).thenReturn(directives);
+        return requirement;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.nat.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.ops4j.pax.exam.CoreOptions.lazyActivation;
+import static org.ops4j.pax.exam.CoreOptions.url;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ops4j.pax.exam.options.ProvisionOption;
+
+public class StorageCacheTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void fingerprintChangesWithContent() throws IOException {
+        File bundle = tmp.newFile("bundle.jar");
+        write(bundle, "one");
+        StorageCache cache = new StorageCache(tmp.newFolder("cache"), 10);
+        ProvisionOption<?>[] options = { url(bundle.toURI().toString()) };
+        Map<String, String> props = Collections.singletonMap("foo", "bar");
+
+        String first = cache.fingerprint("factory", props, options, new int[] { 5 }, null);
+        assertThat(cache.fingerprint("factory", props, options, new int[] { 5 }, null),
+            is(first));
+        assertThat(cache.fingerprint("factory", props, options, new int[] { 6 }, null),
+            is(not(first)));
+
+        assertThat(cache.fingerprint("factory", props, options, new int[] { 5 },
+            lazyActivation()), is(not(first)));
+
+        write(bundle, "two");
+        assertThat(cache.fingerprint("factory", props, options, new int[] { 5 }, null),
+            is(not(first)));
+    }
+
+    @Test
+    public void releasedArtifactsAreNotRead() throws IOException {
+        StorageCache cache = new StorageCache(tmp.newFolder("cache"), 10);
+        ProvisionOption<?>[] release = { url("mvn:org.example/example/1.0") };
+        ProvisionOption<?>[] other = { url("mvn:org.example/example/1.1") };
+
+        String fingerprint = cache.fingerprint("factory", Collections.<String, String> emptyMap(),
+            release, new int[] { 5 }, null);
+        assertThat(fingerprint, is(notNullValue()));
+        assertThat(cache.fingerprint("factory", Collections.<String, String> emptyMap(), other,
+            new int[] { 5 }, null), is(not(fingerprint)));
+    }
+
+    @Test
+    public void explodedBundlesAreNotCached() throws IOException {
+        File exploded = tmp.newFolder("exploded");
+        StorageCache cache = new StorageCache(tmp.newFolder("cache"), 10);
+        ProvisionOption<?>[] options = { url("reference:" + exploded.toURI()) };
+
+        assertThat(cache.fingerprint("factory", Collections.<String, String> emptyMap(), options,
+            new int[] { 5 }, null), is(nullValue()));
+    }
+
+    @Test
+    public void publishedImageIsClonedWithLinkedArchives() throws IOException {
+        StorageCache cache = new StorageCache(tmp.newFolder("cache"), 10);
+        File build = cache.createBuildFolder();
+        File bundleDir = new File(build, "bundle1");
+        bundleDir.mkdirs();
+        write(new File(bundleDir, "bundle.jar"), "archive");
+        write(new File(bundleDir, "bundle.info"), "state");
+
+        assertThat(cache.lookup("abc"), is(nullValue()));
+        File image = cache.publish("abc", build);
+        assertThat(cache.lookup("abc"), is(notNullValue()));
+
+        File storage = tmp.newFolder("storage");
+        StorageCache.cloneInto(image, storage);
+        write(new File(storage, "bundle1/bundle.info"), "changed");
+
+        assertThat(read(new File(image, "bundle1/bundle.info")), is("state"));
+        assertThat(read(new File(storage, "bundle1/bundle.jar")), is("archive"));
+    }
+
+    @Test
+    public void leastRecentlyUsedImagesAreEvicted() throws IOException {
+        StorageCache cache = new StorageCache(tmp.newFolder("cache"), 2);
+        File first = cache.publish("first", cache.createBuildFolder());
+        File second = cache.publish("second", cache.createBuildFolder());
+        first.setLastModified(1000000000000L);
+        second.setLastModified(1000000001000L);
+        assertThat(cache.lookup("first"), is(notNullValue()));
+
+        cache.publish("third", cache.createBuildFolder());
+
+        assertThat(cache.lookup("first"), is(notNullValue()));
+        assertThat(cache.lookup("second"), is(nullValue()));
+        assertThat(cache.lookup("third"), is(notNullValue()));
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+}
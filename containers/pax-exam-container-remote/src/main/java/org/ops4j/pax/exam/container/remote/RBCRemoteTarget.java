@@ -18,11 +18,15 @@
 package org.ops4j.pax.exam.container.remote;
 
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 import org.ops4j.pax.exam.RelativeTimeout;
 import org.ops4j.pax.exam.TestAddress;
 import org.ops4j.pax.exam.TestContainer;
+import org.ops4j.pax.exam.rbc.client.AsyncRemoteBundleContextClient;
 import org.ops4j.pax.exam.rbc.client.RemoteBundleContextClient;
+import org.ops4j.pax.exam.rbc.client.intern.AsyncRemoteBundleContextClientImpl;
+import org.ops4j.pax.exam.rbc.client.intern.ReadinessListener;
 import org.ops4j.pax.exam.rbc.client.intern.RemoteBundleContextClientImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,10 +43,19 @@ public class RBCRemoteTarget implements TestContainer {
     private static final Logger LOG = LoggerFactory.getLogger(RBCRemoteTarget.class);
 
     private RemoteBundleContextClient remoteBundleContextClient;
+    private AsyncRemoteBundleContextClient asyncRemoteBundleContextClient;
     private Long probeId;
 
     public RBCRemoteTarget(String name, Integer registry, RelativeTimeout timeout) {
-        remoteBundleContextClient = new RemoteBundleContextClientImpl(name, registry, timeout);
+        this(name, registry, timeout, null);
+    }
+
+    public RBCRemoteTarget(String name, Integer registry, RelativeTimeout timeout,
+        ReadinessListener readiness) {
+        remoteBundleContextClient = new RemoteBundleContextClientImpl(name, registry, timeout,
+            readiness);
+        asyncRemoteBundleContextClient = new AsyncRemoteBundleContextClientImpl(
+            remoteBundleContextClient);
     }
 
     /**
@@ -55,6 +68,13 @@ public class RBCRemoteTarget implements TestContainer {
         return remoteBundleContextClient;
     }
 
+    /**
+     * @return non-blocking access to the same remote bundle context as {@link #getClientRBC()}
+     */
+    public AsyncRemoteBundleContextClient getAsyncClientRBC() {
+        return asyncRemoteBundleContextClient;
+    }
+
     public void call(TestAddress address) {
         LOG.debug("call [" + address + "]");
         remoteBundleContextClient.call(address);
@@ -73,6 +93,11 @@ public class RBCRemoteTarget implements TestContainer {
         return id;
     }
 
+    public CompletableFuture<Long> installAsync(String location, InputStream probe) {
+        LOG.debug("Preparing and Installing bundle (from stream, async)..");
+        return asyncRemoteBundleContextClient.installAsync(location, probe);
+    }
+
     public long install(InputStream probe) {
         return install("local", probe);
     }
@@ -89,6 +114,21 @@ public class RBCRemoteTarget implements TestContainer {
         return probeId;
     }
 
+    /**
+     * Uploads and installs the probe without blocking, so that the caller can overlap it with
+     * other remote operations.
+     *
+     * @param stream
+     *            probe content, consumed before this method returns
+     * @return future probe bundle id
+     */
+    public CompletableFuture<Long> installProbeAsync(InputStream stream) {
+        return installAsync("local", stream).thenApply(id -> {
+            this.probeId = id;
+            return id;
+        });
+    }
+
     @Override
     public void uninstallProbe() {
         remoteBundleContextClient.uninstall(probeId);
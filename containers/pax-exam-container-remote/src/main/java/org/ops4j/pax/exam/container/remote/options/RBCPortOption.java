@@ -19,13 +19,15 @@ package org.ops4j.pax.exam.container.remote.options;
 
 import java.util.Objects;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
  * @author Toni Menzel
  * @since Jan 25, 2010
  */
-public class RBCPortOption implements Option {
+public class RBCPortOption implements Option, Fingerprintable {
 
     private Integer port;
     private String host;
@@ -45,4 +47,9 @@ public class RBCPortOption implements Option {
     public Integer getPort() {
         return port;
     }
+
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(host).add(port);
+    }
 }
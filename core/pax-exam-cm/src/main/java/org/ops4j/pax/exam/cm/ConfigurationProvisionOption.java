@@ -27,6 +27,8 @@ import java.util.Map;
 import java.util.UUID;
 
 import org.ops4j.pax.exam.CoreOptions;
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.exam.cm.internal.ConfigurationOptionActivator;
 import org.ops4j.pax.exam.cm.internal.ConfigurationOptionConfigurationListener;
@@ -39,7 +41,8 @@ import org.osgi.framework.Constants;
  * Implementation of the {@link ConfigurationOption} interface used internally when construction
  * such options
  */
-public class ConfigurationProvisionOption implements org.ops4j.pax.exam.cm.ConfigurationOption {
+public class ConfigurationProvisionOption implements org.ops4j.pax.exam.cm.ConfigurationOption,
+    Fingerprintable {
 
     private final String id;
     private final Map<String, Object> properties;
@@ -212,4 +215,8 @@ public class ConfigurationProvisionOption implements org.ops4j.pax.exam.cm.Confi
         return CoreOptions.streamBundle(bundle.build()).startLevel(1).start(true).update(false);
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(id).add(create).add(override).add(factory).add(properties);
+    }
 }
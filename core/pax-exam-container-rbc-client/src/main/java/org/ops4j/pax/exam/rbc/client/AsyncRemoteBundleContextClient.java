@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.client;
+
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+
+import org.ops4j.pax.exam.RelativeTimeout;
+import org.ops4j.pax.exam.TestAddress;
+
+/**
+ * Non-blocking variant of {@link RemoteBundleContextClient}. Each operation is dispatched
+ * immediately and returns a future, so independent operations (e.g. uploading a probe while
+ * waiting for the framework to reach its start level) overlap instead of being chained as serial
+ * round trips. All operations share the remote bundle context of the underlying client.
+ */
+public interface AsyncRemoteBundleContextClient {
+
+    /**
+     * Installs and starts a bundle. The stream is consumed before this method returns.
+     *
+     * @param location
+     *            bundle location
+     * @param stream
+     *            bundle content
+     * @return future bundle id
+     */
+    CompletableFuture<Long> installAsync(String location, InputStream stream);
+
+    CompletableFuture<Void> startAsync();
+
+    CompletableFuture<Void> setBundleStartLevelAsync(long bundleId, int startLevel);
+
+    CompletableFuture<Void> waitForStateAsync(long bundleId, int state, RelativeTimeout timeout);
+
+    CompletableFuture<Void> waitForStateAsync(long[] bundleIds, int state,
+        RelativeTimeout timeout);
+
+    CompletableFuture<Void> callAsync(TestAddress address);
+}
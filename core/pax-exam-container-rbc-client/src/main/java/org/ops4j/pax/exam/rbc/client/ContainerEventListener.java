@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.client;
+
+import org.ops4j.pax.exam.rbc.internal.ContainerEvent;
+
+/**
+ * Receives events streamed live from a container while tests are running.
+ */
+public interface ContainerEventListener {
+
+    /**
+     * Called on the streaming thread for each event, in order of occurrence.
+     *
+     * @param container
+     *            name of the container
+     * @param event
+     *            container event
+     */
+    void onEvent(String container, ContainerEvent event);
+}
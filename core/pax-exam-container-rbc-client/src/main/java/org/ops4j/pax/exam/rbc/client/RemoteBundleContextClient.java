@@ -18,9 +18,11 @@
 package org.ops4j.pax.exam.rbc.client;
 
 import java.io.InputStream;
+import java.util.List;
 
 import org.ops4j.pax.exam.RelativeTimeout;
 import org.ops4j.pax.exam.TestAddress;
+import org.ops4j.pax.exam.rbc.internal.ContainerEvent;
 import org.ops4j.pax.exam.rbc.internal.RemoteBundleContext;
 
 /**
@@ -46,5 +48,9 @@ public interface RemoteBundleContextClient {
 
     void waitForState(final long bundleId, final int state, final RelativeTimeout timeout);
 
+    void waitForState(final long[] bundleIds, final int state, final RelativeTimeout timeout);
+
     void call(TestAddress address);
+
+    List<ContainerEvent> pollEvents(long maxWaitMillis, int maxEvents);
 }
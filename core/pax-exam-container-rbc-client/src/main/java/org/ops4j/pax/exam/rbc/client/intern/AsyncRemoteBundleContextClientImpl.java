@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.client.intern;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.ops4j.io.StreamUtils;
+import org.ops4j.pax.exam.RelativeTimeout;
+import org.ops4j.pax.exam.TestAddress;
+import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.rbc.client.AsyncRemoteBundleContextClient;
+import org.ops4j.pax.exam.rbc.client.RemoteBundleContextClient;
+
+/**
+ * {@link AsyncRemoteBundleContextClient} dispatching the operations of a blocking
+ * {@link RemoteBundleContextClient} on a shared pool of daemon threads.
+ * <p>
+ * RMI does not offer request pipelining on the wire, but concurrent calls on the same remote stub
+ * are multiplexed over the client's connection pool, so independent operations are in flight at
+ * the same time.
+ */
+public class AsyncRemoteBundleContextClientImpl implements AsyncRemoteBundleContextClient {
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static final ExecutorService EXECUTOR = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "RBC-async-" + THREAD_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        // !! Absolutely necessary for RMI class loading to work
+        thread.setContextClassLoader(AsyncRemoteBundleContextClientImpl.class.getClassLoader());
+        return thread;
+    });
+
+    private final RemoteBundleContextClient client;
+
+    public AsyncRemoteBundleContextClientImpl(RemoteBundleContextClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Waits for the given future and unwraps the cause of a failed operation.
+     *
+     * @param future
+     *            future returned by an async operation
+     * @param <T>
+     *            result type
+     * @return result of the operation
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        }
+        catch (CompletionException exc) {
+            if (exc.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exc.getCause();
+            }
+            throw new TestContainerException(exc.getCause());
+        }
+    }
+
+    @Override
+    public CompletableFuture<Long> installAsync(final String location, InputStream stream) {
+        final byte[] content;
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            StreamUtils.copyStream(stream, out, true);
+            content = out.toByteArray();
+        }
+        catch (IOException exc) {
+            CompletableFuture<Long> failed = new CompletableFuture<>();
+            failed.completeExceptionally(exc);
+            return failed;
+        }
+        return CompletableFuture.supplyAsync(
+            () -> client.install(location, new ByteArrayInputStream(content)), EXECUTOR);
+    }
+
+    @Override
+    public CompletableFuture<Void> startAsync() {
+        return CompletableFuture.runAsync(client::start, EXECUTOR);
+    }
+
+    @Override
+    public CompletableFuture<Void> setBundleStartLevelAsync(final long bundleId,
+        final int startLevel) {
+        return CompletableFuture.runAsync(() -> client.setBundleStartLevel(bundleId, startLevel),
+            EXECUTOR);
+    }
+
+    @Override
+    public CompletableFuture<Void> waitForStateAsync(final long bundleId, final int state,
+        final RelativeTimeout timeout) {
+        return CompletableFuture.runAsync(() -> client.waitForState(bundleId, state, timeout),
+            EXECUTOR);
+    }
+
+    @Override
+    public CompletableFuture<Void> waitForStateAsync(final long[] bundleIds, final int state,
+        final RelativeTimeout timeout) {
+        return CompletableFuture.runAsync(() -> client.waitForState(bundleIds, state, timeout),
+            EXECUTOR);
+    }
+
+    @Override
+    public CompletableFuture<Void> callAsync(final TestAddress address) {
+        return CompletableFuture.runAsync(() -> client.call(address), EXECUTOR);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.client.intern;
+
+import java.io.Closeable;
+import java.util.List;
+
+import org.ops4j.pax.exam.rbc.client.ContainerEventListener;
+import org.ops4j.pax.exam.rbc.client.RemoteBundleContextClient;
+import org.ops4j.pax.exam.rbc.internal.ContainerEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Long-polls the event stream of a container on a daemon thread and hands the events to a
+ * {@link ContainerEventListener}. The container buffers a bounded number of events between two
+ * polls and drops the rest, so a slow driver never blocks the container.
+ */
+public class ContainerEventPump implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ContainerEventPump.class);
+
+    /**
+     * Max time a single poll waits in the container for the next event.
+     */
+    private static final long POLL_WAIT = 1000;
+
+    /**
+     * Max number of events transferred per poll.
+     */
+    private static final int POLL_BATCH = 256;
+
+    private final RemoteBundleContextClient client;
+
+    private final String name;
+
+    private final ContainerEventListener listener;
+
+    private final Thread thread;
+
+    private volatile boolean running;
+
+    public ContainerEventPump(RemoteBundleContextClient client, String name,
+        ContainerEventListener listener) {
+        this.client = client;
+        this.name = name;
+        this.listener = listener;
+        this.thread = new Thread(this::pump, "RBC-events-" + name);
+        thread.setDaemon(true);
+        // !! Absolutely necessary for RMI class loading to work
+        thread.setContextClassLoader(ContainerEventPump.class.getClassLoader());
+    }
+
+    public void start() {
+        running = true;
+        thread.start();
+    }
+
+    private void pump() {
+        while (running) {
+            List<ContainerEvent> events;
+            try {
+                events = client.pollEvents(POLL_WAIT, POLL_BATCH);
+            }
+            // CHECKSTYLE:SKIP : remote failures end streaming, not the test run
+            catch (RuntimeException exc) {
+                if (running) {
+                    LOG.debug("Event stream of container {} closed", name, exc);
+                }
+                return;
+            }
+            for (ContainerEvent event : events) {
+                listener.onEvent(name, event);
+            }
+        }
+    }
+
+    /**
+     * Stops polling. Events still buffered in the container are dropped.
+     */
+    @Override
+    public void close() {
+        running = false;
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.client.intern;
+
+import org.ops4j.pax.exam.ConfigurationManager;
+import org.ops4j.pax.exam.Constants;
+import org.ops4j.pax.exam.rbc.internal.RemoteBundleContextMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.helpers.NOPLoggerFactory;
+
+/**
+ * Driver side remote bundle context metrics, shared by all clients of this JVM. Enabled by
+ * {@link Constants#EXAM_RBC_METRICS_KEY}, the report covering all containers of the test run is
+ * logged once, when this JVM exits.
+ */
+public final class DriverMetrics {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DriverMetrics.class);
+
+    private static final RemoteBundleContextMetrics METRICS = create();
+
+    /** Hidden utility class constructor. */
+    private DriverMetrics() {
+    }
+
+    /**
+     * @return driver metrics, or null if metrics are disabled
+     */
+    public static RemoteBundleContextMetrics get() {
+        return METRICS;
+    }
+
+    /**
+     * Logs the driver metrics, if not empty. Prints them to {@code System.err} if there is no
+     * logging backend, or it has failed while this JVM shuts down.
+     */
+    private static void report() {
+        if (METRICS.isEmpty()) {
+            return;
+        }
+        String report = "Remote bundle context metrics (driver side, micros):\n"
+            + METRICS.getReport();
+        try {
+            if (!(LoggerFactory.getILoggerFactory() instanceof NOPLoggerFactory)) {
+                LOG.info(report);
+                return;
+            }
+        }
+        // CHECKSTYLE:SKIP
+        catch (RuntimeException exc) {
+            // fall back to the console
+        }
+        System.err.println(report);
+    }
+
+    private static RemoteBundleContextMetrics create() {
+        ConfigurationManager cm = new ConfigurationManager();
+        if (!Boolean.parseBoolean(cm.getProperty(Constants.EXAM_RBC_METRICS_KEY, "false"))) {
+            return null;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverMetrics::report,
+            "pax-exam-metrics-report"));
+        return new RemoteBundleContextMetrics();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.client.intern;
+
+import org.ops4j.pax.exam.rbc.client.ContainerEventListener;
+import org.ops4j.pax.exam.rbc.internal.ContainerEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes container events to the driver log, using the logger {@code org.ops4j.pax.exam.container}.
+ */
+public class LoggingContainerEventListener implements ContainerEventListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger("org.ops4j.pax.exam.container");
+
+    @Override
+    public void onEvent(String container, ContainerEvent event) {
+        switch (event.getKind()) {
+            case TEST_STARTED:
+                LOG.info("[{}] test started: {}", container, event.getSource());
+                break;
+            case TEST_FINISHED:
+                LOG.info("[{}] test finished: {}", container, event.getSource());
+                break;
+            case TEST_FAILED:
+                LOG.warn("[{}] test failed: {}", container, event.getSource(),
+                    event.getFailure().unwrap());
+                break;
+            case STDERR:
+                LOG.warn("[{}] {}", container, event.getMessage());
+                break;
+            case DROPPED:
+                LOG.warn("[{}] {} events dropped, container output is too fast", container,
+                    event.getMessage());
+                break;
+            case LOG:
+                if (event.getFailure() == null) {
+                    LOG.info("[{}] {}: {}", container, event.getSource(), event.getMessage());
+                }
+                else {
+                    LOG.info("[{}] {}: {}", container, event.getSource(), event.getMessage(),
+                        event.getFailure().unwrap());
+                }
+                break;
+            default:
+                LOG.info("[{}] {}", container, event.getMessage());
+                break;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.client.intern;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+
+import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.rbc.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Driver side of the connect-back readiness handshake. The listener is opened on an ephemeral
+ * loopback port before the container is launched. Its port is handed to the container via
+ * {@link Constants#RMI_READY_PORT_PROPERTY}, and the container connects back exactly once, sending
+ * its RBC name, as soon as the remote bundle context has been bound in the RMI registry.
+ */
+public class ReadinessListener implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadinessListener.class);
+
+    private final ServerSocket serverSocket;
+
+    private boolean ready;
+
+    /**
+     * Opens a listener on an ephemeral loopback port.
+     */
+    public ReadinessListener() {
+        try {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        }
+        catch (IOException exc) {
+            throw new TestContainerException("cannot open readiness listener", exc);
+        }
+    }
+
+    /**
+     * @return port to be passed to the container
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Blocks until the container with the given name has signalled that its remote bundle
+     * context is bound, or until the given time has passed. The listener is closed once the
+     * signal has been received or the handshake has failed.
+     *
+     * @param name
+     *            RBC name of the container
+     * @param millis
+     *            max time to wait for the signal
+     * @return true if the container has signalled readiness
+     */
+    public synchronized boolean awaitReady(String name, long millis) {
+        if (ready || serverSocket.isClosed()) {
+            return ready;
+        }
+        long deadline = System.currentTimeMillis() + millis;
+        try {
+            while (!ready) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+                serverSocket.setSoTimeout((int) Math.min(remaining, Integer.MAX_VALUE));
+                try (Socket socket = serverSocket.accept()) {
+                    String announced = new DataInputStream(socket.getInputStream()).readUTF();
+                    if (name.equals(announced)) {
+                        ready = true;
+                    }
+                    else {
+                        LOG.warn("Ignoring readiness signal from unexpected container {}",
+                            announced);
+                    }
+                }
+                catch (SocketTimeoutException exc) {
+                    return false;
+                }
+            }
+        }
+        catch (IOException exc) {
+            LOG.debug("readiness handshake with {} failed", name, exc);
+        }
+        close();
+        return ready;
+    }
+
+    /**
+     * @return true once the signal has been received or the listener has been closed
+     */
+    public boolean isClosed() {
+        return serverSocket.isClosed();
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        }
+        catch (IOException exc) {
+            LOG.debug("cannot close readiness listener", exc);
+        }
+    }
+}
@@ -28,16 +28,21 @@ import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
+import java.util.List;
 import java.util.Objects;
 import java.util.Stack;
+import java.util.concurrent.TimeUnit;
 
 import org.ops4j.io.StreamUtils;
 import org.ops4j.pax.exam.ProbeInvoker;
 import org.ops4j.pax.exam.RelativeTimeout;
+import org.ops4j.pax.exam.SharedRegistry;
 import org.ops4j.pax.exam.TestAddress;
 import org.ops4j.pax.exam.rbc.client.RemoteBundleContextClient;
+import org.ops4j.pax.exam.rbc.internal.ContainerEvent;
 import org.ops4j.pax.exam.rbc.internal.NoSuchServiceException;
 import org.ops4j.pax.exam.rbc.internal.RemoteBundleContext;
+import org.ops4j.pax.exam.rbc.internal.RemoteBundleContextMetrics;
 import org.osgi.framework.BundleException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -55,6 +60,16 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
     // TODO duplicate
     private static final String PROBE_SIGNATURE_KEY = "Probe-Signature";
 
+    /**
+     * Pause between two registry lookups when there is no readiness handshake.
+     */
+    private static final long LOOKUP_RETRY_WAIT = 100;
+
+    /**
+     * Max time to wait for the readiness handshake before looking up the registry again.
+     */
+    private static final long FALLBACK_LOOKUP_WAIT = 1000;
+
     private RemoteBundleContext remoteBundleContext;
 
     /**
@@ -68,6 +83,8 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
 
     private final String name;
 
+    private final ReadinessListener readiness;
+
     /**
      * Constructor.
      *
@@ -80,10 +97,29 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
      */
     public RemoteBundleContextClientImpl(final String name, final Integer registry,
         final RelativeTimeout timeout) {
+        this(name, registry, timeout, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name
+     *            of container
+     * @param registry
+     *            RMI registry to look at
+     * @param timeout
+     *            timeout for looking up the remote bundle context via RMI (cannot be null)
+     * @param readiness
+     *            listener the container connects back to once its RBC is bound, or null to poll
+     *            the registry
+     */
+    public RemoteBundleContextClientImpl(final String name, final Integer registry,
+        final RelativeTimeout timeout, final ReadinessListener readiness) {
         Objects.requireNonNull(registry, "Registry must not be null.");
 
         this.registry = registry;
         this.name = name;
+        this.readiness = readiness;
         rmiLookupTimeout = timeout;
         installed = new Stack<>();
     }
@@ -169,7 +205,6 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
         catch (BundleException e) {
             throw new RuntimeException("Bundle cannot be uninstalled", e);
         }
-
     }
 
     @Override
@@ -226,6 +261,20 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
         }
     }
 
+    @Override
+    public void waitForState(final long[] bundleIds, final int state,
+        final RelativeTimeout timeout) {
+        try {
+            getRemoteBundleContext().waitForState(bundleIds, state, timeout);
+        }
+        catch (RemoteException e) {
+            throw new RuntimeException("waitForState", e);
+        }
+        catch (BundleException e) {
+            throw new RuntimeException("waitForState", e);
+        }
+    }
+
     /**
      * Looks up the {@link RemoteBundleContext} via RMI. The lookup will timeout in the specified
      * number of millis.
@@ -243,7 +292,8 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
             // TODO create registry here
             Throwable reason = null;
             long startedTrying = System.currentTimeMillis();
-
+            long deadline = rmiLookupTimeout.isNoTimeout() ? Long.MAX_VALUE : startedTrying
+                + rmiLookupTimeout.getValue();
             do {
                 try {
                     remoteBundleContext = (RemoteBundleContext) getRegistry(registry).lookup(name);
@@ -255,22 +305,51 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
                     reason = e;
                 }
             }
-            while (remoteBundleContext == null
-                && (rmiLookupTimeout.isNoTimeout() || System.currentTimeMillis() < startedTrying
-                    + rmiLookupTimeout.getValue()));
+            while (remoteBundleContext == null && System.currentTimeMillis() < deadline
+                && awaitNextLookup(deadline));
+            if (readiness != null) {
+                readiness.close();
+            }
             if (remoteBundleContext == null) {
                 throw new RuntimeException("Cannot get the remote bundle context", reason);
             }
-            LOG.debug("Remote bundle context found after "
-                + (System.currentTimeMillis() - startedTrying) + " millis");
+            long lookupMillis = System.currentTimeMillis() - startedTrying;
+            LOG.debug("Remote bundle context found after " + lookupMillis + " millis");
+            RemoteBundleContextMetrics metrics = DriverMetrics.get();
+            if (metrics != null) {
+                metrics.record("lookup", TimeUnit.MILLISECONDS.toNanos(lookupMillis));
+                remoteBundleContext = metrics.instrument(remoteBundleContext);
+            }
         }
         return remoteBundleContext;
 
     }
 
-    // TODO This utility is copy/pasted in pax-exam-container-forked's
-    // ForkedFrameworkFactory, and ideally perhaps should be be put into a
-    // shared utility module
+    /**
+     * Waits before the next registry lookup. With a readiness handshake, this returns as soon as
+     * the container has signalled that its RBC is bound, but the registry is still looked up
+     * every {@link #FALLBACK_LOOKUP_WAIT} millis in case the container cannot signal.
+     *
+     * @param deadline
+     *            time when the lookup times out
+     * @return false if the waiting thread has been interrupted
+     */
+    private boolean awaitNextLookup(long deadline) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (readiness != null && !readiness.isClosed()) {
+            readiness.awaitReady(name, Math.min(remaining, FALLBACK_LOOKUP_WAIT));
+            return !Thread.currentThread().isInterrupted();
+        }
+        try {
+            Thread.sleep(Math.max(0, Math.min(remaining, LOOKUP_RETRY_WAIT)));
+            return true;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
     private Registry getRegistry(int port) throws RemoteException {
         Registry reg;
         String hostName = System.getProperty("java.rmi.server.hostname");
@@ -278,7 +357,8 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
             reg = LocateRegistry.getRegistry(hostName, port);
         }
         else {
-            reg = LocateRegistry.getRegistry(port);
+            // the shared registry only listens on the loopback address
+            reg = LocateRegistry.getRegistry(SharedRegistry.getHost(), port);
         }
         return reg;
     }
@@ -291,6 +371,16 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
         service.call(address.arguments());
     }
 
+    @Override
+    public List<ContainerEvent> pollEvents(long maxWaitMillis, int maxEvents) {
+        try {
+            return getRemoteBundleContext().pollEvents(maxWaitMillis, maxEvents);
+        }
+        catch (RemoteException e) {
+            throw new RuntimeException("pollEvents", e);
+        }
+    }
+
     public String getName() {
         return name;
     }
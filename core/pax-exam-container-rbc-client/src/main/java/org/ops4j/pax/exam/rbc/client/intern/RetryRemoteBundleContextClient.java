@@ -22,12 +22,16 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.rmi.NoSuchObjectException;
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.ops4j.pax.exam.ExceptionHelper;
 import org.ops4j.pax.exam.RelativeTimeout;
 import org.ops4j.pax.exam.TestAddress;
 import org.ops4j.pax.exam.rbc.client.RemoteBundleContextClient;
+import org.ops4j.pax.exam.rbc.internal.ContainerEvent;
+import org.ops4j.pax.exam.rbc.internal.RemoteBundleContextMetrics;
 
 /**
  *
@@ -75,6 +79,10 @@ public class RetryRemoteBundleContextClient implements RemoteBundleContextClient
                                 LOG.warn("Catched (rooted) " + cause.getClass().getName()
                                     + " in RBC." + method.getName());
                                 retry = true;
+                                RemoteBundleContextMetrics metrics = DriverMetrics.get();
+                                if (metrics != null) {
+                                    metrics.recordRetry(method.getName());
+                                }
                             }
                             else {
                                 LOG.debug("Exception that does not cause Retry : (rooted) "
@@ -122,10 +130,20 @@ public class RetryRemoteBundleContextClient implements RemoteBundleContextClient
         proxy.waitForState(bundleId, state, timeout);
     }
 
+    @Override
+    public void waitForState(long[] bundleIds, int state, RelativeTimeout timeout) {
+        proxy.waitForState(bundleIds, state, timeout);
+    }
+
     public void call(TestAddress address) {
         proxy.call(address);
     }
 
+    @Override
+    public List<ContainerEvent> pollEvents(long maxWaitMillis, int maxEvents) {
+        return proxy.pollEvents(maxWaitMillis, maxEvents);
+    }
+
     @Override
     public void uninstall(long bundleId) {
         proxy.uninstall(bundleId);
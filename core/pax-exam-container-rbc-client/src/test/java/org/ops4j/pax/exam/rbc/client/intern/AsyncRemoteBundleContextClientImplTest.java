@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.client.intern;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.ops4j.pax.exam.RelativeTimeout;
+import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.rbc.client.RemoteBundleContextClient;
+import org.osgi.framework.Bundle;
+
+public class AsyncRemoteBundleContextClientImplTest {
+
+    private final RemoteBundleContextClient client = mock(RemoteBundleContextClient.class);
+
+    private final AsyncRemoteBundleContextClientImpl async =
+        new AsyncRemoteBundleContextClientImpl(client);
+
+    @Test
+    public void completesWhileOtherOperationsAreInFlight() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(client).waitForState(eq(5L), eq(Bundle.ACTIVE), any(RelativeTimeout.class));
+        when(client.install(eq("probe"), any(InputStream.class))).thenAnswer(invocation -> {
+            InputStream stream = invocation.getArgument(1);
+            return (long) stream.readAllBytes().length;
+        });
+        // the stream is consumed before installAsync returns
+        InputStream content = new ByteArrayInputStream("content".getBytes(
+            StandardCharsets.UTF_8));
+
+        CompletableFuture<Void> waiting = async.waitForStateAsync(5L, Bundle.ACTIVE,
+            new RelativeTimeout(10000));
+        assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+        CompletableFuture<Long> installed = async.installAsync("probe", content);
+
+        assertThat(AsyncRemoteBundleContextClientImpl.await(installed), is(7L));
+        assertThat(content.read(), is(-1));
+        assertThat(waiting.isDone(), is(false));
+        release.countDown();
+        AsyncRemoteBundleContextClientImpl.await(waiting);
+    }
+
+    @Test
+    public void failsWithCauseOfOperation() {
+        TestContainerException failure = new TestContainerException("start failed");
+        doThrow(failure).when(client).start();
+
+        CompletableFuture<Void> started = async.startAsync();
+        try {
+            AsyncRemoteBundleContextClientImpl.await(started);
+            fail("start should have failed");
+        }
+        catch (TestContainerException exc) {
+            assertThat(exc, is(sameInstance(failure)));
+        }
+        assertThat(started.isCompletedExceptionally(), is(true));
+    }
+
+    @Test
+    public void failsWhenStreamCannotBeRead() {
+        InputStream broken = new InputStream() {
+
+            @Override
+            public int read() throws IOException {
+                throw new IOException("broken");
+            }
+        };
+
+        CompletableFuture<Long> installed = async.installAsync("probe", broken);
+        assertThat(installed.isCompletedExceptionally(), is(true));
+        try {
+            AsyncRemoteBundleContextClientImpl.await(installed);
+            fail("install should have failed");
+        }
+        catch (TestContainerException exc) {
+            assertThat(exc.getCause() instanceof IOException, is(true));
+        }
+    }
+
+    @Test
+    public void cancelledFutureDoesNotWaitForOperation() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(client).setBundleStartLevel(5L, 3);
+
+        CompletableFuture<Void> future = async.setBundleStartLevelAsync(5L, 3);
+        assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+        assertThat(future.cancel(true), is(true));
+
+        assertThat(future.isCancelled(), is(true));
+        try {
+            AsyncRemoteBundleContextClientImpl.await(future);
+            fail("future should have been cancelled");
+        }
+        catch (CancellationException exc) {
+            // expected
+        }
+        // cancelling only completes the future, the remote operation is not interrupted
+        release.countDown();
+        verify(client).setBundleStartLevel(5L, 3);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.client.intern;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.DataOutputStream;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.server.UnicastRemoteObject;
+
+import org.junit.Test;
+import org.ops4j.pax.exam.RelativeTimeout;
+import org.ops4j.pax.exam.SharedRegistry;
+import org.ops4j.pax.exam.rbc.client.RemoteBundleContextClient;
+import org.ops4j.pax.exam.rbc.internal.RemoteBundleContext;
+
+public class RemoteBundleContextClientImplTest {
+
+    @Test
+    public void readinessListenerAcceptsSignal() throws Exception {
+        ReadinessListener readiness = new ReadinessListener();
+        assertThat(readiness.awaitReady("rbc", 10), is(false));
+        assertThat(readiness.isClosed(), is(false));
+
+        signal(readiness.getPort(), "other");
+        signal(readiness.getPort(), "rbc");
+        assertThat(readiness.awaitReady("rbc", 10000), is(true));
+        assertThat(readiness.isClosed(), is(true));
+    }
+
+    @Test
+    public void looksUpRegistryWithoutReadinessSignal() throws Exception {
+        int port = SharedRegistry.acquire();
+        RemoteBundleContext context = mock(RemoteBundleContext.class);
+        ReadinessListener readiness = new ReadinessListener();
+        try {
+            LocateRegistry.getRegistry(SharedRegistry.getHost(), port).rebind("silent",
+                UnicastRemoteObject.exportObject(context, 0));
+            RemoteBundleContextClient client = new RemoteBundleContextClientImpl("silent",
+                port, new RelativeTimeout(10000), readiness);
+
+            // the container never signals, but its RBC is found in the registry
+            long started = System.currentTimeMillis();
+            client.uninstall(42L);
+            verify(context).uninstallBundle(42L);
+            assertThat(System.currentTimeMillis() - started < 5000, is(true));
+            assertThat(readiness.isClosed(), is(true));
+        }
+        finally {
+            SharedRegistry.unbind("silent");
+            UnicastRemoteObject.unexportObject(context, true);
+            SharedRegistry.release();
+        }
+    }
+
+    private static void signal(int port, String name) throws Exception {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            new DataOutputStream(socket.getOutputStream()).writeUTF(name);
+        }
+    }
+}
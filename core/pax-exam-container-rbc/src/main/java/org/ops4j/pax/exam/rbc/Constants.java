@@ -33,6 +33,30 @@ public class Constants {
     public static final String RMI_HOST_PROPERTY = "org.ops4j.pax.exam.rbc.rmi.host";
     public static final String RMI_NAME_PROPERTY = "org.ops4j.pax.exam.rbc.rmi.name";
 
+    /**
+     * Name of the system property that specifies the loopback port of the driver's readiness
+     * listener. When set, the container connects back once its remote bundle context is bound.
+     */
+    public static final String RMI_READY_PORT_PROPERTY = "org.ops4j.pax.exam.rbc.ready.port";
+
+    /**
+     * Name of the system property enabling the event stream (test events, captured output and log
+     * records) polled by the driver. Values: true | false.
+     */
+    public static final String STREAM_EVENTS_PROPERTY = "org.ops4j.pax.exam.rbc.stream";
+
+    /**
+     * Name of the system property defining the number of events buffered in the container. Further
+     * events are dropped until the driver has polled.
+     */
+    public static final String STREAM_CAPACITY_PROPERTY = "org.ops4j.pax.exam.rbc.stream.capacity";
+
+    /**
+     * Name of the system property enabling latency metrics for remote bundle context operations,
+     * exposed via JMX in the container. Values: true | false.
+     */
+    public static final String METRICS_PROPERTY = "org.ops4j.pax.exam.rbc.metrics";
+
     public static final long WAIT_FOREVER = 0;
     
     /** Hidden utility class constructor. */
@@ -17,6 +17,10 @@
  */
 package org.ops4j.pax.exam.rbc.internal;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
 import java.rmi.NoSuchObjectException;
 import java.rmi.NotBoundException;
 import java.rmi.Remote;
@@ -26,6 +30,9 @@ import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.concurrent.Callable;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+
 import org.ops4j.pax.exam.rbc.Constants;
 import org.ops4j.pax.swissbox.core.ContextClassLoaderUtils;
 import org.osgi.framework.BundleActivator;
@@ -49,6 +56,8 @@ public class Activator implements BundleActivator {
     private static final Logger LOG = LoggerFactory.getLogger(Activator.class);
 
     private static final int MAXRETRYCOUNT = 14;
+    private static final long MIN_RETRY_WAIT = 50;
+    private static final long MAX_RETRY_WAIT = 1000;
     private static final String MSG_RETRY = "RBC bind stuff failed before. Will retry again perhaps.";
 
     /**
@@ -64,6 +73,25 @@ public class Activator implements BundleActivator {
 
     private Thread registerRBCThread;
 
+    /**
+     * Event stream polled by the driver, or null if streaming is disabled.
+     */
+    private EventStream eventStream;
+
+    private LogForwarder logForwarder;
+
+    /**
+     * Operation metrics exposed via JMX, or null if metrics are disabled.
+     */
+    private RemoteBundleContextMetrics metrics;
+
+    private ObjectName metricsName;
+
+    /**
+     * Object exported via RMI, either the remote bundle context or its instrumented proxy.
+     */
+    private volatile Remote exported;
+
     @Override
     public synchronized void start(final BundleContext bundleContext) throws Exception {
         String host = getHost();
@@ -73,12 +101,19 @@ public class Activator implements BundleActivator {
             LOG.info("Name, port or host is null. So this RBC remains inactive.");
             return;
         }
+        if (Boolean.getBoolean(Constants.STREAM_EVENTS_PROPERTY)) {
+            startEventStream(bundleContext);
+        }
+        if (Boolean.getBoolean(Constants.METRICS_PROPERTY)) {
+            registerMetrics(name);
+        }
         // !! Absolutely necessary for RMIClassLoading to work
         registerRBCThread = new Thread(new Runnable() {
 
             @Override
             public void run() {
                 int retries = 0;
+                long retryWait = MIN_RETRY_WAIT;
                 boolean valid = false;
                 do {
                     retries++;
@@ -86,14 +121,18 @@ public class Activator implements BundleActivator {
                     if (!valid) {
                         try {
                             LOG.debug(MSG_RETRY);
-                            Thread.sleep(500);
+                            Thread.sleep(retryWait);
+                            retryWait = Math.min(2 * retryWait, MAX_RETRY_WAIT);
                         }
                         catch (InterruptedException e) {
-                            e.printStackTrace();
+                            Thread.currentThread().interrupt();
                         }
                     }
                 }
                 while (!Thread.currentThread().isInterrupted() && !valid && retries < MAXRETRYCOUNT);
+                if (valid) {
+                    signalReady();
+                }
             }
         });
         registerRBCThread.start();
@@ -140,11 +179,91 @@ public class Activator implements BundleActivator {
         LOG.debug("Now Binding " + RemoteBundleContext.class.getSimpleName() + " as name=" + name
             + " to RMI registry");
         remoteBundleContext = new RemoteBundleContextImpl(bundleContext.getBundle(0)
-            .getBundleContext());
-        Remote remoteStub = UnicastRemoteObject.exportObject(remoteBundleContext, 0);
+            .getBundleContext(), eventStream);
+        exported = metrics == null ? remoteBundleContext : metrics.instrument(remoteBundleContext);
+        Remote remoteStub = UnicastRemoteObject.exportObject(exported, 0);
         _registry.rebind(getName(), remoteStub);
     }
 
+    private void startEventStream(BundleContext bundleContext) {
+        eventStream = new EventStream(Integer.getInteger(Constants.STREAM_CAPACITY_PROPERTY,
+            EventStream.DEFAULT_CAPACITY));
+        eventStream.startCapture();
+        try {
+            logForwarder = new LogForwarder(bundleContext, eventStream);
+            logForwarder.open();
+        }
+        catch (NoClassDefFoundError e) {
+            // optional import of the OSGi log service is not wired
+            LOG.debug("No OSGi log service available, log records will not be streamed");
+            logForwarder = null;
+        }
+    }
+
+    private void registerMetrics(String name) {
+        metrics = new RemoteBundleContextMetrics();
+        try {
+            metricsName = new ObjectName("org.ops4j.pax.exam:type=RemoteBundleContext,name="
+                + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, metricsName);
+        }
+        catch (JMException e) {
+            LOG.warn("Cannot register remote bundle context metrics", e);
+            metricsName = null;
+        }
+    }
+
+    private void unregisterMetrics() {
+        if (metrics == null) {
+            return;
+        }
+        if (!metrics.isEmpty()) {
+            LOG.info("Remote bundle context metrics (container side, micros):\n{}",
+                metrics.getReport());
+        }
+        if (metricsName != null) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().unregisterMBean(metricsName);
+            }
+            catch (JMException e) {
+                LOG.debug("Cannot unregister remote bundle context metrics", e);
+            }
+        }
+        metrics = null;
+        metricsName = null;
+    }
+
+    private void stopEventStream() {
+        if (logForwarder != null) {
+            logForwarder.close();
+            logForwarder = null;
+        }
+        if (eventStream != null) {
+            eventStream.stopCapture();
+            eventStream = null;
+        }
+    }
+
+    /**
+     * Connects back to the readiness listener of the driver, if there is one, and announces the
+     * name under which the remote bundle context has been bound.
+     */
+    private void signalReady() {
+        String readyPort = System.getProperty(Constants.RMI_READY_PORT_PROPERTY);
+        if (readyPort == null) {
+            return;
+        }
+        try (Socket socket = new Socket(getHost(), Integer.parseInt(readyPort));
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream())) {
+            out.writeUTF(getName());
+            out.flush();
+            LOG.debug("Container with name " + getName() + " has signalled readiness");
+        }
+        catch (IOException | BundleException | NumberFormatException e) {
+            LOG.warn("Cannot signal readiness to driver on port " + readyPort, e);
+        }
+    }
+
     @Override
     public synchronized void stop(BundleContext bundleContext) throws Exception {
         if (registerRBCThread != null) {
@@ -152,15 +271,18 @@ public class Activator implements BundleActivator {
             String name = getName();
             try {
                 registry.unbind(name);
-                UnicastRemoteObject.unexportObject(remoteBundleContext, true);
+                UnicastRemoteObject.unexportObject(exported, true);
             }
             catch (NotBoundException | NoSuchObjectException ex) {
                 LOG.warn("No such Object bound {}", name, ex);
             }
             registry = null;
             remoteBundleContext = null;
+            exported = null;
             LOG.debug("Container with name " + name + " has removed its RBC");
         }
+        stopEventStream();
+        unregisterMetrics();
     }
 
     /**
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.internal;
+
+import java.io.Serializable;
+
+import org.ops4j.pax.exam.WrappedTestContainerException;
+
+/**
+ * An event streamed from the container to the driver via
+ * {@link RemoteBundleContext#pollEvents(long, int)}.
+ */
+public class ContainerEvent implements Serializable {
+
+    /**
+     * Kind of a container event.
+     */
+    public enum Kind {
+        /** A test invocation has started. Source is the test address. */
+        TEST_STARTED,
+        /** A test invocation has finished successfully. */
+        TEST_FINISHED,
+        /** A test invocation has failed. The failure is attached. */
+        TEST_FAILED,
+        /** A line written to {@code System.out}. */
+        STDOUT,
+        /** A line written to {@code System.err}. */
+        STDERR,
+        /** A log record. Source is the symbolic name of the logging bundle. */
+        LOG,
+        /** Events have been dropped because the buffer was full. Message is the count. */
+        DROPPED
+    }
+
+    private static final long serialVersionUID = 4424226283468957214L;
+
+    private final Kind kind;
+
+    private final long timestamp;
+
+    private final String source;
+
+    private final String message;
+
+    private final WrappedTestContainerException failure;
+
+    public ContainerEvent(Kind kind, String source, String message,
+        WrappedTestContainerException failure) {
+        this(kind, System.currentTimeMillis(), source, message, failure);
+    }
+
+    public ContainerEvent(Kind kind, long timestamp, String source, String message,
+        WrappedTestContainerException failure) {
+        this.kind = kind;
+        this.timestamp = timestamp;
+        this.source = source;
+        this.message = message;
+        this.failure = failure;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public WrappedTestContainerException getFailure() {
+        return failure;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + kind + (source == null ? "" : " " + source) + "] "
+            + (message == null ? "" : message);
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.ops4j.pax.exam.rbc.internal.ContainerEvent.Kind;
+
+/**
+ * Bounded buffer of {@link ContainerEvent}s waiting to be polled by the driver. Producers never
+ * block: when the buffer is full, new events are dropped and counted, and the driver receives a
+ * single {@link Kind#DROPPED} event with the count in place of the dropped events.
+ * <p>
+ * While capturing, {@code System.out} and {@code System.err} are teed into the buffer line by line.
+ */
+public class EventStream {
+
+    /**
+     * Default number of buffered events.
+     */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * Captured lines longer than this are split into several events.
+     */
+    private static final int MAX_LINE_LENGTH = 8192;
+
+    private final int capacity;
+
+    private final ArrayDeque<ContainerEvent> events;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition notEmpty = lock.newCondition();
+
+    /**
+     * Number of buffered events, not counting {@link Kind#DROPPED} markers.
+     */
+    private int buffered;
+
+    /**
+     * Number of events dropped after the last buffered event.
+     */
+    private long dropped;
+
+    private PrintStream originalOut;
+
+    private PrintStream originalErr;
+
+    private CapturingPrintStream capturedOut;
+
+    private CapturingPrintStream capturedErr;
+
+    public EventStream(int capacity) {
+        this.capacity = capacity;
+        this.events = new ArrayDeque<>(Math.min(capacity, DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Adds an event to the buffer, or drops it if the buffer is full.
+     *
+     * @param event
+     *            event to add
+     * @return false if the event was dropped
+     */
+    public boolean offer(ContainerEvent event) {
+        lock.lock();
+        try {
+            if (buffered >= capacity) {
+                dropped++;
+                return false;
+            }
+            if (dropped > 0) {
+                events.addLast(droppedMarker());
+            }
+            events.addLast(event);
+            buffered++;
+            notEmpty.signal();
+            return true;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes up to {@code maxEvents} events from the buffer, waiting up to {@code maxWaitMillis}
+     * for the first one. A {@link Kind#DROPPED} marker counts as one event.
+     *
+     * @param maxWaitMillis
+     *            maximum time to wait if the buffer is empty
+     * @param maxEvents
+     *            maximum number of events to return
+     * @return events in order of occurrence, possibly empty
+     * @throws InterruptedException
+     *             if the waiting thread was interrupted
+     */
+    public List<ContainerEvent> poll(long maxWaitMillis, int maxEvents)
+        throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+            while (events.isEmpty() && dropped == 0 && nanos > 0) {
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+            List<ContainerEvent> result = new ArrayList<>(Math.min(events.size() + 1, maxEvents));
+            while (!events.isEmpty() && result.size() < maxEvents) {
+                ContainerEvent event = events.pollFirst();
+                if (event.getKind() != Kind.DROPPED) {
+                    buffered--;
+                }
+                result.add(event);
+            }
+            if (events.isEmpty() && dropped > 0 && result.size() < maxEvents) {
+                result.add(droppedMarker());
+            }
+            return result;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    private ContainerEvent droppedMarker() {
+        ContainerEvent marker = new ContainerEvent(Kind.DROPPED, null, Long.toString(dropped),
+            null);
+        dropped = 0;
+        return marker;
+    }
+
+    /**
+     * Starts teeing {@code System.out} and {@code System.err} into this stream.
+     */
+    public synchronized void startCapture() {
+        if (capturedOut != null) {
+            return;
+        }
+        originalOut = System.out;
+        originalErr = System.err;
+        capturedOut = new CapturingPrintStream(originalOut, Kind.STDOUT);
+        capturedErr = new CapturingPrintStream(originalErr, Kind.STDERR);
+        System.setOut(capturedOut);
+        System.setErr(capturedErr);
+    }
+
+    /**
+     * Restores {@code System.out} and {@code System.err}, unless they have been replaced by someone
+     * else in the meantime.
+     */
+    public synchronized void stopCapture() {
+        if (capturedOut == null) {
+            return;
+        }
+        if (System.out == capturedOut) {
+            System.setOut(originalOut);
+        }
+        if (System.err == capturedErr) {
+            System.setErr(originalErr);
+        }
+        capturedOut.flushLine();
+        capturedErr.flushLine();
+        capturedOut = null;
+        capturedErr = null;
+    }
+
+    /**
+     * Print stream forwarding everything to the original stream and emitting complete lines as
+     * events.
+     */
+    private final class CapturingPrintStream extends PrintStream {
+
+        private final Kind kind;
+
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+
+        CapturingPrintStream(PrintStream original, Kind kind) {
+            super(original, true);
+            this.kind = kind;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            super.write(b);
+            append(b);
+        }
+
+        @Override
+        public synchronized void write(byte[] buf, int off, int len) {
+            super.write(buf, off, len);
+            for (int i = off; i < off + len; i++) {
+                append(buf[i]);
+            }
+        }
+
+        private void append(int b) {
+            if (b == '\n') {
+                flushLine();
+            }
+            else if (b != '\r') {
+                line.write(b);
+                if (line.size() >= MAX_LINE_LENGTH) {
+                    flushLine();
+                }
+            }
+        }
+
+        synchronized void flushLine() {
+            if (line.size() > 0) {
+                offer(new ContainerEvent(kind, null, line.toString(), null));
+                line.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.internal;
+
+import java.lang.reflect.InvocationTargetException;
+import java.rmi.RemoteException;
+import java.util.List;
+
+import org.ops4j.pax.exam.RelativeTimeout;
+import org.osgi.framework.BundleException;
+
+/**
+ * Remote bundle context timing each operation of a delegate in {@link RemoteBundleContextMetrics}
+ * and counting bundle content as payload. Calls are delegated directly, so that recording does
+ * not allocate.
+ */
+class InstrumentedRemoteBundleContext implements RemoteBundleContext {
+
+    private final RemoteBundleContext delegate;
+
+    private final RemoteBundleContextMetrics metrics;
+
+    InstrumentedRemoteBundleContext(RemoteBundleContext delegate,
+        RemoteBundleContextMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object remoteCall(Class<?> serviceType, String methodName,
+        Class<?>[] methodParamTypes, String filter, RelativeTimeout timeout,
+        Object... actualParams) throws RemoteException, NoSuchServiceException,
+        NoSuchMethodException, IllegalAccessException, InvocationTargetException {
+        long start = System.nanoTime();
+        try {
+            return delegate.remoteCall(serviceType, methodName, methodParamTypes, filter, timeout,
+                actualParams);
+        }
+        finally {
+            metrics.record("remoteCall", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long installBundle(String bundleUrl) throws RemoteException, BundleException {
+        long start = System.nanoTime();
+        try {
+            return delegate.installBundle(bundleUrl);
+        }
+        finally {
+            metrics.record("installBundle", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long installBundle(String bundleLocation, byte[] bundle) throws RemoteException,
+        BundleException {
+        metrics.recordBytes("installBundle", bundle.length);
+        long start = System.nanoTime();
+        try {
+            return delegate.installBundle(bundleLocation, bundle);
+        }
+        finally {
+            metrics.record("installBundle", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void startBundle(long bundleId) throws RemoteException, BundleException {
+        long start = System.nanoTime();
+        try {
+            delegate.startBundle(bundleId);
+        }
+        finally {
+            metrics.record("startBundle", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void stopBundle(long bundleId) throws RemoteException, BundleException {
+        long start = System.nanoTime();
+        try {
+            delegate.stopBundle(bundleId);
+        }
+        finally {
+            metrics.record("stopBundle", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void setBundleStartLevel(long bundleId, int startLevel) throws RemoteException,
+        BundleException {
+        long start = System.nanoTime();
+        try {
+            delegate.setBundleStartLevel(bundleId, startLevel);
+        }
+        finally {
+            metrics.record("setBundleStartLevel", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void waitForState(long bundleId, int state, RelativeTimeout timeout)
+        throws RemoteException, BundleException {
+        long start = System.nanoTime();
+        try {
+            delegate.waitForState(bundleId, state, timeout);
+        }
+        finally {
+            metrics.record("waitForState", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void waitForState(long[] bundleIds, int state, RelativeTimeout timeout)
+        throws RemoteException, BundleException {
+        long start = System.nanoTime();
+        try {
+            delegate.waitForState(bundleIds, state, timeout);
+        }
+        finally {
+            metrics.record("waitForState", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<ContainerEvent> pollEvents(long maxWaitMillis, int maxEvents)
+        throws RemoteException {
+        long start = System.nanoTime();
+        try {
+            return delegate.pollEvents(maxWaitMillis, maxEvents);
+        }
+        finally {
+            metrics.record("pollEvents", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void uninstallBundle(long id) throws RemoteException, BundleException {
+        long start = System.nanoTime();
+        try {
+            delegate.uninstallBundle(id);
+        }
+        finally {
+            metrics.record("uninstallBundle", System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.internal;
+
+import org.ops4j.pax.exam.WrappedTestContainerException;
+import org.ops4j.pax.exam.rbc.internal.ContainerEvent.Kind;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.log.LogEntry;
+import org.osgi.service.log.LogListener;
+import org.osgi.service.log.LogReaderService;
+import org.osgi.util.tracker.ServiceTracker;
+
+/**
+ * Forwards log entries of all {@link LogReaderService}s into an {@link EventStream}.
+ * <p>
+ * The OSGi log service package is an optional import of this bundle, so this class must only be
+ * loaded after checking that the package is wired.
+ */
+class LogForwarder extends ServiceTracker<LogReaderService, LogReaderService> implements
+    LogListener {
+
+    private final EventStream stream;
+
+    LogForwarder(BundleContext bundleContext, EventStream stream) {
+        super(bundleContext, LogReaderService.class, null);
+        this.stream = stream;
+    }
+
+    @Override
+    public LogReaderService addingService(ServiceReference<LogReaderService> reference) {
+        LogReaderService reader = super.addingService(reference);
+        if (reader != null) {
+            reader.addLogListener(this);
+        }
+        return reader;
+    }
+
+    @Override
+    public void removedService(ServiceReference<LogReaderService> reference,
+        LogReaderService reader) {
+        reader.removeLogListener(this);
+        super.removedService(reference, reader);
+    }
+
+    @Override
+    public void logged(LogEntry entry) {
+        String source = entry.getBundle() == null ? null : entry.getBundle().getSymbolicName();
+        stream.offer(new ContainerEvent(Kind.LOG, entry.getTime(), source, entry.getLogLevel()
+            + " " + entry.getMessage(), WrappedTestContainerException.of(
+                entry.getException())));
+    }
+}
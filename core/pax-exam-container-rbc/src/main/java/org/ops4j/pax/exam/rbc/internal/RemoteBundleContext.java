@@ -20,6 +20,7 @@ package org.ops4j.pax.exam.rbc.internal;
 import java.lang.reflect.InvocationTargetException;
 import java.rmi.Remote;
 import java.rmi.RemoteException;
+import java.util.List;
 
 import org.ops4j.pax.exam.RelativeTimeout;
 import org.osgi.framework.BundleException;
@@ -162,6 +163,40 @@ public interface RemoteBundleContext extends Remote {
     void waitForState(long bundleId, int state, RelativeTimeout timeout) throws RemoteException,
         BundleException;
 
+    /**
+     * Waits for a set of bundles to be in a certain state and returns as soon as all of them have
+     * reached it.
+     * 
+     * @param bundleIds
+     *            bundle ids
+     * @param state
+     *            expected state
+     * @param timeout
+     *            max time to wait for all bundles to reach the state
+     * @throws RemoteException
+     *             - Remote communication related exception (mandatory by RMI)
+     * @throws BundleException
+     *             - If a bundle cannot be found
+     * @throws org.ops4j.pax.exam.TimeoutException
+     *             - if timeout occured and expected state has not being reached by all bundles
+     */
+    void waitForState(long[] bundleIds, int state, RelativeTimeout timeout)
+        throws RemoteException, BundleException;
+
+    /**
+     * Removes pending events from the container's event stream, waiting for the first one up to
+     * the given time. Returns an empty list at once if the event stream is not enabled.
+     * 
+     * @param maxWaitMillis
+     *            max time to wait for an event
+     * @param maxEvents
+     *            max number of events to return
+     * @return events in order of occurrence, possibly empty
+     * @throws RemoteException
+     *             - Remote communication related exception (mandatory by RMI)
+     */
+    List<ContainerEvent> pollEvents(long maxWaitMillis, int maxEvents) throws RemoteException;
+
     /**
      * @param id
      *            of bundle to uninstall
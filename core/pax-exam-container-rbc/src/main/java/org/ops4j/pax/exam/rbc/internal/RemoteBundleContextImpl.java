@@ -24,16 +24,31 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
 import java.rmi.RemoteException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Dictionary;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
+import org.ops4j.pax.exam.ProbeInvoker;
 import org.ops4j.pax.exam.RelativeTimeout;
 import org.ops4j.pax.exam.RerunTestException;
 import org.ops4j.pax.exam.TimeoutException;
+import org.ops4j.pax.exam.WrappedTestContainerException;
+import org.ops4j.pax.exam.rbc.internal.ContainerEvent.Kind;
 import org.ops4j.pax.swissbox.tracker.ServiceLookup;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
 import org.osgi.framework.BundleException;
+import org.osgi.framework.BundleListener;
 import org.osgi.framework.Constants;
+import org.osgi.framework.FrameworkEvent;
+import org.osgi.framework.FrameworkListener;
 import org.osgi.framework.startlevel.BundleStartLevel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -53,10 +68,16 @@ public class RemoteBundleContextImpl implements RemoteBundleContext, Serializabl
      * JCL Logger.
      */
     private static final Logger LOG = LoggerFactory.getLogger(RemoteBundleContextImpl.class);
+
+    private static final String PROBE_INVOKER = ProbeInvoker.class.getName();
     /**
      * Bundle context (cannot be null).
      */
     private final transient BundleContext bundleContext;
+    /**
+     * Event stream polled by the driver, or null if streaming is disabled.
+     */
+    private final transient EventStream eventStream;
 
     /**
      * Constructor.
@@ -68,8 +89,25 @@ public class RemoteBundleContextImpl implements RemoteBundleContext, Serializabl
      *             - If bundle context is null
      */
     public RemoteBundleContextImpl(final BundleContext bundleContext) {
+        this(bundleContext, null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param bundleContext
+     *            bundle context (cannot be null)
+     * @param eventStream
+     *            event stream for test events, or null to disable streaming
+     *
+     * @throws IllegalArgumentException
+     *             - If bundle context is null
+     */
+    public RemoteBundleContextImpl(final BundleContext bundleContext,
+        final EventStream eventStream) {
         validateNotNull(bundleContext, "Bundle context");
         this.bundleContext = bundleContext;
+        this.eventStream = eventStream;
     }
 
     @Override
@@ -80,6 +118,9 @@ public class RemoteBundleContextImpl implements RemoteBundleContext, Serializabl
         LOG.trace("Remote call of [" + serviceType.getName() + "." + methodName + "]");
         Object service = ServiceLookup.getService(bundleContext, serviceType, timeout.getValue(),
             filter);
+        String test = isTestInvocation(serviceType, methodName) ? filter + " "
+            + Arrays.toString(actualParams) : null;
+        emit(test, Kind.TEST_STARTED, null);
         Object obj = null;
         try {
             obj = serviceType.getMethod(methodName, methodParams).invoke(service, actualParams);
@@ -89,15 +130,50 @@ public class RemoteBundleContextImpl implements RemoteBundleContext, Serializabl
                 LOG.debug("rerun the test");
                 service = ServiceLookup.getService(bundleContext, serviceType, timeout.getValue(),
                     filter);
-                obj = serviceType.getMethod(methodName, methodParams).invoke(service, actualParams);
+                try {
+                    obj = serviceType.getMethod(methodName, methodParams).invoke(service,
+                        actualParams);
+                }
+                catch (InvocationTargetException t2) {
+                    emit(test, Kind.TEST_FAILED, t2.getTargetException());
+                    throw t2;
+                }
             }
             else {
+                emit(test, Kind.TEST_FAILED, t.getTargetException());
                 throw t;
             }
         }
+        emit(test, Kind.TEST_FINISHED, null);
         return obj;
     }
 
+    private boolean isTestInvocation(Class<?> serviceType, String methodName) {
+        return eventStream != null && serviceType.getName().equals(PROBE_INVOKER)
+            && methodName.equals("call");
+    }
+
+    private void emit(String test, Kind kind, Throwable failure) {
+        if (test != null) {
+            eventStream.offer(new ContainerEvent(kind, test, null,
+                WrappedTestContainerException.of(failure)));
+        }
+    }
+
+    @Override
+    public List<ContainerEvent> pollEvents(long maxWaitMillis, int maxEvents) {
+        if (eventStream == null) {
+            return Collections.emptyList();
+        }
+        try {
+            return eventStream.poll(maxWaitMillis, maxEvents);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Collections.emptyList();
+        }
+    }
+
     @Override
     public long installBundle(final String bundleUrl) throws BundleException {
         LOG.trace("Install bundle from URL [" + bundleUrl + "]");
@@ -153,30 +229,55 @@ public class RemoteBundleContextImpl implements RemoteBundleContext, Serializabl
 
     @Override
     public void waitForState(final long bundleId, final int state, final RelativeTimeout timeout) {
-        Bundle bundle = bundleContext.getBundle(bundleId);
-        if (bundle == null || (timeout.isNoWait() && (bundle == null || bundle.getState() < state))) {
-            throw new TimeoutException("There is no waiting timeout set and bundle has state '"
-                + bundleStateToString(bundle) + "' not '" + bundleStateToString(state)
-                + "' as expected");
+        waitForState(new long[] { bundleId }, state, timeout);
+    }
+
+    @Override
+    public void waitForState(final long[] bundleIds, final int state,
+        final RelativeTimeout timeout) {
+        BundleStateWaiter waiter = new BundleStateWaiter(state);
+        for (long bundleId : bundleIds) {
+            Bundle bundle = bundleContext.getBundle(bundleId);
+            if (bundle == null || (timeout.isNoWait() && bundle.getState() < state)) {
+                throw new TimeoutException("There is no waiting timeout set and bundle has state '"
+                    + bundleStateToString(bundle) + "' not '" + bundleStateToString(state)
+                    + "' as expected");
+            }
+            if (bundle.getState() < state) {
+                waiter.expect(bundleId);
+            }
         }
-        long startedTrying = System.currentTimeMillis();
-        do {
-            bundle = bundleContext.getBundle(bundleId);
-            try {
-                Thread.sleep(50);
+        // fast path: nothing to wait for, so do not bother registering listeners
+        if (waiter.isDone()) {
+            return;
+        }
+
+        bundleContext.addBundleListener(waiter);
+        bundleContext.addFrameworkListener(waiter);
+        try {
+            // states may have changed before the listeners were in place
+            waiter.recheck();
+            if (timeout.isNoTimeout()) {
+                waiter.await();
             }
-            catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+            else {
+                waiter.await(timeout.getValue());
             }
         }
-        while ((bundle == null || bundle.getState() < state)
-            && (timeout.isNoTimeout() || System.currentTimeMillis() < startedTrying
-                + timeout.getValue()));
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            bundleContext.removeFrameworkListener(waiter);
+            bundleContext.removeBundleListener(waiter);
+        }
 
-        if (bundle == null || bundle.getState() < state) {
+        // the last bundle may still have reached the state after the timeout
+        Long pendingId = waiter.firstPending();
+        if (pendingId != null) {
+            Bundle bundle = bundleContext.getBundle(pendingId);
             throw new TimeoutException("Timeout passed and bundle has state '"
-                + bundleStateToString(bundle.getState()) + "' not '" + bundleStateToString(state)
+                + bundleStateToString(bundle) + "' not '" + bundleStateToString(state)
                 + "' as expected");
         }
     }
@@ -253,4 +354,72 @@ public class RemoteBundleContextImpl implements RemoteBundleContext, Serializabl
         }
     }
 
+    /**
+     * Tracks a set of bundles until all of them have reached a given state. Bundle events are used
+     * to check the bundle they are about, framework events (e.g. start level changes, system bundle
+     * start) trigger a check of all pending bundles.
+     */
+    private final class BundleStateWaiter implements BundleListener, FrameworkListener {
+
+        private final int state;
+
+        private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        BundleStateWaiter(int state) {
+            this.state = state;
+        }
+
+        void expect(long bundleId) {
+            pending.add(bundleId);
+        }
+
+        boolean isDone() {
+            return pending.isEmpty();
+        }
+
+        /**
+         * @return id of a bundle not yet in the expected state, or null if there is none
+         */
+        Long firstPending() {
+            Iterator<Long> ids = pending.iterator();
+            return ids.hasNext() ? ids.next() : null;
+        }
+
+        void await() throws InterruptedException {
+            done.await();
+        }
+
+        void await(long millis) throws InterruptedException {
+            done.await(millis, TimeUnit.MILLISECONDS);
+        }
+
+        void recheck() {
+            for (Long bundleId : pending) {
+                check(bundleContext.getBundle(bundleId), bundleId);
+            }
+        }
+
+        @Override
+        public void bundleChanged(BundleEvent event) {
+            Bundle bundle = event.getBundle();
+            if (pending.contains(bundle.getBundleId())) {
+                check(bundle, bundle.getBundleId());
+            }
+        }
+
+        @Override
+        public void frameworkEvent(FrameworkEvent event) {
+            recheck();
+        }
+
+        private void check(Bundle bundle, long bundleId) {
+            if (bundle != null && bundle.getState() >= state && pending.remove(bundleId)
+                && pending.isEmpty()) {
+                done.countDown();
+            }
+        }
+    }
+
 }
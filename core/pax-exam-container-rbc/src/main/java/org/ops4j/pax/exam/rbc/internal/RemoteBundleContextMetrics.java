@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.internal;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+/**
+ * Per-operation latency histograms, retry counts and payload byte counts of remote bundle context
+ * operations. One instance is used on each side of the RMI connection: the driver measures round
+ * trips including serialization, the container measures the time spent in the framework.
+ */
+public class RemoteBundleContextMetrics implements RemoteBundleContextMetricsMXBean {
+
+    private final ConcurrentMap<String, Operation> operations = new ConcurrentHashMap<>();
+
+    /**
+     * Records the duration of an operation.
+     *
+     * @param operation
+     *            operation name
+     * @param nanos
+     *            duration in nanoseconds
+     */
+    public void record(String operation, long nanos) {
+        operation(operation).latency.record(nanos);
+    }
+
+    public void recordRetry(String operation) {
+        operation(operation).retries.incrementAndGet();
+    }
+
+    public void recordBytes(String operation, long bytes) {
+        operation(operation).bytes.addAndGet(bytes);
+    }
+
+    private Operation operation(String name) {
+        Operation operation = operations.get(name);
+        if (operation == null) {
+            operation = operations.computeIfAbsent(name, key -> new Operation());
+        }
+        return operation;
+    }
+
+    /**
+     * Wraps the given remote bundle context so that each invocation is timed and bundle content is
+     * counted as payload.
+     *
+     * @param delegate
+     *            remote bundle context or RMI stub
+     * @return instrumented remote bundle context
+     */
+    public RemoteBundleContext instrument(final RemoteBundleContext delegate) {
+        return new InstrumentedRemoteBundleContext(delegate, this);
+    }
+
+    @Override
+    public Map<String, Long> getCounts() {
+        return collect(op -> op.latency.getCount());
+    }
+
+    @Override
+    public Map<String, Long> getP99Micros() {
+        return collect(op -> TimeUnit.NANOSECONDS.toMicros(op.latency.getValueAtPercentile(99)));
+    }
+
+    @Override
+    public Map<String, Long> getRetries() {
+        return collect(op -> op.retries.get());
+    }
+
+    @Override
+    public Map<String, Long> getPayloadBytes() {
+        return collect(op -> op.bytes.get());
+    }
+
+    private Map<String, Long> collect(ToLongFunction<Operation> value) {
+        Map<String, Long> result = new TreeMap<>();
+        for (Map.Entry<String, Operation> entry : operations.entrySet()) {
+            result.put(entry.getKey(), value.applyAsLong(entry.getValue()));
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return operations.isEmpty();
+    }
+
+    /**
+     * Latencies are given in microseconds.
+     */
+    @Override
+    public String getReport() {
+        StringBuilder report = new StringBuilder(
+            String.format("%-24s %8s %10s %10s %10s %10s %8s %12s%n", "operation", "count", "mean",
+                "p50", "p99", "max", "retries", "bytes"));
+        for (Map.Entry<String, Operation> entry : new TreeMap<>(operations).entrySet()) {
+            Operation op = entry.getValue();
+            LatencyHistogram latency = op.latency;
+            report.append(String.format("%-24s %8d %10d %10d %10d %10d %8d %12d%n",
+                entry.getKey(), latency.getCount(), micros(latency.getMean()),
+                micros(latency.getValueAtPercentile(50)), micros(latency.getValueAtPercentile(99)),
+                micros(latency.getMax()), op.retries.get(), op.bytes.get()));
+        }
+        return report.toString();
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    @Override
+    public void reset() {
+        operations.clear();
+    }
+
+    private static class Operation {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+
+        private final AtomicLong retries = new AtomicLong();
+
+        private final AtomicLong bytes = new AtomicLong();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.internal;
+
+import java.util.Map;
+
+/**
+ * JMX view on {@link RemoteBundleContextMetrics}.
+ */
+public interface RemoteBundleContextMetricsMXBean {
+
+    /**
+     * @return number of invocations per operation
+     */
+    Map<String, Long> getCounts();
+
+    /**
+     * @return 99th percentile latency in microseconds per operation
+     */
+    Map<String, Long> getP99Micros();
+
+    /**
+     * @return retries per operation
+     */
+    Map<String, Long> getRetries();
+
+    /**
+     * @return payload bytes transferred per operation
+     */
+    Map<String, Long> getPayloadBytes();
+
+    /**
+     * @return human readable table of all operations
+     */
+    String getReport();
+
+    /**
+     * Discards all recorded values.
+     */
+    void reset();
+}
@@ -0,0 +1,100 @@
+package org.ops4j.pax.exam.rbc.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.ops4j.pax.exam.WrappedTestContainerException;
+import org.ops4j.pax.exam.rbc.internal.ContainerEvent.Kind;
+
+/**
+ * Test cases for EventStream.
+ */
+public class EventStreamTest {
+
+    @Test
+    public void dropsEventsWhenFull() throws Exception {
+        EventStream stream = new EventStream(2);
+        assertTrue(stream.offer(new ContainerEvent(Kind.STDOUT, null, "1", null)));
+        assertTrue(stream.offer(new ContainerEvent(Kind.STDOUT, null, "2", null)));
+        assertFalse(stream.offer(new ContainerEvent(Kind.STDOUT, null, "3", null)));
+
+        List<ContainerEvent> events = stream.poll(0, 10);
+
+        assertEquals(3, events.size());
+        assertEquals("1", events.get(0).getMessage());
+        assertEquals("2", events.get(1).getMessage());
+        assertEquals(Kind.DROPPED, events.get(2).getKind());
+        assertEquals("1", events.get(2).getMessage());
+        assertTrue(stream.poll(0, 10).isEmpty());
+    }
+
+    @Test
+    public void reportsDroppedEventsInSequence() throws Exception {
+        EventStream stream = new EventStream(2);
+        stream.offer(new ContainerEvent(Kind.STDOUT, null, "1", null));
+        stream.offer(new ContainerEvent(Kind.STDOUT, null, "2", null));
+        stream.offer(new ContainerEvent(Kind.STDOUT, null, "3", null));
+        stream.offer(new ContainerEvent(Kind.STDOUT, null, "4", null));
+
+        assertEquals("1", stream.poll(0, 1).get(0).getMessage());
+        assertTrue(stream.offer(new ContainerEvent(Kind.STDOUT, null, "5", null)));
+        List<ContainerEvent> events = stream.poll(0, 10);
+
+        assertEquals(3, events.size());
+        assertEquals("2", events.get(0).getMessage());
+        assertEquals(Kind.DROPPED, events.get(1).getKind());
+        assertEquals("2", events.get(1).getMessage());
+        assertEquals("5", events.get(2).getMessage());
+    }
+
+    @Test
+    public void countsDroppedMarkerAgainstMaxEvents() throws Exception {
+        EventStream stream = new EventStream(2);
+        stream.offer(new ContainerEvent(Kind.STDOUT, null, "1", null));
+        stream.offer(new ContainerEvent(Kind.STDOUT, null, "2", null));
+        stream.offer(new ContainerEvent(Kind.STDOUT, null, "3", null));
+
+        assertEquals(2, stream.poll(0, 2).size());
+        List<ContainerEvent> events = stream.poll(0, 2);
+
+        assertEquals(1, events.size());
+        assertEquals(Kind.DROPPED, events.get(0).getKind());
+    }
+
+    @Test
+    public void capturesSystemOutLineByLine() throws Exception {
+        EventStream stream = new EventStream(EventStream.DEFAULT_CAPACITY);
+        stream.startCapture();
+        try {
+            System.out.print("first ");
+            System.out.println("line");
+            System.out.println("second line");
+        }
+        finally {
+            stream.stopCapture();
+        }
+
+        List<ContainerEvent> events = stream.poll(0, 10);
+
+        assertEquals(2, events.size());
+        assertEquals(Kind.STDOUT, events.get(0).getKind());
+        assertEquals("first line", events.get(0).getMessage());
+        assertEquals("second line", events.get(1).getMessage());
+    }
+
+    @Test
+    public void encodesFailuresCompactly() {
+        WrappedTestContainerException failure = WrappedTestContainerException.of(
+            new IllegalStateException("outer", new IllegalArgumentException("inner")));
+
+        assertEquals(IllegalStateException.class.getName(), failure.getWrappedClassName());
+        assertEquals("outer", failure.getWrappedMessage());
+        assertTrue(failure.getStackTrace().length > 0);
+        assertEquals("inner", ((WrappedTestContainerException) failure.getCause())
+            .getWrappedMessage());
+    }
+}
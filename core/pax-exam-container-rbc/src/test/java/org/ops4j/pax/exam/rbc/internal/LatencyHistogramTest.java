@@ -0,0 +1,81 @@
+package org.ops4j.pax.exam.rbc.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+/**
+ * Test cases for LatencyHistogram and RemoteBundleContextMetrics.
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    public void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+        assertEquals(10, histogram.getCount());
+        assertEquals(5, histogram.getValueAtPercentile(50));
+        assertEquals(10, histogram.getValueAtPercentile(100));
+        assertEquals(10, histogram.getMax());
+    }
+
+    @Test
+    public void percentilesAreWithinRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 100000; i++) {
+            histogram.record(i * 1000);
+        }
+        long p50 = histogram.getValueAtPercentile(50);
+        long p99 = histogram.getValueAtPercentile(99);
+        assertTrue(p50 >= 50000000L && p50 < 50000000L * 107 / 100);
+        assertTrue(p99 >= 99000000L && p99 < 99000000L * 107 / 100);
+        assertEquals(100000000L, histogram.getMax());
+    }
+
+    @Test
+    public void bucketsCoverFullRange() {
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(
+            LatencyHistogram.indexOf(Long.MAX_VALUE)));
+        for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value = value * 3 + 1) {
+            long upper = LatencyHistogram.upperBoundOf(LatencyHistogram.indexOf(value));
+            assertTrue(upper >= value);
+        }
+    }
+
+    @Test
+    public void metricsCountPayloadAndInvocations() throws Exception {
+        RemoteBundleContextMetrics metrics = new RemoteBundleContextMetrics();
+        metrics.record("installBundle", 1000);
+        metrics.recordBytes("installBundle", 42);
+        metrics.recordRetry("installBundle");
+
+        assertEquals(Long.valueOf(1), metrics.getCounts().get("installBundle"));
+        assertEquals(Long.valueOf(42), metrics.getPayloadBytes().get("installBundle"));
+        assertEquals(Long.valueOf(1), metrics.getRetries().get("installBundle"));
+        assertTrue(metrics.getReport().contains("installBundle"));
+    }
+
+    @Test
+    public void instrumentRecordsDelegatedCalls() throws Exception {
+        RemoteBundleContextMetrics metrics = new RemoteBundleContextMetrics();
+        RemoteBundleContext delegate = mock(RemoteBundleContext.class);
+        when(delegate.installBundle(eq("probe"), any(byte[].class))).thenReturn(7L);
+        RemoteBundleContext instrumented = metrics.instrument(delegate);
+
+        assertEquals(7L, instrumented.installBundle("probe", new byte[3]));
+        instrumented.startBundle(7L);
+
+        verify(delegate).startBundle(7L);
+        assertEquals(Long.valueOf(1), metrics.getCounts().get("installBundle"));
+        assertEquals(Long.valueOf(3), metrics.getPayloadBytes().get("installBundle"));
+        assertEquals(Long.valueOf(1), metrics.getCounts().get("startBundle"));
+    }
+}
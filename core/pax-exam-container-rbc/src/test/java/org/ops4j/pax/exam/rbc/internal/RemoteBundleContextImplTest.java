@@ -1,14 +1,23 @@
 package org.ops4j.pax.exam.rbc.internal;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.Test;
 import org.ops4j.pax.exam.RelativeTimeout;
+import org.ops4j.pax.exam.TimeoutException;
+import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.BundleListener;
 
 /**
  * Test cases for RemoteBundleContextImpl.
@@ -40,4 +49,68 @@ public class RemoteBundleContextImplTest {
         }
         verify(bundleContext).createFilter(contains(rightFilter));
     }
+
+    @Test
+    public void waitForStateReturnsWithoutListenerWhenStateReached() throws Exception {
+        BundleContext bundleContext = mock(BundleContext.class);
+        Bundle bundle = mockBundle(bundleContext, 5L, Bundle.ACTIVE);
+        RemoteBundleContextImpl remoteBundleContext = new RemoteBundleContextImpl(bundleContext);
+
+        remoteBundleContext.waitForState(bundle.getBundleId(), Bundle.ACTIVE,
+            RelativeTimeout.TIMEOUT_NOWAIT);
+
+        verify(bundleContext, never()).addBundleListener(any(BundleListener.class));
+    }
+
+    @Test
+    public void waitForStateIsReleasedByBundleEvents() throws Exception {
+        BundleContext bundleContext = mock(BundleContext.class);
+        final AtomicInteger firstState = new AtomicInteger(Bundle.RESOLVED);
+        final AtomicInteger secondState = new AtomicInteger(Bundle.RESOLVED);
+        final Bundle first = mockBundle(bundleContext, 5L, firstState);
+        final Bundle second = mockBundle(bundleContext, 6L, secondState);
+        doAnswer(invocation -> {
+            final BundleListener listener = invocation.getArgument(0);
+            // only change state here, mocks must not be stubbed while in use
+            new Thread(() -> {
+                firstState.set(Bundle.ACTIVE);
+                listener.bundleChanged(new BundleEvent(BundleEvent.STARTED, first));
+                secondState.set(Bundle.ACTIVE);
+                listener.bundleChanged(new BundleEvent(BundleEvent.STARTED, second));
+            }).start();
+            return null;
+        }).when(bundleContext).addBundleListener(any(BundleListener.class));
+        RemoteBundleContextImpl remoteBundleContext = new RemoteBundleContextImpl(bundleContext);
+
+        remoteBundleContext.waitForState(new long[] { 5L, 6L }, Bundle.ACTIVE,
+            new RelativeTimeout(10000L));
+
+        verify(bundleContext).removeBundleListener(any(BundleListener.class));
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void waitForStateTimesOut() throws Exception {
+        BundleContext bundleContext = mock(BundleContext.class);
+        mockBundle(bundleContext, 5L, Bundle.RESOLVED);
+        RemoteBundleContextImpl remoteBundleContext = new RemoteBundleContextImpl(bundleContext);
+
+        remoteBundleContext.waitForState(5L, Bundle.ACTIVE, new RelativeTimeout(100L));
+    }
+
+    private static Bundle mockBundle(BundleContext bundleContext, long id,
+        final AtomicInteger state) {
+        Bundle bundle = mock(Bundle.class);
+        when(bundle.getBundleId()).thenReturn(id);
+        when(bundle.getState()).thenAnswer(invocation -> state.get());
+        when(bundleContext.getBundle(id)).thenReturn(bundle);
+        return bundle;
+    }
+
+    private static Bundle mockBundle(BundleContext bundleContext, long id, int state) {
+        Bundle bundle = mock(Bundle.class);
+        when(bundle.getBundleId()).thenReturn(id);
+        when(bundle.getState()).thenReturn(state);
+        when(bundleContext.getBundle(id)).thenReturn(bundle);
+        return bundle;
+    }
 }
@@ -17,34 +17,62 @@
  */
 package org.ops4j.pax.exam.raw.extender.intern;
 
+import java.util.List;
+
+import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleActivator;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.util.tracker.BundleTracker;
 import org.ops4j.pax.swissbox.extender.BundleManifestScanner;
-import org.ops4j.pax.swissbox.extender.BundleWatcher;
+import org.ops4j.pax.swissbox.extender.BundleScanner;
 import org.ops4j.pax.swissbox.extender.ManifestEntry;
 import org.ops4j.pax.swissbox.extender.RegexKeyManifestFilter;
 
 /**
+ * Registers the probes of active bundles. Bundles are tracked with a {@link BundleTracker} rather
+ * than a Swissbox {@code BundleWatcher}, since the latter never shuts down the thread notifying
+ * its observers, which would keep the stopped framework reachable, so that each framework restart
+ * in the same VM leaks all bundle class loaders.
+ *
  * @author Toni Menzel
  * @since Dec 5, 2009
  */
-@SuppressWarnings("unchecked")
 public class Activator implements BundleActivator {
 
     private static final String PAX_EXAM_HEADER_PREFIX = "PaxExam-.*";
 
     /**
-     * Bundle watcher of web.xml.
+     * Tracker of bundles with Pax Exam headers.
      */
-    private BundleWatcher<ManifestEntry> probeWatcher;
+    private BundleTracker<List<ManifestEntry>> probeTracker;
 
     public void start(BundleContext bundleContext) throws Exception {
-        probeWatcher = new BundleWatcher<ManifestEntry>(bundleContext, new BundleManifestScanner(
-            new RegexKeyManifestFilter(PAX_EXAM_HEADER_PREFIX)), new TestBundleObserver());
-        probeWatcher.start();
+        final BundleScanner<ManifestEntry> scanner = new BundleManifestScanner(
+            new RegexKeyManifestFilter(PAX_EXAM_HEADER_PREFIX));
+        final TestBundleObserver observer = new TestBundleObserver();
+        probeTracker = new BundleTracker<List<ManifestEntry>>(bundleContext, Bundle.ACTIVE, null) {
+
+            @Override
+            public List<ManifestEntry> addingBundle(Bundle bundle, BundleEvent event) {
+                List<ManifestEntry> entries = scanner.scan(bundle);
+                if (entries == null || entries.isEmpty()) {
+                    return null;
+                }
+                observer.addingEntries(bundle, entries);
+                return entries;
+            }
+
+            @Override
+            public void removedBundle(Bundle bundle, BundleEvent event,
+                List<ManifestEntry> entries) {
+                observer.removingEntries(bundle, entries);
+            }
+        };
+        probeTracker.open();
     }
 
     public void stop(BundleContext bundleContext) throws Exception {
-        probeWatcher.stop();
+        probeTracker.close();
     }
 }
@@ -82,7 +82,8 @@ public class Parser {
     }
 
     private ProbeInvoker createInvoker(BundleContext ctx, String expr) {
-        String invokerType = System.getProperty("pax.exam.invoker");
+        // framework properties fall back to system properties
+        String invokerType = ctx.getProperty("pax.exam.invoker");
         if (invokerType == null) {
             return new ProbeInvokerImpl(expr, ctx);
         }
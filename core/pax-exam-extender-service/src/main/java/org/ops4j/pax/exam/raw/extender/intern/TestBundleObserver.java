@@ -17,9 +17,9 @@
  */
 package org.ops4j.pax.exam.raw.extender.intern;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.ops4j.pax.exam.Constants;
 import org.ops4j.pax.swissbox.core.BundleUtils;
@@ -42,7 +42,7 @@ public class TestBundleObserver implements BundleObserver<ManifestEntry> {
      */
     private static final Logger LOG = LoggerFactory.getLogger(TestBundleObserver.class);
     /**
-     * Holder for regression runner registrations per bundle.
+     * Holder for regression runner registrations per bundle, which may be started on different threads.
      */
     private final Map<Bundle, Registration> registrations;
 
@@ -50,7 +50,7 @@ public class TestBundleObserver implements BundleObserver<ManifestEntry> {
      * Constructor.
      */
     TestBundleObserver() {
-        registrations = new HashMap<Bundle, Registration>();
+        registrations = new ConcurrentHashMap<Bundle, Registration>();
     }
 
     /**
@@ -31,6 +31,7 @@ import org.ops4j.pax.swissbox.tracker.ServiceLookup;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.BundleReference;
+import org.osgi.framework.FrameworkUtil;
 
 /**
  * Injects services into all fields of the given class annotated with {@link Inject}. This includes
@@ -74,9 +75,7 @@ public class ServiceInjector implements Injector {
     private void injectField(Object target, Class<?> targetClass, Field field) {
         Class<?> type = field.getType();
         String filterString = "";
-        String timeoutProp = System.getProperty(EXAM_SERVICE_TIMEOUT_KEY,
-            EXAM_SERVICE_TIMEOUT_DEFAULT);
-        long timeout = Integer.parseInt(timeoutProp);
+        long timeout = Integer.parseInt(getServiceTimeout());
         Filter filter = field.getAnnotation(Filter.class);
         if (filter != null) {
             filterString = filter.value();
@@ -111,6 +110,20 @@ public class ServiceInjector implements Injector {
         }
     }
 
+    /**
+     * Reads the service timeout from the framework properties, which fall back to the system
+     * properties.
+     *
+     * @return service timeout in milliseconds
+     */
+    private String getServiceTimeout() {
+        Bundle bundle = FrameworkUtil.getBundle(ServiceInjector.class);
+        BundleContext bc = bundle == null ? null : bundle.getBundleContext();
+        String timeout = bc == null ? System.getProperty(EXAM_SERVICE_TIMEOUT_KEY) : bc
+            .getProperty(EXAM_SERVICE_TIMEOUT_KEY);
+        return timeout == null ? EXAM_SERVICE_TIMEOUT_DEFAULT : timeout;
+    }
+
     private BundleContext getBundleContext(Class<?> klass, long timeout) {
         try {
             BundleReference bundleRef = BundleReference.class.cast(klass.getClassLoader());
@@ -20,13 +20,19 @@ package org.ops4j.pax.exam.invoker.junit.internal;
 import java.io.ByteArrayOutputStream;
 import java.io.ObjectOutputStream;
 import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
 import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.Request;
 import org.junit.runner.Result;
 import org.junit.runner.notification.Failure;
+import org.junit.runners.model.MultipleFailureException;
 import org.ops4j.pax.exam.ProbeInvoker;
 import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.exam.WrappedTestContainerException;
@@ -129,15 +135,21 @@ public class JUnitProbeInvoker implements ProbeInvoker {
     }
     
     /**
-     * Creates exception for test failure and makes sure it is serializable.
+     * Creates exception for test failure and makes sure it is serializable. Failures consisting of
+     * JDK, JUnit and Pax Exam exceptions only are passed as is. Other failures are passed as is
+     * if a trial serialization succeeds, so that their fields, e.g. expected and actual values,
+     * reach the driver. Only failures which cannot be serialized are sent in compact form, see
+     * {@link WrappedTestContainerException}.
+     * 
      * @param message
      * @param ex
      * @return serializable exception
      */
     private TestContainerException createTestContainerException(String message, Throwable ex) {
-        return isSerializable(ex)
-            ? new TestContainerException(message, ex) 
-            : new WrappedTestContainerException(message, ex);
+        if (isWellKnownChain(ex) || isSerializable(ex)) {
+            return new TestContainerException(message, ex);
+        }
+        return new WrappedTestContainerException(message, ex);
     }
 
     /**
@@ -157,4 +169,41 @@ public class JUnitProbeInvoker implements ProbeInvoker {
             return false;
         }
     }
+
+    private static boolean isWellKnownChain(Throwable ex) {
+        Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>());
+        Deque<Throwable> pending = new ArrayDeque<>();
+        pending.push(ex);
+        while (!pending.isEmpty()) {
+            Throwable current = pending.pop();
+            if (!seen.add(current)) {
+                continue;
+            }
+            if (!isWellKnown(current.getClass())) {
+                return false;
+            }
+            if (current.getCause() != null) {
+                pending.push(current.getCause());
+            }
+            for (Throwable suppressed : current.getSuppressed()) {
+                pending.push(suppressed);
+            }
+            if (current instanceof MultipleFailureException) {
+                for (Throwable failure : ((MultipleFailureException) current).getFailures()) {
+                    pending.push(failure);
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWellKnown(Class<?> exceptionClass) {
+        ClassLoader classLoader = exceptionClass.getClassLoader();
+        if (classLoader == null || classLoader == ClassLoader.getPlatformClassLoader()) {
+            return true;
+        }
+        String name = exceptionClass.getName();
+        return name.startsWith("org.junit.") || name.startsWith("junit.framework.")
+            || exceptionClass.getPackage() == TestContainerException.class.getPackage();
+    }
 }
@@ -17,10 +17,12 @@
  */
 package org.ops4j.pax.exam.invoker.junit.internal;
 
+import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.isA;
 import static org.hamcrest.CoreMatchers.not;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
 import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
@@ -29,6 +31,7 @@ import static org.mockito.Mockito.when;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.ops4j.pax.exam.ExceptionHelper;
 import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.exam.WrappedTestContainerException;
 import org.ops4j.pax.exam.util.Injector;
@@ -38,6 +41,8 @@ import org.osgi.framework.BundleContext;
 public class WrappedExceptionTest {
 
     private static final String SHOULD_BE_WRAPPED = "This should not be serializable. So it should be wrapped";
+    private static final String SHOULD_BE_REBUILT = "This should be sent in compact form and rebuilt";
+    private static final String EXPECTED = "expected value";
     private static final String SHOULD_NOT_BE_WRAPPED = "This should be serializable. So it should not be wrapped";
 
     @Rule
@@ -64,6 +69,48 @@ public class WrappedExceptionTest {
         }
     }
 
+    @Test
+    public void testSerializableCustomCauseIsNotWrapped() throws ClassNotFoundException {
+        thrown.expect(TestContainerException.class);
+        thrown.expect(not(isA(WrappedTestContainerException.class)));
+        thrown.expectCause(isA(IllegalStateException.class));
+
+        callWithMethod("custom");
+    }
+
+    @Test
+    public void testSerializableExceptionKeepsItsFields() throws ClassNotFoundException {
+        try {
+            callWithMethod("withFields");
+            fail("test failure expected");
+        }
+        catch (WrappedTestContainerException e) {
+            fail("serializable exception should not be wrapped");
+        }
+        catch (TestContainerException e) {
+            Throwable root = ExceptionHelper.unwind(e);
+            assertThat(root, instanceOf(MyExceptionWithFields.class));
+            assertThat(((MyExceptionWithFields) root).getExpected(), is(EXPECTED));
+        }
+    }
+
+    @Test
+    public void testNotSerializableCauseChainIsRebuilt() throws ClassNotFoundException {
+        try {
+            callWithMethod("notSerializableCause");
+            fail("test failure expected");
+        }
+        catch (WrappedTestContainerException e) {
+            assertThat(e.getWrappedClassName(), is(IllegalStateException.class.getName()));
+            Throwable rebuilt = e.unwrap();
+            assertThat(rebuilt, instanceOf(IllegalStateException.class));
+            Throwable cause = rebuilt.getCause();
+            assertThat(cause, instanceOf(MyNotSerializableException.class));
+            assertThat(cause.getMessage(), is(SHOULD_BE_REBUILT));
+            assertThat(cause.getStackTrace()[0].getMethodName(), is("notSerializableCause"));
+        }
+    }
+
     private void callWithMethod(String method) throws ClassNotFoundException {
         BundleContext bundleContext = mock(BundleContext.class);
         Injector injector = mock(Injector.class);
@@ -86,6 +133,43 @@ public class WrappedExceptionTest {
         public void notSerializable() {
             throw new MyNotSerializableException(SHOULD_BE_WRAPPED);
         }
+
+        @Test
+        public void custom() {
+            throw new IllegalStateException(new MySerializableException());
+        }
+
+        @Test
+        public void withFields() {
+            throw new IllegalStateException(new MyExceptionWithFields(EXPECTED));
+        }
+
+        @Test
+        public void notSerializableCause() {
+            throw new IllegalStateException("outer", new MyNotSerializableException(
+                SHOULD_BE_REBUILT));
+        }
+    }
+
+    public static class MyExceptionWithFields extends RuntimeException {
+
+        private static final long serialVersionUID = 4185027723419352911L;
+
+        private final String expected;
+
+        public MyExceptionWithFields(String expected) {
+            super("expected " + expected);
+            this.expected = expected;
+        }
+
+        public String getExpected() {
+            return expected;
+        }
+    }
+
+    public static class MySerializableException extends RuntimeException {
+
+        private static final long serialVersionUID = -1206418406407327357L;
     }
 
     public static class MyNotSerializableException extends RuntimeException {
@@ -18,7 +18,6 @@
 package org.ops4j.pax.exam.spi;
 
 import static org.ops4j.pax.exam.OptionUtils.combine;
-import static org.ops4j.pax.exam.OptionUtils.expand;
 import static org.ops4j.pax.exam.OptionUtils.filter;
 
 import java.io.File;
@@ -33,10 +32,10 @@ import java.util.UUID;
 import org.ops4j.io.FileUtils;
 import org.ops4j.pax.exam.ConfigurationFactory;
 import org.ops4j.pax.exam.ExamSystem;
+import org.ops4j.pax.exam.Fingerprint;
 import org.ops4j.pax.exam.Info;
 import org.ops4j.pax.exam.Option;
 import org.ops4j.pax.exam.RelativeTimeout;
-import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.exam.TestProbeBuilder;
 import org.ops4j.pax.exam.options.TimeoutOption;
 import org.ops4j.pax.exam.options.WarProbeOption;
@@ -55,6 +54,9 @@ import org.slf4j.LoggerFactory;
  *
  * It takes care of options (including implicit defaults), temporary folders (and their cleanup) and
  * cross cutting parameters that are frequently used like "timeout" values.
+ *
+ * A forked system shares the options of its parent and only stores the added options. Its temp
+ * folder and store are created when they are first used.
  */
 public class DefaultExamSystem implements ExamSystem {
 
@@ -63,15 +65,19 @@ public class DefaultExamSystem implements ExamSystem {
     /** Maximum loop count when creating temp directories. */
     private static final int TEMP_DIR_ATTEMPTS = 10000;
 
-    private final Store<InputStream> store;
     private final File configDirectory;
     private final Stack<ExamSystem> subsystems;
     private final RelativeTimeout timeout;
     private final Set<Class<?>> requestedOptionTypes = new HashSet<Class<?>>();
     private final CleanCachesOption clean;
-    private final File cache;
+    private final File workingDirectory;
+
+    /** Working directory option generated for a random temp folder, if any. */
+    private final WorkingDirectoryOption generatedWork;
 
-    private Option[] combinedOptions;
+    private OptionChain combinedOptions;
+    private File cache;
+    private Store<InputStream> store;
 
     /**
      * Creates a fresh ExamSystem. Your options will be combined with internal defaults. If you need
@@ -86,28 +92,54 @@ public class DefaultExamSystem implements ExamSystem {
      */
     private DefaultExamSystem(Option[] options) throws IOException {
         subsystems = new Stack<ExamSystem>();
-        combinedOptions = expand(options);
+        combinedOptions = OptionChain.of(options);
         configDirectory = new File(System.getProperty("user.home") + "/.pax/exam/");
         configDirectory.mkdirs();
 
         WorkingDirectoryOption work = getSingleOption(WorkingDirectoryOption.class);
         // make sure that working directory gets propagated to forked systems
         if (work == null) {
-            work = new WorkingDirectoryOption(createTemp(null).getAbsolutePath());
-            combinedOptions = combine(combinedOptions, work);
+            cache = createTempDir();
+            work = new WorkingDirectoryOption(cache.getAbsolutePath());
+            combinedOptions = combinedOptions.append(work);
+            generatedWork = work;
+        }
+        else {
+            generatedWork = null;
         }
+        workingDirectory = new File(work.getWorkingDirectory());
+
+        timeout = createTimeout();
+        clean = getSingleOption(CleanCachesOption.class);
+    }
 
-        cache = createTemp(new File(work.getWorkingDirectory()));
-        store = new TemporaryStore(cache, false);
+    /**
+     * Creates a forked system sharing the options of its parent. Does not touch the disk.
+     *
+     * @param parent
+     *            parent system
+     * @param options
+     *            additional options
+     */
+    private DefaultExamSystem(DefaultExamSystem parent, Option[] options) {
+        subsystems = new Stack<ExamSystem>();
+        combinedOptions = parent.combinedOptions.append(options);
+        configDirectory = parent.configDirectory;
+        generatedWork = parent.generatedWork;
+        workingDirectory = new File(getSingleOption(WorkingDirectoryOption.class)
+            .getWorkingDirectory());
+        timeout = createTimeout();
+        clean = getSingleOption(CleanCachesOption.class);
+    }
 
+    private RelativeTimeout createTimeout() {
         TimeoutOption timeoutOption = getSingleOption(TimeoutOption.class);
         if (timeoutOption != null) {
-            timeout = new RelativeTimeout(timeoutOption.getTimeout());
+            return new RelativeTimeout(timeoutOption.getTimeout());
         }
         else {
-            timeout = RelativeTimeout.TIMEOUT_DEFAULT;
+            return RelativeTimeout.TIMEOUT_DEFAULT;
         }
-        clean = getSingleOption(CleanCachesOption.class);
     }
 
     /**
@@ -135,30 +167,9 @@ public class DefaultExamSystem implements ExamSystem {
      */
     @Override
     public ExamSystem fork(Option[] options) {
-        try {
-            ExamSystem sys = new DefaultExamSystem(combine(combinedOptions, options));
-            subsystems.add(sys);
-            return sys;
-        }
-        catch (IOException exc) {
-            throw new TestContainerException(exc);
-        }
-    }
-
-    /**
-     * Creates a fresh temp folder under the mentioned working folder. If workingFolder is null,
-     * system wide temp location will be used.
-     *
-     * @param workingDirectory
-     */
-    private synchronized File createTemp(File workingDirectory) throws IOException {
-        if (workingDirectory == null) {
-            return createTempDir();
-        }
-        else {
-            workingDirectory.mkdirs();
-            return workingDirectory;
-        }
+        ExamSystem sys = new DefaultExamSystem(this, options);
+        subsystems.add(sys);
+        return sys;
     }
 
     /**
@@ -168,14 +179,7 @@ public class DefaultExamSystem implements ExamSystem {
     @Override
     public <T extends Option> T getSingleOption(final Class<T> optionType) {
         requestedOptionTypes.add(optionType);
-        T[] filter = filter(optionType, combinedOptions);
-
-        if (filter.length > 0) {
-            return filter[filter.length - 1];
-        }
-        else {
-            return null;
-        }
+        return combinedOptions.last(optionType);
     }
 
     public <T extends Option> T getSingleOption(final Class<T> optionType, Option[] options) {
@@ -192,7 +196,20 @@ public class DefaultExamSystem implements ExamSystem {
     @Override
     public <T extends Option> T[] getOptions(final Class<T> optionType) {
         requestedOptionTypes.add(optionType);
-        return filter(optionType, combinedOptions);
+        // the filtered arrays are shared by all callers, so only a copy is handed out
+        return combinedOptions.filter(optionType).clone();
+    }
+
+    @Override
+    public String fingerprint() {
+        Fingerprint fingerprint = new Fingerprint();
+        for (Option option : combinedOptions.toArray()) {
+            // a random temp folder does not change the configuration
+            if (option != generatedWork) {
+                fingerprint.add(option);
+            }
+        }
+        return fingerprint.toHex();
     }
 
     /**
@@ -207,10 +224,21 @@ public class DefaultExamSystem implements ExamSystem {
      * @return the basic directory that Exam should use for all IO write activities.
      */
     @Override
-    public File getTempFolder() {
+    public synchronized File getTempFolder() {
+        if (cache == null) {
+            workingDirectory.mkdirs();
+            cache = workingDirectory;
+        }
         return cache;
     }
 
+    private synchronized Store<InputStream> getStore() {
+        if (store == null) {
+            store = new TemporaryStore(getTempFolder(), false);
+        }
+        return store;
+    }
+
     /**
      * @return a relative indication of how to deal with timeouts.
      */
@@ -231,7 +259,10 @@ public class DefaultExamSystem implements ExamSystem {
                 for (ExamSystem sys : subsystems) {
                     sys.clear();
                 }
-                FileUtils.delete(cache.getCanonicalFile());
+                File folder = getCreatedTempFolder();
+                if (folder != null) {
+                    FileUtils.delete(folder.getCanonicalFile());
+                }
             }
         }
         catch (IOException e) {
@@ -239,6 +270,10 @@ public class DefaultExamSystem implements ExamSystem {
         }
     }
 
+    private synchronized File getCreatedTempFolder() {
+        return cache;
+    }
+
     private void warnUnusedOptions() {
         if (subsystems.isEmpty()) {
             for (String skipped : findOptionTypes()) {
@@ -249,7 +284,7 @@ public class DefaultExamSystem implements ExamSystem {
 
     private Set<String> findOptionTypes() {
         Set<String> missing = new HashSet<String>();
-        for (Option option : combinedOptions) {
+        for (Option option : combinedOptions.toArray()) {
             boolean found = false;
             for (Class<?> c : requestedOptionTypes) {
                 if (c.isAssignableFrom(option.getClass())) {
@@ -270,7 +305,8 @@ public class DefaultExamSystem implements ExamSystem {
         WarProbeOption warProbeOption = getSingleOption(WarProbeOption.class);
         if (warProbeOption == null) {
             LOG.debug("creating default probe");
-            TestProbeBuilderImpl testProbeBuilder = new TestProbeBuilderImpl(cache, store);
+            TestProbeBuilderImpl testProbeBuilder = new TestProbeBuilderImpl(getTempFolder(),
+                getStore());
             testProbeBuilder.setHeader("Bundle-SymbolicName", "PAXEXAM-PROBE-"
                 + createID("created probe"));
             return testProbeBuilder;
@@ -284,7 +320,7 @@ public class DefaultExamSystem implements ExamSystem {
             }
             else {
                 Option[] configuration = configurationFactory.createConfiguration();
-                Option[] tempOptions = combine(combinedOptions, configuration);
+                Option[] tempOptions = combine(combinedOptions.toArray(), configuration);
                 warProbeOption = getSingleOption(WarProbeOption.class, tempOptions);
                 return new WarTestProbeBuilderImpl(getTempFolder(), warProbeOption);
             }
@@ -298,7 +334,7 @@ public class DefaultExamSystem implements ExamSystem {
 
     @Override
     public String toString() {
-        return "ExamSystem:options=" + combinedOptions.length + ";queried="
+        return "ExamSystem:options=" + combinedOptions.size() + ";queried="
             + requestedOptionTypes.size();
     }
 
@@ -306,7 +342,7 @@ public class DefaultExamSystem implements ExamSystem {
     public int hashCode() {
         final int prime = 31;
         int result = 1;
-        result = prime * result + Arrays.hashCode(combinedOptions);
+        result = prime * result + Arrays.hashCode(combinedOptions.toArray());
         return result;
     }
 
@@ -322,7 +358,7 @@ public class DefaultExamSystem implements ExamSystem {
             return false;
         }
         DefaultExamSystem other = (DefaultExamSystem) obj;
-        if (!Arrays.equals(combinedOptions, other.combinedOptions)) {
+        if (!Arrays.equals(combinedOptions.toArray(), other.combinedOptions.toArray())) {
             return false;
         }
         return true;
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi;
+
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.options.CompositeOption;
+
+/**
+ * Immutable sequence of expanded options, stored as a chain of deltas. Appending options shares
+ * the existing chain instead of copying it, so that forking an exam system only stores the
+ * options added by the fork.
+ * <p>
+ * The first query builds an index from each option type, including the supertypes of all
+ * options, to a typed array of its options. Queries then return these arrays without scanning
+ * or allocating, so the returned arrays are shared and must not be modified.
+ */
+final class OptionChain {
+
+    private static final Option[] NO_OPTIONS = new Option[0];
+
+    /**
+     * Option types an option class is indexed under: the class itself and all its superclasses
+     * and interfaces extending {@link Option}.
+     */
+    private static final ClassValue<Class<?>[]> OPTION_TYPES = new ClassValue<Class<?>[]>() {
+
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            Set<Class<?>> types = new LinkedHashSet<Class<?>>();
+            Deque<Class<?>> pending = new ArrayDeque<Class<?>>();
+            pending.add(type);
+            while (!pending.isEmpty()) {
+                Class<?> next = pending.poll();
+                if (Option.class.isAssignableFrom(next) && types.add(next)) {
+                    if (next.getSuperclass() != null) {
+                        pending.add(next.getSuperclass());
+                    }
+                    for (Class<?> iface : next.getInterfaces()) {
+                        pending.add(iface);
+                    }
+                }
+            }
+            return types.toArray(new Class<?>[types.size()]);
+        }
+    };
+
+    /**
+     * Empty typed array of each option type.
+     */
+    private static final ClassValue<Option[]> EMPTY = new ClassValue<Option[]>() {
+
+        @Override
+        protected Option[] computeValue(Class<?> type) {
+            return (Option[]) Array.newInstance(type, 0);
+        }
+    };
+
+    private final OptionChain parent;
+
+    private final Option[] delta;
+
+    private final int size;
+
+    private Option[] all;
+
+    private volatile Map<Class<?>, Option[]> index;
+
+    private OptionChain(OptionChain parent, Option[] delta) {
+        this.parent = parent;
+        this.delta = delta;
+        this.size = (parent == null ? 0 : parent.size) + delta.length;
+    }
+
+    /**
+     * Creates a chain from the given options, expanding composite options.
+     *
+     * @param options
+     *            options, may contain null elements
+     * @return option chain
+     */
+    static OptionChain of(Option... options) {
+        return new OptionChain(null, expand(options));
+    }
+
+    /**
+     * Returns a chain with the given options appended to the options of this chain.
+     *
+     * @param options
+     *            options, may contain null elements
+     * @return new option chain sharing this one
+     */
+    OptionChain append(Option... options) {
+        Option[] expanded = expand(options);
+        return expanded.length == 0 ? this : new OptionChain(this, expanded);
+    }
+
+    /**
+     * @return number of options
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return all options in order, shared array which must not be modified
+     */
+    synchronized Option[] toArray() {
+        if (all == null) {
+            Option[] options = new Option[size];
+            for (OptionChain chain = this; chain != null; chain = chain.parent) {
+                System.arraycopy(chain.delta, 0, options, chain.size - chain.delta.length,
+                    chain.delta.length);
+            }
+            all = options;
+        }
+        return all;
+    }
+
+    /**
+     * Returns all options of the given type in order.
+     *
+     * @param optionType
+     *            option type
+     * @param <T>
+     *            option type
+     * @return matching options, shared array which must not be modified
+     */
+    @SuppressWarnings("unchecked")
+    <T extends Option> T[] filter(Class<T> optionType) {
+        Map<Class<?>, Option[]> types = index;
+        if (types == null) {
+            types = buildIndex();
+        }
+        Option[] options = types.get(optionType);
+        return (T[]) (options == null ? EMPTY.get(optionType) : options);
+    }
+
+    /**
+     * Returns the last option of the given type.
+     *
+     * @param optionType
+     *            option type
+     * @param <T>
+     *            option type
+     * @return last matching option, or null
+     */
+    <T extends Option> T last(Class<T> optionType) {
+        T[] options = filter(optionType);
+        return options.length == 0 ? null : options[options.length - 1];
+    }
+
+    private synchronized Map<Class<?>, Option[]> buildIndex() {
+        if (index == null) {
+            Map<Class<?>, List<Option>> lists = new HashMap<Class<?>, List<Option>>();
+            for (Option option : toArray()) {
+                for (Class<?> type : OPTION_TYPES.get(option.getClass())) {
+                    lists.computeIfAbsent(type, k -> new ArrayList<Option>()).add(option);
+                }
+            }
+            Map<Class<?>, Option[]> types = new HashMap<Class<?>, Option[]>(lists.size() * 2);
+            for (Map.Entry<Class<?>, List<Option>> entry : lists.entrySet()) {
+                List<Option> options = entry.getValue();
+                types.put(entry.getKey(), options.toArray((Option[]) Array.newInstance(
+                    entry.getKey(), options.size())));
+            }
+            index = types;
+        }
+        return index;
+    }
+
+    /**
+     * Expands composite options recursively and drops null options.
+     */
+    private static Option[] expand(Option[] options) {
+        if (options == null || options.length == 0) {
+            return NO_OPTIONS;
+        }
+        List<Option> expanded = new ArrayList<Option>(options.length);
+        expand(options, expanded);
+        return expanded.toArray(new Option[expanded.size()]);
+    }
+
+    private static void expand(Option[] options, List<Option> expanded) {
+        if (options == null) {
+            return;
+        }
+        for (Option option : options) {
+            if (option instanceof CompositeOption) {
+                expand(((CompositeOption) option).getOptions(), expanded);
+            }
+            else if (option != null) {
+                expanded.add(option);
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.container;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Maps {@code mvn:} URLs to {@code reference:file:} URLs of the artifacts in the local Maven
+ * repository, so that frameworks can install provisioned bundles in place instead of copying them
+ * into their storage.
+ * <p>
+ * Only URLs with a fixed version are mapped. An artifact which is not yet in the local repository
+ * is resolved once through the {@code mvn:} URL handler, which downloads it into the local
+ * repository.
+ */
+public class LocalRepositoryResolver {
+
+    /**
+     * Local repository property of the {@code mvn:} URL handler.
+     */
+    public static final String LOCAL_REPOSITORY_KEY = "org.ops4j.pax.url.mvn.localRepository";
+
+    private static final Logger LOG = LoggerFactory.getLogger(LocalRepositoryResolver.class);
+
+    private static final String MVN_PROTOCOL = "mvn:";
+
+    private static final String REFERENCE_PROTOCOL = "reference:";
+
+    private static final Pattern LOCAL_REPOSITORY_SETTING = Pattern
+        .compile("<localRepository>\\s*([^<]+?)\\s*</localRepository>");
+
+    private static final Pattern XML_COMMENT = Pattern.compile("<!--.*?-->", Pattern.DOTALL);
+
+    private final File localRepository;
+
+    /**
+     * Creates a resolver for the local repository of the {@code mvn:} URL handler.
+     */
+    public LocalRepositoryResolver() {
+        this(determineLocalRepository());
+    }
+
+    /**
+     * Creates a resolver for the given local repository.
+     *
+     * @param localRepository
+     *            root folder of the local repository
+     */
+    public LocalRepositoryResolver(File localRepository) {
+        this.localRepository = localRepository;
+    }
+
+    /**
+     * Checks if the given framework can install bundles by reference.
+     *
+     * @param frameworkFactory
+     *            framework factory class name
+     * @return true for Equinox and Felix
+     */
+    public static boolean supportsReference(String frameworkFactory) {
+        return frameworkFactory.startsWith("org.eclipse.osgi.")
+            || frameworkFactory.startsWith("org.apache.felix.");
+    }
+
+    /**
+     * Maps a bundle URL to a reference to the artifact in the local repository.
+     *
+     * @param url
+     *            bundle URL
+     * @return {@code reference:file:} URL, or null if the URL is no {@code mvn:} URL with a fixed
+     *         version or the artifact is not in the local repository after resolving it
+     */
+    public String toReference(String url) {
+        File file = getLocalFile(url);
+        if (file == null) {
+            return null;
+        }
+        if (!file.isFile()) {
+            try (InputStream in = new URL(url).openStream()) {
+                // resolving the URL downloads the artifact into the local repository
+            }
+            catch (IOException exc) {
+                LOG.debug("Cannot resolve {}", url, exc);
+                return null;
+            }
+            if (!file.isFile()) {
+                LOG.debug("{} was not resolved to {}", url, file);
+                return null;
+            }
+        }
+        return REFERENCE_PROTOCOL + file.toURI();
+    }
+
+    /**
+     * Computes the path of an artifact in the local repository from a URL of the form
+     * {@code mvn:[repository!]groupId/artifactId/version[/type[/classifier]]}.
+     *
+     * @param url
+     *            bundle URL
+     * @return artifact file, which need not exist, or null if the URL cannot be mapped
+     */
+    File getLocalFile(String url) {
+        if (!url.startsWith(MVN_PROTOCOL)) {
+            return null;
+        }
+        String coordinates = url.substring(MVN_PROTOCOL.length());
+        coordinates = coordinates.substring(coordinates.lastIndexOf('!') + 1);
+        String[] segments = coordinates.split("/", -1);
+        if (segments.length < 3 || segments.length > 5) {
+            return null;
+        }
+        String groupId = segments[0];
+        String artifactId = segments[1];
+        String version = segments[2];
+        String type = segments.length > 3 && !segments[3].isEmpty() ? segments[3] : "jar";
+        String classifier = segments.length > 4 && !segments[4].isEmpty() ? "-" + segments[4] : "";
+        if (groupId.isEmpty() || artifactId.isEmpty() || !isFixed(version)) {
+            return null;
+        }
+        File folder = new File(localRepository, groupId.replace('.', '/') + "/" + artifactId + "/"
+            + version);
+        return new File(folder, artifactId + "-" + version + classifier + "." + type);
+    }
+
+    private static boolean isFixed(String version) {
+        return !version.isEmpty() && !version.equals("LATEST") && !version.equals("RELEASE")
+            && version.indexOf('[') < 0 && version.indexOf('(') < 0;
+    }
+
+    /**
+     * Determines the local repository like the {@code mvn:} URL handler: the
+     * {@value #LOCAL_REPOSITORY_KEY} system property, the user settings or
+     * {@code ~/.m2/repository}.
+     */
+    private static File determineLocalRepository() {
+        String property = System.getProperty(LOCAL_REPOSITORY_KEY);
+        if (property != null) {
+            return new File(property);
+        }
+        File userHome = new File(System.getProperty("user.home"));
+        File settings = new File(userHome, ".m2/settings.xml");
+        if (settings.isFile()) {
+            try {
+                String path = getLocalRepositorySetting(new String(Files.readAllBytes(settings
+                    .toPath()), StandardCharsets.UTF_8));
+                if (path != null) {
+                    return new File(path.replace("${user.home}", userHome.getPath()));
+                }
+            }
+            catch (IOException exc) {
+                LOG.debug("Cannot read {}", settings, exc);
+            }
+        }
+        return new File(userHome, ".m2/repository");
+    }
+
+    /**
+     * Extracts the local repository from Maven settings, ignoring commented out settings.
+     *
+     * @param settings
+     *            content of a {@code settings.xml} file
+     * @return local repository path, or null if the settings do not define one
+     */
+    static String getLocalRepositorySetting(String settings) {
+        Matcher matcher = LOCAL_REPOSITORY_SETTING.matcher(XML_COMMENT.matcher(settings)
+            .replaceAll(""));
+        return matcher.find() ? matcher.group(1) : null;
+    }
+}
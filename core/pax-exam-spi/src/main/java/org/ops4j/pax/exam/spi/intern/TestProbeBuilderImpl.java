@@ -73,7 +73,7 @@ public class TestProbeBuilderImpl implements TestProbeBuilder {
     public TestAddress addTest(Class<?> clazz, String methodName, Object... args) {
         TestAddress address = new DefaultTestAddress(clazz.getName() + "." + methodName, args);
         probeCalls.put(address,
-            new TestInstantiationInstruction(clazz.getName() + ";" + methodName));
+            new TestInstantiationInstruction(clazz.getName(), methodName));
         addAnchor(clazz);
         return address;
     }
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.ops4j.pax.exam.CoreOptions.composite;
+import static org.ops4j.pax.exam.CoreOptions.frameworkProperty;
+import static org.ops4j.pax.exam.CoreOptions.systemTimeout;
+import static org.ops4j.pax.exam.CoreOptions.workingDirectory;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ops4j.pax.exam.ExamSystem;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.options.FrameworkPropertyOption;
+import org.ops4j.pax.exam.options.TimeoutOption;
+import org.ops4j.pax.exam.options.ValueOption;
+import org.ops4j.pax.exam.options.WarProbeOption;
+
+public class OptionChainTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void appendSharesParent() {
+        Option a = frameworkProperty("a").value("1");
+        Option b = frameworkProperty("b").value("2");
+        Option c = frameworkProperty("c").value("3");
+        OptionChain parent = OptionChain.of(a, null, composite(b, composite(systemTimeout(1))));
+        OptionChain child = parent.append(c);
+
+        assertThat(parent.size(), is(3));
+        assertThat(child.size(), is(4));
+        assertThat(child.toArray()[0], is(a));
+        assertThat(child.toArray()[3], is(c));
+        FrameworkPropertyOption[] properties = child.filter(FrameworkPropertyOption.class);
+        assertThat(properties.length, is(3));
+        assertThat(properties[2].getKey(), is("c"));
+        assertThat(child.last(FrameworkPropertyOption.class).getKey(), is("c"));
+        assertThat(parent.last(FrameworkPropertyOption.class).getKey(), is("b"));
+        assertThat(child.last(TimeoutOption.class).getTimeout(), is(1L));
+        assertThat(child.last(WarProbeOption.class), is(nullValue()));
+        assertThat(child.append(), is(child));
+    }
+
+    @Test
+    public void indexesSupertypes() {
+        OptionChain chain = OptionChain.of(frameworkProperty("a").value("1"), systemTimeout(1),
+            workingDirectory("target"));
+
+        assertThat(chain.filter(Option.class).length, is(3));
+        assertThat(chain.filter(ValueOption.class).length, is(1));
+        assertThat(chain.filter(TimeoutOption.class).length, is(1));
+        assertThat(chain.filter(WarProbeOption.class).length, is(0));
+        assertThat(chain.filter(WarProbeOption.class).getClass().getComponentType()
+            .equals(WarProbeOption.class), is(true));
+        // repeated queries return the same array
+        assertThat(chain.filter(ValueOption.class) == chain.filter(ValueOption.class), is(true));
+    }
+
+    @Test
+    public void forkCreatesTempFolderLazily() throws IOException {
+        File work = new File(tmp.getRoot(), "work");
+        ExamSystem system = DefaultExamSystem.create(new Option[] {
+            workingDirectory(work.getPath()), systemTimeout(1000) });
+        ExamSystem fork = system.fork(new Option[] { systemTimeout(2000) });
+
+        assertThat(work.exists(), is(false));
+        assertThat(system.getTimeout().getValue(), is(1000L));
+        assertThat(fork.getTimeout().getValue(), is(2000L));
+        assertThat(fork.getOptions(TimeoutOption.class).length, is(2));
+        assertThat(fork.getTempFolder(), is(work));
+        assertThat(work.isDirectory(), is(true));
+
+        system.clear();
+        assertThat(work.exists(), is(false));
+    }
+
+    @Test
+    public void fingerprintsOptionsInOrder() throws IOException {
+        ExamSystem system = DefaultExamSystem.create(new Option[] {
+            frameworkProperty("a").value("1"), systemTimeout(1000) });
+        ExamSystem same = DefaultExamSystem.create(new Option[] {
+            composite(frameworkProperty("a").value("1")), systemTimeout(1000) });
+
+        assertThat(same.fingerprint(), is(system.fingerprint()));
+        assertThat(system.fork(new Option[] { systemTimeout(2000) }).fingerprint(),
+            is(not(system.fingerprint())));
+        assertThat(system.fork(new Option[0]).fingerprint(), is(system.fingerprint()));
+    }
+
+    @Test
+    public void getOptionsReturnsCopies() throws IOException {
+        ExamSystem system = DefaultExamSystem.create(new Option[] { systemTimeout(1000) });
+        TimeoutOption[] options = system.getOptions(TimeoutOption.class);
+        options[0] = systemTimeout(2000);
+
+        assertThat(system.getOptions(TimeoutOption.class)[0].getTimeout(), is(1000L));
+        assertThat(system.getSingleOption(TimeoutOption.class).getTimeout(), is(1000L));
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.container;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LocalRepositoryResolverTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void mapsCoordinatesToRepositoryLayout() {
+        File repository = new File("repo");
+        LocalRepositoryResolver resolver = new LocalRepositoryResolver(repository);
+
+        assertThat(resolver.getLocalFile("mvn:org.ops4j.base/ops4j-base/1.5.1"), is(new File(
+            repository, "org/ops4j/base/ops4j-base/1.5.1/ops4j-base-1.5.1.jar")));
+        assertThat(resolver.getLocalFile("mvn:http://repo.example.com!org.example/a/1.0/zip/dist"),
+            is(new File(repository, "org/example/a/1.0/a-1.0-dist.zip")));
+        assertThat(resolver.getLocalFile("mvn:org.example/a/1.0//tests"), is(new File(
+            repository, "org/example/a/1.0/a-1.0-tests.jar")));
+    }
+
+    @Test
+    public void doesNotMapOpenVersionsOrOtherProtocols() {
+        LocalRepositoryResolver resolver = new LocalRepositoryResolver(new File("repo"));
+
+        assertThat(resolver.getLocalFile("mvn:org.example/a"), is(nullValue()));
+        assertThat(resolver.getLocalFile("mvn:org.example/a/LATEST"), is(nullValue()));
+        assertThat(resolver.getLocalFile("mvn:org.example/a/[1.0,2.0)"), is(nullValue()));
+        assertThat(resolver.getLocalFile("file:/tmp/a.jar"), is(nullValue()));
+    }
+
+    @Test
+    public void referencesExistingArtifacts() throws IOException {
+        File repository = folder.getRoot();
+        File artifact = new File(repository, "org/example/a/1.0/a-1.0.jar");
+        artifact.getParentFile().mkdirs();
+        artifact.createNewFile();
+        LocalRepositoryResolver resolver = new LocalRepositoryResolver(repository);
+
+        assertThat(resolver.toReference("mvn:org.example/a/1.0"), is("reference:"
+            + artifact.toURI()));
+        assertThat(resolver.toReference("file:" + artifact.getPath()), is(nullValue()));
+    }
+
+    @Test
+    public void ignoresCommentedOutLocalRepository() {
+        assertThat(LocalRepositoryResolver.getLocalRepositorySetting("<settings>\n"
+            + "  <!-- <localRepository>/old/repo</localRepository> -->\n"
+            + "  <localRepository> /my/repo </localRepository>\n"
+            + "</settings>"), is("/my/repo"));
+        assertThat(LocalRepositoryResolver.getLocalRepositorySetting("<settings>\n"
+            + "  <!--\n  <localRepository>/old/repo</localRepository>\n  -->\n"
+            + "</settings>"), is(nullValue()));
+    }
+
+    @Test
+    public void supportsEquinoxAndFelix() {
+        assertThat(LocalRepositoryResolver.supportsReference(
+            "org.eclipse.osgi.launch.EquinoxFactory"), is(true));
+        assertThat(LocalRepositoryResolver.supportsReference(
+            "org.apache.felix.framework.FrameworkFactory"), is(true));
+        assertThat(LocalRepositoryResolver.supportsReference(
+            "org.knopflerfish.framework.FrameworkFactoryImpl"), is(false));
+    }
+}
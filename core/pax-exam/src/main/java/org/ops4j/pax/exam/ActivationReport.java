@@ -0,0 +1,84 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import static org.ops4j.pax.exam.Constants.EXAM_ACTIVATION_REPORT_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_ACTIVATION_TRACE_KEY;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publishes an {@link ActivationTimeline} of a container as configured by
+ * {@link Constants#EXAM_ACTIVATION_REPORT_KEY} and {@link Constants#EXAM_ACTIVATION_TRACE_KEY}.
+ */
+public final class ActivationReport {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ActivationReport.class);
+
+    private ActivationReport() {
+    }
+
+    /**
+     * Checks if an activation report or trace is configured, i.e. if containers should record an
+     * {@link ActivationTimeline}.
+     *
+     * @return true if bundle activation should be recorded
+     */
+    public static boolean isEnabled() {
+        ConfigurationManager cm = new ConfigurationManager();
+        return cm.getProperty(EXAM_ACTIVATION_REPORT_KEY) != null
+            || cm.getProperty(EXAM_ACTIVATION_TRACE_KEY) != null;
+    }
+
+    /**
+     * Logs the activation report and writes the activation trace, as configured.
+     *
+     * @param timeline
+     *            recorded timeline
+     * @param name
+     *            name of the container, used in log messages and as trace file name
+     */
+    public static void publish(ActivationTimeline timeline, String name) {
+        ConfigurationManager cm = new ConfigurationManager();
+        String top = cm.getProperty(EXAM_ACTIVATION_REPORT_KEY, "0");
+        try {
+            int numBundles = Integer.parseInt(top);
+            if (numBundles > 0) {
+                LOG.info("Bundle activation report for {}:\n{}", name,
+                    timeline.getReport(numBundles));
+            }
+        }
+        catch (NumberFormatException exc) {
+            LOG.warn("Invalid number of bundles {} for activation report", top);
+        }
+        String trace = cm.getProperty(EXAM_ACTIVATION_TRACE_KEY);
+        if (trace != null) {
+            try {
+                File file = timeline.writeChromeTrace(new File(trace), name);
+                LOG.info("Bundle activation trace for {} written to {}", name, file);
+            }
+            catch (IOException exc) {
+                LOG.warn("Cannot write bundle activation trace", exc);
+            }
+        }
+    }
+}
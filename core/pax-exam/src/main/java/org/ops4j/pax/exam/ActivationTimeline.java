@@ -0,0 +1,426 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.FrameworkEvent;
+import org.osgi.framework.FrameworkListener;
+import org.osgi.framework.SynchronousBundleListener;
+import org.osgi.framework.startlevel.BundleStartLevel;
+import org.osgi.framework.startlevel.FrameworkStartLevel;
+
+/**
+ * Records bundle and framework events with their timestamps in a ring buffer of fixed capacity, to
+ * find out which bundles slow down reaching the requested start level.
+ * <p>
+ * The listener must be registered synchronously, since {@link BundleEvent#STARTING} is only
+ * delivered to synchronous bundle listeners. A {@link #snapshot()} can be sent to another VM; it
+ * produces a report of the slowest bundle activations and the activation time per start level,
+ * and a trace for {@code chrome://tracing}.
+ * <p>
+ * This class only depends on the JRE and the OSGi core API, so that it can be used in forked
+ * framework processes.
+ */
+public class ActivationTimeline implements SynchronousBundleListener, FrameworkListener,
+    Serializable {
+
+    /** Default number of recorded events. */
+    public static final int DEFAULT_CAPACITY = 4096;
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long NANOS_PER_MILLI = 1000000L;
+
+    private static final long NANOS_PER_MICRO = 1000L;
+
+    private final long origin;
+
+    private final long[] times;
+
+    private final long[] bundleIds;
+
+    /**
+     * Bundle event types, or negated framework event types.
+     */
+    private final int[] types;
+
+    /**
+     * Bundle start level for bundle events, framework start level for framework events.
+     */
+    private final int[] levels;
+
+    private final Map<Long, String> names;
+
+    private int next;
+
+    private long recorded;
+
+    /**
+     * Creates a timeline with the default capacity.
+     */
+    public ActivationTimeline() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a timeline.
+     *
+     * @param capacity
+     *            number of events to keep, older events are overwritten
+     */
+    public ActivationTimeline(int capacity) {
+        this(System.nanoTime(), capacity);
+    }
+
+    private ActivationTimeline(long origin, int capacity) {
+        this.origin = origin;
+        this.times = new long[capacity];
+        this.bundleIds = new long[capacity];
+        this.types = new int[capacity];
+        this.levels = new int[capacity];
+        this.names = new HashMap<Long, String>();
+    }
+
+    @Override
+    public void bundleChanged(BundleEvent event) {
+        Bundle bundle = event.getBundle();
+        int level = 0;
+        BundleStartLevel startLevel = bundle.adapt(BundleStartLevel.class);
+        if (startLevel != null && event.getType() != BundleEvent.UNINSTALLED) {
+            level = startLevel.getStartLevel();
+        }
+        record(System.nanoTime(), bundle.getBundleId(), event.getType(), level,
+            bundle.getSymbolicName() + " " + bundle.getVersion());
+    }
+
+    @Override
+    public void frameworkEvent(FrameworkEvent event) {
+        Bundle bundle = event.getBundle();
+        int level = 0;
+        FrameworkStartLevel startLevel = bundle == null ? null
+            : bundle.adapt(FrameworkStartLevel.class);
+        if (startLevel != null) {
+            level = startLevel.getStartLevel();
+        }
+        record(System.nanoTime(), bundle == null ? 0 : bundle.getBundleId(), -event.getType(),
+            level, null);
+    }
+
+    synchronized void record(long time, long bundleId, int type, int level, String name) {
+        times[next] = time;
+        bundleIds[next] = bundleId;
+        types[next] = type;
+        levels[next] = level;
+        next = (next + 1) % times.length;
+        recorded++;
+        if (name != null && !names.containsKey(bundleId)) {
+            names.put(bundleId, name);
+        }
+    }
+
+    /**
+     * @return a copy of the recorded events
+     */
+    public synchronized ActivationTimeline snapshot() {
+        ActivationTimeline copy = new ActivationTimeline(origin, times.length);
+        System.arraycopy(times, 0, copy.times, 0, times.length);
+        System.arraycopy(bundleIds, 0, copy.bundleIds, 0, bundleIds.length);
+        System.arraycopy(types, 0, copy.types, 0, types.length);
+        System.arraycopy(levels, 0, copy.levels, 0, levels.length);
+        copy.names.putAll(names);
+        copy.next = next;
+        copy.recorded = recorded;
+        return copy;
+    }
+
+    /**
+     * @return bundle activations, i.e. matched STARTING and STARTED events of all bundles but the
+     *         system bundle, in order of completion
+     */
+    public synchronized List<Activation> getActivations() {
+        List<Activation> activations = new ArrayList<Activation>();
+        Map<Long, Integer> starting = new HashMap<Long, Integer>();
+        for (int i : indexes()) {
+            if (types[i] == BundleEvent.STARTING) {
+                starting.put(bundleIds[i], i);
+            }
+            else if (types[i] == BundleEvent.STARTED && bundleIds[i] != 0) {
+                // the system bundle is covered by the framework events
+                Integer start = starting.remove(bundleIds[i]);
+                if (start != null) {
+                    activations.add(new Activation(bundleIds[i], getName(bundleIds[i]),
+                        levels[start], times[start] - origin, times[i] - times[start]));
+                }
+            }
+        }
+        return activations;
+    }
+
+    /**
+     * Creates a report of the slowest bundle activations, the activation time per start level and
+     * the start level transitions.
+     *
+     * @param top
+     *            number of slowest bundles to list
+     * @return report
+     */
+    public synchronized String getReport(int top) {
+        List<Activation> activations = getActivations();
+        SortedMap<Integer, long[]> perLevel = new TreeMap<Integer, long[]>();
+        long total = 0;
+        for (Activation activation : activations) {
+            long[] level = perLevel.get(activation.getStartLevel());
+            if (level == null) {
+                // bundles, activation time, first start, last end
+                level = new long[] { 0, 0, Long.MAX_VALUE, 0 };
+                perLevel.put(activation.getStartLevel(), level);
+            }
+            level[0]++;
+            level[1] += activation.getDuration();
+            level[2] = Math.min(level[2], activation.getStart());
+            level[3] = Math.max(level[3], activation.getStart() + activation.getDuration());
+            total += activation.getDuration();
+        }
+
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%d bundle activations, %d ms total", activations.size(),
+            total / NANOS_PER_MILLI));
+        if (recorded > times.length) {
+            report.append(String.format(" (%d oldest events dropped)", recorded - times.length));
+        }
+        report.append(String.format("%n  framework events:%n"));
+        int resolved = 0;
+        long lastResolved = 0;
+        for (int i : indexes()) {
+            if (types[i] == BundleEvent.RESOLVED) {
+                resolved++;
+                lastResolved = times[i] - origin;
+            }
+            else if (types[i] < 0) {
+                report.append(String.format("    %8d ms  %s (start level %d)%n",
+                    (times[i] - origin) / NANOS_PER_MILLI,
+                    FrameworkEventUtils.getFrameworkEventString(-types[i]), levels[i]));
+            }
+        }
+        report.append(String.format("    %8d ms  %d bundles resolved%n",
+            lastResolved / NANOS_PER_MILLI, resolved));
+
+        report.append(String.format("  per start level:%n    %5s %8s %14s %8s%n", "level",
+            "bundles", "activation ms", "span ms"));
+        for (Map.Entry<Integer, long[]> entry : perLevel.entrySet()) {
+            long[] level = entry.getValue();
+            report.append(String.format("    %5d %8d %14d %8d%n", entry.getKey(), level[0],
+                level[1] / NANOS_PER_MILLI, (level[3] - level[2]) / NANOS_PER_MILLI));
+        }
+
+        List<Activation> slowest = new ArrayList<Activation>(activations);
+        Collections.sort(slowest, new Comparator<Activation>() {
+
+            @Override
+            public int compare(Activation left, Activation right) {
+                return Long.compare(right.getDuration(), left.getDuration());
+            }
+        });
+        report.append(String.format("  slowest bundles:%n    %8s %5s  %s%n", "ms", "level",
+            "bundle"));
+        for (Activation activation : slowest.subList(0, Math.min(top, slowest.size()))) {
+            report.append(String.format("    %8d %5d  [%d] %s%n",
+                activation.getDuration() / NANOS_PER_MILLI, activation.getStartLevel(),
+                activation.getBundleId(), activation.getName()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes the timeline in the Chrome trace event format. Each start level is shown as a thread
+     * with the activations of its bundles; resolution and framework events are instant events.
+     *
+     * @param writer
+     *            target writer
+     * @throws IOException
+     *             on write errors
+     */
+    public synchronized void writeChromeTrace(Writer writer) throws IOException {
+        writer.write("{\"traceEvents\":[\n");
+        String separator = "";
+        SortedSet<Integer> threads = new TreeSet<Integer>();
+        for (Activation activation : getActivations()) {
+            threads.add(activation.getStartLevel());
+            writer.write(String.format(
+                "%s{\"name\":%s,\"cat\":\"activation\",\"ph\":\"X\",\"ts\":%d,\"dur\":%d,"
+                    + "\"pid\":1,\"tid\":%d,\"args\":{\"id\":%d}}",
+                separator, quote(activation.getName()), activation.getStart() / NANOS_PER_MICRO,
+                activation.getDuration() / NANOS_PER_MICRO, activation.getStartLevel(),
+                activation.getBundleId()));
+            separator = ",\n";
+        }
+        for (int i : indexes()) {
+            String name;
+            if (types[i] == BundleEvent.RESOLVED) {
+                name = "RESOLVED " + getName(bundleIds[i]);
+            }
+            else if (types[i] < 0) {
+                name = FrameworkEventUtils.getFrameworkEventString(-types[i]) + " " + levels[i];
+            }
+            else {
+                continue;
+            }
+            writer.write(String.format(
+                "%s{\"name\":%s,\"cat\":\"framework\",\"ph\":\"i\",\"s\":\"g\",\"ts\":%d,"
+                    + "\"pid\":1,\"tid\":0}",
+                separator, quote(name), (times[i] - origin) / NANOS_PER_MICRO));
+            separator = ",\n";
+        }
+        for (Integer level : threads) {
+            writer.write(String.format(
+                "%s{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":%d,"
+                    + "\"args\":{\"name\":\"start level %d\"}}",
+                separator, level, level));
+            separator = ",\n";
+        }
+        writer.write("\n]}\n");
+    }
+
+    /**
+     * Writes the timeline in the Chrome trace event format to a new file.
+     *
+     * @param folder
+     *            target folder
+     * @param prefix
+     *            file name prefix, e.g. the container name
+     * @return trace file
+     * @throws IOException
+     *             on write errors
+     */
+    public File writeChromeTrace(File folder, String prefix) throws IOException {
+        folder.mkdirs();
+        File file = Files.createTempFile(folder.toPath(),
+            prefix.replaceAll("[^A-Za-z0-9_.-]", "_") + "-", ".json").toFile();
+        try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writeChromeTrace(writer);
+        }
+        return file;
+    }
+
+    /**
+     * @return ring buffer indexes of the recorded events, oldest first
+     */
+    private int[] indexes() {
+        int size = (int) Math.min(recorded, times.length);
+        int first = recorded > times.length ? next : 0;
+        int[] indexes = new int[size];
+        for (int i = 0; i < size; i++) {
+            indexes[i] = (first + i) % times.length;
+        }
+        return indexes;
+    }
+
+    private String getName(long bundleId) {
+        String name = names.get(bundleId);
+        return name == null ? Long.toString(bundleId) : name;
+    }
+
+    private static String quote(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            }
+            else if (c < ' ') {
+                builder.append(String.format("\\u%04x", (int) c));
+            }
+            else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    /**
+     * Activation of a bundle, from {@link BundleEvent#STARTING} to {@link BundleEvent#STARTED}.
+     */
+    public static class Activation implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long bundleId;
+
+        private final String name;
+
+        private final int startLevel;
+
+        private final long start;
+
+        private final long duration;
+
+        Activation(long bundleId, String name, int startLevel, long start, long duration) {
+            this.bundleId = bundleId;
+            this.name = name;
+            this.startLevel = startLevel;
+            this.start = start;
+            this.duration = duration;
+        }
+
+        public long getBundleId() {
+            return bundleId;
+        }
+
+        /**
+         * @return symbolic name and version of the bundle
+         */
+        public String getName() {
+            return name;
+        }
+
+        public int getStartLevel() {
+            return startLevel;
+        }
+
+        /**
+         * @return start of the activation in nanoseconds, relative to the creation of the timeline
+         */
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * @return duration of the activation in nanoseconds
+         */
+        public long getDuration() {
+            return duration;
+        }
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+import org.ops4j.pax.exam.util.Digests;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Manages dynamic class data sharing (AppCDS) archives for forked Java VMs, one archive per Java
+ * home and class path. The class path is identified by the paths, sizes and modification times of
+ * its entries, so that a changed class path gets a new archive.
+ * <p>
+ * The first Java VM for a class path creates the archive with {@code -XX:ArchiveClassesAtExit}
+ * when it exits. Later Java VMs map it with {@code -XX:SharedArchiveFile}. Java VMs started
+ * while the archive is being created run without class data sharing. The archive is published
+ * under its final name once the creating Java VM has terminated, so that no Java VM maps a
+ * partially written archive. Requires Java 13 or higher.
+ */
+public class ClassDataSharing {
+
+    /**
+     * Name of the archive folder in the Pax Exam configuration folder.
+     */
+    public static final String CDS_FOLDER = "cds";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClassDataSharing.class);
+
+    private static final String LIB_FOLDER = "lib";
+
+    private static final int MIN_FEATURE_VERSION = 13;
+
+    /**
+     * Age after which a lock without the process ID of its creating Java VM is stale.
+     */
+    private static final long STALE_LOCK = 10 * 60 * 1000;
+
+    private final File folder;
+
+    private File pendingLock;
+
+    /**
+     * Creates archives in the given folder.
+     *
+     * @param folder
+     *            archive folder
+     */
+    public ClassDataSharing(File folder) {
+        this.folder = folder;
+    }
+
+    /**
+     * Returns the VM options to use or create the archive for a class path. If the options create
+     * the archive, the caller must pass the started process to {@link #started(Process)}.
+     *
+     * @param javaHome
+     *            Java home of the forked Java VM
+     * @param classpath
+     *            class path of the forked Java VM
+     * @return VM options, empty if class data sharing is not supported or the archive is being
+     *         created by another Java VM
+     */
+    public synchronized List<String> getVmOptions(String javaHome, String[] classpath) {
+        pendingLock = null;
+        if (getFeatureVersion(javaHome) < MIN_FEATURE_VERSION) {
+            LOG.debug("Java VM in {} does not support dynamic class data sharing", javaHome);
+            return Collections.emptyList();
+        }
+        folder.mkdirs();
+        String key = key(javaHome, classpath);
+        File archive = new File(folder, key + ".jsa");
+        File dump = new File(folder, key + ".dump.jsa");
+        File lock = new File(folder, key + ".lock");
+        File failed = new File(folder, key + ".failed");
+        if (!archive.isFile() && lock.isFile()) {
+            publish(lock, dump, archive, failed);
+        }
+        if (archive.isFile()) {
+            return Collections.singletonList("-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+        }
+        if (failed.exists()) {
+            return Collections.emptyList();
+        }
+        try {
+            if (lock.createNewFile()) {
+                Files.deleteIfExists(dump.toPath());
+                pendingLock = lock;
+                LOG.info("Creating class data sharing archive {}", archive);
+                // keep archive warnings and crash reports of the dump next to the archive
+                String log = new File(folder, key).getAbsolutePath();
+                return Arrays.asList("-XX:ArchiveClassesAtExit=" + dump.getAbsolutePath(),
+                    "-Xlog:cds*=warning:file=" + log + ".log", "-XX:ErrorFile=" + log + ".err");
+            }
+        }
+        catch (IOException exc) {
+            LOG.debug("Cannot lock class data sharing archive {}", archive, exc);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Records the Java VM creating the archive, if the last VM options returned by
+     * {@link #getVmOptions(String, String[])} create an archive. The caller should give such a
+     * Java VM the time to write the archive on exit instead of destroying it.
+     *
+     * @param process
+     *            forked Java VM
+     * @return true if the Java VM creates the archive
+     */
+    public synchronized boolean started(Process process) {
+        if (pendingLock == null) {
+            return false;
+        }
+        try {
+            Files.write(pendingLock.toPath(), Long.toString(process.pid()).getBytes(
+                StandardCharsets.UTF_8));
+        }
+        catch (IOException | UnsupportedOperationException exc) {
+            LOG.debug("Cannot record creator of class data sharing archive", exc);
+        }
+        pendingLock = null;
+        return true;
+    }
+
+    /**
+     * Copies class path entries to stable locations in the archive folder, so that the archive of
+     * a class path that is extracted to a different folder for each Java VM can be reused. The
+     * copies are identified by the digests of their contents.
+     *
+     * @param classpath
+     *            class path entries
+     * @return staged class path entries, or the original entry when it cannot be staged
+     */
+    public String[] stage(String[] classpath) {
+        String[] staged = new String[classpath.length];
+        for (int i = 0; i < classpath.length; i++) {
+            File file = new File(classpath[i]);
+            staged[i] = classpath[i];
+            if (!file.isFile()) {
+                continue;
+            }
+            try {
+                File copy = new File(new File(folder, LIB_FOLDER + "/" + digest(file)),
+                    file.getName());
+                if (!copy.isFile()) {
+                    copy.getParentFile().mkdirs();
+                    File tmp = File.createTempFile(file.getName(), ".tmp", copy.getParentFile());
+                    Files.copy(file.toPath(), tmp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                    Files.move(tmp.toPath(), copy.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                }
+                staged[i] = copy.getAbsolutePath();
+            }
+            catch (IOException exc) {
+                LOG.debug("Cannot stage class path entry {}", file, exc);
+            }
+        }
+        return staged;
+    }
+
+    /**
+     * Publishes the archive when the Java VM creating it has terminated.
+     */
+    private void publish(File lock, File dump, File archive, File failed) {
+        try {
+            String owner = new String(Files.readAllBytes(lock.toPath()), StandardCharsets.UTF_8)
+                .trim();
+            if (owner.isEmpty()) {
+                if (System.currentTimeMillis() - lock.lastModified() > STALE_LOCK) {
+                    Files.deleteIfExists(lock.toPath());
+                }
+                return;
+            }
+            if (ProcessHandle.of(Long.parseLong(owner)).map(ProcessHandle::isAlive).orElse(
+                false)) {
+                return;
+            }
+            if (dump.length() > 0) {
+                Files.move(dump.toPath(), archive.toPath(), StandardCopyOption.ATOMIC_MOVE);
+                LOG.info("Created class data sharing archive {}", archive);
+            }
+            else {
+                failed.createNewFile();
+                LOG.warn("Java VM has not created class data sharing archive {}, see the log "
+                    + "files next to it, delete {} to try again", archive, failed);
+            }
+            Files.deleteIfExists(lock.toPath());
+        }
+        catch (IOException | NumberFormatException exc) {
+            // another Java VM may have published the archive in the meantime
+            LOG.debug("Cannot publish class data sharing archive {}", archive, exc);
+        }
+    }
+
+    /**
+     * Computes the archive key of a Java home and class path.
+     *
+     * @param javaHome
+     *            Java home
+     * @param classpath
+     *            class path entries
+     * @return hex encoded SHA-256 digest
+     */
+    static String key(String javaHome, String[] classpath) {
+        MessageDigest digest = Digests.newDigest();
+        Digests.update(digest, javaHome);
+        for (String entry : classpath) {
+            File file = new File(entry);
+            Digests.update(digest, file.getAbsolutePath());
+            Digests.update(digest, Long.toString(file.length()));
+            Digests.update(digest, Long.toString(file.lastModified()));
+        }
+        return Digests.toHex(digest.digest());
+    }
+
+    private static String digest(File file) throws IOException {
+        return Digests.toHex(Digests.digest(file));
+    }
+
+    /**
+     * Determines the feature version of a Java installation from its {@code release} file.
+     *
+     * @param javaHome
+     *            Java home
+     * @return feature version, or 0 if unknown
+     */
+    static int getFeatureVersion(String javaHome) {
+        if (new File(javaHome).equals(new File(System.getProperty("java.home")))) {
+            return Runtime.version().feature();
+        }
+        Properties release = new Properties();
+        try (InputStream is = Files.newInputStream(new File(javaHome, "release").toPath())) {
+            release.load(is);
+        }
+        catch (IOException exc) {
+            LOG.debug("Cannot read release file of {}", javaHome, exc);
+            return 0;
+        }
+        String version = release.getProperty("JAVA_VERSION", "").replace("\"", "");
+        List<String> parts = Arrays.asList(version.split("[._-]"));
+        try {
+            int feature = Integer.parseInt(parts.get(0));
+            return feature == 1 && parts.size() > 1 ? Integer.parseInt(parts.get(1)) : feature;
+        }
+        catch (NumberFormatException exc) {
+            return 0;
+        }
+    }
+}
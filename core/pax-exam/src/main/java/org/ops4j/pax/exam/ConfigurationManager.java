@@ -24,6 +24,8 @@ import java.net.URL;
 import java.util.Properties;
 
 import org.ops4j.util.property.PropertiesPropertyResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Reads configuration settings from a properties file {@code exam.properties} at the root of the
@@ -36,6 +38,8 @@ import org.ops4j.util.property.PropertiesPropertyResolver;
  */
 public class ConfigurationManager {
 
+    private static final Logger LOG = LoggerFactory.getLogger(ConfigurationManager.class);
+
     private PropertiesPropertyResolver resolver;
 
     /**
@@ -93,6 +97,31 @@ public class ConfigurationManager {
         return (value == null) ? defaultValue : value;
     }
 
+    /**
+     * Returns the integer configuration property for the given key, or the given default value.
+     *
+     * @param key
+     *            configuration key
+     * @param defaultValue
+     *            default value for key
+     * @return configuration value, or the default value if the key is not defined or its value
+     *         is not an integer
+     */
+    public int getIntProperty(String key, int defaultValue) {
+        String value = resolver.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        }
+        catch (NumberFormatException exc) {
+            LOG.warn("Invalid value {} of {}, falling back to default {}", value, key,
+                defaultValue);
+            return defaultValue;
+        }
+    }
+
     /**
      * Loads system properties from the given configuration key.
      * <p>
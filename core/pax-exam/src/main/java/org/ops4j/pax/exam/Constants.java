@@ -128,6 +128,155 @@ public class Constants {
      */
     public static final String EXAM_FAIL_ON_UNRESOLVED_KEY = "pax.exam.osgi.unresolved.fail";
 
+    /**
+     * Should the native container resolve all provisioned bundles before the start level jump,
+     * report the missing requirements of unresolvable bundles and fail immediately if a bundle
+     * needed by the test probe cannot be resolved? Values: true (default) | false.
+     */
+    public static final String EXAM_ANALYZE_UNRESOLVED_KEY = "pax.exam.osgi.unresolved.analyze";
+
+    /**
+     * Should remote containers stream test events, captured output and log records to the
+     * driver while tests are running? Values: true | false (default).
+     */
+    public static final String EXAM_STREAM_CONTAINER_EVENTS_KEY = "pax.exam.container.events";
+
+    /**
+     * Should latency, retry and payload metrics of remote bundle context operations be recorded
+     * and reported at the end of the test run? Values: true | false (default).
+     */
+    public static final String EXAM_RBC_METRICS_KEY = "pax.exam.rbc.metrics";
+
+    /**
+     * Comma separated list of test classes whose methods may be invoked concurrently, like classes
+     * annotated with {@link org.ops4j.pax.exam.util.Concurrent}.
+     */
+    public static final String EXAM_CONCURRENT_CLASSES_KEY = "pax.exam.concurrent.classes";
+
+    /**
+     * Maximum number of bundles downloaded in parallel while provisioning the native or forked
+     * container. Values: integer (default 8), 1 disables parallel downloads. With parallel
+     * downloads, the native container writes bundles which are not {@code file:} URLs to a
+     * temporary file first, which the framework then copies to its storage.
+     */
+    public static final String EXAM_INSTALL_THREADS_KEY = "pax.exam.install.threads";
+
+    /**
+     * Default value of {@link #EXAM_INSTALL_THREADS_KEY}.
+     */
+    public static final int DEFAULT_INSTALL_THREADS = 8;
+
+    /**
+     * Should the native container pass system property and repository options to the framework as
+     * framework properties, instead of setting them as system properties of the Java VM? Bundles
+     * read them with {@code BundleContext.getProperty()}, which also makes them visible as
+     * framework configuration. This allows several native containers with different options to run
+     * concurrently in one Java VM. Values: true | false (default).
+     */
+    public static final String EXAM_ISOLATED_PROPERTIES_KEY = "pax.exam.native.isolated";
+
+    /**
+     * Should the native container start from a cached framework storage image when the
+     * provisioning (bundles, start levels and framework properties) has not changed? Images are
+     * kept in the {@code storage-cache} folder of the Pax Exam configuration folder. Values: true |
+     * false (default).
+     */
+    public static final String EXAM_STORAGE_CACHE_KEY = "pax.exam.storage.cache";
+
+    /**
+     * Maximum number of framework storage images kept by the storage cache of the native
+     * container. When a new image is published, the least recently used images are deleted.
+     * Values: integer (default 10).
+     */
+    public static final String EXAM_STORAGE_CACHE_IMAGES_KEY = "pax.exam.storage.cache.images";
+
+    /**
+     * Number of slowest bundle activations to report when the native or forked container has
+     * reached its start level. The report also shows the activation time per start level. Values:
+     * integer (default 0, no report).
+     */
+    public static final String EXAM_ACTIVATION_REPORT_KEY = "pax.exam.activation.report";
+
+    /**
+     * Folder for bundle activation timelines in the Chrome trace event format, one file per
+     * container start. Values: folder path (default none, no trace files).
+     */
+    public static final String EXAM_ACTIVATION_TRACE_KEY = "pax.exam.activation.trace";
+
+    /**
+     * Should the native container return from {@code stop()} immediately and stop the framework
+     * and delete its temporary files in the background? The next container can start in the
+     * meantime. Pending teardowns are awaited on exit of the Java VM. Values: true | false
+     * (default).
+     */
+    public static final String EXAM_ASYNC_STOP_KEY = "pax.exam.native.stop.async";
+
+    /**
+     * Should the native container check that the bundle class loaders of a stopped framework can
+     * be garbage collected? The check hints a garbage collection and reports the bundles and the
+     * threads retaining them. Values: off (default) | warn | fail. Asynchronous stops only warn.
+     */
+    public static final String EXAM_LEAK_CHECK_KEY = "pax.exam.native.leaks";
+
+    /**
+     * Number of leaked bundle class loaders in the Java VM above which the native container factory
+     * creates its next containers with the other {@code TestContainerFactory} on the class path,
+     * usually the forked container, with the native container selected by {@code @ExamFactory}.
+     * Containers already created keep running in this Java VM. Values: integer (default 0, never
+     * fork). Implies the leak check.
+     */
+    public static final String EXAM_LEAK_FORK_THRESHOLD_KEY = "pax.exam.native.leaks.fork";
+
+    /**
+     * Should the native and forked containers install provisioned {@code mvn:} bundles with a
+     * fixed version as {@code reference:file:} URLs of the artifacts in the local Maven repository?
+     * The framework then reads the bundles in place instead of copying them into its storage.
+     * Applies to Equinox and Felix. Values: true | false (default).
+     */
+    public static final String EXAM_REFERENCE_INSTALL_KEY = "pax.exam.provision.reference";
+
+    /**
+     * Number of idle forked Java VMs the forked container keeps ready per combination of Java
+     * home, VM arguments and class path. An idle Java VM has loaded the framework implementation
+     * and creates the framework when a container claims it, with the system properties of the
+     * container set at that time. Values: integer (default 0, no pool).
+     */
+    public static final String EXAM_FORK_POOL_KEY = "pax.exam.fork.pool";
+
+    /**
+     * Should the forked and Karaf containers use dynamic class data sharing archives for their
+     * Java VMs? The first Java VM for a class path creates the archive on exit, in the
+     * {@code cds} folder of the Pax Exam configuration folder, and later Java VMs map it. Requires
+     * Java 13 or higher in the forked Java VM. Values: true | false (default).
+     */
+    public static final String EXAM_CDS_KEY = "pax.exam.cds";
+
+    /**
+     * Maximum size in megabytes of the artifact cache of the forked container. Bundles with a
+     * fixed version are downloaded once into the {@code artifacts} folder of the Pax Exam
+     * configuration folder, which is shared by all runs, and linked into the download folder of
+     * each container. The least recently used artifacts are evicted. Values: integer (default 0,
+     * no cache).
+     */
+    public static final String EXAM_ARTIFACT_CACHE_KEY = "pax.exam.artifact.cache";
+
+    /**
+     * Destination of the standard output and error streams of forked Java VMs. With {@code file},
+     * the output of each Java VM is written to a rolling log file in the
+     * {@link #EXAM_FORK_OUTPUT_DIRECTORY_KEY output directory}, or in the working directory of a
+     * Karaf container, and the last lines are kept in memory for failure reports. With
+     * {@code console}, the output is copied to the console of this Java VM. Values: file | console
+     * (default: file).
+     */
+    public static final String EXAM_FORK_OUTPUT_KEY = "pax.exam.fork.output";
+
+    /**
+     * Directory for the log files of forked Java VMs, which is kept after the tests have run.
+     * Relative paths are resolved against the working directory of this Java VM. Default:
+     * target/pax-exam.
+     */
+    public static final String EXAM_FORK_OUTPUT_DIRECTORY_KEY = "pax.exam.fork.output.directory";
+
     /** Hidden utility class constructor. */
     private Constants() {
     }
@@ -35,6 +35,7 @@ import org.ops4j.pax.exam.options.DefaultCompositeOption;
 import org.ops4j.pax.exam.options.FrameworkPropertyOption;
 import org.ops4j.pax.exam.options.FrameworkStartLevelOption;
 import org.ops4j.pax.exam.options.JarProbeOption;
+import org.ops4j.pax.exam.options.LazyActivationOption;
 import org.ops4j.pax.exam.options.MavenArtifactDeploymentOption;
 import org.ops4j.pax.exam.options.MavenArtifactProvisionOption;
 import org.ops4j.pax.exam.options.MavenArtifactUrlReference;
@@ -596,6 +597,19 @@ public class CoreOptions {
         return new BundleStartLevelOption(startLevel);
     }
 
+    /**
+     * Creates a {@link LazyActivationOption}. Provisioned bundles are started according to their
+     * declared activation policy, except for the given bundles.
+     *
+     * @param eagerBundles
+     *            symbolic names of bundles to be activated immediately
+     *
+     * @return lazy activation option
+     */
+    public static LazyActivationOption lazyActivation(final String... eagerBundles) {
+        return new LazyActivationOption(eagerBundles);
+    }
+
     /**
      * Creates a {@link TimeoutOption} for a number of millis.
      * 
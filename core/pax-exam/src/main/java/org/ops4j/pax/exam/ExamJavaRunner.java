@@ -55,6 +55,16 @@ public class ExamJavaRunner implements StoppableJavaRunner, ProcessProvider {
      */
     private Thread m_shutdownHook;
 
+    /**
+     * Log file for the output of the framework process, or null to pipe it to the console.
+     */
+    private File m_outputFile;
+
+    /**
+     * Collected output of the framework process.
+     */
+    private OutputCollector.Output m_output;
+
     private static final Logger LOG = LoggerFactory.getLogger(ExamJavaRunner.class);
 
     /**
@@ -73,6 +83,26 @@ public class ExamJavaRunner implements StoppableJavaRunner, ProcessProvider {
         m_wait = wait;
     }
 
+    /**
+     * Writes the output of the framework process to a log file instead of the console, unless
+     * {@link Constants#EXAM_FORK_OUTPUT_KEY} asks for console output. Must be called before
+     * {@code exec}.
+     *
+     * @param outputFile log file, or null to pipe the output to the console
+     */
+    public void setOutputFile(File outputFile) {
+        m_outputFile = outputFile;
+    }
+
+    /**
+     * Returns the last lines of output of the framework process, for failure reports.
+     *
+     * @return output tail, or an empty string if the output is not collected
+     */
+    public String getOutputTail() {
+        return m_output == null ? "" : m_output.getTail();
+    }
+
     public synchronized void exec(final String[] vmOptions,
                                   final String[] classpath,
                                   final String mainClass,
@@ -189,6 +219,23 @@ public class ExamJavaRunner implements StoppableJavaRunner, ProcessProvider {
      * @return stream handler
      */
     private Thread createShutdownHook(final Process process) {
+        if (m_outputFile != null && OutputCollector.isEnabled()) {
+            // the collector drains the output until the process has terminated
+            m_output = OutputCollector.getInstance().collect(process, m_outputFile);
+            return new Thread(
+                new Runnable() {
+                    public void run() {
+                        try {
+                            process.destroy();
+                        } catch (Exception e) {
+                            // ignore if already shutting down
+                        }
+                    }
+                },
+                "ExamJavaRunner shutdown hook"
+            );
+        }
+
         LOG.debug("Wrapping stream I/O.");
 
         final Pipe errPipe = new Pipe(process.getErrorStream(), System.err).start("Error pipe");
@@ -51,10 +51,22 @@ public interface ExamSystem {
      * @param <T>
      *            option type
      * @return options matching the parameter type T. If none was found, this method returns an
-     *         empty array.
+     *         empty array. Callers may modify the array without affecting the system.
      */
     <T extends Option> T[] getOptions(final Class<T> optionType);
 
+    /**
+     * Computes a stable identity of the configuration of this system, which is equal for equal
+     * options in equal order, even across Java VMs. Options are fingerprinted with their resolved
+     * values, see {@link Fingerprint}. The default implementation fingerprints all options
+     * returned by {@link #getOptions(Class)}.
+     *
+     * @return SHA-256 fingerprint of all options as hex string
+     */
+    default String fingerprint() {
+        return Fingerprint.of(getOptions(Option.class));
+    }
+
     /**
      * 
      * @param options
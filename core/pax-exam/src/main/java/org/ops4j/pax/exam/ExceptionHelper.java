@@ -10,11 +10,22 @@ public class ExceptionHelper {
     private ExceptionHelper() {
     }
 
+    /**
+     * Finds the root cause of the given exception. A root cause sent by the container in compact
+     * form is rebuilt if possible, see {@link WrappedTestContainerException#unwrap()}.
+     * 
+     * @param e
+     *            exception
+     * @return root cause
+     */
     public static Throwable unwind(Throwable e) {
         Throwable t = e.getCause();
         if (t != null) {
             return unwind(t);
         }
+        else if (e instanceof WrappedTestContainerException) {
+            return ((WrappedTestContainerException) e).unwrap();
+        }
         else {
             return e;
         }
@@ -0,0 +1,390 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import org.ops4j.pax.exam.util.Digests;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Canonical SHA-256 fingerprint of a sequence of options and values. Each value is added with a
+ * type tag and its length, so that different sequences of values never give the same digest
+ * input, and the fingerprint depends on the order in which values are added.
+ * <p>
+ * Values are fingerprinted as resolved: {@code file:} URLs include a digest of the file contents,
+ * or of all files of a directory, and Maven snapshot URLs include a digest of the artifact in the
+ * local repository, if present. Options not implementing {@link Fingerprintable} are added by
+ * their string representation, which is only stable if the option overrides
+ * {@code toString()}.
+ */
+public final class Fingerprint {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Fingerprint.class);
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte NUMBER = 2;
+    private static final byte BOOLEAN = 3;
+    private static final byte BEGIN = 4;
+    private static final byte END = 5;
+    private static final byte CONTENT = 6;
+
+    private static final String LOCAL_REPOSITORY_KEY = "org.ops4j.pax.url.mvn.localRepository";
+
+    private final MessageDigest digest = Digests.newDigest();
+
+    /**
+     * Computes the fingerprint of the given options.
+     *
+     * @param options
+     *            options in order, may contain null elements
+     * @return SHA-256 fingerprint as hex string
+     */
+    public static String of(Option... options) {
+        Fingerprint fingerprint = new Fingerprint();
+        for (Option option : options) {
+            fingerprint.add(option);
+        }
+        return fingerprint.toHex();
+    }
+
+    /**
+     * Adds a string.
+     *
+     * @param value
+     *            string, may be null
+     * @return this fingerprint
+     */
+    public Fingerprint add(String value) {
+        if (value == null) {
+            digest.update(NULL);
+        }
+        else {
+            byte[] bytes = value.getBytes(UTF_8);
+            digest.update(STRING);
+            updateLength(bytes.length);
+            digest.update(bytes);
+        }
+        return this;
+    }
+
+    /**
+     * Adds an integral number.
+     *
+     * @param value
+     *            number
+     * @return this fingerprint
+     */
+    public Fingerprint add(long value) {
+        digest.update(NUMBER);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            digest.update((byte) (value >>> shift));
+        }
+        return this;
+    }
+
+    /**
+     * Adds a boolean.
+     *
+     * @param value
+     *            boolean
+     * @return this fingerprint
+     */
+    public Fingerprint add(boolean value) {
+        digest.update(BOOLEAN);
+        digest.update((byte) (value ? 1 : 0));
+        return this;
+    }
+
+    /**
+     * Adds a value of any type. Options and {@link Fingerprintable} objects are added with their
+     * type, arrays and collections in iteration order, maps in the order of their keys, classes
+     * with the contents of their class file and URLs as by {@link #addUrl(String)}. Other values
+     * are added by their string representation.
+     *
+     * @param value
+     *            value, may be null
+     * @return this fingerprint
+     */
+    public Fingerprint add(Object value) {
+        if (value == null) {
+            digest.update(NULL);
+        }
+        else if (value instanceof String) {
+            add((String) value);
+        }
+        else if (value instanceof Boolean) {
+            add(((Boolean) value).booleanValue());
+        }
+        else if (value instanceof Long || value instanceof Integer || value instanceof Short
+            || value instanceof Byte) {
+            add(((Number) value).longValue());
+        }
+        else if (value instanceof Enum) {
+            add(((Enum<?>) value).name());
+        }
+        else if (value instanceof Option || value instanceof Fingerprintable) {
+            addObject(value);
+        }
+        else if (value instanceof Class) {
+            addClass((Class<?>) value);
+        }
+        else if (value instanceof URL) {
+            addUrl(((URL) value).toExternalForm());
+        }
+        else if (value instanceof Map) {
+            addMap((Map<?, ?>) value);
+        }
+        else if (value instanceof Iterable) {
+            begin("list");
+            for (Object element : (Iterable<?>) value) {
+                add(element);
+            }
+            digest.update(END);
+        }
+        else if (value.getClass().isArray()) {
+            begin("list");
+            for (int i = 0; i < Array.getLength(value); i++) {
+                add(Array.get(value, i));
+            }
+            digest.update(END);
+        }
+        else {
+            add(value.toString());
+        }
+        return this;
+    }
+
+    /**
+     * Adds a URL with the resolved resource it refers to. This is a digest of the file contents
+     * for {@code file:} URLs, possibly wrapped by other protocols, and the digest of the artifact
+     * in the local Maven repository for Maven snapshot URLs.
+     *
+     * @param url
+     *            URL, may be null
+     * @return this fingerprint
+     */
+    public Fingerprint addUrl(String url) {
+        add(url);
+        if (url != null) {
+            addLocation(location(url));
+        }
+        return this;
+    }
+
+    /**
+     * Adds a digest of the contents of a file, or of the names and contents of all files in a
+     * directory. The path of the file itself is not added.
+     *
+     * @param file
+     *            file or directory, may be null
+     * @return this fingerprint
+     * @throws TestContainerException
+     *             if a file cannot be read
+     */
+    public Fingerprint addFile(File file) {
+        if (file == null || !file.exists()) {
+            digest.update(NULL);
+        }
+        else if (file.isDirectory()) {
+            Path root = file.toPath();
+            TreeSet<String> names = new TreeSet<String>();
+            try (Stream<Path> paths = Files.walk(root)) {
+                paths.filter(Files::isRegularFile).forEach(path -> names.add(
+                    root.relativize(path).toString().replace(File.separatorChar, '/')));
+            }
+            catch (IOException | UncheckedIOException exc) {
+                throw new TestContainerException("cannot fingerprint " + file, exc);
+            }
+            begin("directory");
+            for (String name : names) {
+                add(name);
+                addContent(new File(file, name));
+            }
+            digest.update(END);
+        }
+        else {
+            addContent(file);
+        }
+        return this;
+    }
+
+    /**
+     * Completes the fingerprint. Values added afterwards start a new fingerprint.
+     *
+     * @return SHA-256 fingerprint as hex string
+     */
+    public String toHex() {
+        return Digests.toHex(digest.digest());
+    }
+
+    private void addObject(Object value) {
+        begin(value.getClass().getName());
+        if (value instanceof Fingerprintable) {
+            ((Fingerprintable) value).fingerprint(this);
+        }
+        else {
+            LOG.debug("{} is not fingerprintable, using its string representation",
+                value.getClass().getName());
+            add(value.toString());
+        }
+        digest.update(END);
+    }
+
+    private void addClass(Class<?> type) {
+        begin("class");
+        add(type.getName());
+        URL classFile = type.getResource(type.getName().substring(
+            type.getName().lastIndexOf('.') + 1) + ".class");
+        addLocation(classFile == null ? null : location(classFile.toExternalForm()));
+        digest.update(END);
+    }
+
+    private void addMap(Map<?, ?> map) {
+        Map<String, Object> sorted = new TreeMap<String, Object>();
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            sorted.put(String.valueOf(entry.getKey()), entry.getValue());
+        }
+        begin("map");
+        for (Map.Entry<String, Object> entry : sorted.entrySet()) {
+            add(entry.getKey());
+            add(entry.getValue());
+        }
+        digest.update(END);
+    }
+
+    /**
+     * Adds the resolved resource of a location, if any.
+     */
+    private void addLocation(String location) {
+        if (location == null) {
+            digest.update(NULL);
+        }
+        else if (location.startsWith("file:")) {
+            addFile(toFile(location));
+        }
+        else if (location.startsWith("mvn:")) {
+            addArtifact(location);
+        }
+    }
+
+    /**
+     * Adds the artifact of a Maven snapshot URL from the local repository. Release versions
+     * never change, so their URL is sufficient.
+     */
+    private void addArtifact(String location) {
+        String coordinates = location.substring("mvn:".length());
+        // skip the repository, if any
+        coordinates = coordinates.substring(coordinates.lastIndexOf('!') + 1);
+        String[] parts = coordinates.split("/");
+        if (parts.length < 3 || !parts[2].endsWith("SNAPSHOT")) {
+            return;
+        }
+        String type = parts.length > 3 && !parts[3].isEmpty() ? parts[3] : "jar";
+        String classifier = parts.length > 4 ? "-" + parts[4] : "";
+        File repository = new File(System.getProperty(LOCAL_REPOSITORY_KEY,
+            System.getProperty("user.home") + "/.m2/repository"));
+        File artifact = new File(repository, parts[0].replace('.', '/') + "/" + parts[1] + "/"
+            + parts[2] + "/" + parts[1] + "-" + parts[2] + classifier + "." + type);
+        addFile(artifact);
+    }
+
+    private void addContent(File file) {
+        digest.update(CONTENT);
+        try {
+            digest.update(Digests.digest(file));
+        }
+        catch (IOException exc) {
+            throw new TestContainerException("cannot fingerprint " + file, exc);
+        }
+    }
+
+    private void begin(String type) {
+        digest.update(BEGIN);
+        add(type);
+    }
+
+    private void updateLength(int length) {
+        for (int shift = 24; shift >= 0; shift -= 8) {
+            digest.update((byte) (length >>> shift));
+        }
+    }
+
+    /**
+     * Strips wrapping protocols, {@code wrap:} instructions and archive entries from a URL,
+     * leaving the location of the {@code file:} or {@code mvn:} resource it refers to. Other
+     * URLs may contain {@code $}, e.g. the class files of nested classes.
+     */
+    static String location(String url) {
+        String location = url;
+        while (!location.startsWith("file:") && !location.startsWith("mvn:")) {
+            if (location.startsWith("wrap:")) {
+                int instructions = location.indexOf('$');
+                if (instructions >= 0) {
+                    location = location.substring(0, instructions);
+                }
+            }
+            int colon = location.indexOf(':');
+            if (colon < 0) {
+                return location;
+            }
+            location = location.substring(colon + 1);
+        }
+        if (location.startsWith("file:")) {
+            for (String separator : new String[] { "!/", "?" }) {
+                int end = location.indexOf(separator);
+                if (end >= 0) {
+                    location = location.substring(0, end);
+                }
+            }
+        }
+        return location;
+    }
+
+    private static File toFile(String location) {
+        String path;
+        try {
+            path = new URI(location).getSchemeSpecificPart();
+        }
+        catch (URISyntaxException exc) {
+            path = location.substring("file:".length());
+        }
+        if (path.startsWith("//")) {
+            // empty authority
+            path = path.substring(2);
+        }
+        return new File(path);
+    }
+}
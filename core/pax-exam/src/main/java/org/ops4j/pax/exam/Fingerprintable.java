@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+/**
+ * An option or value with a stable identity across Java VMs. Implementations feed their
+ * configuration values into a {@link Fingerprint}, so that equal configurations have equal
+ * fingerprints, which may then be used to reuse containers or cached results.
+ * <p>
+ * Values must be added in a fixed order. Values whose order is not significant, like the
+ * properties of a configuration, must be added in a canonical order. Values resolved lazily, like
+ * Maven versions taken from the project, must be added as resolved.
+ */
+public interface Fingerprintable {
+
+    /**
+     * Adds the configuration values of this object to the given fingerprint. The type of this
+     * object has already been added by the caller.
+     *
+     * @param fingerprint
+     *            fingerprint to be updated
+     */
+    void fingerprint(Fingerprint fingerprint);
+}
@@ -111,4 +111,27 @@ public class MavenUtils {
 
         };
     }
+
+    /**
+     * Checks if a Maven URL denotes a released artifact, which never changes. Snapshots,
+     * {@code LATEST}, {@code RELEASE} and version ranges may denote different artifacts over time.
+     *
+     * @param url
+     *            URL
+     * @return true if the URL is a {@code mvn:} URL with a release version
+     */
+    public static boolean isReleaseUrl(final String url) {
+        if (!url.startsWith("mvn:")) {
+            return false;
+        }
+        // mvn:[repository!]groupId/artifactId/version[/type[/classifier]]
+        String coordinates = url.substring("mvn:".length());
+        String[] segments = coordinates.substring(coordinates.lastIndexOf('!') + 1).split("/");
+        if (segments.length < 3) {
+            return false;
+        }
+        String version = segments[2];
+        return !version.isEmpty() && !version.endsWith("SNAPSHOT") && !"LATEST".equals(version)
+            && !"RELEASE".equals(version) && !version.startsWith("[") && !version.startsWith("(");
+    }
 }
@@ -0,0 +1,305 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import static org.ops4j.pax.exam.Constants.EXAM_FORK_OUTPUT_DIRECTORY_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_FORK_OUTPUT_KEY;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the standard output and error streams of all forked Java VMs in a single thread. Each
+ * Java VM gets a rolling log file and an in-memory tail of bounded size for failure reports.
+ * <p>
+ * Process streams are not selectable channels, so the collector thread only reads what the
+ * streams report as available and never blocks on a single Java VM. It drains the pipes as long
+ * as there is output and backs off while all Java VMs are quiet, so that a chatty Java VM never
+ * stalls on a full pipe. The output of a Java VM is collected until the process has terminated
+ * and its pipes are empty.
+ */
+public final class OutputCollector {
+
+    /**
+     * Size of a log file before it is rolled over.
+     */
+    static final long MAX_FILE_SIZE = 10 * 1024 * 1024;
+
+    /**
+     * Size of the in-memory tail of each Java VM.
+     */
+    static final int TAIL_SIZE = 16 * 1024;
+
+    private static final Logger LOG = LoggerFactory.getLogger(OutputCollector.class);
+
+    private static final String ROLLED_SUFFIX = ".1";
+
+    private static final long MAX_PAUSE = 50;
+
+    private static final String DEFAULT_OUTPUT_DIRECTORY = "target/pax-exam";
+
+    private static OutputCollector instance;
+
+    private final List<Output> outputs = new CopyOnWriteArrayList<Output>();
+
+    private final byte[] buffer = new byte[8192];
+
+    private Thread thread;
+
+    private OutputCollector() {
+    }
+
+    /**
+     * @return the collector of this Java VM
+     */
+    public static synchronized OutputCollector getInstance() {
+        if (instance == null) {
+            instance = new OutputCollector();
+        }
+        return instance;
+    }
+
+    /**
+     * @return true unless {@link Constants#EXAM_FORK_OUTPUT_KEY} asks for console output
+     */
+    public static boolean isEnabled() {
+        return !"console".equals(new ConfigurationManager().getProperty(EXAM_FORK_OUTPUT_KEY,
+            "file").trim());
+    }
+
+    /**
+     * @return directory for log files, given by {@link Constants#EXAM_FORK_OUTPUT_DIRECTORY_KEY}
+     */
+    public static File getOutputDirectory() {
+        return new File(new ConfigurationManager().getProperty(EXAM_FORK_OUTPUT_DIRECTORY_KEY,
+            DEFAULT_OUTPUT_DIRECTORY).trim());
+    }
+
+    /**
+     * Starts collecting the output of a process.
+     *
+     * @param process
+     *            forked Java VM
+     * @param file
+     *            log file, rolled over to a file with suffix {@code .1}
+     * @return output of the process
+     * @throws TestContainerException
+     *             if the log file cannot be created
+     */
+    public Output collect(Process process, File file) {
+        Output output = new Output(process, file);
+        LOG.info("Writing output of forked Java VM to {}", file);
+        synchronized (this) {
+            outputs.add(output);
+            if (thread == null) {
+                thread = new Thread(this::run, "pax-exam-output");
+                thread.setDaemon(true);
+                thread.start();
+            }
+        }
+        return output;
+    }
+
+    private void run() {
+        long pause = 1;
+        while (true) {
+            boolean busy = false;
+            for (Output output : outputs) {
+                try {
+                    busy |= output.poll(buffer);
+                }
+                catch (IOException exc) {
+                    LOG.debug("Cannot collect output of forked Java VM", exc);
+                    output.close();
+                }
+                if (output.isClosed()) {
+                    outputs.remove(output);
+                }
+            }
+            synchronized (this) {
+                if (outputs.isEmpty()) {
+                    // the next collect() starts a new thread
+                    thread = null;
+                    return;
+                }
+            }
+            if (busy) {
+                pause = 1;
+                continue;
+            }
+            try {
+                Thread.sleep(pause);
+            }
+            catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            pause = Math.min(pause * 2, MAX_PAUSE);
+        }
+    }
+
+    /**
+     * The collected output of a forked Java VM.
+     */
+    public static final class Output {
+
+        private final Process process;
+
+        private final InputStream[] streams;
+
+        private final File file;
+
+        private final byte[] tail = new byte[TAIL_SIZE];
+
+        private long collected;
+
+        private OutputStream out;
+
+        private long written;
+
+        private boolean closed;
+
+        private Output(Process process, File file) {
+            this.process = process;
+            this.streams = new InputStream[] { process.getInputStream(),
+                process.getErrorStream() };
+            this.file = file;
+            try {
+                file.getAbsoluteFile().getParentFile().mkdirs();
+                this.out = new FileOutputStream(file);
+            }
+            catch (IOException exc) {
+                throw new TestContainerException("cannot create log file " + file, exc);
+            }
+        }
+
+        /**
+         * @return current log file
+         */
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * Returns the last lines of output, at most {@value OutputCollector#TAIL_SIZE} bytes.
+         *
+         * @return output tail, may be empty
+         */
+        public synchronized String getTail() {
+            int length = (int) Math.min(collected, TAIL_SIZE);
+            byte[] bytes = new byte[length];
+            int start = (int) (collected % TAIL_SIZE);
+            if (collected > TAIL_SIZE) {
+                System.arraycopy(tail, start, bytes, 0, TAIL_SIZE - start);
+                System.arraycopy(tail, 0, bytes, TAIL_SIZE - start, start);
+            }
+            else {
+                System.arraycopy(tail, 0, bytes, 0, length);
+            }
+            String text = new String(bytes, Charset.defaultCharset());
+            if (collected > TAIL_SIZE) {
+                // skip the partial first line
+                text = text.substring(text.indexOf('\n') + 1);
+            }
+            return text;
+        }
+
+        /**
+         * @return true once the process has terminated and its output has been written
+         */
+        public synchronized boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Reads the available output of the process.
+         *
+         * @return true if there was any output
+         */
+        private synchronized boolean poll(byte[] buffer) throws IOException {
+            if (closed) {
+                return false;
+            }
+            // check before reading, so that no output written before termination is lost
+            boolean alive = process.isAlive();
+            boolean read = false;
+            for (InputStream stream : streams) {
+                int available = stream.available();
+                while (available > 0) {
+                    int n = stream.read(buffer, 0, Math.min(available, buffer.length));
+                    if (n <= 0) {
+                        break;
+                    }
+                    write(buffer, n);
+                    read = true;
+                    available -= n;
+                }
+            }
+            if (read) {
+                out.flush();
+            }
+            else if (!alive) {
+                close();
+            }
+            return read;
+        }
+
+        private void write(byte[] bytes, int length) throws IOException {
+            if (written + length > MAX_FILE_SIZE && written > 0) {
+                roll();
+            }
+            out.write(bytes, 0, length);
+            written += length;
+            for (int i = 0; i < length; i++) {
+                tail[(int) (collected++ % TAIL_SIZE)] = bytes[i];
+            }
+        }
+
+        private void roll() throws IOException {
+            out.close();
+            Files.move(file.toPath(), new File(file.getPath() + ROLLED_SUFFIX).toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+            out = new FileOutputStream(file);
+            written = 0;
+        }
+
+        private synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                out.close();
+            }
+            catch (IOException exc) {
+                LOG.debug("Cannot close log file {}", file, exc);
+            }
+        }
+    }
+}
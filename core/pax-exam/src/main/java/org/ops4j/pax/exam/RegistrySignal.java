@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Announces that a forked Java VM has bound a remote object in the {@link SharedRegistry}, so
+ * that the waiting container does not have to poll the registry. This class only depends on the
+ * JRE, so that it can be used in forked Java VMs.
+ */
+public final class RegistrySignal {
+
+    /**
+     * System property with the loopback port to which forked Java VMs announce their bindings.
+     */
+    public static final String SIGNAL_PORT_KEY = "pax.exam.registry.signal.port";
+
+    private RegistrySignal() {
+    }
+
+    /**
+     * Announces a binding to the port given by the system property {@value #SIGNAL_PORT_KEY}, if
+     * it is set.
+     *
+     * @param name
+     *            name of the bound remote object
+     * @throws IOException
+     *             when the announcement cannot be sent
+     */
+    public static void announce(String name) throws IOException {
+        String port = System.getProperty(SIGNAL_PORT_KEY);
+        if (port != null) {
+            announce(Integer.parseInt(port), name);
+        }
+    }
+
+    /**
+     * Announces a binding to the given port.
+     *
+     * @param port
+     *            loopback port of the {@link SharedRegistry}
+     * @param name
+     *            name of the bound remote object
+     * @throws IOException
+     *             when the announcement cannot be sent
+     */
+    public static void announce(int port, String name) throws IOException {
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream())) {
+            out.writeUTF(name);
+        }
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.rmi.NoSuchObjectException;
+import java.rmi.NotBoundException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.registry.Registry;
+import java.rmi.server.RMIServerSocketFactory;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The RMI registry of this Java VM, shared by all containers. Forked Java VMs bind their remote
+ * objects under unique names, so that any number of containers can run concurrently.
+ * <p>
+ * The registry is created on demand on a loopback port assigned by the operating system, so that
+ * there is no race for free ports. It is exported as long as it has users, so that it does not
+ * keep this Java VM alive.
+ * <p>
+ * Forked Java VMs announce each binding with a {@link RegistrySignal} to a loopback socket which
+ * lives as long as the registry, so that waiting for a binding does not poll the registry.
+ */
+public final class SharedRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SharedRegistry.class);
+
+    private static final int SIGNAL_READ_TIMEOUT = 1000;
+
+    /**
+     * Names announced by forked Java VMs and not yet awaited. Guarded by itself.
+     */
+    private static final Set<String> ANNOUNCED = new HashSet<String>();
+
+    private static Registry registry;
+
+    private static int port;
+
+    private static ServerSocket signals;
+
+    private static int users;
+
+    /**
+     * Hidden utility class constructor.
+     */
+    private SharedRegistry() {
+    }
+
+    /**
+     * Creates the registry, unless it exists, and registers a user. Each call must be followed by
+     * a call to {@link #release()}.
+     *
+     * @return port of the registry
+     */
+    public static synchronized int acquire() {
+        if (registry == null) {
+            LoopbackSocketFactory socketFactory = new LoopbackSocketFactory();
+            try {
+                registry = LocateRegistry.createRegistry(0, null, socketFactory);
+            }
+            catch (RemoteException exc) {
+                throw new TestContainerException("cannot create RMI registry", exc);
+            }
+            port = socketFactory.getPort();
+            signals = listen();
+            LOG.debug("using RMI registry at port {}, signals at port {}", port,
+                signals.getLocalPort());
+        }
+        users++;
+        return port;
+    }
+
+    /**
+     * Unregisters a user. The registry is unexported when it has no more users.
+     */
+    public static synchronized void release() {
+        if (users == 0) {
+            return;
+        }
+        users--;
+        if (users == 0) {
+            try {
+                UnicastRemoteObject.unexportObject(registry, true);
+            }
+            catch (NoSuchObjectException exc) {
+                LOG.debug("RMI registry already unexported", exc);
+            }
+            registry = null;
+            try {
+                signals.close();
+            }
+            catch (IOException exc) {
+                LOG.debug("cannot close signal socket", exc);
+            }
+            signals = null;
+            synchronized (ANNOUNCED) {
+                ANNOUNCED.clear();
+            }
+        }
+    }
+
+    /**
+     * @return port to be passed to forked Java VMs as system property
+     *         {@link RegistrySignal#SIGNAL_PORT_KEY}
+     */
+    public static synchronized int getSignalPort() {
+        if (signals == null) {
+            throw new TestContainerException("RMI registry has no users");
+        }
+        return signals.getLocalPort();
+    }
+
+    /**
+     * @return host address to be used by forked Java VMs for the registry and their remote
+     *         objects
+     */
+    public static String getHost() {
+        return InetAddress.getLoopbackAddress().getHostAddress();
+    }
+
+    /**
+     * Waits until a forked Java VM has announced the binding of a remote object and looks it up.
+     *
+     * @param name
+     *            unique name of the remote object
+     * @param type
+     *            type of the remote object
+     * @param process
+     *            forked Java VM, or null if unknown
+     * @param timeout
+     *            max time to wait in milliseconds
+     * @param <T>
+     *            type of the remote object
+     * @return remote object
+     * @throws TestContainerException
+     *             if the Java VM has terminated or the object has not been bound in time
+     */
+    public static <T extends Remote> T await(String name, Class<T> type, Process process,
+        long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        if (process != null) {
+            process.onExit().thenRun(SharedRegistry::wakeUp);
+        }
+        synchronized (ANNOUNCED) {
+            while (!ANNOUNCED.remove(name)) {
+                if (process != null && !process.isAlive()) {
+                    throw new TestContainerException("Java VM for " + name
+                        + " has terminated with exit code " + process.exitValue());
+                }
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    throw new TestContainerException("Java VM has not bound " + name
+                        + " in RMI registry");
+                }
+                try {
+                    ANNOUNCED.wait(remaining);
+                }
+                catch (InterruptedException exc) {
+                    Thread.currentThread().interrupt();
+                    throw new TestContainerException("interrupted while waiting for " + name, exc);
+                }
+            }
+        }
+        try {
+            return type.cast(getRegistry().lookup(name));
+        }
+        catch (RemoteException | NotBoundException exc) {
+            throw new TestContainerException("cannot find " + name + " in RMI registry", exc);
+        }
+    }
+
+    /**
+     * Removes the binding of a remote object whose Java VM has terminated.
+     *
+     * @param name
+     *            unique name of the remote object
+     */
+    public static void unbind(String name) {
+        try {
+            getRegistry().unbind(name);
+        }
+        catch (RemoteException | NotBoundException exc) {
+            LOG.debug("{} not bound", name, exc);
+        }
+    }
+
+    private static void wakeUp() {
+        synchronized (ANNOUNCED) {
+            ANNOUNCED.notifyAll();
+        }
+    }
+
+    /**
+     * Opens the loopback socket for announcements and accepts them in a daemon thread until the
+     * socket is closed.
+     */
+    private static ServerSocket listen() {
+        final ServerSocket socket;
+        try {
+            socket = new ServerSocket(0, 0, InetAddress.getLoopbackAddress());
+        }
+        catch (IOException exc) {
+            throw new TestContainerException("cannot open signal socket", exc);
+        }
+        Thread thread = new Thread(() -> {
+            while (!socket.isClosed()) {
+                try (Socket connection = socket.accept()) {
+                    connection.setSoTimeout(SIGNAL_READ_TIMEOUT);
+                    String name = new DataInputStream(connection.getInputStream()).readUTF();
+                    synchronized (ANNOUNCED) {
+                        ANNOUNCED.add(name);
+                        ANNOUNCED.notifyAll();
+                    }
+                }
+                catch (IOException exc) {
+                    if (!socket.isClosed()) {
+                        LOG.debug("cannot read signal", exc);
+                    }
+                }
+            }
+        }, "RMI registry signals");
+        thread.setDaemon(true);
+        thread.start();
+        return socket;
+    }
+
+    private static synchronized Registry getRegistry() throws RemoteException {
+        if (registry == null) {
+            throw new NoSuchObjectException("RMI registry has no users");
+        }
+        return registry;
+    }
+
+    /**
+     * Creates the server socket of the registry on an ephemeral loopback port and records the
+     * port.
+     */
+    private static class LoopbackSocketFactory implements RMIServerSocketFactory {
+
+        private int localPort;
+
+        @Override
+        public ServerSocket createServerSocket(int _port) throws IOException {
+            ServerSocket socket = new ServerSocket(_port, 0, InetAddress.getLoopbackAddress());
+            localPort = socket.getLocalPort();
+            return socket;
+        }
+
+        int getPort() {
+            return localPort;
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package org.ops4j.pax.exam;
 
 import java.net.URI;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A singleton directory which keeps track of all tests in a suite. A test is a single method of a
@@ -26,7 +26,7 @@ public class TestDirectory {
 
     private static final TestDirectory INSTANCE = new TestDirectory();
 
-    private Map<TestAddress, TestInstantiationInstruction> map = new HashMap<TestAddress, TestInstantiationInstruction>();
+    private Map<TestAddress, TestInstantiationInstruction> map = new ConcurrentHashMap<TestAddress, TestInstantiationInstruction>();
     private URI accessPoint;
 
     private TestDirectory() {
@@ -25,8 +25,35 @@ public class TestInstantiationInstruction {
 
     private final String instruction;
 
+    private final String className;
+
+    private final String methodName;
+
     public TestInstantiationInstruction(String s) {
         instruction = s;
+        String[] parts = s.split(";");
+        className = parts[0];
+        methodName = parts.length > 1 ? parts[1] : null;
+    }
+
+    public TestInstantiationInstruction(String className, String methodName) {
+        this.instruction = className + ";" + methodName;
+        this.className = className;
+        this.methodName = methodName;
+    }
+
+    /**
+     * @return name of the test class
+     */
+    public String getClassName() {
+        return className;
+    }
+
+    /**
+     * @return name of the test method, or null if the instruction does not name a method
+     */
+    public String getMethodName() {
+        return methodName;
     }
 
     public String toString() {
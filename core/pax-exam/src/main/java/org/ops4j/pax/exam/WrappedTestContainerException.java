@@ -18,19 +18,51 @@
 package org.ops4j.pax.exam;
 
 /**
- * Wrap not serializable exception while extracting as much information as possible 
+ * Wrap not serializable exception while extracting as much information as possible. This is the
+ * compact form of a failure: class name, message and stack trace of the exception and, as further
+ * wrapped exceptions, of its causes. It never drags container classes or state over the wire.
  */
 public class WrappedTestContainerException extends TestContainerException {
     private static final long serialVersionUID = 2153567650526556189L;
+
+    /**
+     * Maximum length of the wrapped cause chain.
+     */
+    private static final int MAX_CAUSES = 8;
+
     private String wrappedClassName;
     private String wrappedMessage;
 
     public WrappedTestContainerException(String message, Throwable exception) {
-        super(message);
+        this(message, exception, 0);
+    }
+
+    private WrappedTestContainerException(String message, Throwable exception, int depth) {
+        super(message, wrapCause(exception, depth));
         wrappedClassName = exception.getClass().getName();
         wrappedMessage = exception.getMessage();
         setStackTrace(exception.getStackTrace());
     }
+
+    /**
+     * Wraps an exception, using its string representation as message.
+     *
+     * @param exception
+     *            exception to be wrapped, may be null
+     * @return wrapped exception, or null if exception is null
+     */
+    public static WrappedTestContainerException of(Throwable exception) {
+        return exception == null ? null : new WrappedTestContainerException(exception.toString(),
+            exception);
+    }
+
+    private static WrappedTestContainerException wrapCause(Throwable exception, int depth) {
+        Throwable cause = exception.getCause();
+        if (cause == null || cause == exception || depth + 1 >= MAX_CAUSES) {
+            return null;
+        }
+        return new WrappedTestContainerException(cause.toString(), cause, depth + 1);
+    }
     
     public String getWrappedClassName() {
         return wrappedClassName;
@@ -40,4 +72,39 @@ public class WrappedTestContainerException extends TestContainerException {
         return wrappedMessage;
     }
 
+    /**
+     * Rebuilds the wrapped exception, if its class is visible to the caller and has a public
+     * constructor taking the message. Its causes are rebuilt the same way. Fields other than the
+     * message are lost.
+     * 
+     * @return rebuilt exception with the wrapped message, stack trace and causes, or this
+     *         exception if the wrapped exception cannot be rebuilt
+     */
+    public Throwable unwrap() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = WrappedTestContainerException.class.getClassLoader();
+        }
+        try {
+            Class<?> wrappedClass = Class.forName(wrappedClassName, false, classLoader);
+            if (!Throwable.class.isAssignableFrom(wrappedClass)) {
+                return this;
+            }
+            Throwable wrapped = (Throwable) wrappedClass.getConstructor(String.class).newInstance(
+                wrappedMessage);
+            wrapped.setStackTrace(getStackTrace());
+            if (getCause() instanceof WrappedTestContainerException && wrapped.getCause() == null) {
+                try {
+                    wrapped.initCause(((WrappedTestContainerException) getCause()).unwrap());
+                }
+                catch (IllegalStateException exc) {
+                    // the constructor has initialized the cause
+                }
+            }
+            return wrapped;
+        }
+        catch (ReflectiveOperationException | LinkageError exc) {
+            return this;
+        }
+    }
 }
@@ -19,6 +19,9 @@ package org.ops4j.pax.exam.options;
 
 import static org.ops4j.lang.NullArgumentException.validateNotNull;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
+
 /**
  * Abstract {@link ProvisionOption} that delegates to another provision option.
  * 
@@ -26,7 +29,7 @@ import static org.ops4j.lang.NullArgumentException.validateNotNull;
  * @since 0.3.0, December 08, 2008
  */
 public abstract class AbstractDelegateProvisionOption<T extends AbstractDelegateProvisionOption<?>>
-    implements ProvisionOption<T> {
+    implements ProvisionOption<T>, Fingerprintable {
 
     /**
      * Wrapped provision option (cannot be null).
@@ -63,6 +66,10 @@ public abstract class AbstractDelegateProvisionOption<T extends AbstractDelegate
         return delegate.getStartLevel();
     }
 
+    public Boolean getLazyStart() {
+        return delegate.getLazyStart();
+    }
+
     public T update(final Boolean shouldUpdate) {
         delegate.update(shouldUpdate);
         return itself();
@@ -98,6 +105,11 @@ public abstract class AbstractDelegateProvisionOption<T extends AbstractDelegate
         return itself();
     }
 
+    public T lazyStart(final Boolean lazyStart) {
+        delegate.lazyStart(lazyStart);
+        return itself();
+    }
+
     /**
      * Getter.
      * 
@@ -114,4 +126,8 @@ public abstract class AbstractDelegateProvisionOption<T extends AbstractDelegate
      */
     protected abstract T itself();
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(delegate);
+    }
 }
@@ -40,6 +40,11 @@ public abstract class AbstractProvisionControl<T extends AbstractProvisionContro
      * implementation.
      */
     private Integer startLevel;
+    /**
+     * If the scanned bundles should be started according to their activation policy. Default
+     * behaviour is depending on {@link LazyActivationOption}.
+     */
+    private Boolean lazyStart;
 
     /**
      * Constructor.
@@ -92,6 +97,15 @@ public abstract class AbstractProvisionControl<T extends AbstractProvisionContro
         return itself();
     }
 
+    public Boolean getLazyStart() {
+        return lazyStart;
+    }
+
+    public T lazyStart(final Boolean _lazyStart) {
+        this.lazyStart = _lazyStart;
+        return itself();
+    }
+
     /**
      * Implemented by sub classes in order to return itself (this) for fluent api usage
      * 
@@ -103,6 +117,7 @@ public abstract class AbstractProvisionControl<T extends AbstractProvisionContro
     public int hashCode() {
         final int prime = 31;
         int result = 1;
+        result = prime * result + ((lazyStart == null) ? 0 : lazyStart.hashCode());
         result = prime * result + ((shouldStart == null) ? 0 : shouldStart.hashCode());
         result = prime * result + ((shouldUpdate == null) ? 0 : shouldUpdate.hashCode());
         result = prime * result + ((startLevel == null) ? 0 : startLevel.hashCode());
@@ -120,6 +135,12 @@ public abstract class AbstractProvisionControl<T extends AbstractProvisionContro
             return false;
         @SuppressWarnings("unchecked")
         AbstractProvisionControl<T> other = (AbstractProvisionControl<T>) obj;
+        if (lazyStart == null) {
+            if (other.lazyStart != null)
+                return false;
+        }
+        else if (!lazyStart.equals(other.lazyStart))
+            return false;
         if (shouldStart == null) {
             if (other.shouldStart != null)
                 return false;
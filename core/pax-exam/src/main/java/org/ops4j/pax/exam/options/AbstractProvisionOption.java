@@ -17,6 +17,9 @@
  */
 package org.ops4j.pax.exam.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
+
 /**
  * Convenience abstract implementation of {@link ProvisionOption}.
  * 
@@ -24,6 +27,11 @@ package org.ops4j.pax.exam.options;
  * @since 0.3.0, December 08, 2008
  */
 public abstract class AbstractProvisionOption<T extends AbstractProvisionOption<T>> extends
-    AbstractProvisionControl<T> implements ProvisionOption<T> {
+    AbstractProvisionControl<T> implements ProvisionOption<T>, Fingerprintable {
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.addUrl(getURL()).add(shouldUpdate()).add(shouldStart()).add(getStartLevel())
+            .add(getLazyStart());
+    }
 }
@@ -19,6 +19,8 @@ package org.ops4j.pax.exam.options;
 
 import static org.ops4j.lang.NullArgumentException.validateNotNull;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
@@ -27,7 +29,7 @@ import org.ops4j.pax.exam.Option;
  * @author Alin Dreghiciu (adreghiciu@gmail.com)
  * @since 0.5.0, April 29, 2009
  */
-public class BootClasspathLibraryOption implements Option {
+public class BootClasspathLibraryOption implements Option, Fingerprintable {
 
     /**
      * Library url (cannot be null).
@@ -113,6 +115,11 @@ public class BootClasspathLibraryOption implements Option {
         return append;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.addUrl(libraryUrl.getURL()).add(append);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -19,6 +19,9 @@ package org.ops4j.pax.exam.options;
 
 import static org.ops4j.lang.NullArgumentException.validateNotEmpty;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
+
 /**
  * Options specifying a boot delegation package (package for which framework will delegate to the
  * system classloader).
@@ -26,7 +29,7 @@ import static org.ops4j.lang.NullArgumentException.validateNotEmpty;
  * @author Alin Dreghiciu (adreghiciu@gmail.com)
  * @since 0.3.0, December 08, 2008
  */
-public class BootDelegationOption implements ValueOption<String> {
+public class BootDelegationOption implements ValueOption<String>, Fingerprintable {
 
     /**
      * Boot delegation package (cannot be null or empty).
@@ -65,6 +68,11 @@ public class BootDelegationOption implements ValueOption<String> {
         return getPackage();
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(pkg);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -17,6 +17,8 @@
  */
 package org.ops4j.pax.exam.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
@@ -25,7 +27,7 @@ import org.ops4j.pax.exam.Option;
  * @author Alin Dreghiciu (adreghiciu@gmail.com)
  * @since 0.5.0, April 23, 2009
  */
-public class BundleStartLevelOption implements Option {
+public class BundleStartLevelOption implements Option, Fingerprintable {
 
     /**
      * Start level.
@@ -57,6 +59,11 @@ public class BundleStartLevelOption implements Option {
         return startLevel;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(startLevel);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -21,6 +21,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
@@ -29,7 +31,7 @@ import org.ops4j.pax.exam.Option;
  * @author Alin Dreghiciu (adreghiciu@gmail.com)
  * @since 0.3.0, December 08, 2008
  */
-public class DefaultCompositeOption implements ModifiableCompositeOption {
+public class DefaultCompositeOption implements ModifiableCompositeOption, Fingerprintable {
 
     /**
      * Composite options (cannot be null).
@@ -116,6 +118,11 @@ public class DefaultCompositeOption implements ModifiableCompositeOption {
         return remove(Arrays.asList(options));
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(options);
+    }
+
     /**
      * {@inheritDoc}
      */
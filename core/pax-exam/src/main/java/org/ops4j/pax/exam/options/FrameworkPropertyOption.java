@@ -19,13 +19,16 @@ package org.ops4j.pax.exam.options;
 
 import static org.ops4j.lang.NullArgumentException.validateNotNull;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
+
 /**
  * Option specifying a framework property.
  * 
  * @author Harald Wellmann
  * @since 2.3.0, August 2011
  */
-public class FrameworkPropertyOption implements ValueOption<Object> {
+public class FrameworkPropertyOption implements ValueOption<Object>, Fingerprintable {
 
     /**
      * System property key (cannot be null or empty).
@@ -85,6 +88,11 @@ public class FrameworkPropertyOption implements ValueOption<Object> {
         return value;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(key).add(value);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -21,6 +21,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.ops4j.pax.exam.CoreOptions;
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
@@ -37,7 +39,7 @@ import org.ops4j.pax.exam.Option;
  * @author Harald Wellmann
  * 
  */
-public class JarProbeOption implements Option {
+public class JarProbeOption implements Option, Fingerprintable {
 
     private List<String> resources;
     private List<Class<?>> classes;
@@ -150,4 +152,9 @@ public class JarProbeOption implements Option {
     public List<Class<?>> getClasses() {
         return classes;
     }
+
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(name).add(classes).add(resources).add(metaInfResources);
+    }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.options;
+
+import static org.ops4j.lang.NullArgumentException.validateNotNull;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
+import org.ops4j.pax.exam.Option;
+
+/**
+ * Option specifying that provisioned bundles are started according to their declared activation
+ * policy. Bundles declaring {@code Bundle-ActivationPolicy: lazy} are then activated on the first
+ * class load instead of before the first test. Bundles without a declared activation policy are
+ * activated immediately, as usual.
+ * <p>
+ * Bundles whose symbolic names are on the eager list, and bundles provisioned with
+ * {@link ProvisionControl#eagerStart()}, are always activated immediately.
+ */
+public class LazyActivationOption implements Option, Fingerprintable {
+
+    /**
+     * Symbolic names of the bundles to be activated immediately.
+     */
+    private final Set<String> eagerBundles;
+
+    /**
+     * Constructor.
+     *
+     * @param eagerBundles
+     *            symbolic names of the bundles to be activated immediately (cannot be null)
+     */
+    public LazyActivationOption(final String... eagerBundles) {
+        validateNotNull(eagerBundles, "Eager bundles");
+        this.eagerBundles = Collections.unmodifiableSet(new LinkedHashSet<String>(Arrays
+            .asList(eagerBundles)));
+    }
+
+    /**
+     * Getter.
+     *
+     * @return symbolic names of the bundles to be activated immediately
+     */
+    public Set<String> getEagerBundles() {
+        return eagerBundles;
+    }
+
+    /**
+     * Decides if a provisioned bundle is started according to its activation policy.
+     *
+     * @param option
+     *            lazy activation option, may be null
+     * @param bundle
+     *            provision option of the bundle
+     * @param symbolicName
+     *            symbolic name of the installed bundle, may be null
+     * @return true if the bundle is to be started lazily
+     */
+    public static boolean isLazy(LazyActivationOption option, ProvisionControl<?> bundle,
+        String symbolicName) {
+        Boolean lazyStart = bundle.getLazyStart();
+        if (lazyStart != null) {
+            return lazyStart;
+        }
+        return option != null && !option.eagerBundles.contains(symbolicName);
+    }
+
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        // activation does not depend on the order of the eager bundles
+        fingerprint.add(new TreeSet<String>(eagerBundles));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return new StringBuilder().append(LazyActivationOption.class.getSimpleName())
+            .append("{eagerBundles=").append(eagerBundles).append('}').toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return eagerBundles.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        return eagerBundles.equals(((LazyActivationOption) obj).eagerBundles);
+    }
+}
@@ -4,13 +4,15 @@ import static org.ops4j.lang.NullArgumentException.validateNotNull;
 
 import java.net.URL;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
  * @author Toni Menzel (tonit)
  * @since Mar 18, 2009
  */
-public class MavenPluginGeneratedConfigOption implements Option {
+public class MavenPluginGeneratedConfigOption implements Option, Fingerprintable {
 
     private URL url;
 
@@ -23,4 +25,8 @@ public class MavenPluginGeneratedConfigOption implements Option {
         return url;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(url);
+    }
 }
@@ -17,6 +17,8 @@
  */
 package org.ops4j.pax.exam.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
@@ -26,7 +28,7 @@ import org.ops4j.pax.exam.Option;
  * @author Alin Dreghiciu (adreghiciu@gmail.com)
  * @since 0.5.0, April 20, 2009
  */
-public class OptionalCompositeOption implements CompositeOption {
+public class OptionalCompositeOption implements CompositeOption, Fingerprintable {
 
     /**
      * Boolean condition to evaluate. Cannot be null;
@@ -82,6 +84,11 @@ public class OptionalCompositeOption implements CompositeOption {
         return new Option[0];
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(getOptions());
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -17,6 +17,8 @@
  */
 package org.ops4j.pax.exam.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
@@ -28,7 +30,7 @@ import org.ops4j.pax.exam.Option;
  * 
  * @author Harald Wellmann
  */
-public class PropagateSystemPropertyOption implements Option {
+public class PropagateSystemPropertyOption implements Option, Fingerprintable {
 
     /**
      * System property key (cannot be null or empty).
@@ -55,6 +57,11 @@ public class PropagateSystemPropertyOption implements Option {
         return key;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(key).add(System.getProperty(key));
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -47,6 +47,17 @@ public interface ProvisionControl<T extends ProvisionControl<?>> {
      */
     Integer getStartLevel();
 
+    /**
+     * If the provisioned bundle(s) should be started according to their declared activation
+     * policy, i.e. activated on the first class load if they declare a lazy activation policy.
+     * 
+     * @return true to start lazily, false to start eagerly. If the returned value is null, the
+     *         {@link LazyActivationOption} decides, if present. Returns null unless overridden.
+     */
+    default Boolean getLazyStart() {
+        return null;
+    }
+
     /**
      * Setter.
      * 
@@ -104,4 +115,40 @@ public interface ProvisionControl<T extends ProvisionControl<?>> {
      * @return itself, for fluent api usage
      */
     T startLevel(Integer startLevel);
+
+    /**
+     * Setter.
+     * 
+     * @param lazyStart
+     *            true if the provisioned bundle(s) should be started according to their declared
+     *            activation policy, false if they should be activated immediately
+     * 
+     * @return itself, for fluent api usage. Does nothing unless overridden, so that
+     *         {@link #getLazyStart()} keeps returning null and the {@link LazyActivationOption}, if
+     *         present, decides.
+     */
+    @SuppressWarnings("unchecked")
+    default T lazyStart(Boolean lazyStart) {
+        return (T) this;
+    }
+
+    /**
+     * Setter. Specifies that the provisioned bundle(s) should be started according to their
+     * declared activation policy.
+     * 
+     * @return itself, for fluent api usage
+     */
+    default T lazyStart() {
+        return lazyStart(true);
+    }
+
+    /**
+     * Setter. Specifies that the provisioned bundle(s) should be activated immediately, even if
+     * a {@link LazyActivationOption} is present.
+     * 
+     * @return itself, for fluent api usage
+     */
+    default T eagerStart() {
+        return lazyStart(false);
+    }
 }
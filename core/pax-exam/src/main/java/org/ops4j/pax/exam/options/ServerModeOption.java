@@ -1,5 +1,7 @@
 package org.ops4j.pax.exam.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
@@ -8,6 +10,10 @@ import org.ops4j.pax.exam.Option;
  * @author tonit
  * 
  */
-public class ServerModeOption implements Option {
+public class ServerModeOption implements Option, Fingerprintable {
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        // no values
+    }
 }
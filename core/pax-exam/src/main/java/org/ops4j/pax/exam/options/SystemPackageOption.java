@@ -19,13 +19,16 @@ package org.ops4j.pax.exam.options;
 
 import static org.ops4j.lang.NullArgumentException.validateNotEmpty;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
+
 /**
  * Option specifying a system package (package exported by system bundle).
  * 
  * @author Alin Dreghiciu (adreghiciu@gmail.com)
  * @since 0.3.0, December 08, 2008
  */
-public class SystemPackageOption implements ValueOption<String> {
+public class SystemPackageOption implements ValueOption<String>, Fingerprintable {
 
     /**
      * System package (cannot be null or empty).
@@ -64,6 +67,11 @@ public class SystemPackageOption implements ValueOption<String> {
         return getPackage();
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(pkg);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -19,13 +19,16 @@ package org.ops4j.pax.exam.options;
 
 import static org.ops4j.lang.NullArgumentException.validateNotNull;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
+
 /**
  * Option specifying a system property.
  * 
  * @author Alin Dreghiciu (adreghiciu@gmail.com)
  * @since 0.3.0, December 10, 2008
  */
-public class SystemPropertyOption implements ValueOption<String> {
+public class SystemPropertyOption implements ValueOption<String>, Fingerprintable {
 
     /**
      * System property key (cannot be null or empty).
@@ -85,6 +88,11 @@ public class SystemPropertyOption implements ValueOption<String> {
         return value;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(key).add(value);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -17,6 +17,8 @@
  */
 package org.ops4j.pax.exam.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
@@ -25,7 +27,7 @@ import org.ops4j.pax.exam.Option;
  * @author Alin Dreghiciu (adreghiciu@gmail.com)
  * @since 0.5.0 April 23, 2009
  */
-public class TimeoutOption implements Option {
+public class TimeoutOption implements Option, Fingerprintable {
 
     /**
      * Timeout in milliseconds (cannot be null).
@@ -51,6 +53,11 @@ public class TimeoutOption implements Option {
         return timeout;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(timeout);
+    }
+
     /**
      * {@inheritDoc}
      */
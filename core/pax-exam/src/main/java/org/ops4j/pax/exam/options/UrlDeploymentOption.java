@@ -17,11 +17,14 @@
  */
 package org.ops4j.pax.exam.options;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
+
 /**
  * 
  * @author Harald Wellmann
  */
-public class UrlDeploymentOption implements DeploymentOption, UrlReference {
+public class UrlDeploymentOption implements DeploymentOption, UrlReference, Fingerprintable {
 
     private UrlReference urlReference;
     private String name;
@@ -97,4 +100,9 @@ public class UrlDeploymentOption implements DeploymentOption, UrlReference {
     public String getURL() {
         return urlReference.getURL();
     }
+
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.addUrl(getURL()).add(name).add(contextRoot).add(type);
+    }
 }
@@ -22,6 +22,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.ops4j.pax.exam.CoreOptions;
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
@@ -35,7 +37,7 @@ import org.ops4j.pax.exam.Option;
  * @author hwellmann
  *
  */
-public class WarProbeOption implements Option {
+public class WarProbeOption implements Option, Fingerprintable {
 
     public static final String[] DEFAULT_CLASS_PATH_EXCLUDES = { //
     ".cp", //
@@ -362,4 +364,18 @@ public class WarProbeOption implements Option {
     public List<Class<?>> getClasses() {
         return classes;
     }
+
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(name).add(useClasspath).add(classpathFilters);
+        fingerprint.add(overlays.size());
+        for (String overlay : overlays) {
+            fingerprint.addUrl(overlay);
+        }
+        fingerprint.add(libraries.size());
+        for (String library : libraries) {
+            fingerprint.addUrl(library);
+        }
+        fingerprint.add(classes).add(resources).add(metaInfResources).add(webInfResources);
+    }
 }
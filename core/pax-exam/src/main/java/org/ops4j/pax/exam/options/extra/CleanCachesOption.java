@@ -1,12 +1,14 @@
 package org.ops4j.pax.exam.options.extra;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.options.ValueOption;
 
 /**
  * @author Toni Menzel (tonit)
  * @since Mar 7, 2009
  */
-public class CleanCachesOption implements ValueOption<Boolean> {
+public class CleanCachesOption implements ValueOption<Boolean>, Fingerprintable {
 
     private static final Boolean DEFAULT_VALUE = Boolean.TRUE;
     private Boolean value;
@@ -28,6 +30,11 @@ public class CleanCachesOption implements ValueOption<Boolean> {
         return value;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(value);
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -17,6 +17,8 @@
  */
 package org.ops4j.pax.exam.options.extra;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 import static org.ops4j.lang.NullArgumentException.validateNotEmpty;
@@ -24,7 +26,7 @@ import static org.ops4j.lang.NullArgumentException.validateNotEmpty;
 /**
  * Specify process environment.
  */
-public final class EnvironmentOption implements Option {
+public final class EnvironmentOption implements Option, Fingerprintable {
 
     /**
      * Process environment option. Cannot be null or empty.
@@ -49,6 +51,11 @@ public final class EnvironmentOption implements Option {
         return environment;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(environment);
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder();
@@ -20,6 +20,9 @@ package org.ops4j.pax.exam.options.extra;
 
 import static org.ops4j.lang.NullArgumentException.validateNotEmpty;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
+
 /**
  * {@link RepositoryOption} implementation.
  * 
@@ -27,7 +30,7 @@ import static org.ops4j.lang.NullArgumentException.validateNotEmpty;
  * @author Alin Dreghiciu (adreghiciu@gmail.com)
  * @since 0.3.0, December 19, 2008
  */
-public class RepositoryOptionImpl implements RepositoryOption {
+public class RepositoryOptionImpl implements RepositoryOption, Fingerprintable {
 
     /**
      * Repository url (cannot be null or empty).
@@ -110,6 +113,11 @@ public class RepositoryOptionImpl implements RepositoryOption {
         return url.toString();
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(repositoryUrl).add(allowSnapshots).add(allowReleases).add(id);
+    }
+
     /**
      * {@inheritDoc}
      */
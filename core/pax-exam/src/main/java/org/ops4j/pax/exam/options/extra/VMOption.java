@@ -19,6 +19,8 @@ package org.ops4j.pax.exam.options.extra;
 
 import static org.ops4j.lang.NullArgumentException.validateNotEmpty;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
@@ -27,7 +29,7 @@ import org.ops4j.pax.exam.Option;
  * @author Alin Dreghiciu (adreghiciu@gmail.com)
  * @since 0.3.0 December 10, 2008
  */
-public class VMOption implements Option {
+public class VMOption implements Option, Fingerprintable {
 
     /**
      * Virtual machine option. Cannot be null or empty.
@@ -57,6 +59,11 @@ public class VMOption implements Option {
         return option;
     }
 
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(option);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -1,5 +1,7 @@
 package org.ops4j.pax.exam.options.extra;
 
+import org.ops4j.pax.exam.Fingerprint;
+import org.ops4j.pax.exam.Fingerprintable;
 import org.ops4j.pax.exam.Option;
 
 /**
@@ -8,7 +10,7 @@ import org.ops4j.pax.exam.Option;
  * @author Toni Menzel (toni@okidokiteam.com)
  * @since 0.3.0 December 10, 2008
  */
-public class WorkingDirectoryOption implements Option {
+public class WorkingDirectoryOption implements Option, Fingerprintable {
 
     private final String workingDirectory;
 
@@ -19,4 +21,9 @@ public class WorkingDirectoryOption implements Option {
     public String getWorkingDirectory() {
         return workingDirectory;
     }
+
+    @Override
+    public void fingerprint(Fingerprint fingerprint) {
+        fingerprint.add(workingDirectory);
+    }
 }
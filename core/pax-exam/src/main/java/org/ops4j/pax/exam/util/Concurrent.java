@@ -0,0 +1,39 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ *
+ */
+package org.ops4j.pax.exam.util;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Use this annotation on a test method which does not modify the state of the framework (no
+ * bundles installed, started or stopped) to let containers supporting it invoke the method
+ * concurrently with other such methods, e.g. when running with JUnit's {@code ParallelComputer}.
+ * <p>
+ * If this annotation is used on a class, all test methods of the class may run concurrently.
+ * Classes can also be listed in the configuration property
+ * {@link org.ops4j.pax.exam.Constants#EXAM_CONCURRENT_CLASSES_KEY}.
+ */
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+public @interface Concurrent {
+
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SHA-256 digests of strings and files, as used for cache keys and fingerprints.
+ */
+public final class Digests {
+
+    /**
+     * Coarsest timestamp granularity of common file systems, in milliseconds. A file rewritten
+     * with the same length within this time may keep its modification time.
+     */
+    private static final long TIMESTAMP_GRANULARITY = 2000;
+
+    /**
+     * Content digests by absolute file path.
+     */
+    private static final Map<String, FileDigest> FILE_DIGESTS =
+        new ConcurrentHashMap<String, FileDigest>();
+
+    /** Hidden utility class constructor. */
+    private Digests() {
+    }
+
+    /**
+     * @return new SHA-256 message digest
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException exc) {
+            throw new IllegalStateException(exc);
+        }
+    }
+
+    /**
+     * Adds a string with its length to a digest, so that different sequences of strings never
+     * give the same digest input.
+     *
+     * @param digest
+     *            message digest
+     * @param value
+     *            string, may be null
+     */
+    public static void update(MessageDigest digest, String value) {
+        byte[] bytes = String.valueOf(value).getBytes(UTF_8);
+        digest.update(Integer.toString(bytes.length).getBytes(UTF_8));
+        digest.update((byte) ':');
+        digest.update(bytes);
+    }
+
+    /**
+     * @param value
+     *            string
+     * @return SHA-256 digest of the UTF-8 encoded string as hex string
+     */
+    public static String sha256(String value) {
+        return toHex(newDigest().digest(value.getBytes(UTF_8)));
+    }
+
+    /**
+     * Computes the SHA-256 digest of the contents of a file. Digests are cached as long as length
+     * and modification time of the file are unchanged, unless the file was modified too recently
+     * to tell a rewrite from its modification time.
+     *
+     * @param file
+     *            file
+     * @return SHA-256 digest
+     * @throws IOException
+     *             if the file cannot be read
+     */
+    public static byte[] digest(File file) throws IOException {
+        String key = file.getAbsolutePath();
+        long length = file.length();
+        long modified = file.lastModified();
+        FileDigest cached = FILE_DIGESTS.get(key);
+        if (cached != null && cached.length == length && cached.modified == modified) {
+            return cached.digest.clone();
+        }
+        long started = System.currentTimeMillis();
+        MessageDigest content = newDigest();
+        try (InputStream is = Files.newInputStream(file.toPath())) {
+            byte[] buffer = new byte[8192];
+            for (int n = is.read(buffer); n >= 0; n = is.read(buffer)) {
+                content.update(buffer, 0, n);
+            }
+        }
+        byte[] bytes = content.digest();
+        if (modified < started - TIMESTAMP_GRANULARITY) {
+            FILE_DIGESTS.put(key, new FileDigest(length, modified, bytes.clone()));
+        }
+        else {
+            FILE_DIGESTS.remove(key);
+        }
+        return bytes;
+    }
+
+    /**
+     * @param bytes
+     *            bytes
+     * @return lower case hex representation
+     */
+    public static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+            hex.append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static final class FileDigest {
+
+        private final long length;
+
+        private final long modified;
+
+        private final byte[] digest;
+
+        private FileDigest(long length, long modified, byte[] digest) {
+            this.length = length;
+            this.modified = modified;
+            this.digest = digest;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.Test;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.FrameworkEvent;
+
+public class ActivationTimelineTest {
+
+    private static final long MILLIS = 1000000L;
+
+    @Test
+    public void matchesStartingAndStarted() {
+        ActivationTimeline timeline = new ActivationTimeline();
+        long base = System.nanoTime();
+        timeline.record(base, 1, BundleEvent.RESOLVED, 1, "a 1.0.0");
+        timeline.record(base + 1 * MILLIS, 1, BundleEvent.STARTING, 1, "a 1.0.0");
+        timeline.record(base + 2 * MILLIS, 2, BundleEvent.STARTING, 5, "b 1.0.0");
+        timeline.record(base + 32 * MILLIS, 2, BundleEvent.STARTED, 5, "b 1.0.0");
+        timeline.record(base + 41 * MILLIS, 1, BundleEvent.STARTED, 1, "a 1.0.0");
+        timeline.record(base + 50 * MILLIS, 3, BundleEvent.STARTING, 5, "c 1.0.0");
+
+        List<ActivationTimeline.Activation> activations = timeline.getActivations();
+        assertThat(activations.size(), is(2));
+        assertThat(activations.get(0).getName(), is("b 1.0.0"));
+        assertThat(activations.get(0).getStartLevel(), is(5));
+        assertThat(activations.get(0).getDuration(), is(30 * MILLIS));
+        assertThat(activations.get(1).getName(), is("a 1.0.0"));
+        assertThat(activations.get(1).getDuration(), is(40 * MILLIS));
+    }
+
+    @Test
+    public void reportListsSlowestBundlesFirst() {
+        ActivationTimeline timeline = new ActivationTimeline();
+        long base = System.nanoTime();
+        timeline.record(base, 1, BundleEvent.STARTING, 1, "fast 1.0.0");
+        timeline.record(base + 5 * MILLIS, 1, BundleEvent.STARTED, 1, "fast 1.0.0");
+        timeline.record(base + 5 * MILLIS, 2, BundleEvent.STARTING, 5, "slow 1.0.0");
+        timeline.record(base + 905 * MILLIS, 2, BundleEvent.STARTED, 5, "slow 1.0.0");
+        timeline.record(base + 906 * MILLIS, 0, -FrameworkEvent.STARTLEVEL_CHANGED, 5, null);
+
+        String report = timeline.getReport(1);
+        assertThat(report, containsString("2 bundle activations, 905 ms total"));
+        assertThat(report, containsString("STARTLEVEL_CHANGED (start level 5)"));
+        assertThat(report, containsString("[2] slow 1.0.0"));
+        assertThat(report.contains("[1] fast 1.0.0"), is(false));
+    }
+
+    @Test
+    public void keepsNewestEventsOnOverflow() {
+        ActivationTimeline timeline = new ActivationTimeline(4);
+        long base = System.nanoTime();
+        for (int i = 0; i < 6; i++) {
+            timeline.record(base + i * 2 * MILLIS, i, BundleEvent.STARTING, 1, "b" + i);
+            timeline.record(base + (i * 2 + 1) * MILLIS, i, BundleEvent.STARTED, 1, "b" + i);
+        }
+
+        List<ActivationTimeline.Activation> activations = timeline.snapshot().getActivations();
+        assertThat(activations.size(), is(2));
+        assertThat(activations.get(0).getBundleId(), is(4L));
+        assertThat(activations.get(1).getBundleId(), is(5L));
+        assertThat(timeline.getReport(0), containsString("(8 oldest events dropped)"));
+    }
+
+    @Test
+    public void writesChromeTrace() throws IOException {
+        ActivationTimeline timeline = new ActivationTimeline();
+        long base = System.nanoTime();
+        timeline.record(base, 7, BundleEvent.STARTING, 3, "with \"quotes\" 1.0.0");
+        timeline.record(base + 2 * MILLIS, 7, BundleEvent.STARTED, 3, null);
+
+        StringWriter writer = new StringWriter();
+        timeline.writeChromeTrace(writer);
+        String trace = writer.toString();
+        assertThat(trace, containsString("\"name\":\"with \\\"quotes\\\" 1.0.0\""));
+        assertThat(trace, containsString("\"ph\":\"X\""));
+        assertThat(trace, containsString("\"dur\":2000"));
+        assertThat(trace, containsString("\"tid\":3"));
+        assertThat(trace, containsString("\"name\":\"start level 3\""));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassDataSharingTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void keyChangesWithClassPath() throws IOException {
+        File jar = tmp.newFile("a.jar");
+        String[] classpath = new String[] { jar.getPath() };
+        String key = ClassDataSharing.key("/jdk", classpath);
+
+        assertThat(ClassDataSharing.key("/jdk", classpath), is(key));
+        assertThat(ClassDataSharing.key("/other", classpath), is(not(key)));
+        Files.write(jar.toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+        assertThat(ClassDataSharing.key("/jdk", classpath), is(not(key)));
+    }
+
+    @Test
+    public void createsArchiveOnce() throws IOException {
+        ClassDataSharing cds = new ClassDataSharing(tmp.newFolder("cds"));
+        String javaHome = System.getProperty("java.home");
+        String[] classpath = new String[] { tmp.newFile("a.jar").getPath() };
+
+        List<String> first = cds.getVmOptions(javaHome, classpath);
+        assertThat(first.get(0).startsWith("-XX:ArchiveClassesAtExit="), is(true));
+        // the archive is still being created
+        assertThat(cds.getVmOptions(javaHome, classpath).isEmpty(), is(true));
+    }
+
+    @Test
+    public void stagesByContent() throws IOException {
+        ClassDataSharing cds = new ClassDataSharing(tmp.newFolder("cds"));
+        File first = new File(tmp.newFolder("first"), "a.jar");
+        File second = new File(tmp.newFolder("second"), "a.jar");
+        Files.write(first.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+        Files.write(second.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+
+        String[] staged = cds.stage(new String[] { first.getPath() });
+        assertThat(cds.stage(new String[] { second.getPath() })[0], is(staged[0]));
+        assertThat(new File(staged[0]).getName(), is("a.jar"));
+    }
+
+    @Test
+    public void readsFeatureVersion() throws IOException {
+        assertThat(ClassDataSharing.getFeatureVersion(System.getProperty("java.home")),
+            is(Runtime.version().feature()));
+        File javaHome = tmp.newFolder("jdk");
+        Files.write(new File(javaHome, "release").toPath(),
+            "JAVA_VERSION=\"1.8.0_292\"\n".getBytes(StandardCharsets.UTF_8));
+        assertThat(ClassDataSharing.getFeatureVersion(javaHome.getPath()), is(8));
+        assertThat(ClassDataSharing.getFeatureVersion(tmp.newFolder("none").getPath()), is(0));
+    }
+}
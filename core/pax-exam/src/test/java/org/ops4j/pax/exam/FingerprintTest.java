@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.ops4j.pax.exam.CoreOptions.bundle;
+import static org.ops4j.pax.exam.CoreOptions.composite;
+import static org.ops4j.pax.exam.CoreOptions.frameworkProperty;
+import static org.ops4j.pax.exam.CoreOptions.mavenBundle;
+import static org.ops4j.pax.exam.CoreOptions.systemProperty;
+import static org.ops4j.pax.exam.CoreOptions.systemTimeout;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FingerprintTest {
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void isStableAndOrderAware() {
+        String fingerprint = Fingerprint.of(frameworkProperty("a").value("1"), systemTimeout(10),
+            composite(mavenBundle("org.example", "example", "1.0").startLevel(3)));
+
+        assertThat(fingerprint.length(), is(64));
+        assertThat(Fingerprint.of(frameworkProperty("a").value("1"), systemTimeout(10),
+            composite(mavenBundle("org.example", "example", "1.0").startLevel(3))),
+            is(fingerprint));
+        assertThat(Fingerprint.of(systemTimeout(10), frameworkProperty("a").value("1"),
+            composite(mavenBundle("org.example", "example", "1.0").startLevel(3))),
+            is(not(fingerprint)));
+        assertThat(Fingerprint.of(frameworkProperty("a").value("1"), systemTimeout(10),
+            composite(mavenBundle("org.example", "example", "1.0").startLevel(4))),
+            is(not(fingerprint)));
+    }
+
+    @Test
+    public void distinguishesTypesAndValues() {
+        assertThat(Fingerprint.of(frameworkProperty("a").value("1")),
+            is(not(Fingerprint.of(systemProperty("a").value("1")))));
+        assertThat(new Fingerprint().add("ab").add("c").toHex(),
+            is(not(new Fingerprint().add("a").add("bc").toHex())));
+        assertThat(new Fingerprint().add("1").toHex(), is(not(new Fingerprint().add(1).toHex())));
+        assertThat(new Fingerprint().add((Object) null).toHex(),
+            is(not(new Fingerprint().add("").toHex())));
+    }
+
+    @Test
+    public void sortsMapKeys() {
+        Map<String, Object> first = new LinkedHashMap<String, Object>();
+        first.put("a", 1);
+        first.put("b", new String[] { "x", "y" });
+        Map<String, Object> second = new LinkedHashMap<String, Object>();
+        second.put("b", new String[] { "x", "y" });
+        second.put("a", 1);
+
+        assertThat(new Fingerprint().add(first).toHex(), is(new Fingerprint().add(second)
+            .toHex()));
+    }
+
+    @Test
+    public void digestsFileContents() throws IOException {
+        File file = tmp.newFile("bundle.jar");
+        write(file, "first");
+        String url = file.toURI().toString();
+        String fingerprint = Fingerprint.of(bundle(url));
+        String reference = Fingerprint.of(bundle("reference:" + url));
+
+        assertThat(Fingerprint.of(bundle(url)), is(fingerprint));
+        write(file, "second version");
+        assertThat(Fingerprint.of(bundle(url)), is(not(fingerprint)));
+        assertThat(Fingerprint.of(bundle("reference:" + url)), is(not(reference)));
+    }
+
+    @Test
+    public void detectsRewriteWithSameLengthAndTime() throws IOException {
+        File file = tmp.newFile("bundle.jar");
+        write(file, "first");
+        long modified = file.lastModified();
+        String url = file.toURI().toString();
+        String fingerprint = Fingerprint.of(bundle(url));
+
+        write(file, "other");
+        file.setLastModified(modified);
+        assertThat(Fingerprint.of(bundle(url)), is(not(fingerprint)));
+    }
+
+    @Test
+    public void stripsInstructionsOnlyFromWrapUrls() {
+        assertThat(Fingerprint.location("file:/classes/org/example/Outer$Inner.class"),
+            is("file:/classes/org/example/Outer$Inner.class"));
+        assertThat(Fingerprint.location("jar:file:/lib/example.jar!/org/example/Outer$Inner.class"),
+            is("file:/lib/example.jar"));
+        assertThat(Fingerprint.location("wrap:file:/lib/example.jar$Bundle-SymbolicName=example"),
+            is("file:/lib/example.jar"));
+        assertThat(Fingerprint.location("wrap:mvn:org.example/example/1.0$Export-Package=*"),
+            is("mvn:org.example/example/1.0"));
+    }
+
+    @Test
+    public void digestsDirectoryContents() throws IOException {
+        File folder = tmp.newFolder("classes");
+        File file = new File(folder, "org/example/Example.class");
+        file.getParentFile().mkdirs();
+        write(file, "first");
+        String fingerprint = new Fingerprint().addFile(folder).toHex();
+
+        write(file, "second version");
+        assertThat(new Fingerprint().addFile(folder).toHex(), is(not(fingerprint)));
+    }
+
+    @Test
+    public void digestsLocalSnapshots() throws IOException {
+        File artifact = new File(tmp.getRoot(), "org/example/example/1.0-SNAPSHOT/"
+            + "example-1.0-SNAPSHOT.jar");
+        artifact.getParentFile().mkdirs();
+        write(artifact, "first");
+        String repository = System.getProperty("org.ops4j.pax.url.mvn.localRepository");
+        System.setProperty("org.ops4j.pax.url.mvn.localRepository", tmp.getRoot().getPath());
+        try {
+            String fingerprint = Fingerprint.of(mavenBundle("org.example", "example",
+                "1.0-SNAPSHOT"));
+
+            write(artifact, "second version");
+            assertThat(Fingerprint.of(mavenBundle("org.example", "example", "1.0-SNAPSHOT")),
+                is(not(fingerprint)));
+        }
+        finally {
+            if (repository == null) {
+                System.clearProperty("org.ops4j.pax.url.mvn.localRepository");
+            }
+            else {
+                System.setProperty("org.ops4j.pax.url.mvn.localRepository", repository);
+            }
+        }
+    }
+
+    private static void write(File file, String content) throws IOException {
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class OutputCollectorTest {
+
+    private static final int LINES = 40000;
+
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    @Test
+    public void collectsChattyProcess() throws Exception {
+        File file = new File(tmp.getRoot(), "logs/chatty.log");
+        Process process = new ProcessBuilder(new File(System.getProperty("java.home"),
+            "bin/java").getPath(), "-cp", System.getProperty("java.class.path"),
+            Chatty.class.getName()).start();
+        OutputCollector.Output output = OutputCollector.getInstance().collect(process, file);
+
+        // the process would stall on a full pipe if its output was not collected
+        assertThat(process.waitFor(60, TimeUnit.SECONDS), is(true));
+        awaitClosed(output);
+
+        List<String> lines = Files.readAllLines(file.toPath(), Charset.defaultCharset());
+        assertThat(lines.size(), is(LINES + 1));
+        assertThat(lines.contains("done"), is(true));
+        String tail = output.getTail();
+        assertThat(tail.length() <= OutputCollector.TAIL_SIZE, is(true));
+        assertThat(tail.startsWith("line "), is(true));
+        assertThat(tail.contains("line " + (LINES - 1) + " "), is(true));
+    }
+
+    @Test
+    public void writesToConfiguredDirectory() {
+        assertThat(OutputCollector.getOutputDirectory(), is(new File("target/pax-exam")));
+        System.setProperty(Constants.EXAM_FORK_OUTPUT_DIRECTORY_KEY, tmp.getRoot().getPath());
+        try {
+            assertThat(OutputCollector.getOutputDirectory(), is(tmp.getRoot()));
+        }
+        finally {
+            System.clearProperty(Constants.EXAM_FORK_OUTPUT_DIRECTORY_KEY);
+        }
+    }
+
+    private void awaitClosed(OutputCollector.Output output) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10 * 1000;
+        while (!output.isClosed() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(output.isClosed(), is(true));
+    }
+
+    /**
+     * Writes more output than a pipe can buffer to both streams.
+     */
+    public static class Chatty {
+
+        public static void main(String[] args) throws IOException {
+            for (int i = 0; i < LINES; i++) {
+                System.out.println("line " + i + " of a rather chatty forked Java VM");
+            }
+            System.out.flush();
+            System.err.println("done");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.rmi.Remote;
+import java.rmi.registry.LocateRegistry;
+import java.rmi.server.UnicastRemoteObject;
+
+import org.junit.Test;
+
+public class SharedRegistryTest {
+
+    @Test
+    public void multiplexesByName() throws Exception {
+        int port = SharedRegistry.acquire();
+        Remote first = new Remote() {
+        };
+        Remote second = new Remote() {
+        };
+        try {
+            assertThat(SharedRegistry.acquire(), is(port));
+            SharedRegistry.release();
+
+            // bind like a forked Java VM
+            Remote firstStub = UnicastRemoteObject.exportObject(first, 0);
+            Remote secondStub = UnicastRemoteObject.exportObject(second, 0);
+            LocateRegistry.getRegistry(SharedRegistry.getHost(), port).bind("first", firstStub);
+            LocateRegistry.getRegistry(SharedRegistry.getHost(), port).bind("second", secondStub);
+            RegistrySignal.announce(SharedRegistry.getSignalPort(), "second");
+            RegistrySignal.announce(SharedRegistry.getSignalPort(), "first");
+
+            assertThat(SharedRegistry.await("first", Remote.class, null, 1000), is(firstStub));
+            assertThat(SharedRegistry.await("second", Remote.class, null, 1000), is(secondStub));
+            SharedRegistry.unbind("first");
+            SharedRegistry.unbind("second");
+        }
+        finally {
+            UnicastRemoteObject.unexportObject(first, true);
+            UnicastRemoteObject.unexportObject(second, true);
+            SharedRegistry.release();
+        }
+    }
+
+    @Test(expected = TestContainerException.class)
+    public void failsWhenNotBound() {
+        SharedRegistry.acquire();
+        try {
+            SharedRegistry.await("missing", Remote.class, null, 50);
+        }
+        finally {
+            SharedRegistry.release();
+        }
+    }
+
+    @Test(expected = TestContainerException.class)
+    public void failsWhenJavaVmTerminates() throws Exception {
+        SharedRegistry.acquire();
+        Process process = new ProcessBuilder(System.getProperty("java.home") + "/bin/java",
+            "-version").start();
+        try {
+            SharedRegistry.await("missing", Remote.class, process, 60000);
+        }
+        finally {
+            SharedRegistry.release();
+        }
+    }
+
+    @Test
+    public void assignsEphemeralPort() {
+        int port = SharedRegistry.acquire();
+        SharedRegistry.release();
+        assertThat(port, is(not(0)));
+    }
+}
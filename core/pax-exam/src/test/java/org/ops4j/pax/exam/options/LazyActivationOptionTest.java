@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 OPS4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.options;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.ops4j.pax.exam.CoreOptions.lazyActivation;
+import static org.ops4j.pax.exam.CoreOptions.url;
+
+import org.junit.Test;
+import org.ops4j.pax.exam.options.libraries.JUnitBundlesOption;
+
+public class LazyActivationOptionTest {
+
+    @Test
+    public void bundlesAreEagerByDefault() {
+        assertThat(LazyActivationOption.isLazy(null, url("file:a.jar"), "a"), is(false));
+        assertThat(LazyActivationOption.isLazy(null, url("file:a.jar").lazyStart(), "a"),
+            is(true));
+    }
+
+    @Test
+    public void globalOptionRespectsEagerBundles() {
+        LazyActivationOption option = lazyActivation("b");
+
+        assertThat(LazyActivationOption.isLazy(option, url("file:a.jar"), "a"), is(true));
+        assertThat(LazyActivationOption.isLazy(option, url("file:b.jar"), "b"), is(false));
+        assertThat(LazyActivationOption.isLazy(option, url("file:a.jar").eagerStart(), "a"),
+            is(false));
+    }
+
+    @Test
+    public void delegatingOptionsDelegateActivationPolicy() {
+        ProvisionOption<?> junit = new JUnitBundlesOption().lazyStart();
+
+        assertThat(junit.getLazyStart(), is(true));
+        assertThat(((JUnitBundlesOption) junit).getDelegate().getLazyStart(), is(true));
+    }
+}
@@ -184,8 +184,8 @@ public class ParameterizedProbeRunner extends BlockJUnit4ClassRunner {
 
             if (frameworkMethodClass.isAssignableFrom(getTestClass().getJavaClass())) {
                 FrameworkMethod method = new ParameterizedFrameworkMethod(address, frameworkMethod);
-                testDirectory.add(address, new TestInstantiationInstruction(className + ";"
-                    + methodName));
+                testDirectory.add(address, new TestInstantiationInstruction(className,
+                    methodName));
 
                 methodToTestAddressMap.put(method, address);
             }
@@ -243,7 +243,7 @@ public class ParameterizedProbeRunner extends BlockJUnit4ClassRunner {
      * When using a probe invoker, we replace the super method and invoke the test method indirectly
      * via the reactor.
      */
-    protected synchronized Statement methodInvoker(final FrameworkMethod method, final Object test) {
+    protected Statement methodInvoker(final FrameworkMethod method, final Object test) {
 
         return new Statement() {
 
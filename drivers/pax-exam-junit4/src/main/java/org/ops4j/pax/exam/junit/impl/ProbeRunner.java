@@ -177,8 +177,8 @@ public class ProbeRunner extends BlockJUnit4ClassRunner {
             if (frameworkMethodClass.isAssignableFrom(getTestClass().getJavaClass())) {
                 FrameworkMethod method = mangleMethodNames ? new DecoratedFrameworkMethod(address,
                     frameworkMethod) : frameworkMethod;
-                testDirectory.add(address, new TestInstantiationInstruction(className + ";"
-                    + methodName));
+                testDirectory.add(address, new TestInstantiationInstruction(className,
+                    methodName));
 
                 methodToTestAddressMap.put(method, address);
             }
@@ -252,7 +252,7 @@ public class ProbeRunner extends BlockJUnit4ClassRunner {
      * via the reactor.
      */
     @Override
-    protected synchronized Statement methodInvoker(final FrameworkMethod method, final Object test) {
+    protected Statement methodInvoker(final FrameworkMethod method, final Object test) {
         return new Statement() {
 
             @Override
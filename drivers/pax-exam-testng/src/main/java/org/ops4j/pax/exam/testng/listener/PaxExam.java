@@ -495,7 +495,7 @@ public class PaxExam implements ISuiteListener, IMethodInterceptor, IHookable {
             newInstances.add(newInstance);
             methodToAddressMap.put(frameworkMethod.getMethodName(), address);
             testDirectory.add(address, new TestInstantiationInstruction(frameworkMethod
-                .getRealClass().getName() + ";" + javaMethod.getName()));
+                .getRealClass().getName(), javaMethod.getName()));
 
         }
         Collections.sort(newInstances, new IMethodInstanceComparator());
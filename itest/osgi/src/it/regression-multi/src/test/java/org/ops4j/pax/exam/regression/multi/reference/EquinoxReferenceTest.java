@@ -30,6 +30,7 @@ import org.ops4j.pax.swissbox.framework.FrameworkFactoryFinder;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.BundleException;
+import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceReference;
 import org.osgi.framework.launch.Framework;
 import org.osgi.framework.launch.FrameworkFactory;
@@ -38,7 +39,8 @@ public class EquinoxReferenceTest {
 
     @SuppressWarnings({ "unchecked", "rawtypes" })
     @Test
-    public void installAndStartReferenceBundle() throws BundleException, IOException {
+    public void installAndStartReferenceBundle() throws BundleException, IOException,
+        InvalidSyntaxException {
         assumeTrue(isEquinox());
         assumeTrue(System.getProperty("java.protocol.handler.pkgs") == null);
 
@@ -59,9 +61,12 @@ public class EquinoxReferenceTest {
         assertEquals("org.ops4j.pax.exam.sample9.pde", bundle.getSymbolicName());
 
         bundle.start();
-        ServiceReference serviceRef = bc
-            .getServiceReference("org.ops4j.pax.exam.sample9.pde.HelloService");
-        Object service = bc.getService(serviceRef);
+        // the sample is on the launcher class path as well, so the system bundle does not see the
+        // service as assignable
+        ServiceReference[] serviceRefs = bc.getAllServiceReferences(
+            "org.ops4j.pax.exam.sample9.pde.HelloService", "(language=en)");
+        assertNotNull(serviceRefs);
+        Object service = bc.getService(serviceRefs[0]);
         assertNotNull(service);
         assertEquals("org.ops4j.pax.exam.sample9.pde.impl.EnglishHelloService", service
             .getClass().getName());
@@ -44,7 +44,7 @@ public class Activator implements BundleActivator {
 
         // Notify a remote listener of bundle startup.
         // This is used for reactor strategy regression tests
-        String rmiProperty = System.getProperty("pax.exam.regression.rmi");
+        String rmiProperty = bc.getProperty("pax.exam.regression.rmi");
         if (Objects.nonNull(rmiProperty)) {
             notifyRemoteListener(rmiProperty);
         }
@@ -69,7 +69,7 @@ public class Activator implements BundleActivator {
      */
     public void stop(BundleContext bc) throws Exception {
 
-        String blockOnStop = System.getProperty("pax.exam.regression.blockOnStop", "false");
+        String blockOnStop = bc.getProperty("pax.exam.regression.blockOnStop");
         if (Boolean.parseBoolean(blockOnStop)) {
             Thread.sleep(Long.MAX_VALUE);
         }